@@ -26,6 +26,7 @@ import com.netflix.conductor.annotationsprocessor.protogen.types.TypeMapper;
 
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 public class Message extends AbstractMessage {
@@ -37,6 +38,9 @@ public class Message extends AbstractMessage {
             if (ann == null) continue;
 
             fields.add(new MessageField(ann.id(), field));
+            if (ann.rawBytesId() > 0) {
+                fields.add(new RawBytesField(ann.rawBytesId(), field));
+            }
         }
     }
 
@@ -65,7 +69,22 @@ public class Message extends AbstractMessage {
         for (Field field : this.fields) {
             if (field instanceof MessageField) {
                 AbstractType fieldType = ((MessageField) field).getAbstractType();
-                fieldType.mapToProto(field.getName(), method);
+                if (((MessageField) field).hasRawBytes()) {
+                    String rawName = RawBytesField.rawName(field.getName());
+                    method.addStatement(
+                            "$T $L = toRawProto( from.$L() )",
+                            RawBytesField.BYTE_STRING,
+                            rawName,
+                            "get" + RawBytesField.capitalize(field.getName()));
+                    method.beginControlFlow("if ($L != null)", rawName);
+                    method.addStatement(
+                            "to.$L( $L )", "set" + RawBytesField.capitalize(rawName), rawName);
+                    method.nextControlFlow("else");
+                    fieldType.mapToProto(field.getName(), method);
+                    method.endControlFlow();
+                } else {
+                    fieldType.mapToProto(field.getName(), method);
+                }
             }
         }
 
@@ -87,7 +106,20 @@ public class Message extends AbstractMessage {
         for (Field field : this.fields) {
             if (field instanceof MessageField) {
                 AbstractType fieldType = ((MessageField) field).getAbstractType();
-                fieldType.mapFromProto(field.getName(), method);
+                if (((MessageField) field).hasRawBytes()) {
+                    String rawGetter =
+                            "get" + RawBytesField.capitalize(RawBytesField.rawName(field.getName()));
+                    method.beginControlFlow("if (!from.$L().isEmpty())", rawGetter);
+                    method.addStatement(
+                            "to.$L( fromRawProto( from.$L() ) )",
+                            "set" + RawBytesField.capitalize(field.getName()),
+                            rawGetter);
+                    method.nextControlFlow("else");
+                    fieldType.mapFromProto(field.getName(), method);
+                    method.endControlFlow();
+                } else {
+                    fieldType.mapFromProto(field.getName(), method);
+                }
             }
         }
 
@@ -102,6 +134,10 @@ public class Message extends AbstractMessage {
             super(index, field);
         }
 
+        public boolean hasRawBytes() {
+            return field.getAnnotation(ProtoField.class).rawBytesId() > 0;
+        }
+
         public AbstractType getAbstractType() {
             if (type == null) {
                 type = TypeMapper.INSTANCE.get(field.getGenericType());
@@ -138,4 +174,59 @@ public class Message extends AbstractMessage {
             getAbstractType().generateAbstractMethods(specs);
         }
     }
+
+    /**
+     * The <code>bytes</code> field declared next to a map field annotated with {@link
+     * ProtoField#rawBytesId()}, carrying the whole map pre-serialized. The mapper decides which of
+     * the two fields is used through the generated <code>toRawProto</code> and <code>fromRawProto
+     * </code> methods.
+     */
+    public static class RawBytesField extends Field {
+        static final ClassName BYTE_STRING = ClassName.get("com.google.protobuf", "ByteString");
+
+        protected RawBytesField(int index, java.lang.reflect.Field field) {
+            super(index, field);
+        }
+
+        static String rawName(String fieldName) {
+            return fieldName + "Raw";
+        }
+
+        static String capitalize(String name) {
+            return name.substring(0, 1).toUpperCase() + name.substring(1);
+        }
+
+        @Override
+        public String getName() {
+            return rawName(field.getName());
+        }
+
+        @Override
+        public String getProtoName() {
+            return getName().toUpperCase();
+        }
+
+        @Override
+        public String getProtoTypeDeclaration() {
+            return String.format(
+                    "bytes %s = %d", MessageField.toUnderscoreCase(getName()), getProtoIndex());
+        }
+
+        @Override
+        public void generateAbstractMethods(Set<MethodSpec> specs) {
+            TypeName mapType = TypeName.get(field.getGenericType());
+            specs.add(
+                    MethodSpec.methodBuilder("toRawProto")
+                            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                            .returns(BYTE_STRING)
+                            .addParameter(mapType, "in")
+                            .build());
+            specs.add(
+                    MethodSpec.methodBuilder("fromRawProto")
+                            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                            .returns(mapType)
+                            .addParameter(BYTE_STRING, "in")
+                            .build());
+        }
+    }
 }
@@ -33,4 +33,14 @@ public @interface ProtoField {
      * @return the numeric ID for the field
      */
     int id();
+
+    /**
+     * Optional. For map fields, sets the Protocol Buffer ID of an additional <code>bytes</code>
+     * field carrying the whole map pre-serialized. The generated mapper fills either this field or
+     * the structured one, as decided by its <code>toRawProto</code> implementation, and reads
+     * whichever of the two is set. The same compatibility rules as {@link #id()} apply.
+     *
+     * @return the numeric ID for the raw bytes field, or 0 when there is none
+     */
+    int rawBytesId() default 0;
 }
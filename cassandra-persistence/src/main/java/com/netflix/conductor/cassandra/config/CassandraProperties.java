@@ -68,6 +68,18 @@ public class CassandraProperties {
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration eventExecutionPersistenceTtl = Duration.ZERO;
 
+    /**
+     * The maximum number of asynchronous write requests that may be in flight at once when writing
+     * multiple tasks
+     */
+    private int maxInFlightWrites = 128;
+
+    /**
+     * The maximum number of statements grouped into a single unlogged batch for one partition when
+     * writing multiple tasks
+     */
+    private int writeBatchSize = 20;
+
     public String getHostAddress() {
         return hostAddress;
     }
@@ -171,4 +183,20 @@ public class CassandraProperties {
     public void setEventExecutionPersistenceTtl(Duration eventExecutionPersistenceTtl) {
         this.eventExecutionPersistenceTtl = eventExecutionPersistenceTtl;
     }
+
+    public int getMaxInFlightWrites() {
+        return maxInFlightWrites;
+    }
+
+    public void setMaxInFlightWrites(int maxInFlightWrites) {
+        this.maxInFlightWrites = maxInFlightWrites;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
 }
@@ -13,6 +13,7 @@
 package com.netflix.conductor.cassandra.dao;
 
 import java.util.*;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -37,6 +38,8 @@ import com.datastax.driver.core.exceptions.DriverException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import static com.netflix.conductor.cassandra.util.Constants.*;
 
@@ -74,6 +77,13 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
 
     protected final int eventExecutionsTTL;
 
+    /** Bounds the number of asynchronous writes in flight across all multi-task operations. */
+    private final int maxInFlightWrites;
+
+    private final Semaphore inFlightWrites;
+
+    private final int writeBatchSize;
+
     public CassandraExecutionDAO(
             Session session,
             ObjectMapper objectMapper,
@@ -82,6 +92,9 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         super(session, objectMapper, properties);
 
         eventExecutionsTTL = (int) properties.getEventExecutionPersistenceTtl().getSeconds();
+        maxInFlightWrites = Math.max(1, properties.getMaxInFlightWrites());
+        inFlightWrites = new Semaphore(maxInFlightWrites);
+        writeBatchSize = Math.max(1, properties.getWriteBatchSize());
 
         this.insertWorkflowStatement =
                 session.prepare(statements.getInsertWorkflowStatement())
@@ -189,19 +202,21 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
             int totalTasks = workflowMetadata.getTotalTasks() + tasks.size();
             // TODO: write into multiple shards based on number of tasks
 
-            // update the task_lookup table
+            // update the task_lookup table, each task is its own partition
+            List<Statement> taskLookupStatements = new ArrayList<>(tasks.size());
             tasks.forEach(
                     task -> {
                         if (task.getScheduledTime() == 0) {
                             task.setScheduledTime(System.currentTimeMillis());
                         }
-                        session.execute(
+                        taskLookupStatements.add(
                                 updateTaskLookupStatement.bind(
                                         workflowUUID, toUUID(task.getTaskId(), "Invalid task id")));
                     });
+            executeAsync("createTasks", taskLookupStatements);
 
-            // update all the tasks in the workflow using batch
-            BatchStatement batchStatement = new BatchStatement();
+            // update all the tasks in the workflow using a single partition batch
+            BatchStatement batchStatement = new BatchStatement(BatchStatement.Type.UNLOGGED);
             tasks.forEach(
                     task -> {
                         String taskPayload = toJson(task);
@@ -272,6 +287,120 @@ public class CassandraExecutionDAO extends CassandraBaseDAO
         }
     }
 
+    /**
+     * Updates the tasks using unlogged batches grouped by partition (workflow_id, shard_id), with
+     * the batches and the task_def_limit updates executed asynchronously.
+     *
+     * @param tasks tasks to be updated
+     */
+    @Override
+    public void updateTasks(List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, List<TaskModel>> tasksByWorkflow =
+                    tasks.stream()
+                            .collect(
+                                    Collectors.groupingBy(
+                                            TaskModel::getWorkflowInstanceId,
+                                            LinkedHashMap::new,
+                                            Collectors.toList()));
+
+            List<Statement> statements = new ArrayList<>();
+            tasksByWorkflow.forEach(
+                    (workflowId, workflowTasks) -> {
+                        UUID workflowUUID = toUUID(workflowId, "Invalid workflow id");
+                        for (List<TaskModel> chunk :
+                                Lists.partition(workflowTasks, writeBatchSize)) {
+                            BatchStatement batchStatement =
+                                    new BatchStatement(BatchStatement.Type.UNLOGGED);
+                            chunk.forEach(
+                                    task -> {
+                                        String taskPayload = toJson(task);
+                                        recordCassandraDaoRequests(
+                                                "updateTask",
+                                                task.getTaskType(),
+                                                task.getWorkflowType());
+                                        recordCassandraDaoPayloadSize(
+                                                "updateTask",
+                                                taskPayload.length(),
+                                                task.getTaskType(),
+                                                task.getWorkflowType());
+                                        batchStatement.add(
+                                                insertTaskStatement.bind(
+                                                        workflowUUID,
+                                                        DEFAULT_SHARD_ID,
+                                                        task.getTaskId(),
+                                                        taskPayload));
+                                    });
+                            statements.add(batchStatement);
+                        }
+                    });
+
+            tasks.stream()
+                    .filter(
+                            task ->
+                                    task.getTaskDefinition().isPresent()
+                                            && task.getTaskDefinition().get().concurrencyLimit()
+                                                    > 0)
+                    .forEach(
+                            task -> {
+                                if (task.getStatus().isTerminal()) {
+                                    statements.add(
+                                            deleteTaskDefLimitStatement.bind(
+                                                    task.getTaskDefName(),
+                                                    UUID.fromString(task.getTaskId())));
+                                } else if (task.getStatus() == TaskModel.Status.IN_PROGRESS) {
+                                    statements.add(
+                                            updateTaskDefLimitStatement.bind(
+                                                    UUID.fromString(task.getWorkflowInstanceId()),
+                                                    task.getTaskDefName(),
+                                                    UUID.fromString(task.getTaskId())));
+                                }
+                            });
+
+            executeAsync("updateTasks", statements);
+        } catch (DriverException e) {
+            Monitors.error(CLASS_NAME, "updateTasks");
+            String errorMsg = String.format("Error updating %d tasks", tasks.size());
+            LOGGER.error(errorMsg, e);
+            throw new TransientException(errorMsg, e);
+        }
+    }
+
+    /**
+     * Executes the statements asynchronously and waits for all of them to complete. At most {@link
+     * CassandraProperties#getMaxInFlightWrites()} requests are in flight at once across this DAO.
+     *
+     * @throws DriverException if any of the statements fails
+     */
+    private void executeAsync(String action, List<? extends Statement> statements) {
+        long start = System.currentTimeMillis();
+        List<ResultSetFuture> futures = new ArrayList<>(statements.size());
+        try {
+            for (Statement statement : statements) {
+                inFlightWrites.acquireUninterruptibly();
+                ResultSetFuture future;
+                try {
+                    future = session.executeAsync(statement);
+                } catch (RuntimeException e) {
+                    inFlightWrites.release();
+                    throw e;
+                }
+                future.addListener(inFlightWrites::release, MoreExecutors.directExecutor());
+                futures.add(future);
+            }
+            Monitors.recordDaoInFlightRequests(
+                    DAO_NAME, maxInFlightWrites - inFlightWrites.availablePermits());
+            for (ResultSetFuture future : futures) {
+                future.getUninterruptibly();
+            }
+        } finally {
+            Monitors.recordDaoLatency(DAO_NAME, action, System.currentTimeMillis() - start);
+        }
+    }
+
     /**
      * This is a dummy implementation and this feature is not implemented for Cassandra backed
      * Conductor
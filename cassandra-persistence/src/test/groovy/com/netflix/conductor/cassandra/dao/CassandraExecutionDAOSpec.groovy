@@ -226,6 +226,28 @@ class CassandraExecutionDAOSpec extends CassandraSpec {
         pendingTasks[0] == task1
     }
 
+    def "verify tasks are updated in batches"() {
+        given: 'we create a workflow'
+        String workflowId = new IDGenerator().generate()
+        WorkflowDef workflowDef = new WorkflowDef(name: 'def1', version: 1)
+        WorkflowModel workflow = new WorkflowModel(workflowDefinition: workflowDef, workflowId: workflowId, input: new HashMap(), status: WorkflowModel.Status.RUNNING, createTime: System.currentTimeMillis())
+        executionDAO.createWorkflow(workflow)
+
+        and: 'create more tasks than fit in a single write batch'
+        List<TaskModel> tasks = (1..50).collect {
+            new TaskModel(workflowInstanceId: workflowId, taskType: "task$it", referenceTaskName: "task$it", status: TaskModel.Status.SCHEDULED, taskId: new IDGenerator().generate())
+        }
+        executionDAO.createTasks(tasks)
+
+        when: 'the tasks are updated together'
+        tasks.each { it.setStatus(TaskModel.Status.COMPLETED) }
+        executionDAO.updateTasks(tasks)
+
+        then:
+        tasks.every { executionDAO.getTask(it.taskId).status == TaskModel.Status.COMPLETED }
+        executionDAO.getWorkflow(workflowId, true).tasks.size() == 50
+    }
+
     def "verify tasks are removed"() {
         given: 'we create a workflow'
         String workflowId = new IDGenerator().generate()
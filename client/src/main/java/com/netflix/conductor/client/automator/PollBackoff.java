@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.automator;
+
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides when a task type should be polled next. Each empty poll doubles the time to wait before
+ * the next poll, starting at the polling interval of the worker and capped at a maximum. A poll
+ * that returns tasks resets the backoff.
+ *
+ * <p>The backoff only depends on the polls of this worker. The server does not send a hint such as
+ * its queue depth or a suggested delay: the batch poll endpoint returns a bare list of tasks, which
+ * has no room for one without breaking existing clients. Long polls, with the batch poll timeout of
+ * the worker, already keep a worker from polling an empty queue in a tight loop.
+ */
+class PollBackoff {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollBackoff.class);
+
+    private final long maxBackoffMs;
+    private final LongSupplier clock;
+    private long backoffMs;
+    private long nextPollTime;
+
+    PollBackoff(long maxBackoffMs) {
+        this(maxBackoffMs, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock the current time in milliseconds
+     */
+    PollBackoff(long maxBackoffMs, LongSupplier clock) {
+        this.maxBackoffMs = maxBackoffMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the backoff after the previous empty polls has elapsed
+     */
+    synchronized boolean shouldPoll() {
+        return clock.getAsLong() >= nextPollTime;
+    }
+
+    /**
+     * Records the outcome of a poll.
+     *
+     * @param polledTasks number of tasks returned by the poll
+     * @param pollingInterval polling interval of the worker in milliseconds
+     */
+    synchronized void onPoll(int polledTasks, long pollingInterval) {
+        if (polledTasks > 0) {
+            backoffMs = 0;
+            nextPollTime = 0;
+            return;
+        }
+        backoffMs =
+                backoffMs == 0
+                        ? Math.min(Math.max(pollingInterval, 1), maxBackoffMs)
+                        : Math.min(backoffMs * 2, maxBackoffMs);
+        nextPollTime = clock.getAsLong() + backoffMs;
+        LOGGER.debug("Empty poll, backing off for {} ms", backoffMs);
+    }
+
+    synchronized long getBackoffMs() {
+        return backoffMs;
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
@@ -53,8 +54,13 @@ class TaskPollExecutor {
     private final EurekaClient eurekaClient;
     private final TaskClient taskClient;
     private final int updateRetryCount;
+    private final int sleepWhenRetry;
     private final ExecutorService executorService;
+    private final ScheduledExecutorService updateExecutorService;
+    private final Map<String /*taskType*/, AtomicInteger> pendingUpdates =
+            new ConcurrentHashMap<>();
     private final Map<String, PollingSemaphore> pollingSemaphoreMap;
+    private final Map<String /*taskType*/, PollBackoff> pollBackoffMap;
     private final Map<String /*taskType*/, String /*domain*/> taskToDomain;
 
     private static final String DOMAIN = "domain";
@@ -73,29 +79,93 @@ class TaskPollExecutor {
             Map<String, String> taskToDomain,
             String workerNamePrefix,
             Map<String, Integer> taskThreadCount) {
+        this(
+                eurekaClient,
+                taskClient,
+                updateRetryCount,
+                500,
+                taskToDomain,
+                workerNamePrefix,
+                taskThreadCount,
+                false,
+                0,
+                0);
+    }
+
+    /**
+     * @param useVirtualThreads run the workers on virtual threads instead of a fixed thread pool,
+     *     when the JVM supports them. The number of tasks executed concurrently is still bounded by
+     *     the task thread count.
+     * @param updateThreadCount number of threads used to send task results to the server. When
+     *     positive, results are queued and sent asynchronously, with retries backing off
+     *     exponentially from <code>sleepWhenRetry</code>, so that worker threads never wait on the
+     *     server. When 0, results are sent from the worker thread.
+     * @param maxPollBackoffMs upper bound of the exponential backoff applied to a task type after
+     *     empty polls. When 0, every task type is polled at its polling interval.
+     */
+    TaskPollExecutor(
+            EurekaClient eurekaClient,
+            TaskClient taskClient,
+            int updateRetryCount,
+            int sleepWhenRetry,
+            Map<String, String> taskToDomain,
+            String workerNamePrefix,
+            Map<String, Integer> taskThreadCount,
+            boolean useVirtualThreads,
+            int updateThreadCount,
+            int maxPollBackoffMs) {
         this.eurekaClient = eurekaClient;
         this.taskClient = taskClient;
         this.updateRetryCount = updateRetryCount;
+        this.sleepWhenRetry = sleepWhenRetry;
         this.taskToDomain = taskToDomain;
 
         this.pollingSemaphoreMap = new HashMap<>();
+        this.pollBackoffMap = new HashMap<>();
         int totalThreadCount = 0;
         for (Map.Entry<String, Integer> entry : taskThreadCount.entrySet()) {
             String taskType = entry.getKey();
             int count = entry.getValue();
             totalThreadCount += count;
             pollingSemaphoreMap.put(taskType, new PollingSemaphore(count));
+            if (maxPollBackoffMs > 0) {
+                pollBackoffMap.put(taskType, new PollBackoff(maxPollBackoffMs));
+            }
         }
 
-        LOGGER.info("Initialized the TaskPollExecutor with {} threads", totalThreadCount);
-        this.executorService =
-                Executors.newFixedThreadPool(
-                        totalThreadCount,
-                        new BasicThreadFactory.Builder()
-                                .namingPattern(workerNamePrefix)
-                                .uncaughtExceptionHandler(uncaughtExceptionHandler)
-                                .build());
-        ThreadPoolMonitor.attach(REGISTRY, (ThreadPoolExecutor) executorService, workerNamePrefix);
+        ExecutorService virtualThreadExecutor =
+                useVirtualThreads ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtualThreadExecutor != null) {
+            LOGGER.info(
+                    "Initialized the TaskPollExecutor with virtual threads for {} concurrent tasks",
+                    totalThreadCount);
+            this.executorService = virtualThreadExecutor;
+        } else {
+            LOGGER.info("Initialized the TaskPollExecutor with {} threads", totalThreadCount);
+            this.executorService =
+                    Executors.newFixedThreadPool(
+                            totalThreadCount,
+                            new BasicThreadFactory.Builder()
+                                    .namingPattern(workerNamePrefix)
+                                    .uncaughtExceptionHandler(uncaughtExceptionHandler)
+                                    .build());
+            ThreadPoolMonitor.attach(
+                    REGISTRY, (ThreadPoolExecutor) executorService, workerNamePrefix);
+        }
+
+        if (updateThreadCount > 0) {
+            LOGGER.info("Initialized the task update executor with {} threads", updateThreadCount);
+            this.updateExecutorService =
+                    Executors.newScheduledThreadPool(
+                            updateThreadCount,
+                            new BasicThreadFactory.Builder()
+                                    .namingPattern("workflow-task-update-%d")
+                                    .daemon(true)
+                                    .uncaughtExceptionHandler(uncaughtExceptionHandler)
+                                    .build());
+        } else {
+            this.updateExecutorService = null;
+        }
 
         LOGGER.info("Initialized the task lease extend executor");
         leaseExtendExecutorService =
@@ -132,10 +202,33 @@ class TaskPollExecutor {
 
         String taskType = worker.getTaskDefName();
         PollingSemaphore pollingSemaphore = getPollingSemaphore(taskType);
+        PollBackoff pollBackoff = pollBackoffMap.get(taskType);
+        if (pollBackoff == null) {
+            pollTasks(worker, pollingSemaphore, null);
+            return;
+        }
+        if (!pollBackoff.shouldPoll()) {
+            LOGGER.debug("Backing off from polling tasks of type: {}", taskType);
+            return;
+        }
+        // a full batch suggests more tasks are waiting, poll again while there are free slots
+        boolean batchFull;
+        do {
+            batchFull = pollTasks(worker, pollingSemaphore, pollBackoff);
+        } while (batchFull);
+    }
 
+    /**
+     * Polls for as many tasks as there are free slots, and hands them over to the workers.
+     *
+     * @return true if the poll returned as many tasks as were requested
+     */
+    private boolean pollTasks(
+            Worker worker, PollingSemaphore pollingSemaphore, PollBackoff pollBackoff) {
+        String taskType = worker.getTaskDefName();
         int slotsToAcquire = pollingSemaphore.availableSlots();
         if (slotsToAcquire <= 0 || !pollingSemaphore.acquireSlots(slotsToAcquire)) {
-            return;
+            return false;
         }
         int acquiredTasks = 0;
         try {
@@ -203,10 +296,20 @@ class TaskPollExecutor {
 
         // immediately release unused permits
         pollingSemaphore.complete(slotsToAcquire - acquiredTasks);
+
+        if (pollBackoff != null) {
+            // failed polls count as empty ones, so that an overloaded server is polled less
+            pollBackoff.onPoll(acquiredTasks, worker.getPollingInterval());
+        }
+        return acquiredTasks == slotsToAcquire;
     }
 
     void shutdown(int timeout) {
         shutdownAndAwaitTermination(executorService, timeout);
+        if (updateExecutorService != null) {
+            // results queued by the workers above are still sent, including pending retries
+            shutdownAndAwaitTermination(updateExecutorService, timeout);
+        }
         shutdownAndAwaitTermination(leaseExtendExecutorService, timeout);
         leaseExtendMap.clear();
     }
@@ -291,7 +394,7 @@ class TaskPollExecutor {
                 worker.getClass().getSimpleName(),
                 worker.getIdentity(),
                 result.getStatus());
-        updateTaskResult(updateRetryCount, task, result, worker);
+        submitTaskResult(task, result, worker);
     }
 
     private void finalizeTask(Task task, Throwable throwable) {
@@ -317,6 +420,72 @@ class TaskPollExecutor {
         }
     }
 
+    private void submitTaskResult(Task task, TaskResult result, Worker worker) {
+        if (updateExecutorService == null) {
+            updateTaskResult(updateRetryCount, task, result, worker);
+            return;
+        }
+        String taskType = worker.getTaskDefName();
+        AtomicInteger pending = pendingUpdates.computeIfAbsent(taskType, k -> new AtomicInteger());
+        MetricsContainer.recordTaskUpdateQueueSize(taskType, pending.incrementAndGet());
+        long queuedTime = System.currentTimeMillis();
+        try {
+            updateExecutorService.execute(
+                    () -> flushTaskResult(task, result, worker, 0, queuedTime));
+        } catch (RejectedExecutionException e) {
+            // the update executor is shutting down, send the result from this thread instead
+            MetricsContainer.recordTaskUpdateQueueSize(taskType, pending.decrementAndGet());
+            updateTaskResult(updateRetryCount, task, result, worker);
+        }
+    }
+
+    private void flushTaskResult(
+            Task task, TaskResult result, Worker worker, int attempt, long queuedTime) {
+        String taskType = worker.getTaskDefName();
+        try {
+            if (result.getExternalOutputPayloadStoragePath() == null) {
+                upload(result, task.getTaskType())
+                        .ifPresent(
+                                location -> {
+                                    result.setExternalOutputPayloadStoragePath(location);
+                                    result.setOutputData(null);
+                                });
+            }
+            taskClient.updateTask(result);
+            MetricsContainer.getTaskUpdateTimer(taskType)
+                    .record(System.currentTimeMillis() - queuedTime, TimeUnit.MILLISECONDS);
+            completeTaskUpdate(taskType);
+        } catch (Exception e) {
+            if (attempt + 1 < updateRetryCount) {
+                long delay = (long) sleepWhenRetry << attempt;
+                try {
+                    updateExecutorService.schedule(
+                            () -> flushTaskResult(task, result, worker, attempt + 1, queuedTime),
+                            delay,
+                            TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException ree) {
+                    LOGGER.warn(
+                            "Unable to retry the update of task: {}, update executor is shut down",
+                            task.getTaskId());
+                }
+            }
+            completeTaskUpdate(taskType);
+            worker.onErrorUpdate(task);
+            MetricsContainer.incrementTaskUpdateErrorCount(taskType, e);
+            LOGGER.error(
+                    String.format(
+                            "Failed to update result: %s for task: %s in worker: %s",
+                            result.toString(), task.getTaskDefName(), worker.getIdentity()),
+                    e);
+        }
+    }
+
+    private void completeTaskUpdate(String taskType) {
+        MetricsContainer.recordTaskUpdateQueueSize(
+                taskType, pendingUpdates.get(taskType).decrementAndGet());
+    }
+
     private void updateTaskResult(int count, Task task, TaskResult result, Worker worker) {
         try {
             // upload if necessary
@@ -370,7 +539,7 @@ class TaskPollExecutor {
             } catch (Exception e) {
                 index++;
                 try {
-                    Thread.sleep(500L);
+                    Thread.sleep(sleepWhenRetry);
                 } catch (InterruptedException ie) {
                     LOGGER.error("Retry interrupted", ie);
                 }
@@ -379,6 +548,17 @@ class TaskPollExecutor {
         throw new RuntimeException("Exhausted retries performing " + opName);
     }
 
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        // looked up reflectively as the client is built for a JVM without virtual threads
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Virtual threads are not supported by this JVM, using a fixed thread pool");
+            return null;
+        }
+    }
+
     private void handleException(Throwable t, TaskResult result, Worker worker, Task task) {
         LOGGER.error(String.format("Error while executing task %s", task.toString()), t);
         MetricsContainer.incrementTaskExecutionErrorCount(worker.getTaskDefName(), t);
@@ -389,7 +569,7 @@ class TaskPollExecutor {
         t.printStackTrace(new PrintWriter(stringWriter));
         result.log(stringWriter.toString());
 
-        updateTaskResult(updateRetryCount, task, result, worker);
+        submitTaskResult(task, result, worker);
     }
 
     private PollingSemaphore getPollingSemaphore(String taskType) {
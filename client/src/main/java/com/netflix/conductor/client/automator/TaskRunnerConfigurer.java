@@ -50,6 +50,9 @@ public class TaskRunnerConfigurer {
     @Deprecated private final int threadCount;
     private final int shutdownGracePeriodSeconds;
     private final String workerNamePrefix;
+    private final boolean useVirtualThreads;
+    private final int taskUpdateThreadCount;
+    private final int maxPollBackoffMs;
     private final Map<String /*taskType*/, String /*domain*/> taskToDomain;
     private final Map<String /*taskType*/, Integer /*threadCount*/> taskThreadCount;
 
@@ -96,6 +99,9 @@ public class TaskRunnerConfigurer {
         this.workerNamePrefix = builder.workerNamePrefix;
         this.taskToDomain = builder.taskToDomain;
         this.shutdownGracePeriodSeconds = builder.shutdownGracePeriodSeconds;
+        this.useVirtualThreads = builder.useVirtualThreads;
+        this.taskUpdateThreadCount = builder.taskUpdateThreadCount;
+        this.maxPollBackoffMs = builder.maxPollBackoffMs;
     }
 
     /** Builder used to create the instances of TaskRunnerConfigurer */
@@ -106,6 +112,9 @@ public class TaskRunnerConfigurer {
         private int updateRetryCount = 3;
         @Deprecated private int threadCount = -1;
         private int shutdownGracePeriodSeconds = 10;
+        private boolean useVirtualThreads = false;
+        private int taskUpdateThreadCount = 0;
+        private int maxPollBackoffMs = 0;
         private final Iterable<Worker> workers;
         private EurekaClient eurekaClient;
         private final TaskClient taskClient;
@@ -198,6 +207,49 @@ public class TaskRunnerConfigurer {
             return this;
         }
 
+        /**
+         * @param useVirtualThreads run the workers on virtual threads when the JVM supports them,
+         *     the thread counts then only limit the number of tasks executed concurrently.
+         * @return Builder instance
+         */
+        public Builder withVirtualThreads(boolean useVirtualThreads) {
+            this.useVirtualThreads = useVirtualThreads;
+            return this;
+        }
+
+        /**
+         * @param taskUpdateThreadCount # of threads used to send task results to the server. When
+         *     set, results are queued and sent asynchronously, and failed updates are retried with
+         *     an exponential backoff starting at {@link #withSleepWhenRetry(int)}, so workers do
+         *     not wait on the server. Defaults to 0, which sends the results from the worker
+         *     threads.
+         * @return Builder instance
+         */
+        public Builder withTaskUpdateThreadCount(int taskUpdateThreadCount) {
+            if (taskUpdateThreadCount < 0) {
+                throw new IllegalArgumentException(
+                        "No. of task update threads cannot be less than 0");
+            }
+            this.taskUpdateThreadCount = taskUpdateThreadCount;
+            return this;
+        }
+
+        /**
+         * @param maxPollBackoffMs time in milliseconds, up to which polling of a task type backs
+         *     off after empty polls. The backoff starts at the polling interval of the worker and
+         *     doubles with every empty poll, a poll returning tasks resets it and a poll returning
+         *     a full batch is followed by another poll right away. Defaults to 0, which polls at
+         *     the polling interval.
+         * @return Builder instance
+         */
+        public Builder withMaxPollBackoff(int maxPollBackoffMs) {
+            if (maxPollBackoffMs < 0) {
+                throw new IllegalArgumentException("Max poll backoff cannot be less than 0");
+            }
+            this.maxPollBackoffMs = maxPollBackoffMs;
+            return this;
+        }
+
         /**
          * Builds an instance of the TaskRunnerConfigurer.
          *
@@ -254,6 +306,29 @@ public class TaskRunnerConfigurer {
         return workerNamePrefix;
     }
 
+    /**
+     * @return true if the workers run on virtual threads when the JVM supports them
+     */
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * @return Thread Count used to send task results asynchronously, 0 if they are sent by the
+     *     workers
+     */
+    public int getTaskUpdateThreadCount() {
+        return taskUpdateThreadCount;
+    }
+
+    /**
+     * @return maximum time in milliseconds for which polling backs off after empty polls, 0 if
+     *     polling does not back off
+     */
+    public int getMaxPollBackoff() {
+        return maxPollBackoffMs;
+    }
+
     /**
      * Starts the polling. Must be called after {@link TaskRunnerConfigurer.Builder#build()} method.
      */
@@ -263,9 +338,13 @@ public class TaskRunnerConfigurer {
                         eurekaClient,
                         taskClient,
                         updateRetryCount,
+                        sleepWhenRetry,
                         taskToDomain,
                         workerNamePrefix,
-                        taskThreadCount);
+                        taskThreadCount,
+                        useVirtualThreads,
+                        taskUpdateThreadCount,
+                        maxPollBackoffMs);
 
         this.scheduledExecutorService = Executors.newScheduledThreadPool(workers.size());
         workers.forEach(
@@ -45,6 +45,8 @@ public class MetricsContainer {
     private static final String TASK_ACK_FAILED = "task_ack_failed";
     private static final String TASK_ACK_ERROR = "task_ack_error";
     private static final String TASK_UPDATE_ERROR = "task_update_error";
+    private static final String TASK_UPDATE_QUEUE_SIZE = "task_update_queue_size";
+    private static final String TASK_UPDATE_TIME = "task_update_time";
     private static final String TASK_LEASE_EXTEND_ERROR = "task_lease_extend_error";
     private static final String TASK_LEASE_EXTEND_COUNTER = "task_lease_extend_counter";
     private static final String TASK_POLL_COUNTER = "task_poll_counter";
@@ -72,6 +74,10 @@ public class MetricsContainer {
         return getTimer(TASK_EXECUTE_TIME, TASK_TYPE, taskType);
     }
 
+    public static Timer getTaskUpdateTimer(String taskType) {
+        return getTimer(TASK_UPDATE_TIME, TASK_TYPE, taskType);
+    }
+
     private static Timer getTimer(String name, String... additionalTags) {
         String key = CLASS_NAME + "." + name + "." + String.join(",", additionalTags);
         return TIMERS.computeIfAbsent(
@@ -158,6 +164,10 @@ public class MetricsContainer {
                 TASK_UPDATE_ERROR, TASK_TYPE, taskType, EXCEPTION, t.getClass().getSimpleName());
     }
 
+    public static void recordTaskUpdateQueueSize(String taskType, long queueSize) {
+        getGauge(TASK_UPDATE_QUEUE_SIZE, TASK_TYPE, taskType).getAndSet(queueSize);
+    }
+
     public static void incrementTaskLeaseExtendErrorCount(String taskType, Throwable t) {
         incrementCount(
                 TASK_LEASE_EXTEND_ERROR,
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.automator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PollBackoffTest {
+
+    private final AtomicLong now = new AtomicLong(1000);
+
+    @Test
+    public void testBackoffGrowsOnEmptyPolls() {
+        PollBackoff pollBackoff = new PollBackoff(300, now::get);
+        assertTrue(pollBackoff.shouldPoll());
+
+        pollBackoff.onPoll(0, 100);
+        assertEquals(100, pollBackoff.getBackoffMs());
+        pollBackoff.onPoll(0, 100);
+        assertEquals(200, pollBackoff.getBackoffMs());
+        pollBackoff.onPoll(0, 100);
+        assertEquals(300, pollBackoff.getBackoffMs());
+        pollBackoff.onPoll(0, 100);
+        assertEquals(300, pollBackoff.getBackoffMs());
+
+        assertFalse(pollBackoff.shouldPoll());
+        now.addAndGet(299);
+        assertFalse(pollBackoff.shouldPoll());
+        now.addAndGet(1);
+        assertTrue(pollBackoff.shouldPoll());
+    }
+
+    @Test
+    public void testBackoffResetsWhenTasksArePolled() {
+        PollBackoff pollBackoff = new PollBackoff(1000, now::get);
+        pollBackoff.onPoll(0, 100);
+        pollBackoff.onPoll(0, 100);
+        assertFalse(pollBackoff.shouldPoll());
+
+        pollBackoff.onPoll(1, 100);
+        assertEquals(0, pollBackoff.getBackoffMs());
+        assertTrue(pollBackoff.shouldPoll());
+    }
+}
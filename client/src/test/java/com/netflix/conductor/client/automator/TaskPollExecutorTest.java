@@ -666,6 +666,89 @@ public class TaskPollExecutorTest {
         verify(taskClient, times(threadCount)).updateTask(any());
     }
 
+    @Test
+    public void testAsyncTaskUpdateWithRetry() throws InterruptedException {
+        Task task = testTask();
+        Worker worker = mock(Worker.class);
+        when(worker.getPollingInterval()).thenReturn(3000);
+        when(worker.getTaskDefName()).thenReturn(TEST_TASK_DEF_NAME);
+        when(worker.execute(any()))
+                .thenAnswer(
+                        invocation -> {
+                            TaskResult taskResult = new TaskResult(task);
+                            taskResult.setStatus(COMPLETED);
+                            return taskResult;
+                        });
+
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        when(taskClient.batchPollTasksInDomain(any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(task));
+        CountDownLatch latch = new CountDownLatch(1);
+        doThrow(new ConductorClientException())
+                .doAnswer(
+                        invocation -> {
+                            assertTrue(
+                                    Thread.currentThread()
+                                            .getName()
+                                            .startsWith("workflow-task-update-"));
+                            latch.countDown();
+                            return null;
+                        })
+                .when(taskClient)
+                .updateTask(any());
+
+        TaskPollExecutor taskPollExecutor =
+                new TaskPollExecutor(
+                        null,
+                        taskClient,
+                        3,
+                        10,
+                        new HashMap<>(),
+                        "test-worker-%d",
+                        TASK_THREAD_MAP,
+                        false,
+                        1,
+                        0);
+        taskPollExecutor.pollAndExecute(worker);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        verify(taskClient, times(2)).updateTask(any());
+        verify(worker, never()).onErrorUpdate(any());
+        taskPollExecutor.shutdown(1);
+    }
+
+    @Test
+    public void testPollBackoffAfterEmptyPoll() {
+        Worker worker = mock(Worker.class);
+        when(worker.getPollingInterval()).thenReturn(60000);
+        when(worker.getTaskDefName()).thenReturn(TEST_TASK_DEF_NAME);
+        when(worker.getIdentity()).thenReturn("test-worker");
+
+        TaskClient taskClient = Mockito.mock(TaskClient.class);
+        when(taskClient.batchPollTasksInDomain(any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        TaskPollExecutor taskPollExecutor =
+                new TaskPollExecutor(
+                        null,
+                        taskClient,
+                        1,
+                        500,
+                        new HashMap<>(),
+                        "test-worker-%d",
+                        TASK_THREAD_MAP,
+                        false,
+                        0,
+                        120000);
+        taskPollExecutor.pollAndExecute(worker);
+        taskPollExecutor.pollAndExecute(worker);
+
+        // the second poll is skipped while backing off after the empty first poll
+        verify(taskClient, times(1))
+                .batchPollTasksInDomain(any(), any(), any(), anyInt(), anyInt());
+        taskPollExecutor.shutdown(1);
+    }
+
     private Task testTask() {
         Task task = new Task();
         task.setTaskId(UUID.randomUUID().toString());
@@ -30,11 +30,14 @@ import org.junit.rules.ExpectedException;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.model.BulkJobStatus;
+import com.netflix.conductor.common.model.BulkResponse;
 import com.netflix.conductor.core.exception.NonTransientException;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 public abstract class ExecutionDAOTest {
 
@@ -356,6 +359,29 @@ public abstract class ExecutionDAOTest {
         assertEquals(1, bytime.size());
     }
 
+    @Test
+    public void testBulkJobStatus() {
+        assumeTrue(getExecutionDAO().supportsBulkJobs());
+        String jobId = UUID.randomUUID().toString();
+        assertNull(getExecutionDAO().getBulkJobStatus(jobId));
+
+        BulkJobStatus status = new BulkJobStatus();
+        status.setJobId(jobId);
+        status.setOperation(BulkJobStatus.Operation.TERMINATE);
+        status.setTotal(2);
+        getExecutionDAO().updateBulkJobStatus(status, 60);
+        assertEquals(status, getExecutionDAO().getBulkJobStatus(jobId));
+
+        BulkResponse result = new BulkResponse();
+        result.appendSuccessResponse("first");
+        result.appendFailedResponse("second", "failed");
+        status.setProcessed(2);
+        status.setCompleted(true);
+        status.setResult(result);
+        getExecutionDAO().updateBulkJobStatus(status, 60);
+        assertEquals(status, getExecutionDAO().getBulkJobStatus(jobId));
+    }
+
     protected WorkflowModel createTestWorkflow() {
         WorkflowDef def = new WorkflowDef();
         def.setName("Junit Workflow");
@@ -77,7 +77,7 @@ public class Task {
     @ProtoField(id = 2)
     private Status status;
 
-    @ProtoField(id = 3)
+    @ProtoField(id = 3, rawBytesId = 43)
     private Map<String, Object> inputData = new HashMap<>();
 
     @ProtoField(id = 4)
@@ -150,7 +150,7 @@ public class Task {
     @ProtoField(id = 25)
     private String workerId;
 
-    @ProtoField(id = 26)
+    @ProtoField(id = 26, rawBytesId = 44)
     private Map<String, Object> outputData = new HashMap<>();
 
     @ProtoField(id = 27)
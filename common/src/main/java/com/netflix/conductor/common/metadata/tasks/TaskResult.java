@@ -59,7 +59,7 @@ public class TaskResult {
     @ProtoField(id = 6)
     private Status status;
 
-    @ProtoField(id = 7)
+    @ProtoField(id = 7, rawBytesId = 9)
     private Map<String, Object> outputData = new HashMap<>();
 
     @ProtoField(id = 8)
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.model;
+
+import java.util.Objects;
+
+/** Progress of a bulk operation submitted as an asynchronous bulk job. */
+public class BulkJobStatus {
+
+    /** The bulk operations that can be submitted as jobs. */
+    public enum Operation {
+        PAUSE,
+        RESUME,
+        RESTART,
+        RETRY,
+        TERMINATE
+    }
+
+    private String jobId;
+    private Operation operation;
+    private int total;
+    private int processed;
+    private boolean completed;
+
+    /** The outcome for each workflow, only set once the job is completed */
+    private BulkResponse result;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public BulkResponse getResult() {
+        return result;
+    }
+
+    public void setResult(BulkResponse result) {
+        this.result = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkJobStatus)) {
+            return false;
+        }
+        BulkJobStatus that = (BulkJobStatus) o;
+        return total == that.total
+                && processed == that.processed
+                && completed == that.completed
+                && Objects.equals(jobId, that.jobId)
+                && operation == that.operation
+                && Objects.equals(result, that.result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobId, operation, total, processed, completed, result);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkJobStatus{"
+                + "jobId='"
+                + jobId
+                + '\''
+                + ", operation="
+                + operation
+                + ", total="
+                + total
+                + ", processed="
+                + processed
+                + ", completed="
+                + completed
+                + '}';
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.common.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Response object of a bulk workflow start request. Results are reported per request, by the
+ * position of the request in the bulk request.
+ */
+public class BulkStartWorkflowResponse {
+
+    /** Ids of the started workflows, in the order of the requests, null if a request failed */
+    private List<String> workflowIds = new ArrayList<>();
+
+    /** Key - position of the request Value - error message starting the workflow */
+    private Map<Integer, String> errors = new HashMap<>();
+
+    public List<String> getWorkflowIds() {
+        return workflowIds;
+    }
+
+    public void setWorkflowIds(List<String> workflowIds) {
+        this.workflowIds = workflowIds;
+    }
+
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<Integer, String> errors) {
+        this.errors = errors;
+    }
+
+    public void appendSuccessResponse(String workflowId) {
+        workflowIds.add(workflowId);
+    }
+
+    public void appendFailedResponse(String errorMessage) {
+        errors.put(workflowIds.size(), errorMessage);
+        workflowIds.add(null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkStartWorkflowResponse)) {
+            return false;
+        }
+        BulkStartWorkflowResponse that = (BulkStartWorkflowResponse) o;
+        return Objects.equals(workflowIds, that.workflowIds) && Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(workflowIds, errors);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkStartWorkflowResponse{"
+                + "workflowIds="
+                + workflowIds
+                + ", errors="
+                + errors
+                + '}';
+    }
+}
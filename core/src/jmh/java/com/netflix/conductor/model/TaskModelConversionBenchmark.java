@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.common.run.Workflow;
+
+/**
+ * Compares the conversion of the tasks of a large workflow through the explicit copiers of {@link
+ * TaskModel} with the reflective {@link BeanUtils} copy they replaced.
+ *
+ * <p>Run with {@code ./gradlew :conductor-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskModelConversionBenchmark {
+
+    @Param({"1000"})
+    private int taskCount;
+
+    private WorkflowModel workflow;
+
+    @Setup
+    public void setup() {
+        workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.setInput(Map.of("key", "value"));
+
+        List<TaskModel> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            WorkflowTask workflowTask = new WorkflowTask();
+            workflowTask.setName("task_" + i);
+            workflowTask.setTaskReferenceName("task_ref_" + i);
+
+            TaskModel task = new TaskModel();
+            task.setTaskId("taskId_" + i);
+            task.setTaskType("SIMPLE");
+            task.setTaskDefName("task_" + i);
+            task.setReferenceTaskName("task_ref_" + i);
+            task.setWorkflowInstanceId("workflowId");
+            task.setWorkflowTask(workflowTask);
+            task.setStatus(TaskModel.Status.COMPLETED);
+            task.setSeq(i);
+            task.setScheduledTime(i);
+            task.setStartTime(i + 1);
+            task.setEndTime(i + 2);
+            task.getInputData().put("input", "value_" + i);
+            task.getOutputData().put("output", "value_" + i);
+            tasks.add(task);
+        }
+        workflow.setTasks(tasks);
+    }
+
+    @Benchmark
+    public List<Task> toTaskReflective() {
+        List<Task> converted = new ArrayList<>(taskCount);
+        for (TaskModel taskModel : workflow.getTasks()) {
+            Task task = new Task();
+            BeanUtils.copyProperties(taskModel, task);
+            task.setStatus(Task.Status.valueOf(taskModel.getStatus().name()));
+            converted.add(task);
+        }
+        return converted;
+    }
+
+    @Benchmark
+    public List<Task> toTask() {
+        List<Task> converted = new ArrayList<>(taskCount);
+        for (TaskModel taskModel : workflow.getTasks()) {
+            converted.add(taskModel.toTask());
+        }
+        return converted;
+    }
+
+    @Benchmark
+    public List<TaskModel> copyReflective() {
+        List<TaskModel> copies = new ArrayList<>(taskCount);
+        for (TaskModel taskModel : workflow.getTasks()) {
+            TaskModel copy = new TaskModel();
+            BeanUtils.copyProperties(taskModel, copy);
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    @Benchmark
+    public List<TaskModel> copy() {
+        List<TaskModel> copies = new ArrayList<>(taskCount);
+        for (TaskModel taskModel : workflow.getTasks()) {
+            copies.add(taskModel.copy());
+        }
+        return copies;
+    }
+
+    @Benchmark
+    public Workflow toWorkflow() {
+        return workflow.toWorkflow();
+    }
+}
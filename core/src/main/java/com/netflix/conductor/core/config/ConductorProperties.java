@@ -216,6 +216,68 @@ public class ConductorProperties {
     /** Used to limit the size of task execution logs. */
     private int taskExecLogSizeLimit = 10;
 
+    /**
+     * Used to enable/disable deferring the download of externally stored task payloads, when a
+     * workflow is read, until the task input/output is first accessed.
+     */
+    private boolean lazyTaskPayloadLoadingEnabled = false;
+
+    /**
+     * Used to enable/disable caching of the workflows evaluated on this node between decides. Only
+     * takes effect when the workflow execution lock is enabled and the {@link
+     * com.netflix.conductor.dao.ExecutionDAO} supports workflow versions.
+     */
+    private boolean workflowSnapshotCacheEnabled = false;
+
+    /** The maximum number of workflows kept in the workflow snapshot cache. */
+    private int workflowSnapshotCacheSize = 1000;
+
+    /**
+     * Used to enable/disable waking up a pending JOIN as soon as a task it waits on completes,
+     * rather than on its next backoff poll. Checking whether the join can complete reads the tasks
+     * of the workflow each time a task it waits on completes.
+     */
+    private boolean joinWakeUpEnabled = false;
+
+    /**
+     * Used to enable/disable persisting workflows with a content hash of their definition instead
+     * of the full definition. Definitions are stored once through the {@link
+     * com.netflix.conductor.dao.MetadataDAO}, which must support workflow definition snapshots,
+     * the server fails to start otherwise.
+     */
+    private boolean workflowDefinitionByReferenceEnabled = false;
+
+    /** The maximum number of workflow definitions cached when persisting them by reference. */
+    private int workflowDefinitionCacheSize = 1000;
+
+    /**
+     * The number of threads processing the workflows of bulk operations, so that they cannot
+     * starve other requests. The synchronous bulk requests of a server share one pool of this
+     * size, and the bulk jobs another, so that queued jobs do not hold up synchronous requests.
+     */
+    private int bulkOperationThreadCount = 4;
+
+    /**
+     * The maximum number of workflows waiting to be processed in each of the bulk operation pools.
+     * Bulk requests that do not fit are rejected with 429 Too Many Requests.
+     */
+    private int bulkOperationQueueSize = 10000;
+
+    /**
+     * The maximum time a synchronous bulk request waits for its workflows to be processed. The
+     * workflows not processed by then are reported as failed.
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration bulkOperationTimeout = Duration.ofMinutes(5);
+
+    /**
+     * The time for which the status of a bulk job is kept after it is submitted. The status is kept
+     * by the {@link com.netflix.conductor.dao.ExecutionDAO} if it supports bulk jobs, so that any
+     * server can report it, and only in the memory of the server running the job otherwise.
+     */
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration bulkJobRetentionPeriod = Duration.ofHours(1);
+
     public String getStack() {
         return stack;
     }
@@ -532,6 +594,87 @@ public class ConductorProperties {
         this.taskExecLogSizeLimit = taskExecLogSizeLimit;
     }
 
+    public boolean isLazyTaskPayloadLoadingEnabled() {
+        return lazyTaskPayloadLoadingEnabled;
+    }
+
+    public void setLazyTaskPayloadLoadingEnabled(boolean lazyTaskPayloadLoadingEnabled) {
+        this.lazyTaskPayloadLoadingEnabled = lazyTaskPayloadLoadingEnabled;
+    }
+
+    public boolean isWorkflowSnapshotCacheEnabled() {
+        return workflowSnapshotCacheEnabled;
+    }
+
+    public void setWorkflowSnapshotCacheEnabled(boolean workflowSnapshotCacheEnabled) {
+        this.workflowSnapshotCacheEnabled = workflowSnapshotCacheEnabled;
+    }
+
+    public int getWorkflowSnapshotCacheSize() {
+        return workflowSnapshotCacheSize;
+    }
+
+    public void setWorkflowSnapshotCacheSize(int workflowSnapshotCacheSize) {
+        this.workflowSnapshotCacheSize = workflowSnapshotCacheSize;
+    }
+
+    public boolean isJoinWakeUpEnabled() {
+        return joinWakeUpEnabled;
+    }
+
+    public void setJoinWakeUpEnabled(boolean joinWakeUpEnabled) {
+        this.joinWakeUpEnabled = joinWakeUpEnabled;
+    }
+
+    public boolean isWorkflowDefinitionByReferenceEnabled() {
+        return workflowDefinitionByReferenceEnabled;
+    }
+
+    public void setWorkflowDefinitionByReferenceEnabled(
+            boolean workflowDefinitionByReferenceEnabled) {
+        this.workflowDefinitionByReferenceEnabled = workflowDefinitionByReferenceEnabled;
+    }
+
+    public int getWorkflowDefinitionCacheSize() {
+        return workflowDefinitionCacheSize;
+    }
+
+    public void setWorkflowDefinitionCacheSize(int workflowDefinitionCacheSize) {
+        this.workflowDefinitionCacheSize = workflowDefinitionCacheSize;
+    }
+
+    public int getBulkOperationThreadCount() {
+        return bulkOperationThreadCount;
+    }
+
+    public void setBulkOperationThreadCount(int bulkOperationThreadCount) {
+        this.bulkOperationThreadCount = bulkOperationThreadCount;
+    }
+
+    public int getBulkOperationQueueSize() {
+        return bulkOperationQueueSize;
+    }
+
+    public void setBulkOperationQueueSize(int bulkOperationQueueSize) {
+        this.bulkOperationQueueSize = bulkOperationQueueSize;
+    }
+
+    public Duration getBulkOperationTimeout() {
+        return bulkOperationTimeout;
+    }
+
+    public void setBulkOperationTimeout(Duration bulkOperationTimeout) {
+        this.bulkOperationTimeout = bulkOperationTimeout;
+    }
+
+    public Duration getBulkJobRetentionPeriod() {
+        return bulkJobRetentionPeriod;
+    }
+
+    public void setBulkJobRetentionPeriod(Duration bulkJobRetentionPeriod) {
+        this.bulkJobRetentionPeriod = bulkJobRetentionPeriod;
+    }
+
     /**
      * @return Returns all the configurations in a map.
      */
@@ -13,13 +13,16 @@
 package com.netflix.conductor.core.dal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -31,6 +34,7 @@ import com.netflix.conductor.common.metadata.tasks.PollData;
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.tasks.TaskExecLog;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.common.run.Workflow;
@@ -78,6 +82,8 @@ public class ExecutionDAOFacade {
     private final ExternalPayloadStorageUtils externalPayloadStorageUtils;
 
     private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+    private final WorkflowSnapshotCache workflowSnapshotCache;
+    private final WorkflowDefStore workflowDefStore;
 
     public ExecutionDAOFacade(
             ExecutionDAO executionDAO,
@@ -86,6 +92,7 @@ public class ExecutionDAOFacade {
             RateLimitingDAO rateLimitingDao,
             ConcurrentExecutionLimitDAO concurrentExecutionLimitDAO,
             PollDataDAO pollDataDAO,
+            MetadataDAO metadataDAO,
             ObjectMapper objectMapper,
             ConductorProperties properties,
             ExternalPayloadStorageUtils externalPayloadStorageUtils) {
@@ -109,6 +116,27 @@ public class ExecutionDAOFacade {
                             Monitors.recordDiscardedIndexingCount("delayQueue");
                         });
         this.scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+        this.workflowSnapshotCache =
+                properties.isWorkflowSnapshotCacheEnabled()
+                                && properties.isWorkflowExecutionLockEnabled()
+                                && executionDAO.supportsWorkflowVersions()
+                        ? new WorkflowSnapshotCache(properties.getWorkflowSnapshotCacheSize())
+                        : null;
+        if (properties.isWorkflowSnapshotCacheEnabled() && workflowSnapshotCache == null) {
+            LOGGER.warn(
+                    "conductor.app.workflowSnapshotCacheEnabled is ignored, it requires the workflow execution lock and workflow versions, supported by {}: {}",
+                    executionDAO.getClass().getSimpleName(),
+                    executionDAO.supportsWorkflowVersions());
+        }
+        if (properties.isWorkflowDefinitionByReferenceEnabled()
+                && !metadataDAO.supportsWorkflowDefSnapshots()) {
+            throw new IllegalStateException(
+                    "conductor.app.workflowDefinitionByReferenceEnabled is not supported by "
+                            + metadataDAO.getClass().getSimpleName());
+        }
+        this.workflowDefStore =
+                new WorkflowDefStore(
+                        metadataDAO, objectMapper, properties.getWorkflowDefinitionCacheSize());
     }
 
     @PreDestroy
@@ -139,6 +167,34 @@ public class ExecutionDAOFacade {
         return workflowModel;
     }
 
+    /**
+     * Returns the workflow cached by {@link #cacheWorkflowSnapshot(WorkflowModel)}, if it is still
+     * up-to-date with the datastore. Must be called with the workflow execution lock held, before
+     * the workflow is loaded, by the thread that then evaluates and persists it.
+     *
+     * @param workflowId the id of the workflow to be evaluated
+     * @return the workflow, including its tasks, or null if there is no current snapshot
+     */
+    public WorkflowModel takeWorkflowSnapshot(String workflowId) {
+        if (workflowSnapshotCache == null) {
+            return null;
+        }
+        return workflowSnapshotCache.take(workflowId, executionDAO::getWorkflowVersion);
+    }
+
+    /**
+     * Keeps the given workflow for the next {@link #takeWorkflowSnapshot(String)}. Must only be
+     * called with a workflow whose state has been fully persisted, while still holding the workflow
+     * execution lock.
+     *
+     * @param workflowModel the evaluated workflow
+     */
+    public void cacheWorkflowSnapshot(WorkflowModel workflowModel) {
+        if (workflowSnapshotCache != null && workflowModel != null) {
+            workflowSnapshotCache.put(workflowModel);
+        }
+    }
+
     /**
      * Fetches the {@link Workflow} object from the data store given the id. Attempts to fetch from
      * {@link ExecutionDAO} first, if not found, attempts to fetch from {@link IndexDAO}.
@@ -175,9 +231,34 @@ public class ExecutionDAOFacade {
                 throw new TransientException(errorMsg, e);
             }
         }
+        return attachWorkflowDefinition(workflow);
+    }
+
+    /**
+     * Re-attaches the full definition to a workflow that was persisted with a reference to it. The
+     * definitions are kept indefinitely, so this works for archived workflows too.
+     */
+    private WorkflowModel attachWorkflowDefinition(WorkflowModel workflow) {
+        if (workflow.getWorkflowDefinitionHash() != null) {
+            workflow.attachWorkflowDefinition(
+                    workflowDefStore.load(workflow.getWorkflowDefinitionHash()));
+        }
         return workflow;
     }
 
+    /**
+     * Stores the definition of the workflow once, and persists the workflow with a reference to it,
+     * when definitions are persisted by reference.
+     */
+    private void referenceWorkflowDefinition(WorkflowModel workflow) {
+        if (properties.isWorkflowDefinitionByReferenceEnabled()
+                && workflow.getWorkflowDefinitionHash() == null
+                && workflow.getWorkflowDefinition() != null) {
+            workflow.setWorkflowDefinitionHash(
+                    workflowDefStore.save(workflow.getWorkflowDefinition()));
+        }
+    }
+
     /**
      * Retrieve all workflow executions with the given correlationId and workflow type Uses the
      * {@link IndexDAO} to search across workflows if the {@link ExecutionDAO} cannot perform
@@ -217,18 +298,21 @@ public class ExecutionDAOFacade {
         return executionDAO
                 .getWorkflowsByCorrelationId(workflowName, correlationId, includeTasks)
                 .stream()
+                .map(this::attachWorkflowDefinition)
                 .map(WorkflowModel::toWorkflow)
                 .collect(Collectors.toList());
     }
 
     public List<Workflow> getWorkflowsByName(String workflowName, Long startTime, Long endTime) {
         return executionDAO.getWorkflowsByType(workflowName, startTime, endTime).stream()
+                .map(this::attachWorkflowDefinition)
                 .map(WorkflowModel::toWorkflow)
                 .collect(Collectors.toList());
     }
 
     public List<Workflow> getPendingWorkflowsByName(String workflowName, int version) {
         return executionDAO.getPendingWorkflowsByType(workflowName, version).stream()
+                .map(this::attachWorkflowDefinition)
                 .map(WorkflowModel::toWorkflow)
                 .collect(Collectors.toList());
     }
@@ -249,6 +333,7 @@ public class ExecutionDAOFacade {
      */
     public String createWorkflow(WorkflowModel workflowModel) {
         externalizeWorkflowData(workflowModel);
+        referenceWorkflowDefinition(workflowModel);
         executionDAO.createWorkflow(workflowModel);
         // Add to decider queue
         queueDAO.push(
@@ -264,6 +349,53 @@ public class ExecutionDAOFacade {
         return workflowModel.getWorkflowId();
     }
 
+    /**
+     * Creates the given new workflows in the data store with as few writes as the {@link
+     * ExecutionDAO} allows. Unlike {@link #createWorkflow(WorkflowModel)}, the workflows are pushed
+     * to the decider queue to be evaluated right away by the sweeper, since they are not evaluated
+     * by the caller. A workflow that cannot be created does not prevent the others from being
+     * created.
+     *
+     * @param workflowModels the workflows to be created, with distinct ids
+     * @return the error creating each workflow that could not be created, by workflow id
+     */
+    public Map<String, Exception> createWorkflows(List<WorkflowModel> workflowModels) {
+        workflowModels.forEach(
+                workflowModel -> {
+                    externalizeWorkflowData(workflowModel);
+                    referenceWorkflowDefinition(workflowModel);
+                });
+        Map<String, Exception> failures = executionDAO.createWorkflows(workflowModels);
+        List<WorkflowModel> created =
+                workflowModels.stream()
+                        .filter(
+                                workflowModel ->
+                                        !failures.containsKey(workflowModel.getWorkflowId()))
+                        .collect(Collectors.toList());
+        if (created.isEmpty()) {
+            return failures;
+        }
+        for (WorkflowModel workflowModel : created) {
+            if (properties.isAsyncIndexingEnabled()) {
+                indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+            } else {
+                indexDAO.indexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
+            }
+        }
+        queueDAO.push(
+                DECIDER_QUEUE,
+                created.stream()
+                        .map(
+                                workflowModel ->
+                                        new Message(
+                                                workflowModel.getWorkflowId(),
+                                                null,
+                                                null,
+                                                workflowModel.getPriority()))
+                        .collect(Collectors.toList()));
+        return failures;
+    }
+
     private void externalizeTaskData(TaskModel taskModel) {
         externalPayloadStorageUtils.verifyAndUpload(
                 taskModel, ExternalPayloadStorage.PayloadType.TASK_INPUT);
@@ -285,12 +417,40 @@ public class ExecutionDAOFacade {
      * @return the id of the updated workflow
      */
     public String updateWorkflow(WorkflowModel workflowModel) {
+        prepareWorkflowUpdate(workflowModel);
+        executionDAO.updateWorkflow(workflowModel);
+        recordWrite(workflowModel.getWorkflowId());
+        indexWorkflowUpdate(workflowModel);
+        return workflowModel.getWorkflowId();
+    }
+
+    /**
+     * Updates the given tasks and workflow as {@link #updateTasks(List)} and {@link
+     * #updateWorkflow(WorkflowModel)} do, but writes them to the {@link ExecutionDAO} together so
+     * that implementations supporting it can persist the outcome of a decision in one round trip.
+     *
+     * @param workflowModel the workflow to be updated
+     * @param tasks the tasks to be updated
+     */
+    public void persistDecision(WorkflowModel workflowModel, List<TaskModel> tasks) {
+        tasks.forEach(this::prepareTaskUpdate);
+        prepareWorkflowUpdate(workflowModel);
+        executionDAO.persistDecision(workflowModel, tasks);
+        recordWrites(tasks, workflowModel.getWorkflowId());
+        tasks.forEach(this::indexTaskUpdate);
+        indexWorkflowUpdate(workflowModel);
+    }
+
+    private void prepareWorkflowUpdate(WorkflowModel workflowModel) {
         workflowModel.setUpdatedTime(System.currentTimeMillis());
         if (workflowModel.getStatus().isTerminal()) {
             workflowModel.setEndTime(System.currentTimeMillis());
         }
         externalizeWorkflowData(workflowModel);
-        executionDAO.updateWorkflow(workflowModel);
+        referenceWorkflowDefinition(workflowModel);
+    }
+
+    private void indexWorkflowUpdate(WorkflowModel workflowModel) {
         if (properties.isAsyncIndexingEnabled()) {
             if (workflowModel.getStatus().isTerminal()
                     && workflowModel.getEndTime() - workflowModel.getCreateTime()
@@ -321,7 +481,6 @@ public class ExecutionDAOFacade {
         } else {
             indexDAO.indexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
         }
-        return workflowModel.getWorkflowId();
     }
 
     public void removeFromPendingWorkflow(String workflowType, String workflowId) {
@@ -336,6 +495,7 @@ public class ExecutionDAOFacade {
      *     {@link IndexDAO} after removal from {@link ExecutionDAO}.
      */
     public void removeWorkflow(String workflowId, boolean archiveWorkflow) {
+        invalidateWorkflowSnapshot(workflowId);
         WorkflowModel workflow = getWorkflowModelFromDataStore(workflowId, true);
 
         executionDAO.removeWorkflow(workflowId);
@@ -357,23 +517,138 @@ public class ExecutionDAOFacade {
                                                 task.getTaskId(), workflow.getWorkflowId()),
                                         e);
                             }
-
-                            try {
-                                queueDAO.remove(QueueUtils.getQueueName(task), task.getTaskId());
-                            } catch (Exception e) {
-                                LOGGER.info(
-                                        "Error removing task: {} of workflow: {} from {} queue",
-                                        workflowId,
-                                        task.getTaskId(),
-                                        QueueUtils.getQueueName(task),
-                                        e);
-                            }
                         });
+        removeFromQueues(workflow);
+    }
+
+    /**
+     * Removes the given workflows from the {@link ExecutionDAO} and their tasks from the queues,
+     * with bulk calls to the {@link IndexDAO} and the {@link ExecutionDAO}.
+     *
+     * <p>Workflows that are no longer in the {@link ExecutionDAO} are skipped. When archiving,
+     * workflows that are not in a terminal state are skipped too, as they may have been restarted
+     * or retried since. Tasks that are not in a terminal state are removed with their workflow,
+     * but are not archived in the index, and no task is archived when task indexing is disabled.
+     * A workflow whose workflow or task documents could not be archived is kept in the {@link
+     * ExecutionDAO} and reported as failed, without failing the other workflows.
+     *
+     * @param workflowIds the ids of the workflows to remove
+     * @param archiveWorkflows if true, the workflows and their tasks are archived in the index
+     *     instead of being removed from it
+     * @return the workflows that were removed, and the workflows that could not be archived
+     */
+    public RemovedWorkflows removeWorkflows(List<String> workflowIds, boolean archiveWorkflows) {
+        List<WorkflowModel> workflows = new ArrayList<>(workflowIds.size());
+        for (String workflowId : workflowIds) {
+            invalidateWorkflowSnapshot(workflowId);
+            WorkflowModel workflow = executionDAO.getWorkflow(workflowId, true);
+            if (workflow == null) {
+                LOGGER.debug("Workflow {} already removed from executionDAO", workflowId);
+            } else if (archiveWorkflows && !workflow.getStatus().isTerminal()) {
+                LOGGER.warn(
+                        "Cannot archive workflow: {} with status: {}, skipping",
+                        workflowId,
+                        workflow.getStatus());
+            } else {
+                workflows.add(attachWorkflowDefinition(workflow));
+            }
+        }
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        if (workflows.isEmpty()) {
+            return new RemovedWorkflows(workflows, failures);
+        }
+
+        if (archiveWorkflows) {
+            Map<String, Map<String, Object>> workflowUpdates = new LinkedHashMap<>();
+            Map<String, String> taskWorkflowIds = new LinkedHashMap<>();
+            for (WorkflowModel workflow : workflows) {
+                try {
+                    workflowUpdates.put(
+                            workflow.getWorkflowId(),
+                            Map.of(
+                                    RAW_JSON_FIELD,
+                                    objectMapper.writeValueAsString(workflow),
+                                    ARCHIVED_FIELD,
+                                    true));
+                } catch (JsonProcessingException e) {
+                    failures.put(
+                            workflow.getWorkflowId(),
+                            new TransientException(
+                                    "Workflow can not be serialized to json: "
+                                            + workflow.getWorkflowId(),
+                                    e));
+                    continue;
+                }
+                if (!properties.isTaskIndexingEnabled()) {
+                    continue;
+                }
+                for (TaskModel task : workflow.getTasks()) {
+                    if (task.getStatus().isTerminal()) {
+                        taskWorkflowIds.put(task.getTaskId(), workflow.getWorkflowId());
+                    } else {
+                        LOGGER.warn(
+                                "Cannot archive task: {} of workflow: {} with status: {}, removing it",
+                                task.getTaskId(),
+                                workflow.getWorkflowId(),
+                                task.getStatus());
+                    }
+                }
+            }
+            // DO NOT archive async, since if archival errors out, workflow data will be lost
+            failures.putAll(indexDAO.updateWorkflows(workflowUpdates));
+            if (!taskWorkflowIds.isEmpty()) {
+                indexDAO.updateTasks(
+                                taskWorkflowIds,
+                                new String[] {ARCHIVED_FIELD},
+                                new Object[] {true})
+                        .forEach(
+                                (taskId, error) ->
+                                        failures.putIfAbsent(taskWorkflowIds.get(taskId), error));
+            }
+            failures.forEach(
+                    (workflowId, error) ->
+                            LOGGER.error("Failed to archive workflow: {}", workflowId, error));
+            workflows.removeIf(workflow -> failures.containsKey(workflow.getWorkflowId()));
+        } else {
+            for (WorkflowModel workflow : workflows) {
+                indexDAO.asyncRemoveWorkflow(workflow.getWorkflowId());
+                workflow.getTasks()
+                        .forEach(
+                                task ->
+                                        indexDAO.asyncRemoveTask(
+                                                workflow.getWorkflowId(), task.getTaskId()));
+            }
+        }
+
+        if (!workflows.isEmpty()) {
+            executionDAO.removeWorkflows(
+                    workflows.stream()
+                            .map(WorkflowModel::getWorkflowId)
+                            .collect(Collectors.toList()));
+            workflows.forEach(this::removeFromQueues);
+        }
+        return new RemovedWorkflows(workflows, failures);
+    }
+
+    private void removeFromQueues(WorkflowModel workflow) {
+        for (TaskModel task : workflow.getTasks()) {
+            try {
+                queueDAO.remove(QueueUtils.getQueueName(task), task.getTaskId());
+            } catch (Exception e) {
+                LOGGER.info(
+                        "Error removing task: {} of workflow: {} from {} queue",
+                        workflow.getWorkflowId(),
+                        task.getTaskId(),
+                        QueueUtils.getQueueName(task),
+                        e);
+            }
+        }
 
         try {
-            queueDAO.remove(DECIDER_QUEUE, workflowId);
+            queueDAO.remove(DECIDER_QUEUE, workflow.getWorkflowId());
         } catch (Exception e) {
-            LOGGER.info("Error removing workflow: {} from decider queue", workflowId, e);
+            LOGGER.info(
+                    "Error removing workflow: {} from decider queue", workflow.getWorkflowId(), e);
         }
     }
 
@@ -401,6 +676,7 @@ public class ExecutionDAOFacade {
 
     public void removeWorkflowWithExpiry(
             String workflowId, boolean archiveWorkflow, int ttlSeconds) {
+        invalidateWorkflowSnapshot(workflowId);
         try {
             WorkflowModel workflow = getWorkflowModelFromDataStore(workflowId, true);
 
@@ -435,7 +711,9 @@ public class ExecutionDAOFacade {
 
     public List<TaskModel> createTasks(List<TaskModel> tasks) {
         tasks.forEach(this::externalizeTaskData);
-        return executionDAO.createTasks(tasks);
+        List<TaskModel> created = executionDAO.createTasks(tasks);
+        recordWrites(tasks);
+        return created;
     }
 
     public List<Task> getTasksForWorkflow(String workflowId) {
@@ -448,6 +726,33 @@ public class ExecutionDAOFacade {
         return executionDAO.getTasksForWorkflow(workflowId);
     }
 
+    /**
+     * Returns the status of each task in the workflow without loading the task payloads, where the
+     * underlying {@link ExecutionDAO} supports it.
+     *
+     * @param workflowId the id of the workflow
+     * @return map of task id to task status
+     */
+    public Map<String, TaskModel.Status> getTaskStatuses(String workflowId) {
+        return executionDAO.getTaskStatuses(workflowId);
+    }
+
+    /**
+     * Returns the status of the workflow without loading the workflow payload, where the underlying
+     * {@link ExecutionDAO} supports it.
+     *
+     * @param workflowId the id of the workflow
+     * @return the status of the workflow
+     * @throws NotFoundException no such workflow is found in the {@link ExecutionDAO}.
+     */
+    public WorkflowModel.Status getWorkflowStatus(String workflowId) {
+        WorkflowModel.Status status = executionDAO.getWorkflowStatus(workflowId);
+        if (status == null) {
+            throw new NotFoundException("No such workflow found by id: %s", workflowId);
+        }
+        return status;
+    }
+
     public TaskModel getTaskModel(String taskId) {
         TaskModel taskModel = getTaskFromDatastore(taskId);
         if (taskModel != null) {
@@ -495,6 +800,27 @@ public class ExecutionDAOFacade {
      *     payload fails.
      */
     public void updateTask(TaskModel taskModel) {
+        prepareTaskUpdate(taskModel);
+        executionDAO.updateTask(taskModel);
+        recordWrite(taskModel.getWorkflowInstanceId());
+        indexTaskUpdate(taskModel);
+    }
+
+    /**
+     * Updates the given tasks as {@link #updateTask(TaskModel)} does, but writes them to the {@link
+     * ExecutionDAO} together so that implementations supporting batched writes can persist them in
+     * fewer round trips.
+     *
+     * @param tasks the tasks to be updated in the data store
+     */
+    public void updateTasks(List<TaskModel> tasks) {
+        tasks.forEach(this::prepareTaskUpdate);
+        executionDAO.updateTasks(tasks);
+        recordWrites(tasks);
+        tasks.forEach(this::indexTaskUpdate);
+    }
+
+    private void prepareTaskUpdate(TaskModel taskModel) {
         if (taskModel.getStatus() != null) {
             if (!taskModel.getStatus().isTerminal()
                     || (taskModel.getStatus().isTerminal() && taskModel.getUpdateTime() == 0)) {
@@ -505,7 +831,9 @@ public class ExecutionDAOFacade {
             }
         }
         externalizeTaskData(taskModel);
-        executionDAO.updateTask(taskModel);
+    }
+
+    private void indexTaskUpdate(TaskModel taskModel) {
         try {
             /*
              * Indexing a task for every update adds a lot of volume. That is ok but if async indexing
@@ -529,14 +857,55 @@ public class ExecutionDAOFacade {
         }
     }
 
-    public void updateTasks(List<TaskModel> tasks) {
-        tasks.forEach(this::updateTask);
-    }
-
     public void removeTask(String taskId) {
         executionDAO.removeTask(taskId);
     }
 
+    /**
+     * @return whether tasks can be removed from a running workflow, which requires every task
+     *     update to be indexed synchronously so that the removed tasks can be archived in the index
+     */
+    public boolean isTaskArchivalEnabled() {
+        return !properties.isAsyncIndexingEnabled() && properties.isTaskIndexingEnabled();
+    }
+
+    /**
+     * Archives the given terminal tasks in the index, then removes them from the {@link
+     * ExecutionDAO}. A task that could not be archived is kept, and nothing is removed unless
+     * {@link #isTaskArchivalEnabled()}.
+     *
+     * @param workflow the workflow the tasks belong to
+     * @param tasks the tasks to be removed
+     * @return the tasks that were removed
+     */
+    public List<TaskModel> removeTasks(WorkflowModel workflow, List<TaskModel> tasks) {
+        if (!isTaskArchivalEnabled()) {
+            return Collections.emptyList();
+        }
+        Map<String, String> taskWorkflowIds = new LinkedHashMap<>();
+        tasks.forEach(task -> taskWorkflowIds.put(task.getTaskId(), workflow.getWorkflowId()));
+        // DO NOT archive async, since if archival errors out, task data will be lost
+        Map<String, Exception> failures =
+                indexDAO.updateTasks(
+                        taskWorkflowIds, new String[] {ARCHIVED_FIELD}, new Object[] {true});
+        List<TaskModel> removed = new ArrayList<>(tasks.size());
+        for (TaskModel task : tasks) {
+            if (failures.containsKey(task.getTaskId())) {
+                LOGGER.error(
+                        "Failed to archive task: {} of workflow: {}, keeping it",
+                        task.getTaskId(),
+                        workflow.getWorkflowId(),
+                        failures.get(task.getTaskId()));
+            } else {
+                if (executionDAO.removeTask(task.getTaskId())) {
+                    recordWrite(workflow.getWorkflowId());
+                }
+                removed.add(task);
+            }
+        }
+        return removed;
+    }
+
     private void removeTaskIndex(WorkflowModel workflow, TaskModel task, boolean archiveTask)
             throws JsonProcessingException {
         if (archiveTask) {
@@ -563,6 +932,7 @@ public class ExecutionDAOFacade {
     public void extendLease(TaskModel taskModel) {
         taskModel.setUpdateTime(System.currentTimeMillis());
         executionDAO.updateTask(taskModel);
+        recordWrite(taskModel.getWorkflowInstanceId());
     }
 
     public List<PollData> getTaskPollData(String taskName) {
@@ -633,6 +1003,18 @@ public class ExecutionDAOFacade {
         executionDAO.removeEventExecution(eventExecution);
     }
 
+    public boolean supportsBulkJobs() {
+        return executionDAO.supportsBulkJobs();
+    }
+
+    public void updateBulkJobStatus(BulkJobStatus status, int ttlSeconds) {
+        executionDAO.updateBulkJobStatus(status, ttlSeconds);
+    }
+
+    public BulkJobStatus getBulkJobStatus(String jobId) {
+        return executionDAO.getBulkJobStatus(jobId);
+    }
+
     public boolean exceedsInProgressLimit(TaskModel task) {
         return concurrentExecutionLimitDAO.exceedsLimit(task);
     }
@@ -641,6 +1023,30 @@ public class ExecutionDAOFacade {
         return rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef);
     }
 
+    /**
+     * Returns how many tasks of the given taskDef a poll can hand out without breaching its
+     * concurrency and rate limits.
+     *
+     * @param taskDef the task definition, null if there is none
+     * @param count the number of tasks requested
+     * @return the number of tasks that can be dequeued, between 0 and count
+     */
+    public int getAvailablePermits(TaskDef taskDef, int count) {
+        if (taskDef == null) {
+            return count;
+        }
+        int permits = count;
+        if (taskDef.concurrencyLimit() > 0) {
+            permits = Math.min(permits, concurrentExecutionLimitDAO.getAvailableSlots(taskDef));
+        }
+        if (permits > 0
+                && taskDef.getRateLimitPerFrequency() > 0
+                && taskDef.getRateLimitFrequencyInSeconds() > 0) {
+            permits = Math.min(permits, rateLimitingDao.getAvailablePermits(taskDef));
+        }
+        return Math.max(permits, 0);
+    }
+
     public void addTaskExecLog(List<TaskExecLog> logs) {
         if (properties.isTaskExecLogIndexingEnabled() && !logs.isEmpty()) {
             Monitors.recordTaskExecLogSize(logs.size());
@@ -695,6 +1101,33 @@ public class ExecutionDAOFacade {
                 : Collections.emptyList();
     }
 
+    /**
+     * Records one write of each of the given workflows and of the workflows of the given tasks, as
+     * the {@link ExecutionDAO} increments their versions once per write.
+     */
+    private void recordWrites(List<TaskModel> tasks, String... workflowIds) {
+        if (workflowSnapshotCache != null) {
+            Stream.concat(
+                            tasks.stream().map(TaskModel::getWorkflowInstanceId),
+                            Stream.of(workflowIds))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(workflowSnapshotCache::recordWrite);
+        }
+    }
+
+    private void recordWrite(String workflowId) {
+        if (workflowSnapshotCache != null && workflowId != null) {
+            workflowSnapshotCache.recordWrite(workflowId);
+        }
+    }
+
+    private void invalidateWorkflowSnapshot(String workflowId) {
+        if (workflowSnapshotCache != null) {
+            workflowSnapshotCache.invalidate(workflowId);
+        }
+    }
+
     /**
      * Populates the workflow input data and the tasks input/output data if stored in external
      * payload storage.
@@ -725,7 +1158,11 @@ public class ExecutionDAOFacade {
             workflowModel.internalizeOutput(workflowOutputParams);
         }
 
-        workflowModel.getTasks().forEach(this::populateTaskData);
+        if (properties.isLazyTaskPayloadLoadingEnabled()) {
+            workflowModel.getTasks().forEach(this::populateTaskDataLazily);
+        } else {
+            workflowModel.getTasks().forEach(this::populateTaskData);
+        }
     }
 
     public void populateTaskData(TaskModel taskModel) {
@@ -752,6 +1189,42 @@ public class ExecutionDAOFacade {
         }
     }
 
+    /**
+     * Same as {@link #populateTaskData(TaskModel)}, except that the payloads are only downloaded
+     * when the task input/output is first accessed.
+     */
+    private void populateTaskDataLazily(TaskModel taskModel) {
+        String outputPath = taskModel.getExternalOutputPayloadStoragePath();
+        if (StringUtils.isNotBlank(outputPath)) {
+            taskModel.internalizeOutputLazily(
+                    () ->
+                            downloadTaskPayload(
+                                    taskModel,
+                                    outputPath,
+                                    ExternalPayloadStorage.PayloadType.TASK_OUTPUT));
+        }
+
+        String inputPath = taskModel.getExternalInputPayloadStoragePath();
+        if (StringUtils.isNotBlank(inputPath)) {
+            taskModel.internalizeInputLazily(
+                    () ->
+                            downloadTaskPayload(
+                                    taskModel,
+                                    inputPath,
+                                    ExternalPayloadStorage.PayloadType.TASK_INPUT));
+        }
+    }
+
+    private Map<String, Object> downloadTaskPayload(
+            TaskModel taskModel, String path, ExternalPayloadStorage.PayloadType payloadType) {
+        Map<String, Object> payload = externalPayloadStorageUtils.downloadPayload(path);
+        Monitors.recordExternalPayloadStorageUsage(
+                taskModel.getTaskDefName(),
+                ExternalPayloadStorage.Operation.READ.toString(),
+                payloadType.toString());
+        return payload;
+    }
+
     class DelayWorkflowUpdate implements Runnable {
 
         private final String workflowId;
@@ -763,11 +1236,38 @@ public class ExecutionDAOFacade {
         @Override
         public void run() {
             try {
-                WorkflowModel workflowModel = executionDAO.getWorkflow(workflowId, false);
+                WorkflowModel workflowModel =
+                        attachWorkflowDefinition(executionDAO.getWorkflow(workflowId, false));
                 indexDAO.asyncIndexWorkflow(new WorkflowSummary(workflowModel.toWorkflow()));
             } catch (Exception e) {
                 LOGGER.error("Unable to update workflow: {}", workflowId, e);
             }
         }
     }
+
+    /** The outcome of {@link #removeWorkflows(List, boolean)}. */
+    public static class RemovedWorkflows {
+
+        private final List<WorkflowModel> removed;
+        private final Map<String, Exception> failures;
+
+        public RemovedWorkflows(List<WorkflowModel> removed, Map<String, Exception> failures) {
+            this.removed = removed;
+            this.failures = failures;
+        }
+
+        /**
+         * @return the workflows that were removed
+         */
+        public List<WorkflowModel> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * @return the error archiving each workflow that was kept, by workflow id
+         */
+        public Map<String, Exception> getFailures() {
+            return failures;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.exception.NonTransientException;
+import com.netflix.conductor.core.exception.NotFoundException;
+import com.netflix.conductor.dao.MetadataDAO;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Content-addressed store of the workflow definitions used by workflows that persist their
+ * definition by reference.
+ *
+ * <p>A definition is stored once under the SHA-256 hash of its JSON representation, and is never
+ * changed afterwards, so registered and ad-hoc inline definitions are handled the same way and a
+ * workflow always gets back the exact definition it was started with. Definitions stored or loaded
+ * on this node are kept in an in-process cache, which needs no invalidation since the entries are
+ * immutable.
+ */
+class WorkflowDefStore {
+
+    private final MetadataDAO metadataDAO;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, WorkflowDef> definitions;
+
+    WorkflowDefStore(MetadataDAO metadataDAO, ObjectMapper objectMapper, int maximumSize) {
+        this.metadataDAO = metadataDAO;
+        this.objectMapper = objectMapper;
+        this.definitions = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Stores the given definition, unless a definition with the same content was stored before.
+     *
+     * @param workflowDef the workflow definition
+     * @return the content hash the definition is stored under
+     */
+    String save(WorkflowDef workflowDef) {
+        String hash = hash(workflowDef);
+        if (definitions.getIfPresent(hash) == null) {
+            metadataDAO.storeWorkflowDefSnapshot(hash, workflowDef);
+            definitions.put(hash, workflowDef);
+        }
+        return hash;
+    }
+
+    /**
+     * @param hash the content hash of the workflow definition
+     * @return the workflow definition stored under the given hash
+     * @throws NotFoundException if no definition is stored under the given hash
+     */
+    WorkflowDef load(String hash) {
+        return definitions.get(
+                hash,
+                key ->
+                        metadataDAO
+                                .getWorkflowDefSnapshot(key)
+                                .orElseThrow(
+                                        () ->
+                                                new NotFoundException(
+                                                        "No workflow definition found for hash: %s",
+                                                        key)));
+    }
+
+    private String hash(WorkflowDef workflowDef) {
+        try {
+            byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(objectMapper.writeValueAsBytes(workflowDef));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new NonTransientException(
+                    "Unable to hash workflow definition: " + workflowDef.getName(), e);
+        }
+    }
+}
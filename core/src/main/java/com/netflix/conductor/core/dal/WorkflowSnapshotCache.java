@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.netflix.conductor.metrics.Monitors;
+import com.netflix.conductor.model.WorkflowModel;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps the workflows evaluated last on this node, so that the next evaluation of a hot workflow
+ * does not have to load and deserialize it and all of its tasks again.
+ *
+ * <p>A snapshot is handed out to at most one caller: {@link #take(String, Function)} removes it
+ * from the cache, and it is only put back once the evaluation has been persisted. Callers are
+ * expected to hold the workflow execution lock in between. The version of a snapshot is the version
+ * read from the datastore when the evaluation started, plus the writes the evaluating thread made
+ * through {@link #recordWrite(String)}. Any other write, by another thread or node, increments the
+ * datastore version beyond that of the snapshot, so such updates, or an evaluation that failed half
+ * way, are never served from the cache.
+ */
+class WorkflowSnapshotCache {
+
+    private static final class Snapshot {
+
+        private final WorkflowModel workflow;
+        private final long version;
+
+        private Snapshot(WorkflowModel workflow, long version) {
+            this.workflow = workflow;
+            this.version = version;
+        }
+    }
+
+    private final Cache<String, Snapshot> snapshots;
+
+    /** The versions of the workflows being evaluated by the current thread. */
+    private final ThreadLocal<Map<String, Long>> evaluations = ThreadLocal.withInitial(HashMap::new);
+
+    WorkflowSnapshotCache(int maximumSize) {
+        this.snapshots = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Starts an evaluation of the workflow by the current thread. Must be called before the
+     * workflow is loaded from the datastore.
+     *
+     * @param workflowId the id of the workflow
+     * @param currentVersion returns the version of the workflow in the datastore
+     * @return the cached workflow if it is up-to-date with the datastore, null otherwise
+     */
+    WorkflowModel take(String workflowId, Function<String, Long> currentVersion) {
+        Snapshot snapshot = snapshots.asMap().remove(workflowId);
+        Long version = currentVersion.apply(workflowId);
+        if (version == null) {
+            evaluations.get().remove(workflowId);
+        } else {
+            evaluations.get().put(workflowId, version);
+        }
+        if (snapshot == null) {
+            Monitors.recordWorkflowSnapshotCacheLookup("miss");
+            return null;
+        }
+        if (version == null || snapshot.version != version) {
+            Monitors.recordWorkflowSnapshotCacheLookup("stale");
+            return null;
+        }
+        Monitors.recordWorkflowSnapshotCacheLookup("hit");
+        return snapshot.workflow;
+    }
+
+    /**
+     * Records a write of the workflow or its tasks made by the current thread, once it has been
+     * persisted.
+     */
+    void recordWrite(String workflowId) {
+        evaluations.get().computeIfPresent(workflowId, (id, version) -> version + 1);
+    }
+
+    /**
+     * Caches the given workflow, which must reflect what has been persisted, until it is evicted,
+     * taken, or the workflow reaches a terminal status.
+     */
+    void put(WorkflowModel workflow) {
+        Long version = evaluations.get().remove(workflow.getWorkflowId());
+        if (version == null || workflow.getStatus().isTerminal()) {
+            invalidate(workflow.getWorkflowId());
+            return;
+        }
+        snapshots.put(workflow.getWorkflowId(), new Snapshot(workflow, version));
+        Monitors.recordWorkflowSnapshotCacheSize(snapshots.estimatedSize());
+    }
+
+    void invalidate(String workflowId) {
+        snapshots.invalidate(workflowId);
+    }
+}
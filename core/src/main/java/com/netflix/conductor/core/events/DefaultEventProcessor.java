@@ -160,7 +160,9 @@ public class DefaultEventProcessor {
             return transientFailures;
         }
 
-        Object payloadObject = getPayloadObject(msg.getPayload());
+        // expanded once for all the event handlers, string values are only parsed when a
+        // condition reads them
+        Object expandedPayload = jsonUtils.expandLazily(getPayloadObject(msg.getPayload()));
         for (EventHandler eventHandler : eventHandlerList) {
             String condition = eventHandler.getCondition();
             String evaluatorType = eventHandler.getEvaluatorType();
@@ -168,14 +170,11 @@ public class DefaultEventProcessor {
             // to process the event.
             boolean success = true;
             if (StringUtils.isNotEmpty(condition) && evaluators.get(evaluatorType) != null) {
-                Object result =
-                        evaluators
-                                .get(evaluatorType)
-                                .evaluate(condition, jsonUtils.expand(payloadObject));
+                Object result = evaluators.get(evaluatorType).evaluate(condition, expandedPayload);
                 success = ScriptEvaluator.toBoolean(result);
             } else if (StringUtils.isNotEmpty(condition)) {
                 LOGGER.debug("Checking condition: {} for event: {}", condition, event);
-                success = ScriptEvaluator.evalBool(condition, jsonUtils.expand(payloadObject));
+                success = ScriptEvaluator.evalBool(condition, expandedPayload);
             }
 
             if (!success) {
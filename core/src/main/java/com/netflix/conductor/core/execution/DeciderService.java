@@ -173,15 +173,7 @@ public class DeciderService {
                 executedTaskRefNames.remove(pendingTask.getReferenceTaskName());
             }
 
-            Optional<TaskDef> taskDefinition = pendingTask.getTaskDefinition();
-            if (taskDefinition.isEmpty()) {
-                taskDefinition =
-                        Optional.ofNullable(
-                                        workflow.getWorkflowDefinition()
-                                                .getTaskByRefName(
-                                                        pendingTask.getReferenceTaskName()))
-                                .map(WorkflowTask::getTaskDefinition);
-            }
+            Optional<TaskDef> taskDefinition = getTaskDefinition(workflow, pendingTask);
 
             if (taskDefinition.isPresent()) {
                 checkTaskTimeout(taskDefinition.get(), pendingTask);
@@ -194,15 +186,12 @@ public class DeciderService {
             }
 
             if (!pendingTask.getStatus().isSuccessful()) {
-                WorkflowTask workflowTask = pendingTask.getWorkflowTask();
-                if (workflowTask == null) {
-                    workflowTask =
-                            workflow.getWorkflowDefinition()
-                                    .getTaskByRefName(pendingTask.getReferenceTaskName());
-                }
-
                 Optional<TaskModel> retryTask =
-                        retry(taskDefinition.orElse(null), workflowTask, pendingTask, workflow);
+                        retry(
+                                taskDefinition.orElse(null),
+                                getWorkflowTask(workflow, pendingTask),
+                                pendingTask,
+                                workflow);
                 if (retryTask.isPresent()) {
                     tasksToBeScheduled.put(retryTask.get().getReferenceTaskName(), retryTask.get());
                     executedTaskRefNames.remove(retryTask.get().getReferenceTaskName());
@@ -308,14 +297,14 @@ public class DeciderService {
                     nextTask.setIteration(pendingTask.getIteration());
                 });
 
-        List<String> tasksInWorkflow =
+        Set<String> tasksInWorkflow =
                 workflow.getTasks().stream()
                         .filter(
                                 runningTask ->
                                         runningTask.getStatus().equals(TaskModel.Status.IN_PROGRESS)
                                                 || runningTask.getStatus().isTerminal())
                         .map(TaskModel::getReferenceTaskName)
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toSet());
 
         return tasks.stream()
                 .filter(
@@ -536,6 +525,55 @@ public class DeciderService {
         return taskToSchedule == null ? null : taskToSchedule.getTaskReferenceName();
     }
 
+    /**
+     * Whether the given unsuccessful task is retried when the workflow is decided, rather than
+     * failing the workflow or completing with errors.
+     *
+     * @param workflow the workflow the task belongs to
+     * @param task the unsuccessful task
+     * @return true if a retry of the task is scheduled by {@link #decide(WorkflowModel)}
+     */
+    public boolean hasRetriesLeft(WorkflowModel workflow, TaskModel task) {
+        TaskDef taskDefinition =
+                getTaskDefinition(workflow, task)
+                        .orElseGet(() -> metadataDAO.getTaskDef(task.getTaskDefName()));
+        return hasRetriesLeft(taskDefinition, getWorkflowTask(workflow, task), task);
+    }
+
+    private boolean hasRetriesLeft(
+            TaskDef taskDefinition, WorkflowTask workflowTask, TaskModel task) {
+        final int expectedRetryCount =
+                taskDefinition == null
+                        ? 0
+                        : Optional.ofNullable(workflowTask)
+                                .map(WorkflowTask::getRetryCount)
+                                .orElse(taskDefinition.getRetryCount());
+        return task.getStatus().isRetriable()
+                && !TaskType.isBuiltIn(task.getTaskType())
+                && expectedRetryCount > task.getRetryCount();
+    }
+
+    private Optional<TaskDef> getTaskDefinition(WorkflowModel workflow, TaskModel task) {
+        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+        if (taskDefinition.isEmpty()) {
+            taskDefinition =
+                    Optional.ofNullable(
+                                    workflow.getWorkflowDefinition()
+                                            .getTaskByRefName(task.getReferenceTaskName()))
+                            .map(WorkflowTask::getTaskDefinition);
+        }
+        return taskDefinition;
+    }
+
+    private WorkflowTask getWorkflowTask(WorkflowModel workflow, TaskModel task) {
+        WorkflowTask workflowTask = task.getWorkflowTask();
+        if (workflowTask == null) {
+            workflowTask =
+                    workflow.getWorkflowDefinition().getTaskByRefName(task.getReferenceTaskName());
+        }
+        return workflowTask;
+    }
+
     @VisibleForTesting
     Optional<TaskModel> retry(
             TaskDef taskDefinition,
@@ -544,21 +582,11 @@ public class DeciderService {
             WorkflowModel workflow)
             throws TerminateWorkflowException {
 
-        int retryCount = task.getRetryCount();
-
         if (taskDefinition == null) {
             taskDefinition = metadataDAO.getTaskDef(task.getTaskDefName());
         }
 
-        final int expectedRetryCount =
-                taskDefinition == null
-                        ? 0
-                        : Optional.ofNullable(workflowTask)
-                                .map(WorkflowTask::getRetryCount)
-                                .orElse(taskDefinition.getRetryCount());
-        if (!task.getStatus().isRetriable()
-                || TaskType.isBuiltIn(task.getTaskType())
-                || expectedRetryCount <= retryCount) {
+        if (!hasRetriesLeft(taskDefinition, workflowTask, task)) {
             if (workflowTask != null
                     && (workflowTask.isOptional() || workflowTask.isPermissive())) {
                 return Optional.empty();
@@ -870,14 +898,14 @@ public class DeciderService {
         String type = taskToSchedule.getType();
 
         // get tasks already scheduled (in progress/terminal) for  this workflow instance
-        List<String> tasksInWorkflow =
+        Set<String> tasksInWorkflow =
                 workflow.getTasks().stream()
                         .filter(
                                 runningTask ->
                                         runningTask.getStatus().equals(TaskModel.Status.IN_PROGRESS)
                                                 || runningTask.getStatus().isTerminal())
                         .map(TaskModel::getReferenceTaskName)
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toSet());
 
         String taskId = idGenerator.generate();
         TaskMapperContext taskMapperContext =
@@ -882,8 +882,105 @@ public class WorkflowExecutor {
                     task.getTaskDefName(), lastDuration, false, task.getStatus());
         }
 
+        WorkflowModel decidedWorkflow = null;
         if (!isLazyEvaluateWorkflow(workflowInstance.getWorkflowDefinition(), task)) {
-            decide(workflowId);
+            decidedWorkflow = decide(workflowId);
+        }
+
+        // woken up after the decide, so that a join sees the retry scheduled for a failed task
+        if (task.getStatus().isTerminal() && properties.isJoinWakeUpEnabled()) {
+            try {
+                wakeUpJoins(
+                        decidedWorkflow != null ? decidedWorkflow : workflowInstance, task);
+            } catch (Exception e) {
+                // the join is still evaluated on its next poll
+                LOGGER.warn(
+                        "Error waking up the joins waiting on task: {} of workflow: {}",
+                        task.getTaskId(),
+                        workflowId,
+                        e);
+            }
+        }
+    }
+
+    /**
+     * Makes the pending JOIN tasks waiting on the given task available for evaluation right away,
+     * if they can now complete, instead of leaving them until their next backoff poll.
+     *
+     * @param workflow the workflow, with the tasks loaded by the decide that followed the task
+     *     update, or without tasks if the decide was skipped
+     * @param task the task that reached a terminal status
+     */
+    @VisibleForTesting
+    @SuppressWarnings("unchecked")
+    void wakeUpJoins(WorkflowModel workflow, TaskModel task) {
+        String taskRefName = TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName());
+        List<WorkflowTask> workflowTasks = workflow.getWorkflowDefinition().collectTasks();
+        List<WorkflowTask> joinTasks =
+                workflowTasks.stream()
+                        .filter(t -> TaskType.TASK_TYPE_JOIN.equals(t.getType()))
+                        .collect(Collectors.toList());
+        // joins in the definition list the tasks they wait on, dynamically forked tasks are not
+        // part of the definition at all
+        boolean joinedOn =
+                joinTasks.stream().anyMatch(join -> join.getJoinOn().contains(taskRefName))
+                        || workflowTasks.stream()
+                                .noneMatch(t -> taskRefName.equals(t.getTaskReferenceName()));
+        if (!joinedOn
+                || (!task.getStatus().isSuccessful()
+                        && deciderService.hasRetriesLeft(workflow, task))) {
+            // a failed task that is retried does not complete the join
+            return;
+        }
+
+        // the tasks are only read when the decide, which loads them anyway, was skipped for a
+        // lazily evaluated task
+        WorkflowModel workflowTasksOnly;
+        if (workflow.getTasks().isEmpty()) {
+            workflowTasksOnly = new WorkflowModel();
+            workflowTasksOnly.setTasks(
+                    executionDAOFacade.getTaskModelsForWorkflow(workflow.getWorkflowId()));
+        } else {
+            workflowTasksOnly = workflow;
+        }
+        TaskModel latestAttempt = workflowTasksOnly.getTaskByRefName(task.getReferenceTaskName());
+        if (latestAttempt != null && !task.getTaskId().equals(latestAttempt.getTaskId())) {
+            // the task has already been retried
+            return;
+        }
+        for (TaskModel join : workflowTasksOnly.getTasks()) {
+            if (!TaskType.TASK_TYPE_JOIN.equals(join.getTaskType())
+                    || join.getStatus().isTerminal()) {
+                continue;
+            }
+            List<String> joinOn = (List<String>) join.getInputData().get("joinOn");
+            if (joinOn == null) {
+                continue;
+            }
+            if (join.isLoopOverTask()) {
+                joinOn =
+                        joinOn.stream()
+                                .map(name -> TaskUtils.appendIteration(name, join.getIteration()))
+                                .collect(Collectors.toList());
+            }
+            if (!joinOn.contains(task.getReferenceTaskName())) {
+                continue;
+            }
+            // only the tasks of this join are checked, other pending tasks of the workflow (e.g.
+            // an enclosing DO_WHILE) do not hold it back
+            boolean canComplete =
+                    !task.getStatus().isSuccessful()
+                            || joinOn.stream()
+                                    .map(workflowTasksOnly::getTaskByRefName)
+                                    .allMatch(t -> t != null && t.getStatus().isTerminal());
+            if (canComplete) {
+                LOGGER.debug(
+                        "Waking up join: {} of workflow: {} on completion of task: {}",
+                        join.getTaskId(),
+                        workflow.getWorkflowId(),
+                        task.getTaskId());
+                queueDAO.resetOffsetTime(QueueUtils.getQueueName(join), join.getTaskId());
+            }
         }
     }
 
@@ -1025,12 +1122,17 @@ public class WorkflowExecutor {
         }
         try {
 
-            WorkflowModel workflow = executionDAOFacade.getWorkflowModel(workflowId, true);
+            WorkflowModel workflow = executionDAOFacade.takeWorkflowSnapshot(workflowId);
+            if (workflow == null) {
+                workflow = executionDAOFacade.getWorkflowModel(workflowId, true);
+            }
             if (workflow == null) {
                 // This can happen if the workflowId is incorrect
                 return null;
             }
-            return decide(workflow);
+            workflow = decide(workflow);
+            executionDAOFacade.cacheWorkflowSnapshot(workflow);
+            return workflow;
 
         } finally {
             executionLockService.releaseLock(workflowId);
@@ -1112,16 +1214,18 @@ public class WorkflowExecutor {
                 }
             }
 
-            if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
-                executionDAOFacade.updateTasks(tasksToBeUpdated);
-            }
-
+            boolean tasksChanged =
+                    !outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty();
             if (stateChanged) {
+                if (tasksChanged) {
+                    executionDAOFacade.updateTasks(tasksToBeUpdated);
+                }
                 return decide(workflow);
             }
 
-            if (!outcome.tasksToBeUpdated.isEmpty() || !tasksToBeScheduled.isEmpty()) {
-                executionDAOFacade.updateWorkflow(workflow);
+            if (tasksChanged) {
+                // the tasks and the workflow are written together
+                executionDAOFacade.persistDecision(workflow, tasksToBeUpdated);
             }
 
             return workflow;
@@ -1667,13 +1771,7 @@ public class WorkflowExecutor {
         }
 
         // Now iterate through the tasks and find the "specific" task
-        TaskModel rerunFromTask = null;
-        for (TaskModel task : workflow.getTasks()) {
-            if (task.getTaskId().equals(taskId)) {
-                rerunFromTask = task;
-                break;
-            }
-        }
+        TaskModel rerunFromTask = workflow.getTaskById(taskId);
 
         // If not found look into sub workflows
         if (rerunFromTask == null) {
@@ -1758,6 +1856,27 @@ public class WorkflowExecutor {
         return false;
     }
 
+    /**
+     * @return whether terminal tasks can be removed from a running workflow, see {@link
+     *     #removeTasks(WorkflowModel, List)}
+     */
+    public boolean canRemoveTasks() {
+        return executionDAOFacade.isTaskArchivalEnabled();
+    }
+
+    /**
+     * Archives the given terminal tasks in the index, then removes them from the workflow and from
+     * the execution store. Tasks that could not be archived are kept.
+     *
+     * @param workflow the workflow the tasks belong to
+     * @param tasks the tasks to be removed
+     */
+    public void removeTasks(WorkflowModel workflow, List<TaskModel> tasks) {
+        Set<TaskModel> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(executionDAOFacade.removeTasks(workflow, tasks));
+        workflow.getTasks().removeIf(removed::contains);
+    }
+
     public void scheduleNextIteration(TaskModel loopTask, WorkflowModel workflow) {
         // Schedule only first loop over task. Rest will be taken care in Decider Service when this
         // task will get completed.
@@ -34,6 +34,7 @@ import com.netflix.conductor.common.metadata.workflow.SubWorkflowParams;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.core.exception.TerminateWorkflowException;
+import com.netflix.conductor.core.execution.tasks.Join;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.utils.IDGenerator;
 import com.netflix.conductor.core.utils.ParametersUtils;
@@ -64,6 +65,17 @@ public class ForkJoinDynamicTaskMapper implements TaskMapper {
     private final MetadataDAO metadataDAO;
     private final SystemTaskRegistry systemTaskRegistry;
 
+    /**
+     * Input parameter of a {@link TaskType#FORK_JOIN_DYNAMIC} task that enables sharding. When the
+     * number of forked tasks exceeds this value, the tasks are split into shards of at most this
+     * size and each shard is run as a sub workflow, so that the parent workflow only holds one task
+     * per shard.
+     */
+    public static final String FORK_SHARD_SIZE = "forkShardSize";
+
+    private static final String SHARD_DYNAMIC_TASKS = "dynamicTasks";
+    private static final String SHARD_DYNAMIC_TASKS_INPUT = "dynamicTasksInput";
+
     private static final TypeReference<List<WorkflowTask>> ListOfWorkflowTasks =
             new TypeReference<>() {};
 
@@ -179,9 +191,13 @@ public class ForkJoinDynamicTaskMapper implements TaskMapper {
                                                                 .getTaskReferenceName()))
                         .findAny();
         List<String> joinOnTaskRefs = new LinkedList<>();
-        // Add each dynamic task to the mapped tasks and also get the last dynamic task in the list,
-        // which indicates that the following task after that needs to be a join task
-        if (!exists.isPresent()) {
+        int shardSize = getShardSize(input);
+        if (!exists.isPresent() && shardSize > 0 && dynForkTasks.size() > shardSize) {
+            List<TaskModel> shardTasks =
+                    createShardTasks(taskMapperContext, dynForkTasks, tasksInput, shardSize);
+            mappedTasks.addAll(shardTasks);
+            shardTasks.forEach(shardTask -> joinOnTaskRefs.add(shardTask.getReferenceTaskName()));
+        } else if (!exists.isPresent()) {
             // Add each dynamic task to the mapped tasks and also get the last dynamic task in the
             // list,
             // which indicates that the following task after that needs to be a join task
@@ -273,6 +289,128 @@ public class ForkJoinDynamicTaskMapper implements TaskMapper {
         return mappedTasks;
     }
 
+    /**
+     * Splits the dynamic fork tasks into shards of at most <code>shardSize</code> tasks and creates
+     * a {@link TaskType#SUB_WORKFLOW} task for each shard. Every sub workflow runs its shard as a
+     * dynamic fork followed by a join, and its output, keyed by the reference names of the forked
+     * tasks, is merged into the output of the parent join.
+     *
+     * @param taskMapperContext: The {@link TaskMapperContext} which wraps workflowTask, workflowDef
+     *     and workflowModel
+     * @param dynForkTasks: The list of dynamic forked tasks
+     * @param tasksInput: The input of the dynamic forked tasks keyed by their reference names
+     * @param shardSize: The maximum number of forked tasks per shard
+     * @return the list of {@link TaskModel} running the shards
+     */
+    @VisibleForTesting
+    List<TaskModel> createShardTasks(
+            TaskMapperContext taskMapperContext,
+            List<WorkflowTask> dynForkTasks,
+            Map<String, Map<String, Object>> tasksInput,
+            int shardSize) {
+        WorkflowTask workflowTask = taskMapperContext.getWorkflowTask();
+        WorkflowModel workflowModel = taskMapperContext.getWorkflowModel();
+        WorkflowDef shardWorkflowDef = createShardWorkflowDef(workflowModel, workflowTask);
+
+        List<TaskModel> shardTasks = new ArrayList<>();
+        for (int from = 0, shard = 0; from < dynForkTasks.size(); from += shardSize, shard++) {
+            List<WorkflowTask> shardForkTasks =
+                    new ArrayList<>(
+                            dynForkTasks.subList(
+                                    from, Math.min(from + shardSize, dynForkTasks.size())));
+            Map<String, Map<String, Object>> shardTasksInput = new HashMap<>();
+            for (WorkflowTask shardForkTask : shardForkTasks) {
+                shardTasksInput.put(
+                        shardForkTask.getTaskReferenceName(),
+                        tasksInput.getOrDefault(
+                                shardForkTask.getTaskReferenceName(), new HashMap<>()));
+            }
+
+            SubWorkflowParams subWorkflowParams = new SubWorkflowParams();
+            subWorkflowParams.setName(shardWorkflowDef.getName());
+            subWorkflowParams.setVersion(shardWorkflowDef.getVersion());
+            subWorkflowParams.setWorkflowDefinition(shardWorkflowDef);
+            subWorkflowParams.setTaskToDomain(workflowModel.getTaskToDomain());
+
+            WorkflowTask shardWorkflowTask = new WorkflowTask();
+            shardWorkflowTask.setName(shardWorkflowDef.getName());
+            shardWorkflowTask.setTaskReferenceName(
+                    workflowTask.getTaskReferenceName() + "_shard_" + shard);
+            shardWorkflowTask.setType(SUB_WORKFLOW.name());
+            shardWorkflowTask.setSubWorkflowParam(subWorkflowParams);
+            shardWorkflowTask.getInputParameters().put(Join.FORK_SHARD, true);
+
+            List<TaskModel> mappedShardTasks =
+                    taskMapperContext
+                            .getDeciderService()
+                            .getTasksToBeScheduled(
+                                    workflowModel,
+                                    shardWorkflowTask,
+                                    taskMapperContext.getRetryCount());
+            if (mappedShardTasks == null || mappedShardTasks.isEmpty()) {
+                throw new TerminateWorkflowException(
+                        "No dynamic fork shard could be created for the Workflow: "
+                                + workflowModel.toShortString()
+                                + ", Dynamic Fork Shard: "
+                                + shardWorkflowTask.getTaskReferenceName());
+            }
+            // the shard input is set directly, it must not go through parameter evaluation
+            Map<String, Object> shardInput = new HashMap<>();
+            shardInput.put(SHARD_DYNAMIC_TASKS, shardForkTasks);
+            shardInput.put(SHARD_DYNAMIC_TASKS_INPUT, shardTasksInput);
+            mappedShardTasks.forEach(task -> task.addInput("workflowInput", shardInput));
+            shardTasks.addAll(mappedShardTasks);
+        }
+        return shardTasks;
+    }
+
+    private WorkflowDef createShardWorkflowDef(
+            WorkflowModel workflowModel, WorkflowTask workflowTask) {
+        String forkRefName = workflowTask.getTaskReferenceName();
+
+        WorkflowTask forkTask = new WorkflowTask();
+        forkTask.setName(forkRefName);
+        forkTask.setTaskReferenceName(forkRefName);
+        forkTask.setType(TaskType.FORK_JOIN_DYNAMIC.name());
+        forkTask.setDynamicForkTasksParam(SHARD_DYNAMIC_TASKS);
+        forkTask.setDynamicForkTasksInputParamName(SHARD_DYNAMIC_TASKS_INPUT);
+        forkTask.getInputParameters()
+                .put(SHARD_DYNAMIC_TASKS, "${workflow.input." + SHARD_DYNAMIC_TASKS + "}");
+        forkTask.getInputParameters()
+                .put(
+                        SHARD_DYNAMIC_TASKS_INPUT,
+                        "${workflow.input." + SHARD_DYNAMIC_TASKS_INPUT + "}");
+
+        WorkflowTask joinTask = new WorkflowTask();
+        joinTask.setName(forkRefName + "_join");
+        joinTask.setTaskReferenceName(forkRefName + "_join");
+        joinTask.setType(TaskType.JOIN.name());
+
+        WorkflowDef shardWorkflowDef = new WorkflowDef();
+        shardWorkflowDef.setName(workflowModel.getWorkflowName() + "_" + forkRefName + "_shard");
+        shardWorkflowDef.setVersion(1);
+        shardWorkflowDef.setOwnerEmail(workflowModel.getWorkflowDefinition().getOwnerEmail());
+        shardWorkflowDef.setInputParameters(List.of(SHARD_DYNAMIC_TASKS, SHARD_DYNAMIC_TASKS_INPUT));
+        shardWorkflowDef.getTasks().add(forkTask);
+        shardWorkflowDef.getTasks().add(joinTask);
+        return shardWorkflowDef;
+    }
+
+    private int getShardSize(Map<String, Object> input) {
+        Object shardSize = input.get(FORK_SHARD_SIZE);
+        if (shardSize == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(shardSize.toString());
+        } catch (NumberFormatException e) {
+            throw new TerminateWorkflowException(
+                    String.format(
+                            "Input '%s' is invalid. Expected a number but found '%s'",
+                            FORK_SHARD_SIZE, shardSize));
+        }
+    }
+
     /**
      * This method creates a FORK task and adds the list of dynamic fork tasks keyed by
      * "forkedTaskDefs" and their names keyed by "forkedTasks" into {@link TaskModel#getInputData()}
@@ -38,6 +38,9 @@ public class DoWhile extends WorkflowSystemTask {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DoWhile.class);
 
+    /** Input parameter holding the number of most recent iterations to retain. */
+    static final String KEEP_LAST_N = "keepLastN";
+
     private final ParametersUtils parametersUtils;
 
     public DoWhile(ParametersUtils parametersUtils) {
@@ -64,12 +67,11 @@ public class DoWhile extends WorkflowSystemTask {
          */
         Map<String, TaskModel> relevantTasks = new LinkedHashMap<>();
         TaskModel relevantTask;
-        for (TaskModel t : workflow.getTasks()) {
+        for (TaskModel t : workflow.getTasksByIteration(doWhileTaskModel.getIteration())) {
             if (doWhileTaskModel
                             .getWorkflowTask()
                             .has(TaskUtils.removeIterationFromTaskRefName(t.getReferenceTaskName()))
-                    && !doWhileTaskModel.getReferenceTaskName().equals(t.getReferenceTaskName())
-                    && doWhileTaskModel.getIteration() == t.getIteration()) {
+                    && !doWhileTaskModel.getReferenceTaskName().equals(t.getReferenceTaskName())) {
                 relevantTask = relevantTasks.get(t.getReferenceTaskName());
                 if (relevantTask == null || t.getRetryCount() > relevantTask.getRetryCount()) {
                     relevantTasks.put(t.getReferenceTaskName(), t);
@@ -134,6 +136,7 @@ public class DoWhile extends WorkflowSystemTask {
                     "Task {} condition evaluated to {}",
                     doWhileTaskModel.getTaskId(),
                     shouldContinue);
+            removeIterations(workflow, doWhileTaskModel, workflowExecutor);
             if (shouldContinue) {
                 doWhileTaskModel.setIteration(doWhileTaskModel.getIteration() + 1);
                 doWhileTaskModel.addOutput("iteration", doWhileTaskModel.getIteration());
@@ -199,6 +202,75 @@ public class DoWhile extends WorkflowSystemTask {
                 .noneMatch(taskModel -> !taskModel.getStatus().isTerminal());
     }
 
+    /**
+     * Removes the outputs and tasks of the iterations that fall out of the <code>keepLastN</code>
+     * input of the DO_WHILE task, if set, counting back from the iteration just completed. The
+     * removed tasks are archived in the index before being deleted from the execution store, so
+     * they are only removed when task updates are indexed synchronously.
+     */
+    @VisibleForTesting
+    void removeIterations(
+            WorkflowModel workflow, TaskModel doWhileTaskModel, WorkflowExecutor workflowExecutor) {
+        int keepLastN = getKeepLastN(doWhileTaskModel);
+        if (keepLastN <= 0) {
+            return;
+        }
+        // older iterations have already been removed when they fell out of the window, so only
+        // those up to the first iteration with nothing left to remove are looked at
+        Map<String, Object> output = doWhileTaskModel.getOutputData();
+        boolean removeTasks = workflowExecutor.canRemoveTasks();
+        List<TaskModel> expiredTasks = new ArrayList<>();
+        for (int iteration = doWhileTaskModel.getIteration() - keepLastN;
+                iteration > 0;
+                iteration--) {
+            List<TaskModel> iterationTasks =
+                    !removeTasks
+                            ? List.of()
+                            : workflow.getTasksByIteration(iteration).stream()
+                                    .filter(t -> isIterationOf(t, doWhileTaskModel))
+                                    .filter(t -> t.getStatus().isTerminal())
+                                    .collect(Collectors.toList());
+            boolean hadOutput = output.remove(String.valueOf(iteration)) != null;
+            if (iterationTasks.isEmpty() && !hadOutput) {
+                break;
+            }
+            expiredTasks.addAll(iterationTasks);
+        }
+        if (!expiredTasks.isEmpty()) {
+            LOGGER.debug(
+                    "Removing {} tasks of past iterations of task {} in workflow {}",
+                    expiredTasks.size(),
+                    doWhileTaskModel.getTaskId(),
+                    workflow.getWorkflowId());
+            workflowExecutor.removeTasks(workflow, expiredTasks);
+        }
+    }
+
+    /** @return whether the task is one of the tasks looped over by the given DO_WHILE */
+    private boolean isIterationOf(TaskModel task, TaskModel doWhileTaskModel) {
+        return !doWhileTaskModel.getReferenceTaskName().equals(task.getReferenceTaskName())
+                && doWhileTaskModel
+                        .getWorkflowTask()
+                        .has(TaskUtils.removeIterationFromTaskRefName(task.getReferenceTaskName()));
+    }
+
+    private int getKeepLastN(TaskModel doWhileTaskModel) {
+        Object keepLastN = doWhileTaskModel.getInputData().get(KEEP_LAST_N);
+        if (keepLastN == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(keepLastN.toString());
+        } catch (NumberFormatException e) {
+            LOGGER.warn(
+                    "Ignoring invalid {}: {} of task {}",
+                    KEEP_LAST_N,
+                    keepLastN,
+                    doWhileTaskModel.getTaskId());
+            return 0;
+        }
+    }
+
     boolean scheduleNextIteration(
             TaskModel doWhileTaskModel, WorkflowModel workflow, WorkflowExecutor workflowExecutor) {
         LOGGER.debug(
@@ -28,6 +28,15 @@ import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_JOI
 @Component(TASK_TYPE_JOIN)
 public class Join extends WorkflowSystemTask {
 
+    /**
+     * Marks a sub workflow task that runs one shard of a sharded dynamic fork. The output of such a
+     * task is keyed by the reference names of the forked branches it ran, and is merged into the
+     * output of the join as-is.
+     */
+    public static final String FORK_SHARD = "forkShard";
+
+    private static final String SUB_WORKFLOW_ID = "subWorkflowId";
+
     public Join() {
         super(TASK_TYPE_JOIN);
     }
@@ -75,7 +84,13 @@ public class Join extends WorkflowSystemTask {
             }
             // Only add to task output if it's not empty
             if (!forkedTask.getOutputData().isEmpty()) {
-                task.addOutput(joinOnRef, forkedTask.getOutputData());
+                if (isForkShard(forkedTask)) {
+                    forkedTask.getOutputData().entrySet().stream()
+                            .filter(entry -> !SUB_WORKFLOW_ID.equals(entry.getKey()))
+                            .forEach(entry -> task.addOutput(entry.getKey(), entry.getValue()));
+                } else {
+                    task.addOutput(joinOnRef, forkedTask.getOutputData());
+                }
             }
             if (!taskStatus.isTerminal()) {
                 allDone = false;
@@ -123,4 +138,10 @@ public class Join extends WorkflowSystemTask {
     public boolean isAsync() {
         return true;
     }
+
+    private boolean isForkShard(TaskModel forkedTask) {
+        return forkedTask.getWorkflowTask() != null
+                && Boolean.TRUE.equals(
+                        forkedTask.getWorkflowTask().getInputParameters().get(FORK_SHARD));
+    }
 }
@@ -12,8 +12,15 @@
  */
 package com.netflix.conductor.core.operation;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -23,6 +30,7 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.core.WorkflowContext;
 import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.event.WorkflowCreationEvent;
@@ -73,7 +81,135 @@ public class StartWorkflowOperation implements WorkflowOperation<StartWorkflowIn
         startWorkflow(workflowCreationEvent.getStartWorkflowInput());
     }
 
+    /**
+     * Starts the workflows of all the given inputs. Workflow definitions are looked up once per
+     * name and version, the workflows are created with as few writes as the datastore allows, and
+     * their first evaluation is left to the sweeper instead of being done inline. A workflow that
+     * fails to start does not prevent the others from being started.
+     *
+     * @param inputs the workflows to be started
+     * @return the id of each started workflow, or the error starting it, in the order of the inputs
+     */
+    public BulkStartWorkflowResponse executeAll(List<StartWorkflowInput> inputs) {
+        Map<String, WorkflowDef> workflowDefinitions = new HashMap<>();
+        String[] errors = new String[inputs.size()];
+        List<WorkflowModel> workflows = new ArrayList<>(inputs.size());
+        Set<String> workflowIds = new HashSet<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            StartWorkflowInput input = inputs.get(i);
+            try {
+                WorkflowDef workflowDefinition;
+                if (input.getWorkflowDefinition() == null) {
+                    workflowDefinition =
+                            workflowDefinitions.computeIfAbsent(
+                                    input.getName() + ":" + input.getVersion(),
+                                    key -> getWorkflowDefinition(input));
+                } else {
+                    workflowDefinition = getWorkflowDefinition(input);
+                }
+                WorkflowModel workflow = newWorkflow(input, workflowDefinition);
+                if (!workflowIds.add(workflow.getWorkflowId())) {
+                    throw new IllegalArgumentException(
+                            "Duplicate workflowId in the request: " + workflow.getWorkflowId());
+                }
+                workflows.add(workflow);
+            } catch (Exception e) {
+                Monitors.recordWorkflowStartError(
+                        input.getName(), WorkflowContext.get().getClientApp());
+                LOGGER.error("Unable to start workflow: {}", input.getName(), e);
+                errors[i] = e.getMessage();
+                workflows.add(null);
+            }
+        }
+
+        List<WorkflowModel> created =
+                workflows.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        if (!created.isEmpty()) {
+            try {
+                Map<String, Exception> failures = executionDAOFacade.createWorkflows(created);
+                for (int i = 0; i < workflows.size(); i++) {
+                    WorkflowModel workflow = workflows.get(i);
+                    if (workflow == null) {
+                        continue;
+                    }
+                    Exception failure = failures.get(workflow.getWorkflowId());
+                    if (failure == null) {
+                        Monitors.recordWorkflowStartSuccess(
+                                workflow.getWorkflowName(),
+                                String.valueOf(workflow.getWorkflowVersion()),
+                                workflow.getOwnerApp());
+                    } else {
+                        Monitors.recordWorkflowStartError(
+                                workflow.getWorkflowName(), workflow.getOwnerApp());
+                        LOGGER.error(
+                                "Unable to create workflow: {}", workflow.getWorkflowId(), failure);
+                        errors[i] = failure.getMessage();
+                        workflows.set(i, null);
+                    }
+                }
+            } catch (Exception e) {
+                // the workflows may be created, but could not be indexed or queued for evaluation
+                LOGGER.error("Unable to create {} workflows", created.size(), e);
+                for (int i = 0; i < workflows.size(); i++) {
+                    WorkflowModel workflow = workflows.get(i);
+                    if (workflow != null) {
+                        Monitors.recordWorkflowStartError(
+                                workflow.getWorkflowName(), workflow.getOwnerApp());
+                        errors[i] = e.getMessage();
+                        workflows.set(i, null);
+                        try {
+                            executionDAOFacade.removeWorkflow(workflow.getWorkflowId(), false);
+                        } catch (Exception rwe) {
+                            LOGGER.error(
+                                    "Could not remove the workflowId: {}",
+                                    workflow.getWorkflowId(),
+                                    rwe);
+                        }
+                    }
+                }
+            }
+        }
+
+        BulkStartWorkflowResponse response = new BulkStartWorkflowResponse();
+        for (int i = 0; i < workflows.size(); i++) {
+            if (workflows.get(i) != null) {
+                response.appendSuccessResponse(workflows.get(i).getWorkflowId());
+            } else {
+                response.appendFailedResponse(errors[i]);
+            }
+        }
+        return response;
+    }
+
     private String startWorkflow(StartWorkflowInput input) {
+        WorkflowDef workflowDefinition = getWorkflowDefinition(input);
+        WorkflowModel workflow = newWorkflow(input, workflowDefinition);
+        String workflowId = workflow.getWorkflowId();
+
+        try {
+            createAndEvaluate(workflow);
+            Monitors.recordWorkflowStartSuccess(
+                    workflow.getWorkflowName(),
+                    String.valueOf(workflow.getWorkflowVersion()),
+                    workflow.getOwnerApp());
+            return workflowId;
+        } catch (Exception e) {
+            Monitors.recordWorkflowStartError(
+                    workflowDefinition.getName(), WorkflowContext.get().getClientApp());
+            LOGGER.error("Unable to start workflow: {}", workflowDefinition.getName(), e);
+
+            // It's possible the remove workflow call hits an exception as well, in that case we
+            // want to log both errors to help diagnosis.
+            try {
+                executionDAOFacade.removeWorkflow(workflowId, false);
+            } catch (Exception rwe) {
+                LOGGER.error("Could not remove the workflowId: " + workflowId, rwe);
+            }
+            throw e;
+        }
+    }
+
+    private WorkflowDef getWorkflowDefinition(StartWorkflowInput input) {
         WorkflowDef workflowDefinition;
 
         if (input.getWorkflowDefinition() == null) {
@@ -84,8 +220,10 @@ public class StartWorkflowOperation implements WorkflowOperation<StartWorkflowIn
             workflowDefinition = input.getWorkflowDefinition();
         }
 
-        workflowDefinition = metadataMapperService.populateTaskDefinitions(workflowDefinition);
+        return metadataMapperService.populateTaskDefinitions(workflowDefinition);
+    }
 
+    private WorkflowModel newWorkflow(StartWorkflowInput input, WorkflowDef workflowDefinition) {
         // perform validations
         Map<String, Object> workflowInput = input.getWorkflowInput();
         String externalInputPayloadStoragePath = input.getExternalInputPayloadStoragePath();
@@ -95,7 +233,7 @@ public class StartWorkflowOperation implements WorkflowOperation<StartWorkflowIn
         String workflowId =
                 Optional.ofNullable(input.getWorkflowId()).orElseGet(idGenerator::generate);
 
-        // Persist the Workflow
+        // Build the Workflow
         WorkflowModel workflow = new WorkflowModel();
         workflow.setWorkflowId(workflowId);
         workflow.setCorrelationId(input.getCorrelationId());
@@ -119,28 +257,7 @@ public class StartWorkflowOperation implements WorkflowOperation<StartWorkflowIn
         } else {
             workflow.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
         }
-
-        try {
-            createAndEvaluate(workflow);
-            Monitors.recordWorkflowStartSuccess(
-                    workflow.getWorkflowName(),
-                    String.valueOf(workflow.getWorkflowVersion()),
-                    workflow.getOwnerApp());
-            return workflowId;
-        } catch (Exception e) {
-            Monitors.recordWorkflowStartError(
-                    workflowDefinition.getName(), WorkflowContext.get().getClientApp());
-            LOGGER.error("Unable to start workflow: {}", workflowDefinition.getName(), e);
-
-            // It's possible the remove workflow call hits an exception as well, in that case we
-            // want to log both errors to help diagnosis.
-            try {
-                executionDAOFacade.removeWorkflow(workflowId, false);
-            } catch (Exception rwe) {
-                LOGGER.error("Could not remove the workflowId: " + workflowId, rwe);
-            }
-            throw e;
-        }
+        return workflow;
     }
 
     /*
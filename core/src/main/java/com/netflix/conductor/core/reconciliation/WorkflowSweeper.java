@@ -79,13 +79,24 @@ public class WorkflowSweeper {
             WorkflowContext.set(workflowContext);
             LOGGER.debug("Running sweeper for workflow {}", workflowId);
 
-            workflow = executionDAOFacade.getWorkflowModel(workflowId, true);
+            // A terminal workflow whose tasks are all terminal has nothing left to decide, so its
+            // tasks are not loaded, only its parent may need to be repaired
+            boolean settled =
+                    executionDAOFacade.getWorkflowStatus(workflowId).isTerminal()
+                            && executionDAOFacade.getTaskStatuses(workflowId).values().stream()
+                                    .allMatch(Status::isTerminal);
+            workflow = executionDAOFacade.getWorkflowModel(workflowId, !settled);
 
             if (workflowRepairService != null) {
                 // Verify and repair tasks in the workflow.
                 workflowRepairService.verifyAndRepairWorkflowTasks(workflow);
             }
 
+            if (settled) {
+                queueDAO.remove(DECIDER_QUEUE, workflowId);
+                return;
+            }
+
             workflow = workflowExecutor.decideWithLock(workflow);
             if (workflow != null && workflow.getStatus().isTerminal()) {
                 queueDAO.remove(DECIDER_QUEUE, workflowId);
@@ -12,8 +12,14 @@
  */
 package com.netflix.conductor.core.utils;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Component;
 
@@ -50,6 +56,30 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Returns a read-only view of a JSON object that is expanded like {@link #expand(Object)}, but
+     * lazily: a string value is only parsed when it is first read, and the parsed value is kept for
+     * subsequent reads. The input is not modified.
+     *
+     * <p>The view is meant to be shared by the evaluations over the same payload, and is not
+     * thread-safe.
+     *
+     * @param input the object to be expanded
+     * @return the lazily expanded view, or the expanded object if the input is not a {@link Map} or
+     *     a {@link List}
+     */
+    public Object expandLazily(Object input) {
+        if (input instanceof List) {
+            return new LazilyExpandedList((List<Object>) input);
+        } else if (input instanceof Map) {
+            return new LazilyExpandedMap((Map<String, Object>) input);
+        } else if (input instanceof String) {
+            return getJson((String) input);
+        } else {
+            return input;
+        }
+    }
+
     private void expandList(List<Object> input) {
         for (Object value : input) {
             if (value instanceof String) {
@@ -98,4 +128,103 @@ public class JsonUtils {
         jsonAsString = jsonAsString.trim();
         return jsonAsString.startsWith("{") || jsonAsString.startsWith("[");
     }
+
+    /**
+     * Wraps the nested maps and lists of a lazily expanded view, strings are only expanded as
+     * values of a map, as with {@link #expandList(List)}.
+     */
+    private Object wrap(Object value) {
+        if (value instanceof Map) {
+            return new LazilyExpandedMap((Map<String, Object>) value);
+        } else if (value instanceof List) {
+            return new LazilyExpandedList((List<Object>) value);
+        }
+        return value;
+    }
+
+    private class LazilyExpandedMap extends AbstractMap<String, Object> {
+
+        private final Map<String, Object> input;
+        private final Map<String, Object> expanded = new HashMap<>();
+
+        LazilyExpandedMap(Map<String, Object> input) {
+            this.input = input;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Object value = expanded.get(key);
+            if (value == null && input.containsKey(key)) {
+                value = input.get(key);
+                if (value instanceof String && isJsonString(value.toString())) {
+                    value = getJson(value.toString());
+                } else {
+                    value = wrap(value);
+                }
+                expanded.put((String) key, value);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return input.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return input.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    Iterator<String> keys = input.keySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            String key = keys.next();
+                            return new SimpleImmutableEntry<>(key, get(key));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return input.size();
+                }
+            };
+        }
+    }
+
+    private class LazilyExpandedList extends AbstractList<Object> {
+
+        private final List<Object> input;
+        private final Object[] wrapped;
+
+        LazilyExpandedList(List<Object> input) {
+            this.input = input;
+            this.wrapped = new Object[input.size()];
+        }
+
+        @Override
+        public Object get(int index) {
+            if (wrapped[index] == null) {
+                wrapped[index] = wrap(input.get(index));
+            }
+            return wrapped[index];
+        }
+
+        @Override
+        public int size() {
+            return wrapped.length;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * ID Generator that generates UUID v7 IDs, enabled with {@code
+ * conductor.id.generator=time-ordered}.
+ *
+ * <p>The IDs start with the creation time in milliseconds, followed by a counter that keeps the IDs
+ * generated by this instance in the same millisecond ordered, and random bits. IDs generated around
+ * the same time are close to each other, so they are inserted next to each other in the indexes of
+ * the persistence stores rather than at random positions. They are still valid UUIDs, and can be
+ * used with any persistence.
+ */
+@Component
+@ConditionalOnProperty(name = "conductor.id.generator", havingValue = "time-ordered")
+public class TimeOrderedIDGenerator extends IDGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final Clock clock;
+
+    /** The last timestamp in milliseconds, followed by the counter within that millisecond */
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public TimeOrderedIDGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    TimeOrderedIDGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate() {
+        long now = clock.millis() << COUNTER_BITS;
+        // when the counter overflows, or the clock goes back, the timestamp is moved forward so
+        // that the IDs stay ordered
+        long timestampAndCounter =
+                lastTimestampAndCounter.updateAndGet(last -> now > last ? now : last + 1);
+        long mostSigBits =
+                (timestampAndCounter >>> COUNTER_BITS) << 16
+                        | VERSION
+                        | (timestampAndCounter & COUNTER_MASK);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -42,4 +42,17 @@ public interface ConcurrentExecutionLimitDAO {
      * @see TaskDef#concurrencyLimit()
      */
     boolean exceedsLimit(TaskModel task);
+
+    /**
+     * Returns the number of tasks of the given taskDef that can still be put in progress without
+     * breaching its limit. Used to bound the number of tasks dequeued by a poll, while {@link
+     * #exceedsLimit(TaskModel)} remains the authoritative check for each of them.
+     *
+     * @param taskDef The task definition, with a concurrency limit set
+     * @return the number of tasks that can be put in progress, {@link Integer#MAX_VALUE} if not
+     *     known
+     */
+    default int getAvailableSlots(TaskDef taskDef) {
+        return Integer.MAX_VALUE;
+    }
 }
@@ -12,10 +12,14 @@
  */
 package com.netflix.conductor.dao;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 
@@ -52,6 +56,16 @@ public interface ExecutionDAO {
      */
     void updateTask(TaskModel task);
 
+    /**
+     * Updates the given tasks. Implementations that can write several tasks in one round trip
+     * should override this.
+     *
+     * @param tasks Tasks to be updated
+     */
+    default void updateTasks(List<TaskModel> tasks) {
+        tasks.forEach(this::updateTask);
+    }
+
     /**
      * Checks if the number of tasks in progress for the given taskDef will exceed the limit if the
      * task is scheduled to be in progress (given to the worker or for system tasks start() method
@@ -98,24 +112,81 @@ public interface ExecutionDAO {
      */
     List<TaskModel> getTasksForWorkflow(String workflowId);
 
+    /**
+     * Returns only the status of each task in the workflow. Implementations that store the status
+     * separately from the task payload should override this to avoid loading and deserializing
+     * every task.
+     *
+     * @param workflowId Workflow instance id
+     * @return map of task id to task status for the given workflow instance id
+     */
+    default Map<String, TaskModel.Status> getTaskStatuses(String workflowId) {
+        Map<String, TaskModel.Status> statuses = new LinkedHashMap<>();
+        getTasksForWorkflow(workflowId)
+                .forEach(task -> statuses.put(task.getTaskId(), task.getStatus()));
+        return statuses;
+    }
+
     /**
      * @param workflow Workflow to be created
      * @return Id of the newly created workflow
      */
     String createWorkflow(WorkflowModel workflow);
 
+    /**
+     * Creates the given workflows. Implementations that can write several workflows in one round
+     * trip should override this. A workflow that cannot be created does not prevent the others
+     * from being created.
+     *
+     * @param workflows Workflows to be created, with distinct ids
+     * @return the error creating each workflow that could not be created, by workflow id
+     */
+    default Map<String, Exception> createWorkflows(List<WorkflowModel> workflows) {
+        Map<String, Exception> failures = new HashMap<>();
+        for (WorkflowModel workflow : workflows) {
+            try {
+                createWorkflow(workflow);
+            } catch (Exception e) {
+                failures.put(workflow.getWorkflowId(), e);
+            }
+        }
+        return failures;
+    }
+
     /**
      * @param workflow Workflow to be updated
      * @return Id of the updated workflow
      */
     String updateWorkflow(WorkflowModel workflow);
 
+    /**
+     * Persists the outcome of a decision: the updated tasks, then the workflow. Implementations
+     * that can write them together in one round trip should override this.
+     *
+     * @param workflow Workflow to be updated
+     * @param tasks Tasks to be updated
+     */
+    default void persistDecision(WorkflowModel workflow, List<TaskModel> tasks) {
+        updateTasks(tasks);
+        updateWorkflow(workflow);
+    }
+
     /**
      * @param workflowId workflow instance id
      * @return true if the deletion is successful, false otherwise
      */
     boolean removeWorkflow(String workflowId);
 
+    /**
+     * Removes the given workflows and their tasks. Implementations that can remove several
+     * workflows in one round trip should override this.
+     *
+     * @param workflowIds workflow instance ids
+     */
+    default void removeWorkflows(List<String> workflowIds) {
+        workflowIds.forEach(this::removeWorkflow);
+    }
+
     /**
      * Removes the workflow with ttl seconds
      *
@@ -145,6 +216,39 @@ public interface ExecutionDAO {
      */
     WorkflowModel getWorkflow(String workflowId, boolean includeTasks);
 
+    /**
+     * Returns only the status of the workflow. Implementations that store the status separately
+     * from the workflow payload should override this to avoid deserializing the workflow.
+     *
+     * @param workflowId workflow instance id
+     * @return the status of the workflow, or null if no such workflow exists
+     */
+    default WorkflowModel.Status getWorkflowStatus(String workflowId) {
+        WorkflowModel workflow = getWorkflow(workflowId, false);
+        return workflow == null ? null : workflow.getStatus();
+    }
+
+    /**
+     * @return true, if the DAO implementation keeps the version returned by {@link
+     *     #getWorkflowVersion(String)}, which is required to cache evaluated workflows
+     */
+    default boolean supportsWorkflowVersions() {
+        return false;
+    }
+
+    /**
+     * Returns the version of the persisted workflow, used to validate in-process snapshots of the
+     * workflow. The version is a counter that each call of a method writing the workflow or any of
+     * its tasks increments exactly once, in the same transaction as the write.
+     *
+     * @param workflowId workflow instance id
+     * @return the version of the workflow, or null if no such workflow exists or versions are not
+     *     supported
+     */
+    default Long getWorkflowVersion(String workflowId) {
+        return null;
+    }
+
     /**
      * @param workflowName name of the workflow
      * @param version the workflow version
@@ -213,4 +317,33 @@ public interface ExecutionDAO {
      * @param eventExecution Event execution to be removed
      */
     void removeEventExecution(EventExecution eventExecution);
+
+    // Bulk jobs
+
+    /**
+     * @return true, if the DAO implementation stores the status of bulk jobs, so that any server
+     *     can report the progress of a job. Otherwise, only the server running a job knows its
+     *     status.
+     */
+    default boolean supportsBulkJobs() {
+        return false;
+    }
+
+    /**
+     * Stores the status of a bulk job, replacing its previous status.
+     *
+     * @param status the status of the job
+     * @param ttlSeconds the time for which the status is kept
+     */
+    default void updateBulkJobStatus(BulkJobStatus status, int ttlSeconds) {
+        throw new UnsupportedOperationException("Bulk jobs are not supported by " + getClass());
+    }
+
+    /**
+     * @param jobId the id of the bulk job
+     * @return the last status stored for the job, or null if no such job exists or it expired
+     */
+    default BulkJobStatus getBulkJobStatus(String jobId) {
+        return null;
+    }
 }
@@ -12,7 +12,9 @@
  */
 package com.netflix.conductor.dao;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
@@ -133,6 +135,30 @@ public interface IndexDAO {
     CompletableFuture<Void> asyncUpdateWorkflow(
             String workflowInstanceId, String[] keys, Object[] values);
 
+    /**
+     * Updates the index of several workflows. Implementations that can update several documents in
+     * one round trip should override this. A workflow that is not in the index is not a failure,
+     * and a workflow that cannot be updated does not prevent the others from being updated.
+     *
+     * @param updates the fields to update, by workflow id
+     * @return the error updating each workflow that could not be updated, by workflow id
+     */
+    default Map<String, Exception> updateWorkflows(Map<String, Map<String, Object>> updates) {
+        Map<String, Exception> failures = new HashMap<>();
+        updates.forEach(
+                (workflowId, fields) -> {
+                    try {
+                        updateWorkflow(
+                                workflowId,
+                                fields.keySet().toArray(new String[0]),
+                                fields.values().toArray());
+                    } catch (Exception e) {
+                        failures.put(workflowId, e);
+                    }
+                });
+        return failures;
+    }
+
     /**
      * Remove the task index
      *
@@ -172,6 +198,31 @@ public interface IndexDAO {
     CompletableFuture<Void> asyncUpdateTask(
             String workflowId, String taskId, String[] keys, Object[] values);
 
+    /**
+     * Updates the same fields in the index of several tasks. Implementations that can update
+     * several documents in one round trip should override this. A task that is not in the index is
+     * not a failure, and a task that cannot be updated does not prevent the others from being
+     * updated.
+     *
+     * @param taskWorkflowIds the ids of the tasks to update, mapped to the id of their workflow
+     * @param keys keys to be updated
+     * @param values values. Number of keys and values MUST match.
+     * @return the error updating each task that could not be updated, by task id
+     */
+    default Map<String, Exception> updateTasks(
+            Map<String, String> taskWorkflowIds, String[] keys, Object[] values) {
+        Map<String, Exception> failures = new HashMap<>();
+        taskWorkflowIds.forEach(
+                (taskId, workflowId) -> {
+                    try {
+                        updateTask(workflowId, taskId, keys, values);
+                    } catch (Exception e) {
+                        failures.put(taskId, e);
+                    }
+                });
+        return failures;
+    }
+
     /**
      * Retrieves a specific field from the index
      *
@@ -86,4 +86,35 @@ public interface MetadataDAO {
      * @return List the latest versions of the workflow definitions
      */
     List<WorkflowDef> getAllWorkflowDefsLatestVersions();
+
+    /**
+     * @return true, if the DAO implementation stores workflow definition snapshots, which is
+     *     required to persist workflows with their definition by reference
+     */
+    default boolean supportsWorkflowDefSnapshots() {
+        return false;
+    }
+
+    /**
+     * Stores an immutable snapshot of a workflow definition under its content hash, used by
+     * workflows that persist their definition by reference. Snapshots are never updated nor
+     * removed, since archived workflows may still refer to them. Storing a hash that already
+     * exists is a no-op.
+     *
+     * @param hash content hash of the workflow definition
+     * @param def workflow definition
+     */
+    default void storeWorkflowDefSnapshot(String hash, WorkflowDef def) {
+        throw new UnsupportedOperationException(
+                getClass() + " does not support storeWorkflowDefSnapshot");
+    }
+
+    /**
+     * @param hash content hash of the workflow definition
+     * @return the workflow definition snapshot stored under the given hash
+     */
+    default Optional<WorkflowDef> getWorkflowDefSnapshot(String hash) {
+        throw new UnsupportedOperationException(
+                getClass() + " does not support getWorkflowDefSnapshot");
+    }
 }
@@ -27,4 +27,17 @@ public interface RateLimitingDAO {
      *     rateLimited
      */
     boolean exceedsRateLimitPerFrequency(TaskModel task, TaskDef taskDef);
+
+    /**
+     * Returns the number of tasks of the given taskDef that can currently start without being rate
+     * limited. Used to bound the number of tasks dequeued by a poll, while {@link
+     * #exceedsRateLimitPerFrequency(TaskModel, TaskDef)} remains the authoritative check for each
+     * of them.
+     *
+     * @param taskDef The task definition, with a rate limit set
+     * @return the number of tasks that can start, {@link Integer#MAX_VALUE} if not known
+     */
+    default int getAvailablePermits(TaskDef taskDef) {
+        return Integer.MAX_VALUE;
+    }
 }
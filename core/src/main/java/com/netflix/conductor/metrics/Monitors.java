@@ -514,6 +514,23 @@ public class Monitors {
                 StringUtils.defaultIfBlank(workflowType, "unknown"));
     }
 
+    public static void recordDaoLatency(String dao, String action, long duration) {
+        getTimer(classQualifier, "dao_latency", "dao", dao, "action", action)
+                .record(duration, TimeUnit.MILLISECONDS);
+    }
+
+    public static void recordDaoInFlightRequests(String dao, int count) {
+        gauge(classQualifier, "dao_in_flight_requests", count, "dao", dao);
+    }
+
+    public static void recordWorkflowSnapshotCacheLookup(String result) {
+        counter(classQualifier, "workflow_snapshot_cache_lookup", "result", result);
+    }
+
+    public static void recordWorkflowSnapshotCacheSize(long size) {
+        gauge(classQualifier, "workflow_snapshot_cache_size", size);
+    }
+
     public static void recordExternalPayloadStorageUsage(
             String name, String operation, String payloadType) {
         counter(
@@ -570,10 +587,28 @@ public class Monitors {
         gauge(classQualifier, "workflow_archival_delay_queue_size", val);
     }
 
+    public static void recordArchivalLag(long lag) {
+        getTimer(classQualifier, "workflow_archival_lag").record(lag, TimeUnit.MILLISECONDS);
+    }
+
     public static void recordDiscardedArchivalCount() {
         counter(classQualifier, "discarded_archival_count");
     }
 
+    public static void recordWorkflowStatusPublisherBufferSize(int val) {
+        gauge(classQualifier, "workflow_status_publisher_buffer_size", val);
+    }
+
+    public static void recordWorkflowStatusPublished(String queueName, int count) {
+        getCounter(classQualifier, "workflow_status_published", "queueName", queueName)
+                .increment(count);
+    }
+
+    public static void recordDiscardedWorkflowStatusCount(String queueName, int count) {
+        getCounter(classQualifier, "discarded_workflow_status_count", "queueName", queueName)
+                .increment(count);
+    }
+
     public static void recordSystemTaskWorkerPollingLimited(String queueName) {
         counter(classQualifier, "system_task_worker_polling_limited", "queueName", queueName);
     }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The list of tasks of a {@link WorkflowModel}, with lookup indexes by reference name, task id and
+ * iteration. The indexes are rebuilt lazily, in a single pass, after the list has been modified.
+ *
+ * <p>Tasks are expected to keep their reference name, id and iteration once they are added to the
+ * workflow.
+ */
+class TaskList extends ArrayList<TaskModel> {
+
+    private transient int indexedModCount = -1;
+    private transient Map<String, TaskModel> latestByRefName;
+    private transient Map<String, TaskModel> byTaskId;
+    private transient Map<Integer, List<TaskModel>> byIteration;
+    private transient TaskModel taskWithoutRefName;
+
+    TaskList() {}
+
+    TaskList(Collection<? extends TaskModel> tasks) {
+        super(tasks);
+    }
+
+    @Override
+    public TaskModel set(int index, TaskModel element) {
+        // ArrayList does not count replacements as modifications
+        modCount++;
+        return super.set(index, element);
+    }
+
+    /**
+     * @return the last task with the given reference name, or null if there is none
+     * @throws IllegalStateException if any task does not have a reference name
+     */
+    TaskModel getLatestByRefName(String refName) {
+        index();
+        if (taskWithoutRefName != null) {
+            throw new IllegalStateException(
+                    "Task "
+                            + taskWithoutRefName.getTaskDefName()
+                            + ", seq="
+                            + taskWithoutRefName.getSeq()
+                            + " does not have reference name specified.");
+        }
+        return latestByRefName.get(refName);
+    }
+
+    TaskModel getByTaskId(String taskId) {
+        index();
+        return byTaskId.get(taskId);
+    }
+
+    List<TaskModel> getByIteration(int iteration) {
+        index();
+        return byIteration.getOrDefault(iteration, Collections.emptyList());
+    }
+
+    private void index() {
+        if (indexedModCount == modCount) {
+            return;
+        }
+        Map<String, TaskModel> latestByRefName = new HashMap<>();
+        Map<String, TaskModel> byTaskId = new HashMap<>();
+        Map<Integer, List<TaskModel>> byIteration = new HashMap<>();
+        TaskModel taskWithoutRefName = null;
+        for (TaskModel task : this) {
+            if (task.getReferenceTaskName() == null) {
+                if (taskWithoutRefName == null) {
+                    taskWithoutRefName = task;
+                }
+            } else {
+                latestByRefName.put(task.getReferenceTaskName(), task);
+            }
+            if (task.getTaskId() != null) {
+                byTaskId.put(task.getTaskId(), task);
+            }
+            byIteration.computeIfAbsent(task.getIteration(), i -> new ArrayList<>()).add(task);
+        }
+        this.latestByRefName = latestByRefName;
+        this.byTaskId = byTaskId;
+        this.byIteration = byIteration;
+        this.taskWithoutRefName = taskWithoutRefName;
+        this.indexedModCount = modCount;
+    }
+}
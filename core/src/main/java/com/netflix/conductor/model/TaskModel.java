@@ -16,9 +16,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
@@ -161,6 +161,15 @@ public class TaskModel {
 
     @JsonIgnore private Map<String, Object> outputData = new HashMap<>();
 
+    /**
+     * Loaders for externally stored payloads that have not been fetched yet. They are invoked the
+     * first time the corresponding data is accessed, so that reading a workflow does not download
+     * the payloads of tasks whose data is never looked at.
+     */
+    @JsonIgnore private transient Supplier<Map<String, Object>> inputPayloadLoader;
+
+    @JsonIgnore private transient Supplier<Map<String, Object>> outputPayloadLoader;
+
     public String getTaskType() {
         return taskType;
     }
@@ -179,6 +188,7 @@ public class TaskModel {
 
     @JsonIgnore
     public Map<String, Object> getInputData() {
+        loadInputPayload();
         if (!inputPayload.isEmpty() && !inputData.isEmpty()) {
             inputData.putAll(inputPayload);
             inputPayload = new HashMap<>();
@@ -397,6 +407,7 @@ public class TaskModel {
 
     @JsonIgnore
     public Map<String, Object> getOutputData() {
+        loadOutputPayload();
         if (!outputPayload.isEmpty() && !outputData.isEmpty()) {
             // Combine payload + data
             // data has precedence over payload because:
@@ -609,33 +620,130 @@ public class TaskModel {
      * @return a copy of the task instance
      */
     public TaskModel copy() {
+        // fields are copied explicitly rather than through reflection, keep this in sync with the
+        // fields of this class
         TaskModel copy = new TaskModel();
-        BeanUtils.copyProperties(this, copy);
+        copy.taskType = taskType;
+        copy.status = status;
+        copy.referenceTaskName = referenceTaskName;
+        copy.retryCount = retryCount;
+        copy.seq = seq;
+        copy.correlationId = correlationId;
+        copy.pollCount = pollCount;
+        copy.taskDefName = getTaskDefName();
+        copy.scheduledTime = scheduledTime;
+        copy.startTime = startTime;
+        copy.endTime = endTime;
+        copy.updateTime = updateTime;
+        copy.startDelayInSeconds = startDelayInSeconds;
+        copy.retriedTaskId = retriedTaskId;
+        copy.retried = retried;
+        copy.executed = executed;
+        copy.callbackFromWorker = callbackFromWorker;
+        copy.responseTimeoutSeconds = responseTimeoutSeconds;
+        copy.workflowInstanceId = workflowInstanceId;
+        copy.workflowType = workflowType;
+        copy.taskId = taskId;
+        copy.reasonForIncompletion = reasonForIncompletion;
+        copy.callbackAfterSeconds = callbackAfterSeconds;
+        copy.workerId = workerId;
+        copy.workflowTask = workflowTask;
+        copy.domain = domain;
+        copy.inputMessage = inputMessage;
+        copy.outputMessage = outputMessage;
+        copy.rateLimitPerFrequency = rateLimitPerFrequency;
+        copy.rateLimitFrequencyInSeconds = rateLimitFrequencyInSeconds;
+        copy.externalInputPayloadStoragePath = externalInputPayloadStoragePath;
+        copy.externalOutputPayloadStoragePath = externalOutputPayloadStoragePath;
+        copy.workflowPriority = workflowPriority;
+        copy.executionNameSpace = executionNameSpace;
+        copy.isolationGroupId = isolationGroupId;
+        copy.iteration = iteration;
+        copy.waitTimeout = waitTimeout;
+        copy.subworkflowChanged = subworkflowChanged;
+        // the getters load and merge any payload, the payload itself is not carried over
+        getInputData();
+        getOutputData();
+        copy.inputData = inputData;
+        copy.outputData = outputData;
+        copy.subWorkflowId = getSubWorkflowId();
         return copy;
     }
 
     public void externalizeInput(String path) {
+        this.inputPayloadLoader = null;
         this.inputPayload = this.inputData;
         this.inputData = new HashMap<>();
         this.externalInputPayloadStoragePath = path;
     }
 
     public void externalizeOutput(String path) {
+        this.outputPayloadLoader = null;
         this.outputPayload = this.outputData;
         this.outputData = new HashMap<>();
         this.externalOutputPayloadStoragePath = path;
     }
 
     public void internalizeInput(Map<String, Object> data) {
+        this.inputPayloadLoader = null;
         this.inputData = new HashMap<>();
         this.inputPayload = data;
     }
 
     public void internalizeOutput(Map<String, Object> data) {
+        this.outputPayloadLoader = null;
         this.outputData = new HashMap<>();
         this.outputPayload = data;
     }
 
+    /**
+     * Defers {@link #internalizeInput(Map)} until the input data is first accessed.
+     *
+     * @param loader supplies the externally stored input payload
+     */
+    public void internalizeInputLazily(Supplier<Map<String, Object>> loader) {
+        this.inputData = new HashMap<>();
+        this.inputPayload = new HashMap<>();
+        this.inputPayloadLoader = loader;
+    }
+
+    /**
+     * Defers {@link #internalizeOutput(Map)} until the output data is first accessed.
+     *
+     * @param loader supplies the externally stored output payload
+     */
+    public void internalizeOutputLazily(Supplier<Map<String, Object>> loader) {
+        this.outputData = new HashMap<>();
+        this.outputPayload = new HashMap<>();
+        this.outputPayloadLoader = loader;
+    }
+
+    /**
+     * @return true if the input or output payload is stored externally and has not been fetched
+     *     yet
+     */
+    @JsonIgnore
+    public boolean isPayloadPending() {
+        return inputPayloadLoader != null || outputPayloadLoader != null;
+    }
+
+    private void loadInputPayload() {
+        if (inputPayloadLoader != null) {
+            Supplier<Map<String, Object>> loader = inputPayloadLoader;
+            inputPayloadLoader = null;
+            // the data is not reset, as any data set since the task was read is the latest
+            inputPayload = Optional.ofNullable(loader.get()).orElseGet(HashMap::new);
+        }
+    }
+
+    private void loadOutputPayload() {
+        if (outputPayloadLoader != null) {
+            Supplier<Map<String, Object>> loader = outputPayloadLoader;
+            outputPayloadLoader = null;
+            outputPayload = Optional.ofNullable(loader.get()).orElseGet(HashMap::new);
+        }
+    }
+
     @Override
     public String toString() {
         return "TaskModel{"
@@ -842,17 +950,55 @@ public class TaskModel {
     }
 
     public Task toTask() {
+        // properties are copied explicitly rather than through reflection, keep this in sync with
+        // the properties of Task
         Task task = new Task();
-        BeanUtils.copyProperties(this, task);
+        task.setTaskType(taskType);
         task.setStatus(Task.Status.valueOf(status.name()));
-
-        // ensure that input/output is properly represented
-        if (externalInputPayloadStoragePath != null) {
-            task.setInputData(new HashMap<>());
+        task.setReferenceTaskName(referenceTaskName);
+        task.setRetryCount(retryCount);
+        task.setSeq(seq);
+        task.setCorrelationId(correlationId);
+        task.setPollCount(pollCount);
+        task.setTaskDefName(getTaskDefName());
+        task.setScheduledTime(scheduledTime);
+        task.setStartTime(startTime);
+        task.setEndTime(endTime);
+        task.setUpdateTime(updateTime);
+        task.setStartDelayInSeconds(startDelayInSeconds);
+        task.setRetriedTaskId(retriedTaskId);
+        task.setRetried(retried);
+        task.setExecuted(executed);
+        task.setCallbackFromWorker(callbackFromWorker);
+        task.setResponseTimeoutSeconds(responseTimeoutSeconds);
+        task.setWorkflowInstanceId(workflowInstanceId);
+        task.setWorkflowType(workflowType);
+        task.setTaskId(taskId);
+        task.setReasonForIncompletion(reasonForIncompletion);
+        task.setCallbackAfterSeconds(callbackAfterSeconds);
+        task.setWorkerId(workerId);
+        task.setWorkflowTask(workflowTask);
+        task.setDomain(domain);
+        task.setInputMessage(inputMessage);
+        task.setOutputMessage(outputMessage);
+        task.setRateLimitPerFrequency(rateLimitPerFrequency);
+        task.setRateLimitFrequencyInSeconds(rateLimitFrequencyInSeconds);
+        task.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        task.setExternalOutputPayloadStoragePath(externalOutputPayloadStoragePath);
+        task.setWorkflowPriority(workflowPriority);
+        task.setExecutionNameSpace(executionNameSpace);
+        task.setIsolationGroupId(isolationGroupId);
+        task.setIteration(iteration);
+        task.setSubworkflowChanged(subworkflowChanged);
+        // ensure that input/output is properly represented, without fetching externally stored
+        // payloads that would be discarded anyway
+        if (externalInputPayloadStoragePath == null) {
+            task.setInputData(getInputData());
         }
-        if (externalOutputPayloadStoragePath != null) {
-            task.setOutputData(new HashMap<>());
+        if (externalOutputPayloadStoragePath == null) {
+            task.setOutputData(getOutputData());
         }
+        task.setSubWorkflowId(getSubWorkflowId());
         return task;
     }
 
@@ -12,6 +12,9 @@
  */
 package com.netflix.conductor.model;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,6 +23,8 @@ import org.springframework.beans.BeanUtils;
 
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.Workflow;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.common.utils.SummaryUtil;
 import com.netflix.conductor.core.utils.Utils;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -53,6 +58,10 @@ public class WorkflowModel {
         }
     }
 
+    /** The format of the times of a {@link WorkflowSummary}, in GMT */
+    private static final DateTimeFormatter SUMMARY_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
     private Status status = Status.RUNNING;
 
     private long endTime;
@@ -63,7 +72,7 @@ public class WorkflowModel {
 
     private String parentWorkflowTaskId;
 
-    private List<TaskModel> tasks = new LinkedList<>();
+    private List<TaskModel> tasks = new TaskList();
 
     private String correlationId;
 
@@ -81,7 +90,10 @@ public class WorkflowModel {
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private Set<String> failedTaskNames = new HashSet<>();
 
-    private WorkflowDef workflowDefinition;
+    @JsonIgnore private WorkflowDef workflowDefinition;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String workflowDefinitionHash;
 
     private String externalInputPayloadStoragePath;
 
@@ -173,7 +185,11 @@ public class WorkflowModel {
     }
 
     public void setTasks(List<TaskModel> tasks) {
-        this.tasks = tasks;
+        if (tasks == null || tasks instanceof TaskList) {
+            this.tasks = tasks;
+        } else {
+            this.tasks = new TaskList(tasks);
+        }
     }
 
     @JsonIgnore
@@ -310,12 +326,62 @@ public class WorkflowModel {
         this.failedTaskNames = failedTaskNames;
     }
 
+    @JsonIgnore
     public WorkflowDef getWorkflowDefinition() {
         return workflowDefinition;
     }
 
+    @JsonIgnore
     public void setWorkflowDefinition(WorkflowDef workflowDefinition) {
         this.workflowDefinition = workflowDefinition;
+        this.workflowDefinitionHash = null;
+    }
+
+    /**
+     * @return the content hash of the workflow definition, if it is persisted by reference
+     */
+    public String getWorkflowDefinitionHash() {
+        return workflowDefinitionHash;
+    }
+
+    public void setWorkflowDefinitionHash(String workflowDefinitionHash) {
+        this.workflowDefinitionHash = workflowDefinitionHash;
+    }
+
+    /**
+     * Re-attaches the workflow definition of a workflow persisted by reference, keeping its hash.
+     *
+     * @param workflowDefinition the definition stored under {@link #getWorkflowDefinitionHash()}
+     */
+    public void attachWorkflowDefinition(WorkflowDef workflowDefinition) {
+        this.workflowDefinition = workflowDefinition;
+    }
+
+    /**
+     * When the definition is persisted by reference, only its name and version are serialized along
+     * with the workflow, so that it can still be identified without loading the definition.
+     *
+     * @deprecated Used only for JSON serialization and deserialization.
+     */
+    @Deprecated
+    @JsonProperty("workflowDefinition")
+    public WorkflowDef getRawWorkflowDefinition() {
+        if (workflowDefinitionHash == null || workflowDefinition == null) {
+            return workflowDefinition;
+        }
+        WorkflowDef reference = new WorkflowDef();
+        reference.setName(workflowDefinition.getName());
+        reference.setVersion(workflowDefinition.getVersion());
+        return reference;
+    }
+
+    /**
+     * @deprecated Used only for JSON serialization and deserialization.
+     */
+    @Deprecated
+    @JsonProperty("workflowDefinition")
+    public void setRawWorkflowDefinition(WorkflowDef workflowDefinition) {
+        attachWorkflowDefinition(workflowDefinition);
     }
 
     public String getExternalInputPayloadStoragePath() {
@@ -448,24 +514,23 @@ public class WorkflowModel {
             throw new RuntimeException(
                     "refName passed is null.  Check the workflow execution.  For dynamic tasks, make sure referenceTaskName is set to a not null value");
         }
-        LinkedList<TaskModel> found = new LinkedList<>();
-        for (TaskModel task : tasks) {
-            if (task.getReferenceTaskName() == null) {
-                throw new RuntimeException(
-                        "Task "
-                                + task.getTaskDefName()
-                                + ", seq="
-                                + task.getSeq()
-                                + " does not have reference name specified.");
-            }
-            if (task.getReferenceTaskName().equals(refName)) {
-                found.add(task);
-            }
-        }
-        if (found.isEmpty()) {
-            return null;
-        }
-        return found.getLast();
+        return ((TaskList) tasks).getLatestByRefName(refName);
+    }
+
+    /**
+     * @param taskId the id of the task
+     * @return the task with the given id, or null if this workflow does not have such a task
+     */
+    public TaskModel getTaskById(String taskId) {
+        return ((TaskList) tasks).getByTaskId(taskId);
+    }
+
+    /**
+     * @param iteration the DO_WHILE iteration
+     * @return the tasks scheduled within the given iteration, in the order they were added
+     */
+    public List<TaskModel> getTasksByIteration(int iteration) {
+        return ((TaskList) tasks).getByIteration(iteration);
     }
 
     public void externalizeInput(String path) {
@@ -584,6 +649,48 @@ public class WorkflowModel {
         return workflow;
     }
 
+    /**
+     * Builds the {@link WorkflowSummary} of this workflow directly, without converting the workflow
+     * and its tasks to a {@link Workflow} first. Equivalent to {@code new
+     * WorkflowSummary(toWorkflow())}.
+     */
+    public WorkflowSummary toWorkflowSummary() {
+        WorkflowSummary summary = new WorkflowSummary();
+        summary.setWorkflowType(getWorkflowName());
+        summary.setVersion(getWorkflowVersion());
+        summary.setWorkflowId(workflowId);
+        summary.setPriority(priority);
+        summary.setCorrelationId(correlationId);
+        if (createTime != null) {
+            summary.setStartTime(SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(createTime)));
+        }
+        if (endTime > 0) {
+            summary.setEndTime(SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(endTime)));
+            summary.setExecutionTime(endTime - (createTime == null ? 0 : createTime));
+        }
+        if (updatedTime != null) {
+            summary.setUpdateTime(SUMMARY_TIME_FORMAT.format(Instant.ofEpochMilli(updatedTime)));
+        }
+        summary.setStatus(Workflow.WorkflowStatus.valueOf(status.name()));
+        summary.setInput(
+                SummaryUtil.serializeInputOutput(
+                        externalInputPayloadStoragePath == null ? getInput() : new HashMap<>()));
+        summary.setOutput(
+                SummaryUtil.serializeInputOutput(
+                        externalOutputPayloadStoragePath == null ? getOutput() : new HashMap<>()));
+        summary.setReasonForIncompletion(reasonForIncompletion);
+        summary.setEvent(event);
+        summary.setFailedReferenceTaskNames(String.join(",", failedReferenceTaskNames));
+        summary.setFailedTaskNames(failedTaskNames);
+        if (StringUtils.isNotBlank(externalInputPayloadStoragePath)) {
+            summary.setExternalInputPayloadStoragePath(externalInputPayloadStoragePath);
+        }
+        if (StringUtils.isNotBlank(externalOutputPayloadStoragePath)) {
+            summary.setExternalOutputPayloadStoragePath(externalOutputPayloadStoragePath);
+        }
+        return summary;
+    }
+
     public void addInput(String key, Object value) {
         this.input.put(key, value);
     }
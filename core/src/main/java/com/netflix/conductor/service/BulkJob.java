@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.model.BulkJobStatus;
+import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.core.WorkflowContext;
+
+/** Applies a bulk operation to a list of workflows on an executor, and tracks its progress. */
+class BulkJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkJob.class);
+
+    /** The number of times the progress of a job is reported, besides its completion. */
+    private static final int PROGRESS_UPDATES = 10;
+
+    private final String jobId;
+    private final BulkJobStatus.Operation operation;
+    private final List<String> workflowIds;
+    private final Consumer<BulkJobStatus> statusListener;
+    private final int progressStep;
+    private final Map<Integer, Exception> failures = new ConcurrentHashMap<>();
+    private final Set<Integer> successes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final CompletableFuture<BulkResponse> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+
+    /**
+     * @param statusListener notified of the progress of the job and of its completion, in order
+     */
+    BulkJob(
+            String jobId,
+            BulkJobStatus.Operation operation,
+            List<String> workflowIds,
+            Consumer<BulkJobStatus> statusListener) {
+        this.jobId = jobId;
+        this.operation = operation;
+        this.workflowIds = List.copyOf(workflowIds);
+        this.statusListener = statusListener;
+        this.progressStep = Math.max(1, workflowIds.size() / PROGRESS_UPDATES);
+    }
+
+    /**
+     * Submits the operation for each workflow to the executor. The operations run concurrently,
+     * up to the number of threads of the executor, with the {@link WorkflowContext} of the caller.
+     *
+     * @param action the operation, applied to a workflow id
+     * @param executor the executor shared with other bulk jobs
+     * @return this job
+     */
+    BulkJob start(Consumer<String> action, Executor executor) {
+        if (workflowIds.isEmpty()) {
+            result.complete(new BulkResponse());
+            publishStatus();
+        }
+        WorkflowContext context = WorkflowContext.get();
+        for (int i = 0; i < workflowIds.size(); i++) {
+            int index = i;
+            String workflowId = workflowIds.get(i);
+            try {
+                executor.execute(() -> process(index, workflowId, action, context));
+            } catch (Exception e) {
+                completed(index, workflowId, e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Waits for the operation to be applied to all the workflows, up to the given timeout. The
+     * workflows not processed by then are skipped and reported as failed, although the operation
+     * may still be applied to those already being processed.
+     */
+    BulkResponse await(Duration timeout) {
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelled = true;
+            LOGGER.warn(
+                    "bulk {} timed out after {}, {} of {} workflows processed",
+                    operation,
+                    timeout,
+                    processed.get(),
+                    workflowIds.size());
+            return toBulkResponse("Bulk " + operation + " timed out after " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bulk " + operation, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    BulkJobStatus getStatus() {
+        BulkJobStatus status = new BulkJobStatus();
+        status.setJobId(jobId);
+        status.setOperation(operation);
+        status.setTotal(workflowIds.size());
+        status.setProcessed(processed.get());
+        status.setCompleted(result.isDone());
+        status.setResult(result.getNow(null));
+        return status;
+    }
+
+    private void process(
+            int index, String workflowId, Consumer<String> action, WorkflowContext context) {
+        if (cancelled) {
+            return;
+        }
+        // pool threads are shared by the jobs of all the callers
+        WorkflowContext.set(context);
+        try {
+            action.accept(workflowId);
+            completed(index, workflowId, null);
+        } catch (Exception e) {
+            completed(index, workflowId, e);
+        } finally {
+            WorkflowContext.unset();
+        }
+    }
+
+    private void completed(int index, String workflowId, Exception failure) {
+        if (failure != null) {
+            LOGGER.error(
+                    "bulk {} exception, workflowId {}, message: {} ",
+                    operation,
+                    workflowId,
+                    failure.getMessage(),
+                    failure);
+            failures.put(index, failure);
+        } else {
+            successes.add(index);
+        }
+        int count = processed.incrementAndGet();
+        if (count == workflowIds.size()) {
+            result.complete(toBulkResponse(null));
+            publishStatus();
+        } else if (count % progressStep == 0) {
+            publishStatus();
+        }
+    }
+
+    /**
+     * Serialized, so that the listener sees the statuses in order and the status of the completed
+     * job last.
+     */
+    private synchronized void publishStatus() {
+        try {
+            statusListener.accept(getStatus());
+        } catch (Exception e) {
+            LOGGER.error("Failed to report the progress of bulk job {}", jobId, e);
+        }
+    }
+
+    /**
+     * @param pendingMessage the error reported for the workflows that are not processed yet, if
+     *     any
+     */
+    private BulkResponse toBulkResponse(String pendingMessage) {
+        BulkResponse bulkResponse = new BulkResponse();
+        for (int i = 0; i < workflowIds.size(); i++) {
+            Exception failure = failures.get(i);
+            if (failure != null) {
+                bulkResponse.appendFailedResponse(workflowIds.get(i), failure.getMessage());
+            } else if (successes.contains(i)) {
+                bulkResponse.appendSuccessResponse(workflowIds.get(i));
+            } else {
+                bulkResponse.appendFailedResponse(workflowIds.get(i), pendingMessage);
+            }
+        }
+        return bulkResponse;
+    }
+}
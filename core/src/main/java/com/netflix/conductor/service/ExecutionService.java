@@ -38,6 +38,7 @@ import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.listener.TaskStatusListener;
 import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.core.utils.Utils;
+import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.model.TaskModel;
@@ -51,6 +52,7 @@ public class ExecutionService {
     private final WorkflowExecutor workflowExecutor;
     private final ExecutionDAOFacade executionDAOFacade;
     private final QueueDAO queueDAO;
+    private final MetadataDAO metadataDAO;
     private final ExternalPayloadStorage externalPayloadStorage;
     private final SystemTaskRegistry systemTaskRegistry;
     private final TaskStatusListener taskStatusListener;
@@ -65,6 +67,7 @@ public class ExecutionService {
             WorkflowExecutor workflowExecutor,
             ExecutionDAOFacade executionDAOFacade,
             QueueDAO queueDAO,
+            MetadataDAO metadataDAO,
             ConductorProperties properties,
             ExternalPayloadStorage externalPayloadStorage,
             SystemTaskRegistry systemTaskRegistry,
@@ -72,6 +75,7 @@ public class ExecutionService {
         this.workflowExecutor = workflowExecutor;
         this.executionDAOFacade = executionDAOFacade;
         this.queueDAO = queueDAO;
+        this.metadataDAO = metadataDAO;
         this.externalPayloadStorage = externalPayloadStorage;
 
         this.queueTaskMessagePostponeSecs =
@@ -106,9 +110,17 @@ public class ExecutionService {
         String queueName = QueueUtils.getQueueName(taskType, domain, null, null);
 
         List<String> taskIds = new LinkedList<>();
-        List<Task> tasks = new LinkedList<>();
+        List<TaskModel> polledTasks = new LinkedList<>();
         try {
-            taskIds = queueDAO.pop(queueName, count, timeoutInMilliSecond);
+            // Only dequeue as many tasks as the limits of the task definition allow to start, the
+            // others would be postponed right away
+            int permits =
+                    executionDAOFacade.getAvailablePermits(metadataDAO.getTaskDef(taskType), count);
+            if (permits > 0) {
+                taskIds = queueDAO.pop(queueName, permits, timeoutInMilliSecond);
+            } else {
+                LOGGER.debug("No task of type: {} can start now, skipping the poll", taskType);
+            }
         } catch (Exception e) {
             LOGGER.error(
                     "Error polling for task: {} from worker: {} in domain: {}, count: {}",
@@ -176,7 +188,7 @@ public class ExecutionService {
                 taskModel.setWorkerId(workerId);
                 taskModel.incrementPollCount();
                 executionDAOFacade.updateTask(taskModel);
-                tasks.add(taskModel.toTask());
+                polledTasks.add(taskModel);
             } catch (Exception e) {
                 // db operation failed for dequeued message, re-enqueue with a delay
                 LOGGER.warn(
@@ -185,13 +197,11 @@ public class ExecutionService {
                 queueDAO.postpone(queueName, taskId, 0, queueTaskMessagePostponeSecs);
             }
         }
-        taskIds.stream()
-                .map(executionDAOFacade::getTaskModel)
-                .filter(Objects::nonNull)
-                .filter(task -> TaskModel.Status.IN_PROGRESS.equals(task.getStatus()))
-                .forEach(taskStatusListener::onTaskInProgress);
+        // the polled tasks were just updated, there is no need to read their status back
+        polledTasks.forEach(taskStatusListener::onTaskInProgress);
         executionDAOFacade.updateTaskLastPoll(taskType, domain, workerId);
         Monitors.recordTaskPoll(queueName);
+        List<Task> tasks = polledTasks.stream().map(TaskModel::toTask).collect(Collectors.toList());
         tasks.forEach(this::ackTaskReceived);
         return tasks;
     }
@@ -16,9 +16,14 @@ import java.util.List;
 
 import org.springframework.validation.annotation.Validated;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Validated
@@ -67,4 +72,26 @@ public interface WorkflowBulkService {
                                     "Cannot process more than {max} workflows. Please use multiple requests.")
                     List<String> workflowIds,
             String reason);
+
+    BulkStartWorkflowResponse startWorkflows(
+            @NotEmpty(message = "StartWorkflowRequest list cannot be null.")
+                    @Size(
+                            max = MAX_REQUEST_ITEMS,
+                            message =
+                                    "Cannot process more than {max} workflows. Please use multiple requests.")
+                    List<@Valid StartWorkflowRequest> startWorkflowRequests);
+
+    BulkJobStatus submitJob(
+            @NotNull(message = "Bulk operation cannot be null.")
+                    BulkJobStatus.Operation operation,
+            @NotEmpty(message = "WorkflowIds list cannot be null.")
+                    @Size(
+                            max = MAX_REQUEST_ITEMS,
+                            message =
+                                    "Cannot process more than {max} workflows. Please use multiple requests.")
+                    List<String> workflowIds,
+            String reason,
+            boolean useLatestDefinitions);
+
+    BulkJobStatus getJobStatus(@NotEmpty(message = "JobId cannot be empty.") String jobId);
 }
@@ -12,16 +12,39 @@
  */
 package com.netflix.conductor.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.netflix.conductor.annotations.Audit;
 import com.netflix.conductor.annotations.Trace;
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
+import com.netflix.conductor.core.exception.NotFoundException;
+import com.netflix.conductor.core.exception.TooManyRequestsException;
+import com.netflix.conductor.core.execution.StartWorkflowInput;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.operation.StartWorkflowOperation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
 
 @Audit
 @Trace
@@ -30,9 +53,67 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowBulkService.class);
     private final WorkflowExecutor workflowExecutor;
+    private final StartWorkflowOperation startWorkflowOperation;
+    private final ExecutionDAOFacade executionDAOFacade;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final ThreadPoolExecutor bulkJobExecutor;
+    private final Duration bulkOperationTimeout;
+    private final Duration bulkJobRetentionPeriod;
+
+    /** The jobs run by this server, only used when the execution DAO cannot store bulk jobs. */
+    private final Cache<String, BulkJob> bulkJobs;
 
-    public WorkflowBulkServiceImpl(WorkflowExecutor workflowExecutor) {
+    public WorkflowBulkServiceImpl(
+            WorkflowExecutor workflowExecutor,
+            StartWorkflowOperation startWorkflowOperation,
+            ExecutionDAOFacade executionDAOFacade,
+            ConductorProperties properties) {
         this.workflowExecutor = workflowExecutor;
+        this.startWorkflowOperation = startWorkflowOperation;
+        this.executionDAOFacade = executionDAOFacade;
+        this.bulkExecutor = threadPool(properties, "bulk-operation-%d");
+        // jobs have their own threads, so that synchronous requests do not queue behind them
+        this.bulkJobExecutor = threadPool(properties, "bulk-job-%d");
+        this.bulkOperationTimeout = properties.getBulkOperationTimeout();
+        this.bulkJobRetentionPeriod = properties.getBulkJobRetentionPeriod();
+        if (executionDAOFacade.supportsBulkJobs()) {
+            this.bulkJobs = null;
+        } else {
+            LOGGER.warn(
+                    "The execution DAO does not store bulk jobs, the status of a bulk job is only "
+                            + "available from the server running it");
+            this.bulkJobs = Caffeine.newBuilder().expireAfterWrite(bulkJobRetentionPeriod).build();
+        }
+    }
+
+    private static ThreadPoolExecutor threadPool(
+            ConductorProperties properties, String namingPattern) {
+        return new ThreadPoolExecutor(
+                properties.getBulkOperationThreadCount(),
+                properties.getBulkOperationThreadCount(),
+                0,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(properties.getBulkOperationQueueSize()),
+                new BasicThreadFactory.Builder().namingPattern(namingPattern).daemon(true).build());
+    }
+
+    @PreDestroy
+    public void shutdownExecutorService() {
+        shutdown(bulkExecutor);
+        shutdown(bulkJobExecutor);
+    }
+
+    private void shutdown(ExecutorService executorService) {
+        try {
+            executorService.shutdown();
+            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.debug("Bulk operations still running after 30 seconds, shutting down");
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -43,23 +124,7 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse pauseWorkflow(List<String> workflowIds) {
-
-        BulkResponse bulkResponse = new BulkResponse();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.pauseWorkflow(workflowId);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk pauseWorkflow exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-
-        return bulkResponse;
+        return runAndWait(BulkJobStatus.Operation.PAUSE, workflowIds, null, false);
     }
 
     /**
@@ -70,21 +135,7 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse resumeWorkflow(List<String> workflowIds) {
-        BulkResponse bulkResponse = new BulkResponse();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.resumeWorkflow(workflowId);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk resumeWorkflow exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return runAndWait(BulkJobStatus.Operation.RESUME, workflowIds, null, false);
     }
 
     /**
@@ -96,21 +147,7 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse restart(List<String> workflowIds, boolean useLatestDefinitions) {
-        BulkResponse bulkResponse = new BulkResponse();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.restart(workflowId, useLatestDefinitions);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk restart exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return runAndWait(BulkJobStatus.Operation.RESTART, workflowIds, null, useLatestDefinitions);
     }
 
     /**
@@ -121,21 +158,7 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse retry(List<String> workflowIds) {
-        BulkResponse bulkResponse = new BulkResponse();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.retry(workflowId, false);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk retry exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
-        }
-        return bulkResponse;
+        return runAndWait(BulkJobStatus.Operation.RETRY, workflowIds, null, false);
     }
 
     /**
@@ -148,20 +171,124 @@ public class WorkflowBulkServiceImpl implements WorkflowBulkService {
      *     ones with errors
      */
     public BulkResponse terminate(List<String> workflowIds, String reason) {
-        BulkResponse bulkResponse = new BulkResponse();
-        for (String workflowId : workflowIds) {
-            try {
-                workflowExecutor.terminateWorkflow(workflowId, reason);
-                bulkResponse.appendSuccessResponse(workflowId);
-            } catch (Exception e) {
-                LOGGER.error(
-                        "bulk terminate exception, workflowId {}, message: {} ",
-                        workflowId,
-                        e.getMessage(),
-                        e);
-                bulkResponse.appendFailedResponse(workflowId, e.getMessage());
-            }
+        return runAndWait(BulkJobStatus.Operation.TERMINATE, workflowIds, reason, false);
+    }
+
+    /**
+     * Start the list of workflows.
+     *
+     * @param startWorkflowRequests - list of workflows to be started
+     * @return bulk response object containing the id of each started workflow, or the error
+     *     starting it, in the order of the requests
+     */
+    public BulkStartWorkflowResponse startWorkflows(
+            List<StartWorkflowRequest> startWorkflowRequests) {
+        return startWorkflowOperation.executeAll(
+                startWorkflowRequests.stream()
+                        .map(StartWorkflowInput::new)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Submit a bulk operation to be processed asynchronously.
+     *
+     * @param operation - the operation to perform on the workflows
+     * @param workflowIds - list of workflow Ids to perform the operation on
+     * @param reason - description for the terminated workflows, only used to terminate
+     * @param useLatestDefinitions if true, use latest workflow and task definitions, only used to
+     *     restart
+     * @return the status of the submitted job, including its id
+     */
+    public BulkJobStatus submitJob(
+            BulkJobStatus.Operation operation,
+            List<String> workflowIds,
+            String reason,
+            boolean useLatestDefinitions) {
+        checkCapacity(bulkJobExecutor, workflowIds);
+        Instant submitTime = Instant.now();
+        Consumer<BulkJobStatus> statusListener =
+                bulkJobs == null ? status -> saveJobStatus(status, submitTime) : status -> {};
+        BulkJob bulkJob =
+                new BulkJob(UUID.randomUUID().toString(), operation, workflowIds, statusListener);
+        BulkJobStatus status = bulkJob.getStatus();
+        if (bulkJobs == null) {
+            saveJobStatus(status, submitTime);
+        } else {
+            bulkJobs.put(status.getJobId(), bulkJob);
+        }
+        bulkJob.start(action(operation, reason, useLatestDefinitions), bulkJobExecutor);
+        return status;
+    }
+
+    /**
+     * Get the progress of a bulk job.
+     *
+     * @param jobId - the id of the job
+     * @return the status of the job, including the outcome for each workflow once it is completed
+     */
+    public BulkJobStatus getJobStatus(String jobId) {
+        BulkJobStatus status;
+        if (bulkJobs == null) {
+            status = executionDAOFacade.getBulkJobStatus(jobId);
+        } else {
+            BulkJob bulkJob = bulkJobs.getIfPresent(jobId);
+            status = bulkJob == null ? null : bulkJob.getStatus();
+        }
+        if (status == null) {
+            throw new NotFoundException("No such bulk job found by id: %s", jobId);
+        }
+        return status;
+    }
+
+    private void saveJobStatus(BulkJobStatus status, Instant submitTime) {
+        Duration retention =
+                bulkJobRetentionPeriod.minus(Duration.between(submitTime, Instant.now()));
+        executionDAOFacade.updateBulkJobStatus(status, (int) Math.max(1, retention.toSeconds()));
+    }
+
+    private BulkResponse runAndWait(
+            BulkJobStatus.Operation operation,
+            List<String> workflowIds,
+            String reason,
+            boolean useLatestDefinitions) {
+        checkCapacity(bulkExecutor, workflowIds);
+        return new BulkJob(UUID.randomUUID().toString(), operation, workflowIds, status -> {})
+                .start(action(operation, reason, useLatestDefinitions), bulkExecutor)
+                .await(bulkOperationTimeout);
+    }
+
+    /**
+     * Rejects the request if the workflows do not fit in the queue of the pool. Workflows that
+     * still do not fit, because of concurrent requests, are reported as failed.
+     */
+    private void checkCapacity(ThreadPoolExecutor executor, List<String> workflowIds) {
+        if (executor.getQueue().remainingCapacity() < workflowIds.size()) {
+            throw new TooManyRequestsException("Too many bulk operations in progress, retry later");
+        }
+    }
+
+    private Consumer<String> action(
+            BulkJobStatus.Operation operation, String reason, boolean useLatestDefinitions) {
+        Consumer<String> action;
+        switch (operation) {
+            case PAUSE:
+                action = workflowExecutor::pauseWorkflow;
+                break;
+            case RESUME:
+                action = workflowExecutor::resumeWorkflow;
+                break;
+            case RESTART:
+                action = workflowId -> workflowExecutor.restart(workflowId, useLatestDefinitions);
+                break;
+            case RETRY:
+                action = workflowId -> workflowExecutor.retry(workflowId, false);
+                break;
+            case TERMINATE:
+                action = workflowId -> workflowExecutor.terminateWorkflow(workflowId, reason);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported bulk operation: " + operation);
         }
-        return bulkResponse;
+        return action;
     }
 }
@@ -316,6 +316,83 @@ class DoWhileSpec extends Specification {
         0 * workflowExecutor.scheduleNextIteration(doWhileTaskModel, workflowModel)
     }
 
+    def "next iteration - iterations beyond keepLastN are removed"() {
+        given: "WorkflowModel consists of two completed iterations of tasks inside DO_WHILE"
+        def iteration1Task1 = createTaskModel(task1)
+        def iteration1Task2 = createTaskModel(task2)
+        taskModel1 = createTaskModel(task1, TaskModel.Status.COMPLETED, 2)
+        taskModel2 = createTaskModel(task2, TaskModel.Status.COMPLETED, 2)
+
+        WorkflowTask doWhileWorkflowTask = new WorkflowTask(taskReferenceName: 'doWhileTask', type: TASK_TYPE_DO_WHILE)
+        doWhileWorkflowTask.loopCondition = "if (\$.doWhileTask['iteration'] < 3) { true; } else { false; }"
+        doWhileWorkflowTask.loopOver = [task1, task2]
+
+        doWhileTaskModel = new TaskModel(workflowTask: doWhileWorkflowTask, taskId: UUID.randomUUID().toString(),
+                taskType: TASK_TYPE_DO_WHILE, referenceTaskName: doWhileWorkflowTask.taskReferenceName)
+        doWhileTaskModel.inputData['keepLastN'] = 1
+        doWhileTaskModel.iteration = 2
+        doWhileTaskModel.outputData['iteration'] = 2
+        doWhileTaskModel.outputData['1'] = ['task1': ['k1': 'v1'], 'task2': ['k1': 'v1']]
+        doWhileTaskModel.status = TaskModel.Status.IN_PROGRESS
+
+        def workflowModel = new WorkflowModel(workflowDefinition: new WorkflowDef(name: 'test_workflow'))
+        workflowModel.tasks = [doWhileTaskModel, iteration1Task1, iteration1Task2, taskModel1, taskModel2]
+
+        and: "task updates are indexed synchronously"
+        workflowExecutor.canRemoveTasks() >> true
+
+        when:
+        def retVal = doWhile.execute(workflowModel, doWhileTaskModel, workflowExecutor)
+
+        then: "verify that the next iteration is scheduled"
+        retVal
+        doWhileTaskModel.iteration == 3
+        1 * workflowExecutor.scheduleNextIteration(doWhileTaskModel, workflowModel)
+
+        and: "verify that only the last iteration is retained"
+        !doWhileTaskModel.outputData.containsKey('1')
+        doWhileTaskModel.outputData.containsKey('2')
+        1 * workflowExecutor.removeTasks(workflowModel, [iteration1Task1, iteration1Task2])
+    }
+
+    def "next iteration - tasks beyond keepLastN are kept when they cannot be archived"() {
+        given: "WorkflowModel consists of two completed iterations of tasks inside DO_WHILE"
+        def iteration1Task1 = createTaskModel(task1)
+        def iteration1Task2 = createTaskModel(task2)
+        taskModel1 = createTaskModel(task1, TaskModel.Status.COMPLETED, 2)
+        taskModel2 = createTaskModel(task2, TaskModel.Status.COMPLETED, 2)
+
+        WorkflowTask doWhileWorkflowTask = new WorkflowTask(taskReferenceName: 'doWhileTask', type: TASK_TYPE_DO_WHILE)
+        doWhileWorkflowTask.loopCondition = "if (\$.doWhileTask['iteration'] < 3) { true; } else { false; }"
+        doWhileWorkflowTask.loopOver = [task1, task2]
+
+        doWhileTaskModel = new TaskModel(workflowTask: doWhileWorkflowTask, taskId: UUID.randomUUID().toString(),
+                taskType: TASK_TYPE_DO_WHILE, referenceTaskName: doWhileWorkflowTask.taskReferenceName)
+        doWhileTaskModel.inputData['keepLastN'] = 1
+        doWhileTaskModel.iteration = 2
+        doWhileTaskModel.outputData['iteration'] = 2
+        doWhileTaskModel.outputData['1'] = ['task1': ['k1': 'v1'], 'task2': ['k1': 'v1']]
+        doWhileTaskModel.status = TaskModel.Status.IN_PROGRESS
+
+        def workflowModel = new WorkflowModel(workflowDefinition: new WorkflowDef(name: 'test_workflow'))
+        workflowModel.tasks = [doWhileTaskModel, iteration1Task1, iteration1Task2, taskModel1, taskModel2]
+
+        and: "task updates are indexed asynchronously"
+        workflowExecutor.canRemoveTasks() >> false
+
+        when:
+        def retVal = doWhile.execute(workflowModel, doWhileTaskModel, workflowExecutor)
+
+        then: "verify that the next iteration is scheduled"
+        retVal
+        1 * workflowExecutor.scheduleNextIteration(doWhileTaskModel, workflowModel)
+
+        and: "verify that only the output of the past iterations is removed"
+        !doWhileTaskModel.outputData.containsKey('1')
+        0 * workflowExecutor.removeTasks(_, _)
+        workflowModel.tasks.containsAll([iteration1Task1, iteration1Task2])
+    }
+
     def "cancel sets the status as CANCELED"() {
         given:
         doWhileTaskModel = new TaskModel(taskId: UUID.randomUUID().toString(),
@@ -16,6 +16,7 @@ import org.springframework.context.ApplicationEventPublisher
 
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef
 import com.netflix.conductor.core.dal.ExecutionDAOFacade
+import com.netflix.conductor.core.exception.NotFoundException
 import com.netflix.conductor.core.execution.StartWorkflowInput
 import com.netflix.conductor.core.metadata.MetadataMapperService
 import com.netflix.conductor.core.utils.IDGenerator
@@ -66,4 +67,56 @@ class StartWorkflowOperationSpec extends Specification {
         1 * executionDAOFacade.createWorkflow(_)
         1 * eventPublisher.publishEvent(_)
     }
+
+    def "bulk start looks up the definition once and creates the workflows together"() {
+        given:
+        def workflowDef = new WorkflowDef(name: 'test', version: 1)
+        def inputs = [
+                new StartWorkflowInput(name: 'test', version: 1, workflowInput: [:]),
+                new StartWorkflowInput(name: 'missing', version: 1, workflowInput: [:]),
+                new StartWorkflowInput(name: 'test', version: 1, workflowInput: [:])
+        ]
+
+        when:
+        def response = startWorkflowOperation.executeAll(inputs)
+
+        then:
+        1 * metadataMapperService.lookupForWorkflowDefinition('test', 1) >> workflowDef
+        1 * metadataMapperService.lookupForWorkflowDefinition('missing', 1) >> { throw new NotFoundException('No such workflow defined. name=missing, version=1') }
+        1 * metadataMapperService.populateTaskDefinitions(workflowDef) >> workflowDef
+        2 * idGenerator.generate() >>> ['id1', 'id2']
+        1 * executionDAOFacade.createWorkflows({ it*.workflowId == ['id1', 'id2'] }) >> [:]
+        0 * executionDAOFacade.createWorkflow(_)
+        0 * executionLockService.acquireLock(_)
+        0 * eventPublisher.publishEvent(_)
+
+        and:
+        response.workflowIds == ['id1', null, 'id2']
+        response.errors == [1: 'No such workflow defined. name=missing, version=1']
+    }
+
+    def "bulk start keeps the workflows created when others fail"() {
+        given:
+        def workflowDef = new WorkflowDef(name: 'test', version: 1)
+        def inputs = [
+                new StartWorkflowInput(name: 'test', version: 1, workflowInput: [:]),
+                new StartWorkflowInput(name: 'test', version: 1, workflowId: 'existing', workflowInput: [:]),
+                new StartWorkflowInput(name: 'test', version: 1, workflowId: 'existing', workflowInput: [:]),
+                new StartWorkflowInput(name: 'test', version: 1, workflowInput: [:])
+        ]
+
+        when:
+        def response = startWorkflowOperation.executeAll(inputs)
+
+        then:
+        1 * metadataMapperService.lookupForWorkflowDefinition('test', 1) >> workflowDef
+        1 * metadataMapperService.populateTaskDefinitions(workflowDef) >> workflowDef
+        2 * idGenerator.generate() >>> ['id1', 'id2']
+        1 * executionDAOFacade.createWorkflows({ it*.workflowId == ['id1', 'existing', 'id2'] }) >> ['existing': new IllegalStateException('workflow already exists')]
+        0 * executionDAOFacade.removeWorkflow(_, _)
+
+        and:
+        response.workflowIds == ['id1', null, null, 'id2']
+        response.errors == [1: 'workflow already exists', 2: 'Duplicate workflowId in the request: existing']
+    }
 }
@@ -65,4 +65,34 @@ class WorkflowModelSpec extends Specification {
         node.path("output").isEmpty()
         node.path("externalOutputPayloadStoragePath").isTextual()
     }
+
+    def "task lookups reflect changes to the task list"() {
+        given:
+        def first = new TaskModel(taskId: 't1', referenceTaskName: 'ref', retryCount: 0)
+        def retried = new TaskModel(taskId: 't2', referenceTaskName: 'ref', retryCount: 1)
+        def loopTask = new TaskModel(taskId: 't3', referenceTaskName: 'loop__1', iteration: 1)
+        workflowModel.tasks = [first]
+
+        expect:
+        workflowModel.getTaskByRefName('ref') == first
+        workflowModel.getTaskById('t1') == first
+
+        when:
+        workflowModel.tasks.addAll([retried, loopTask])
+
+        then:
+        workflowModel.getTaskByRefName('ref') == retried
+        workflowModel.getTaskById('t1') == first
+        workflowModel.getTaskById('t3') == loopTask
+        workflowModel.getTasksByIteration(1) == [loopTask]
+        workflowModel.getTasksByIteration(0) == [first, retried]
+
+        when:
+        workflowModel.tasks.set(1, new TaskModel(taskId: 't4', referenceTaskName: 'other'))
+
+        then:
+        workflowModel.getTaskByRefName('ref') == first
+        workflowModel.getTaskById('t2') == null
+        workflowModel.getTaskByRefName('other').taskId == 't4'
+    }
 }
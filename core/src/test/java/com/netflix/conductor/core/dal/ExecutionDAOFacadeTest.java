@@ -16,6 +16,9 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
@@ -28,19 +31,24 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.TerminateWorkflowException;
+import com.netflix.conductor.core.exception.TransientException;
 import com.netflix.conductor.core.execution.TestDeciderService;
 import com.netflix.conductor.core.utils.ExternalPayloadStorageUtils;
+import com.netflix.conductor.core.utils.QueueUtils;
 import com.netflix.conductor.dao.*;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import static com.netflix.conductor.core.utils.Utils.DECIDER_QUEUE;
+
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -50,25 +58,30 @@ import static org.mockito.Mockito.*;
 public class ExecutionDAOFacadeTest {
 
     private ExecutionDAO executionDAO;
+    private QueueDAO queueDAO;
     private IndexDAO indexDAO;
+    private MetadataDAO metadataDAO;
     private ExecutionDAOFacade executionDAOFacade;
     private ExternalPayloadStorageUtils externalPayloadStorageUtils;
+    private ConductorProperties properties;
 
     @Autowired private ObjectMapper objectMapper;
 
     @Before
     public void setUp() {
         executionDAO = mock(ExecutionDAO.class);
-        QueueDAO queueDAO = mock(QueueDAO.class);
+        queueDAO = mock(QueueDAO.class);
         indexDAO = mock(IndexDAO.class);
         externalPayloadStorageUtils = mock(ExternalPayloadStorageUtils.class);
         RateLimitingDAO rateLimitingDao = mock(RateLimitingDAO.class);
         ConcurrentExecutionLimitDAO concurrentExecutionLimitDAO =
                 mock(ConcurrentExecutionLimitDAO.class);
         PollDataDAO pollDataDAO = mock(PollDataDAO.class);
-        ConductorProperties properties = mock(ConductorProperties.class);
+        metadataDAO = mock(MetadataDAO.class);
+        properties = mock(ConductorProperties.class);
         when(properties.isEventExecutionIndexingEnabled()).thenReturn(true);
         when(properties.isAsyncIndexingEnabled()).thenReturn(true);
+        when(properties.getWorkflowDefinitionCacheSize()).thenReturn(100);
         executionDAOFacade =
                 new ExecutionDAOFacade(
                         executionDAO,
@@ -77,6 +90,7 @@ public class ExecutionDAOFacadeTest {
                         rateLimitingDao,
                         concurrentExecutionLimitDAO,
                         pollDataDAO,
+                        metadataDAO,
                         objectMapper,
                         properties,
                         externalPayloadStorageUtils);
@@ -171,6 +185,152 @@ public class ExecutionDAOFacadeTest {
         verify(indexDAO, never()).removeTask(anyString(), anyString());
     }
 
+    @Test
+    public void testArchiveWorkflows() throws Exception {
+        InputStream stream = TestDeciderService.class.getResourceAsStream("/completed.json");
+        WorkflowModel workflow = objectMapper.readValue(stream, WorkflowModel.class);
+        WorkflowModel running = new WorkflowModel();
+        running.setWorkflowId("runningWorkflowId");
+        running.setStatus(WorkflowModel.Status.RUNNING);
+
+        when(properties.isTaskIndexingEnabled()).thenReturn(true);
+        when(executionDAO.getWorkflow(workflow.getWorkflowId(), true)).thenReturn(workflow);
+        when(executionDAO.getWorkflow("runningWorkflowId", true)).thenReturn(running);
+        ExecutionDAOFacade.RemovedWorkflows removed =
+                executionDAOFacade.removeWorkflows(
+                        List.of(workflow.getWorkflowId(), "runningWorkflowId", "removedWorkflowId"),
+                        true);
+
+        assertEquals(1, removed.getRemoved().size());
+        assertEquals(workflow.getWorkflowId(), removed.getRemoved().get(0).getWorkflowId());
+        assertTrue(removed.getFailures().isEmpty());
+        verify(executionDAO, times(1)).removeWorkflows(List.of(workflow.getWorkflowId()));
+        verify(indexDAO, times(1))
+                .updateWorkflows(
+                        argThat(
+                                updates ->
+                                        updates.keySet()
+                                                .equals(Set.of(workflow.getWorkflowId()))));
+        verify(indexDAO, times(1))
+                .updateTasks(
+                        argThat(taskWorkflowIds -> taskWorkflowIds.size() == 15), any(), any());
+        verify(indexDAO, never()).updateWorkflow(anyString(), any(), any());
+        verify(indexDAO, never()).updateTask(anyString(), anyString(), any(), any());
+        verify(queueDAO, times(1)).remove(DECIDER_QUEUE, workflow.getWorkflowId());
+    }
+
+    @Test
+    public void testArchiveWorkflowsWithPendingTask() throws Exception {
+        InputStream stream = TestDeciderService.class.getResourceAsStream("/completed.json");
+        WorkflowModel workflow = objectMapper.readValue(stream, WorkflowModel.class);
+        TaskModel pending = workflow.getTasks().get(0);
+        pending.setStatus(TaskModel.Status.IN_PROGRESS);
+
+        when(properties.isTaskIndexingEnabled()).thenReturn(true);
+        when(executionDAO.getWorkflow(workflow.getWorkflowId(), true)).thenReturn(workflow);
+        ExecutionDAOFacade.RemovedWorkflows removed =
+                executionDAOFacade.removeWorkflows(List.of(workflow.getWorkflowId()), true);
+
+        // the workflow is removed, only its pending task is not archived
+        assertEquals(1, removed.getRemoved().size());
+        verify(executionDAO, times(1)).removeWorkflows(List.of(workflow.getWorkflowId()));
+        verify(indexDAO, times(1))
+                .updateTasks(
+                        argThat(
+                                taskWorkflowIds ->
+                                        taskWorkflowIds.size() == 14
+                                                && !taskWorkflowIds.containsKey(
+                                                        pending.getTaskId())),
+                        any(),
+                        any());
+        verify(queueDAO, times(1)).remove(QueueUtils.getQueueName(pending), pending.getTaskId());
+    }
+
+    @Test
+    public void testArchiveWorkflowsKeepsTheWorkflowsThatFailed() throws Exception {
+        InputStream stream = TestDeciderService.class.getResourceAsStream("/completed.json");
+        WorkflowModel failed = objectMapper.readValue(stream, WorkflowModel.class);
+        WorkflowModel archived = new WorkflowModel();
+        archived.setWorkflowId("archivedWorkflowId");
+        archived.setStatus(WorkflowModel.Status.COMPLETED);
+        TaskModel failedTask = failed.getTasks().get(0);
+        TransientException error = new TransientException("failed");
+
+        when(properties.isTaskIndexingEnabled()).thenReturn(true);
+        when(executionDAO.getWorkflow(failed.getWorkflowId(), true)).thenReturn(failed);
+        when(executionDAO.getWorkflow("archivedWorkflowId", true)).thenReturn(archived);
+        when(indexDAO.updateTasks(any(), any(), any()))
+                .thenReturn(Map.of(failedTask.getTaskId(), error));
+        ExecutionDAOFacade.RemovedWorkflows removed =
+                executionDAOFacade.removeWorkflows(
+                        List.of(failed.getWorkflowId(), "archivedWorkflowId"), true);
+
+        assertEquals(List.of(archived), removed.getRemoved());
+        assertEquals(Map.of(failed.getWorkflowId(), error), removed.getFailures());
+        verify(executionDAO, times(1)).removeWorkflows(List.of("archivedWorkflowId"));
+        verify(queueDAO, never()).remove(DECIDER_QUEUE, failed.getWorkflowId());
+    }
+
+    @Test
+    public void testArchiveWorkflowsWithoutTaskIndexing() throws Exception {
+        InputStream stream = TestDeciderService.class.getResourceAsStream("/completed.json");
+        WorkflowModel workflow = objectMapper.readValue(stream, WorkflowModel.class);
+
+        when(properties.isTaskIndexingEnabled()).thenReturn(false);
+        when(executionDAO.getWorkflow(workflow.getWorkflowId(), true)).thenReturn(workflow);
+        ExecutionDAOFacade.RemovedWorkflows removed =
+                executionDAOFacade.removeWorkflows(List.of(workflow.getWorkflowId()), true);
+
+        assertEquals(1, removed.getRemoved().size());
+        verify(indexDAO, times(1)).updateWorkflows(any());
+        verify(indexDAO, never()).updateTasks(any(), any(), any());
+        verify(executionDAO, times(1)).removeWorkflows(List.of(workflow.getWorkflowId()));
+    }
+
+    @Test
+    public void testRemoveTasksArchivesThemFirst() {
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        TaskModel archived = new TaskModel();
+        archived.setTaskId("archivedTaskId");
+        TaskModel failed = new TaskModel();
+        failed.setTaskId("failedTaskId");
+
+        when(properties.isAsyncIndexingEnabled()).thenReturn(false);
+        when(properties.isTaskIndexingEnabled()).thenReturn(true);
+        when(indexDAO.updateTasks(any(), any(), any()))
+                .thenReturn(Map.of("failedTaskId", new TransientException("failed")));
+        List<TaskModel> removed =
+                executionDAOFacade.removeTasks(workflow, List.of(archived, failed));
+
+        assertEquals(List.of(archived), removed);
+        verify(indexDAO, times(1))
+                .updateTasks(
+                        eq(Map.of("archivedTaskId", "workflowId", "failedTaskId", "workflowId")),
+                        any(),
+                        any());
+        verify(executionDAO, times(1)).removeTask("archivedTaskId");
+        verify(executionDAO, never()).removeTask("failedTaskId");
+    }
+
+    @Test
+    public void testRemoveTasksWithAsyncIndexing() {
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        TaskModel task = new TaskModel();
+        task.setTaskId("taskId");
+
+        when(properties.isAsyncIndexingEnabled()).thenReturn(true);
+        when(properties.isTaskIndexingEnabled()).thenReturn(true);
+        List<TaskModel> removed = executionDAOFacade.removeTasks(workflow, List.of(task));
+
+        // the latest state of the task may not be indexed yet, so it is kept
+        assertTrue(removed.isEmpty());
+        assertFalse(executionDAOFacade.isTaskArchivalEnabled());
+        verify(indexDAO, never()).updateTasks(any(), any(), any());
+        verify(executionDAO, never()).removeTask(anyString());
+    }
+
     @Test
     public void testAddEventExecution() {
         when(executionDAO.addEventExecution(any())).thenReturn(false);
@@ -198,4 +358,164 @@ public class ExecutionDAOFacadeTest {
 
         executionDAOFacade.updateTask(task);
     }
+
+    @Test
+    public void testPersistDecision() {
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName("task1");
+        task.setStatus(TaskModel.Status.COMPLETED);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId(UUID.randomUUID().toString());
+        workflow.setWorkflowDefinition(new WorkflowDef());
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.getTasks().add(task);
+
+        executionDAOFacade.persistDecision(workflow, List.of(task));
+
+        verify(executionDAO, times(1)).persistDecision(workflow, List.of(task));
+        verify(executionDAO, never()).updateWorkflow(any());
+        verify(executionDAO, never()).updateTasks(any());
+        verify(externalPayloadStorageUtils, times(1))
+                .verifyAndUpload(task, ExternalPayloadStorage.PayloadType.TASK_OUTPUT);
+        verify(indexDAO, times(1)).asyncIndexWorkflow(any());
+        assertTrue(task.getUpdateTime() > 0);
+        assertTrue(workflow.getUpdatedTime() > 0);
+    }
+
+    @Test
+    public void testLazyTaskPayloadLoading() {
+        when(properties.isLazyTaskPayloadLoadingEnabled()).thenReturn(true);
+        when(externalPayloadStorageUtils.downloadPayload("task/output.json"))
+                .thenReturn(Map.of("result", "large"));
+
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName("task1");
+        task.setStatus(TaskModel.Status.COMPLETED);
+        task.setExternalOutputPayloadStoragePath("task/output.json");
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.getTasks().add(task);
+        when(executionDAO.getWorkflow(any(), anyBoolean())).thenReturn(workflow);
+
+        WorkflowModel workflowModel = executionDAOFacade.getWorkflowModel("workflowId", true);
+        TaskModel taskModel = workflowModel.getTasks().get(0);
+        assertTrue(taskModel.isPayloadPending());
+        assertTrue(taskModel.toTask().getOutputData().isEmpty());
+        verify(externalPayloadStorageUtils, never()).downloadPayload(anyString());
+
+        assertEquals("large", taskModel.getOutputData().get("result"));
+        assertFalse(taskModel.isPayloadPending());
+        taskModel.getOutputData();
+        verify(externalPayloadStorageUtils, times(1)).downloadPayload("task/output.json");
+    }
+
+    @Test
+    public void testWorkflowDefinitionByReference() throws Exception {
+        when(properties.isWorkflowDefinitionByReferenceEnabled()).thenReturn(true);
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("workflow");
+        workflowDef.setVersion(2);
+        workflowDef.setDescription("large definition");
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId(UUID.randomUUID().toString());
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+
+        executionDAOFacade.createWorkflow(workflow);
+        String hash = workflow.getWorkflowDefinitionHash();
+        assertNotNull(hash);
+        verify(metadataDAO, times(1)).storeWorkflowDefSnapshot(hash, workflowDef);
+
+        executionDAOFacade.updateWorkflow(workflow);
+        verify(metadataDAO, times(1)).storeWorkflowDefSnapshot(any(), any());
+
+        String json = objectMapper.writeValueAsString(workflow);
+        WorkflowModel persisted = objectMapper.readValue(json, WorkflowModel.class);
+        assertEquals(hash, persisted.getWorkflowDefinitionHash());
+        assertEquals("workflow", persisted.getWorkflowName());
+        assertEquals(2, persisted.getWorkflowVersion());
+        assertNull(persisted.getWorkflowDefinition().getDescription());
+
+        when(executionDAO.getWorkflow(any(), anyBoolean())).thenReturn(persisted);
+        when(metadataDAO.getWorkflowDefSnapshot(hash)).thenReturn(Optional.of(workflowDef));
+        WorkflowModel workflowModel =
+                executionDAOFacade.getWorkflowModel(workflow.getWorkflowId(), false);
+        assertEquals(workflowDef, workflowModel.getWorkflowDefinition());
+        assertEquals(hash, workflowModel.getWorkflowDefinitionHash());
+        // definitions saved on this node are served from the cache
+        verify(metadataDAO, never()).getWorkflowDefSnapshot(any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWorkflowDefinitionByReferenceNotSupported() {
+        when(properties.isWorkflowDefinitionByReferenceEnabled()).thenReturn(true);
+        when(metadataDAO.supportsWorkflowDefSnapshots()).thenReturn(false);
+        new ExecutionDAOFacade(
+                executionDAO,
+                queueDAO,
+                indexDAO,
+                mock(RateLimitingDAO.class),
+                mock(ConcurrentExecutionLimitDAO.class),
+                mock(PollDataDAO.class),
+                metadataDAO,
+                objectMapper,
+                properties,
+                externalPayloadStorageUtils);
+    }
+
+    @Test
+    public void testWorkflowSnapshotCacheRequiresWorkflowVersions() {
+        when(properties.isWorkflowSnapshotCacheEnabled()).thenReturn(true);
+        when(properties.isWorkflowExecutionLockEnabled()).thenReturn(true);
+        when(properties.getWorkflowSnapshotCacheSize()).thenReturn(10);
+        when(executionDAO.supportsWorkflowVersions()).thenReturn(false);
+        ExecutionDAOFacade facade = createExecutionDAOFacade();
+
+        assertNull(facade.takeWorkflowSnapshot("workflowId"));
+        verify(executionDAO, never()).getWorkflowVersion(any());
+    }
+
+    @Test
+    public void testWorkflowSnapshotAccountsItsOwnWrites() {
+        when(properties.isWorkflowSnapshotCacheEnabled()).thenReturn(true);
+        when(properties.isWorkflowExecutionLockEnabled()).thenReturn(true);
+        when(properties.getWorkflowSnapshotCacheSize()).thenReturn(10);
+        when(executionDAO.supportsWorkflowVersions()).thenReturn(true);
+        ExecutionDAOFacade facade = createExecutionDAOFacade();
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        TaskModel task = new TaskModel();
+        task.setWorkflowInstanceId("workflowId");
+        task.setStatus(TaskModel.Status.IN_PROGRESS);
+
+        when(executionDAO.getWorkflowVersion("workflowId")).thenReturn(3L);
+        assertNull(facade.takeWorkflowSnapshot("workflowId"));
+        facade.updateTask(task);
+        facade.cacheWorkflowSnapshot(workflow);
+
+        // the update of the task is the only write since the workflow was loaded
+        when(executionDAO.getWorkflowVersion("workflowId")).thenReturn(4L);
+        assertSame(workflow, facade.takeWorkflowSnapshot("workflowId"));
+
+        facade.cacheWorkflowSnapshot(workflow);
+        // the workflow was written by someone else since
+        when(executionDAO.getWorkflowVersion("workflowId")).thenReturn(5L);
+        assertNull(facade.takeWorkflowSnapshot("workflowId"));
+    }
+
+    private ExecutionDAOFacade createExecutionDAOFacade() {
+        return new ExecutionDAOFacade(
+                executionDAO,
+                queueDAO,
+                indexDAO,
+                mock(RateLimitingDAO.class),
+                mock(ConcurrentExecutionLimitDAO.class),
+                mock(PollDataDAO.class),
+                metadataDAO,
+                objectMapper,
+                properties,
+                externalPayloadStorageUtils);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.dal;
+
+import org.junit.Test;
+
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class WorkflowSnapshotCacheTest {
+
+    @Test
+    public void testSnapshotIsTakenOnlyIfCurrent() {
+        WorkflowSnapshotCache cache = new WorkflowSnapshotCache(10);
+        WorkflowModel workflow = createWorkflow("workflow1");
+
+        assertNull(cache.take("workflow1", id -> 5L));
+        cache.put(workflow);
+        assertSame(workflow, cache.take("workflow1", id -> 5L));
+        // a snapshot is handed out only once
+        assertNull(cache.take("workflow1", id -> 5L));
+
+        cache.put(workflow);
+        assertNull(cache.take("workflow1", id -> 6L));
+    }
+
+    @Test
+    public void testOwnWritesAreAccounted() {
+        WorkflowSnapshotCache cache = new WorkflowSnapshotCache(10);
+        WorkflowModel workflow = createWorkflow("workflow1");
+
+        cache.take("workflow1", id -> 5L);
+        cache.recordWrite("workflow1");
+        cache.recordWrite("workflow2");
+        cache.recordWrite("workflow1");
+        cache.put(workflow);
+        assertSame(workflow, cache.take("workflow1", id -> 7L));
+
+        // a write by someone else increments the version beyond that of the snapshot
+        cache.recordWrite("workflow1");
+        cache.put(workflow);
+        assertNull(cache.take("workflow1", id -> 9L));
+    }
+
+    @Test
+    public void testWritesOfOtherThreadsAreNotAccounted() throws Exception {
+        WorkflowSnapshotCache cache = new WorkflowSnapshotCache(10);
+        WorkflowModel workflow = createWorkflow("workflow1");
+
+        cache.take("workflow1", id -> 5L);
+        Thread writer = new Thread(() -> cache.recordWrite("workflow1"));
+        writer.start();
+        writer.join();
+        cache.put(workflow);
+        assertNull(cache.take("workflow1", id -> 6L));
+    }
+
+    @Test
+    public void testWorkflowIsOnlyCachedAfterTake() {
+        WorkflowSnapshotCache cache = new WorkflowSnapshotCache(10);
+        WorkflowModel workflow = createWorkflow("workflow1");
+
+        cache.put(workflow);
+        assertNull(cache.take("workflow1", id -> 0L));
+
+        // the workflow no longer exists
+        cache.take("workflow1", id -> null);
+        cache.put(workflow);
+        assertNull(cache.take("workflow1", id -> 0L));
+    }
+
+    @Test
+    public void testTerminalWorkflowIsNotCached() {
+        WorkflowSnapshotCache cache = new WorkflowSnapshotCache(10);
+        WorkflowModel workflow = createWorkflow("workflow1");
+        cache.take("workflow1", id -> 5L);
+        cache.put(workflow);
+
+        cache.take("workflow1", id -> 5L);
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+        cache.put(workflow);
+        assertNull(cache.take("workflow1", id -> 5L));
+    }
+
+    private WorkflowModel createWorkflow(String workflowId) {
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId(workflowId);
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.setUpdatedTime(System.currentTimeMillis());
+        TaskModel task = new TaskModel();
+        task.setTaskId("task1");
+        task.setStatus(TaskModel.Status.IN_PROGRESS);
+        task.setUpdateTime(System.currentTimeMillis());
+        workflow.getTasks().add(task);
+        return workflow;
+    }
+}
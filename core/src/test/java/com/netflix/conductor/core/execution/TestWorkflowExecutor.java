@@ -40,6 +40,7 @@ import com.netflix.conductor.common.metadata.workflow.RerunWorkflowRequest;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.common.utils.ExternalPayloadStorage;
+import com.netflix.conductor.common.utils.TaskUtils;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.event.WorkflowCreationEvent;
@@ -2520,6 +2521,185 @@ public class TestWorkflowExecutor {
         assertFalse(workflowExecutor.isLazyEvaluateWorkflow(workflowDef, task));
     }
 
+    @Test
+    public void testWakeUpJoins() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("wakeUpJoins");
+        workflowDef.getTasks().addAll(createForkJoinTasks());
+
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        workflow.setWorkflowDefinition(workflowDef);
+
+        TaskModel branch1 = createWakeUpTask("branch1", "branchTask1", TaskModel.Status.COMPLETED);
+        TaskModel branch2 =
+                createWakeUpTask("branch2", "branchTask2", TaskModel.Status.IN_PROGRESS);
+        TaskModel join = createWakeUpJoin("join", 0);
+
+        List<TaskModel> tasks = List.of(branch1, branch2, join);
+        when(executionDAOFacade.getTaskModelsForWorkflow("workflowId")).thenReturn(tasks);
+
+        // the other branch is still running
+        workflowExecutor.wakeUpJoins(workflow, branch1);
+        verify(queueDAO, never()).resetOffsetTime(anyString(), anyString());
+
+        branch2.setStatus(TaskModel.Status.COMPLETED);
+        workflowExecutor.wakeUpJoins(workflow, branch2);
+        verify(queueDAO, times(1)).resetOffsetTime(TaskType.TASK_TYPE_JOIN, "join");
+    }
+
+    @Test
+    public void testWakeUpJoinsReusesTheDecidedTasks() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("wakeUpJoins");
+        workflowDef.getTasks().addAll(createForkJoinTasks());
+
+        TaskModel branch1 = createWakeUpTask("branch1", "branchTask1", TaskModel.Status.COMPLETED);
+        TaskModel branch2 = createWakeUpTask("branch2", "branchTask2", TaskModel.Status.COMPLETED);
+        TaskModel join = createWakeUpJoin("join", 0);
+
+        // the workflow as loaded by the decide that followed the task update
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setTasks(new ArrayList<>(List.of(branch1, branch2, join)));
+
+        workflowExecutor.wakeUpJoins(workflow, branch2);
+
+        verify(executionDAOFacade, never()).getTaskModelsForWorkflow(anyString());
+        verify(queueDAO, times(1)).resetOffsetTime(TaskType.TASK_TYPE_JOIN, "join");
+    }
+
+    @Test
+    public void testWakeUpJoinsOnRetriedTask() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("wakeUpJoins");
+        workflowDef.getTasks().addAll(createForkJoinTasks());
+
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        workflow.setWorkflowDefinition(workflowDef);
+
+        TaskDef taskDef = new TaskDef("branchTask1");
+        taskDef.setRetryCount(1);
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setTaskDefinition(taskDef);
+
+        TaskModel failed = createWakeUpTask("failed", "branchTask1", TaskModel.Status.FAILED);
+        failed.setWorkflowTask(workflowTask);
+        TaskModel branch2 = createWakeUpTask("branch2", "branchTask2", TaskModel.Status.COMPLETED);
+        TaskModel join = createWakeUpJoin("join", 0);
+        List<TaskModel> tasks = new ArrayList<>(List.of(failed, branch2, join));
+        when(executionDAOFacade.getTaskModelsForWorkflow("workflowId")).thenReturn(tasks);
+
+        // the failed task has a retry left, the join must not evaluate the failed attempt
+        workflowExecutor.wakeUpJoins(workflow, failed);
+        verify(queueDAO, never()).resetOffsetTime(anyString(), anyString());
+
+        // the retry has been scheduled by the decide, the failed attempt is not the latest one
+        failed.setWorkflowTask(null);
+        TaskModel retried =
+                createWakeUpTask("retried", "branchTask1", TaskModel.Status.SCHEDULED);
+        retried.setRetryCount(1);
+        retried.setWorkflowTask(workflowTask);
+        tasks.add(retried);
+        workflowExecutor.wakeUpJoins(workflow, failed);
+        verify(queueDAO, never()).resetOffsetTime(anyString(), anyString());
+
+        // the retry failed as well, with no retry left
+        retried.setStatus(TaskModel.Status.FAILED);
+        workflowExecutor.wakeUpJoins(workflow, retried);
+        verify(queueDAO, times(1)).resetOffsetTime(TaskType.TASK_TYPE_JOIN, "join");
+    }
+
+    @Test
+    public void testWakeUpJoinsInDoWhile() {
+        WorkflowTask loopTask = new WorkflowTask();
+        loopTask.setType(DO_WHILE.name());
+        loopTask.setName("loop");
+        loopTask.setTaskReferenceName("loop");
+        loopTask.setLoopOver(createForkJoinTasks());
+
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("wakeUpJoinsInDoWhile");
+        workflowDef.getTasks().add(loopTask);
+
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowId("workflowId");
+        workflow.setWorkflowDefinition(workflowDef);
+
+        TaskModel loop = createWakeUpTask("loop", "loop", TaskModel.Status.IN_PROGRESS);
+        loop.setTaskType(TaskType.TASK_TYPE_DO_WHILE);
+        TaskModel branch1 =
+                createWakeUpTask("branch1", "branchTask1__1", TaskModel.Status.COMPLETED);
+        branch1.setIteration(1);
+        TaskModel branch2 =
+                createWakeUpTask("branch2", "branchTask2__1", TaskModel.Status.IN_PROGRESS);
+        branch2.setIteration(1);
+        TaskModel join = createWakeUpJoin("join__1", 1);
+
+        List<TaskModel> tasks = List.of(loop, branch1, branch2, join);
+        when(executionDAOFacade.getTaskModelsForWorkflow("workflowId")).thenReturn(tasks);
+
+        workflowExecutor.wakeUpJoins(workflow, branch1);
+        verify(queueDAO, never()).resetOffsetTime(anyString(), anyString());
+
+        // the enclosing DO_WHILE is still running, the join can complete regardless
+        branch2.setStatus(TaskModel.Status.COMPLETED);
+        workflowExecutor.wakeUpJoins(workflow, branch2);
+        verify(queueDAO, times(1)).resetOffsetTime(TaskType.TASK_TYPE_JOIN, "join");
+    }
+
+    private List<WorkflowTask> createForkJoinTasks() {
+        WorkflowTask forkTask = new WorkflowTask();
+        forkTask.setType(FORK_JOIN.name());
+        forkTask.setName("fork");
+        forkTask.setTaskReferenceName("fork");
+
+        WorkflowTask branchTask1 = new WorkflowTask();
+        branchTask1.setType(SIMPLE.name());
+        branchTask1.setName("branchTask1");
+        branchTask1.setTaskReferenceName("branchTask1");
+
+        WorkflowTask branchTask2 = new WorkflowTask();
+        branchTask2.setType(SIMPLE.name());
+        branchTask2.setName("branchTask2");
+        branchTask2.setTaskReferenceName("branchTask2");
+
+        forkTask.getForkTasks().add(List.of(branchTask1));
+        forkTask.getForkTasks().add(List.of(branchTask2));
+
+        WorkflowTask joinTask = new WorkflowTask();
+        joinTask.setType(JOIN.name());
+        joinTask.setName("join");
+        joinTask.setTaskReferenceName("join");
+        joinTask.setJoinOn(List.of("branchTask1", "branchTask2"));
+
+        return new ArrayList<>(List.of(forkTask, joinTask));
+    }
+
+    private TaskModel createWakeUpTask(
+            String taskId, String referenceTaskName, TaskModel.Status status) {
+        TaskModel task = new TaskModel();
+        task.setTaskId(taskId);
+        task.setTaskType(SIMPLE.name());
+        task.setTaskDefName(TaskUtils.removeIterationFromTaskRefName(referenceTaskName));
+        task.setReferenceTaskName(referenceTaskName);
+        task.setStatus(status);
+        return task;
+    }
+
+    private TaskModel createWakeUpJoin(String referenceTaskName, int iteration) {
+        TaskModel join = new TaskModel();
+        join.setTaskId("join");
+        join.setTaskType(TaskType.TASK_TYPE_JOIN);
+        join.setReferenceTaskName(referenceTaskName);
+        join.setIteration(iteration);
+        join.setStatus(TaskModel.Status.IN_PROGRESS);
+        join.addInput("joinOn", List.of("branchTask1", "branchTask2"));
+        return join;
+    }
+
     @Test
     public void testTaskExtendLease() {
         TaskModel simpleTask = new TaskModel();
@@ -28,6 +28,7 @@ import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.core.exception.TerminateWorkflowException;
 import com.netflix.conductor.core.execution.DeciderService;
+import com.netflix.conductor.core.execution.tasks.Join;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.utils.IDGenerator;
 import com.netflix.conductor.core.utils.ParametersUtils;
@@ -44,6 +45,7 @@ import static com.netflix.conductor.common.metadata.tasks.TaskType.TASK_TYPE_JOI
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -251,6 +253,97 @@ public class ForkJoinDynamicTaskMapperTest {
         assertEquals("xdt1, xdt2", String.join(", ", joinTaskNames));
     }
 
+    @Test
+    public void getMappedTasksSharded() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("DYNAMIC_FORK_JOIN_WF");
+        def.setVersion(1);
+
+        WorkflowModel workflowModel = new WorkflowModel();
+        workflowModel.setWorkflowDefinition(def);
+
+        WorkflowTask dynamicForkJoinToSchedule = new WorkflowTask();
+        dynamicForkJoinToSchedule.setType(TaskType.FORK_JOIN_DYNAMIC.name());
+        dynamicForkJoinToSchedule.setTaskReferenceName("dynamicfanouttask");
+        dynamicForkJoinToSchedule.setDynamicForkTasksParam("dynamicTasks");
+        dynamicForkJoinToSchedule.setDynamicForkTasksInputParamName("dynamicTasksInput");
+
+        WorkflowTask join = new WorkflowTask();
+        join.setType(TaskType.JOIN.name());
+        join.setTaskReferenceName("dynamictask_join");
+
+        def.getTasks().add(dynamicForkJoinToSchedule);
+        def.getTasks().add(join);
+
+        List<WorkflowTask> dynamicTasks = new ArrayList<>();
+        Map<String, Object> dynamicTasksInput = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            WorkflowTask workflowTask = new WorkflowTask();
+            workflowTask.setName("junit_task_" + i);
+            workflowTask.setTaskReferenceName("xdt" + i);
+            dynamicTasks.add(workflowTask);
+            dynamicTasksInput.put("xdt" + i, Map.of("k", "v" + i));
+        }
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("dynamicTasks", dynamicTasks);
+        input.put("dynamicTasksInput", dynamicTasksInput);
+        input.put(ForkJoinDynamicTaskMapper.FORK_SHARD_SIZE, 2);
+
+        when(parametersUtils.getTaskInput(anyMap(), any(WorkflowModel.class), any(), any()))
+                .thenReturn(input);
+        when(objectMapper.convertValue(any(), any(TypeReference.class))).thenReturn(dynamicTasks);
+        when(deciderService.getTasksToBeScheduled(
+                        any(WorkflowModel.class), any(WorkflowTask.class), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            WorkflowTask workflowTask = invocation.getArgument(1);
+                            TaskModel taskModel = new TaskModel();
+                            taskModel.setReferenceTaskName(workflowTask.getTaskReferenceName());
+                            taskModel.setTaskType(workflowTask.getType());
+                            taskModel.setWorkflowTask(workflowTask);
+                            return List.of(taskModel);
+                        });
+
+        TaskMapperContext taskMapperContext =
+                TaskMapperContext.newBuilder()
+                        .withWorkflowModel(workflowModel)
+                        .withWorkflowTask(dynamicForkJoinToSchedule)
+                        .withRetryCount(0)
+                        .withTaskInput(Map.of())
+                        .withTaskId(idGenerator.generate())
+                        .withDeciderService(deciderService)
+                        .build();
+
+        List<TaskModel> mappedTasks = forkJoinDynamicTaskMapper.getMappedTasks(taskMapperContext);
+
+        // fork, two shards and the join
+        assertEquals(4, mappedTasks.size());
+        assertEquals(TASK_TYPE_FORK, mappedTasks.get(0).getTaskType());
+        assertEquals(TASK_TYPE_JOIN, mappedTasks.get(3).getTaskType());
+        List<String> joinTaskNames = (List<String>) mappedTasks.get(3).getInputData().get("joinOn");
+        assertEquals(
+                List.of("dynamicfanouttask_shard_0", "dynamicfanouttask_shard_1"), joinTaskNames);
+
+        TaskModel firstShard = mappedTasks.get(1);
+        assertEquals(TaskType.SUB_WORKFLOW.name(), firstShard.getTaskType());
+        assertEquals(true, firstShard.getWorkflowTask().getInputParameters().get(Join.FORK_SHARD));
+        WorkflowDef shardDef =
+                firstShard.getWorkflowTask().getSubWorkflowParam().getWorkflowDefinition();
+        assertEquals(TaskType.FORK_JOIN_DYNAMIC.name(), shardDef.getTasks().get(0).getType());
+        assertEquals(TaskType.JOIN.name(), shardDef.getTasks().get(1).getType());
+
+        Map<String, Object> workflowInput =
+                (Map<String, Object>) firstShard.getInputData().get("workflowInput");
+        assertEquals(dynamicTasks.subList(0, 2), workflowInput.get("dynamicTasks"));
+        assertEquals(
+                Set.of("xdt0", "xdt1"),
+                ((Map<String, Object>) workflowInput.get("dynamicTasksInput")).keySet());
+        Map<String, Object> secondShardInput =
+                (Map<String, Object>) mappedTasks.get(2).getInputData().get("workflowInput");
+        assertEquals(dynamicTasks.subList(2, 3), secondShardInput.get("dynamicTasks"));
+    }
+
     @Test
     public void getDynamicForkJoinTasksAndInput() {
         // Given
@@ -14,6 +14,7 @@ package com.netflix.conductor.core.reconciliation;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -33,7 +34,9 @@ import com.netflix.conductor.model.WorkflowModel;
 import static com.netflix.conductor.core.utils.Utils.DECIDER_QUEUE;
 
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -323,6 +326,41 @@ public class TestWorkflowSweeper {
                         DECIDER_QUEUE, workflowModel.getWorkflowId(), (pollTimeout + 1) * 1000);
     }
 
+    @Test
+    public void testSweepSkipsTheTasksOfASettledWorkflow() {
+        WorkflowModel workflowModel = new WorkflowModel();
+        workflowModel.setWorkflowId("1");
+        workflowModel.setStatus(WorkflowModel.Status.COMPLETED);
+        when(executionDAOFacade.getWorkflowStatus("1")).thenReturn(WorkflowModel.Status.COMPLETED);
+        when(executionDAOFacade.getTaskStatuses("1"))
+                .thenReturn(Map.of("task1", Status.COMPLETED, "task2", Status.SKIPPED));
+        when(executionDAOFacade.getWorkflowModel("1", false)).thenReturn(workflowModel);
+
+        workflowSweeper.sweep("1");
+
+        verify(executionDAOFacade, never()).getWorkflowModel("1", true);
+        verify(workflowRepairService).verifyAndRepairWorkflowTasks(workflowModel);
+        verify(workflowExecutor, never()).decideWithLock(any(WorkflowModel.class));
+        verify(queueDAO).remove(DECIDER_QUEUE, "1");
+    }
+
+    @Test
+    public void testSweepDecidesATerminalWorkflowWithPendingTasks() {
+        WorkflowModel workflowModel = new WorkflowModel();
+        workflowModel.setWorkflowId("1");
+        workflowModel.setStatus(WorkflowModel.Status.FAILED);
+        when(executionDAOFacade.getWorkflowStatus("1")).thenReturn(WorkflowModel.Status.FAILED);
+        when(executionDAOFacade.getTaskStatuses("1"))
+                .thenReturn(Map.of("task1", Status.FAILED, "task2", Status.IN_PROGRESS));
+        when(executionDAOFacade.getWorkflowModel("1", true)).thenReturn(workflowModel);
+        when(workflowExecutor.decideWithLock(workflowModel)).thenReturn(workflowModel);
+
+        workflowSweeper.sweep("1");
+
+        verify(workflowExecutor).decideWithLock(workflowModel);
+        verify(queueDAO).remove(DECIDER_QUEUE, "1");
+    }
+
     @Test
     public void testWorkflowOffsetJitter() {
         long offset = 45;
@@ -32,6 +32,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
@@ -127,4 +128,48 @@ public class JsonUtilsTest {
                                 .get("status")
                         instanceof String);
     }
+
+    @Test
+    public void testExpandLazily() {
+        Map<String, Object> childMap = new HashMap<>();
+        childMap.put("externalId", "{\"taskRefName\":\"t001\",\"workflowId\":\"w002\"}");
+        List<Object> list = new ArrayList<>();
+        list.add(childMap);
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("externalId", "[{\"taskRefName\":\"t001\",\"workflowId\":\"w002\"}]");
+        map.put("name", "conductor");
+        map.put("version", 2);
+        map.put("children", list);
+
+        //noinspection unchecked
+        Map<String, Object> expanded = (Map<String, Object>) jsonUtils.expandLazily(map);
+
+        assertEquals(4, expanded.size());
+        assertEquals("conductor", expanded.get("name"));
+        assertEquals(2, expanded.get("version"));
+        assertTrue(expanded.get("externalId") instanceof ArrayList);
+        assertSame(expanded.get("externalId"), expanded.get("externalId"));
+
+        //noinspection unchecked
+        Map<String, Object> child =
+                (Map<String, Object>) ((List<Object>) expanded.get("children")).get(0);
+        assertTrue(child.get("externalId") instanceof LinkedHashMap);
+        assertEquals("w002", ((Map<?, ?>) child.get("externalId")).get("workflowId"));
+
+        // the input is not modified
+        assertTrue(map.get("externalId") instanceof String);
+        assertTrue(childMap.get("externalId") instanceof String);
+    }
+
+    @Test
+    public void testExpandLazilyEqualsExpand() {
+        String json =
+                "{\"requestId\":\"abcde\",\"inner\":\"{\\\"num\\\":42}\","
+                        + "\"list\":[{\"status\":\"[1,2]\"}]}";
+        Object payload = jsonUtils.expand(json);
+        Object lazilyExpanded = jsonUtils.expandLazily(jsonUtils.expand(json));
+
+        assertEquals(jsonUtils.expand(payload), lazilyExpanded);
+    }
 }
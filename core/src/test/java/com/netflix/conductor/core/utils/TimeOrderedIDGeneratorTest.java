@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.core.utils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeOrderedIDGeneratorTest {
+
+    @Test
+    public void testGeneratesVersion7UUIDs() {
+        long now = System.currentTimeMillis();
+        TimeOrderedIDGenerator idGenerator =
+                new TimeOrderedIDGenerator(Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC));
+
+        UUID uuid = UUID.fromString(idGenerator.generate());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testIdsAreOrderedWithinTheSameMillisecond() {
+        // more IDs than the counter can hold within a millisecond
+        TimeOrderedIDGenerator idGenerator =
+                new TimeOrderedIDGenerator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(idGenerator.generate());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.beans.BeanUtils;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+
+import com.google.protobuf.Any;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TaskModelTest {
+
+    @Test
+    public void testToTaskCopiesAllProperties() {
+        TaskModel taskModel = populatedTaskModel();
+
+        Task task = taskModel.toTask();
+
+        // the reflective copy the explicit one replaced
+        Task expected = new Task();
+        BeanUtils.copyProperties(taskModel, expected);
+        expected.setStatus(Task.Status.valueOf(taskModel.getStatus().name()));
+        // BeanUtils skips the fluent Task.setWorkflowType, the explicit copy does not
+        expected.setWorkflowType(taskModel.getWorkflowType());
+
+        assertEquals("workflowType", task.getWorkflowType());
+        assertEquals(expected, task);
+        assertEquals(expected.getSubWorkflowId(), task.getSubWorkflowId());
+        assertEquals(expected.isSubworkflowChanged(), task.isSubworkflowChanged());
+    }
+
+    @Test
+    public void testToTaskSkipsExternalizedData() {
+        TaskModel taskModel = populatedTaskModel();
+        taskModel.externalizeInput("input/path");
+        taskModel.externalizeOutput("output/path");
+
+        Task task = taskModel.toTask();
+
+        assertTrue(task.getInputData().isEmpty());
+        assertTrue(task.getOutputData().isEmpty());
+        assertEquals("input/path", task.getExternalInputPayloadStoragePath());
+        assertEquals("output/path", task.getExternalOutputPayloadStoragePath());
+    }
+
+    @Test
+    public void testCopyCopiesAllProperties() {
+        TaskModel taskModel = populatedTaskModel();
+
+        TaskModel copy = taskModel.copy();
+
+        assertEquals(taskModel, copy);
+        assertEquals(taskModel.getWaitTimeout(), copy.getWaitTimeout());
+    }
+
+    private TaskModel populatedTaskModel() {
+        WorkflowTask workflowTask = new WorkflowTask();
+        workflowTask.setName("task_name");
+        workflowTask.setTaskReferenceName("task_ref");
+
+        Map<String, Object> inputData = new HashMap<>();
+        inputData.put("inputKey", "inputValue");
+        Map<String, Object> outputData = new HashMap<>();
+        outputData.put("outputKey", "outputValue");
+
+        TaskModel taskModel = new TaskModel();
+        taskModel.setTaskType("SIMPLE");
+        taskModel.setStatus(TaskModel.Status.IN_PROGRESS);
+        taskModel.setInputData(inputData);
+        taskModel.setReferenceTaskName("task_ref");
+        taskModel.setRetryCount(1);
+        taskModel.setSeq(2);
+        taskModel.setCorrelationId("correlationId");
+        taskModel.setPollCount(3);
+        taskModel.setTaskDefName("task_name");
+        taskModel.setScheduledTime(4L);
+        taskModel.setStartTime(5L);
+        taskModel.setEndTime(6L);
+        taskModel.setUpdateTime(7L);
+        taskModel.setStartDelayInSeconds(8);
+        taskModel.setRetriedTaskId("retriedTaskId");
+        taskModel.setRetried(true);
+        taskModel.setExecuted(true);
+        taskModel.setCallbackFromWorker(false);
+        taskModel.setResponseTimeoutSeconds(9L);
+        taskModel.setWorkflowInstanceId("workflowInstanceId");
+        taskModel.setWorkflowType("workflowType");
+        taskModel.setTaskId("taskId");
+        taskModel.setReasonForIncompletion("reason");
+        taskModel.setCallbackAfterSeconds(10L);
+        taskModel.setWorkerId("workerId");
+        taskModel.setOutputData(outputData);
+        taskModel.setWorkflowTask(workflowTask);
+        taskModel.setDomain("domain");
+        taskModel.setInputMessage(Any.getDefaultInstance());
+        taskModel.setOutputMessage(Any.getDefaultInstance());
+        taskModel.setRateLimitPerFrequency(11);
+        taskModel.setRateLimitFrequencyInSeconds(12);
+        taskModel.setWorkflowPriority(13);
+        taskModel.setExecutionNameSpace("executionNameSpace");
+        taskModel.setIsolationGroupId("isolationGroupId");
+        taskModel.setIteration(14);
+        taskModel.setSubWorkflowId("subWorkflowId");
+        taskModel.setSubworkflowChanged(true);
+        taskModel.setWaitTimeout(15L);
+        return taskModel;
+    }
+}
@@ -24,6 +24,7 @@ import org.mockito.Mock;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
@@ -35,9 +36,17 @@ import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
 import com.netflix.conductor.core.execution.tasks.SystemTaskRegistry;
 import com.netflix.conductor.core.listener.TaskStatusListener;
+import com.netflix.conductor.dao.MetadataDAO;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.model.TaskModel;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -46,6 +55,7 @@ public class ExecutionServiceTest {
     @Mock private WorkflowExecutor workflowExecutor;
     @Mock private ExecutionDAOFacade executionDAOFacade;
     @Mock private QueueDAO queueDAO;
+    @Mock private MetadataDAO metadataDAO;
     @Mock private ConductorProperties conductorProperties;
     @Mock private ExternalPayloadStorage externalPayloadStorage;
     @Mock private SystemTaskRegistry systemTaskRegistry;
@@ -68,6 +78,7 @@ public class ExecutionServiceTest {
                         workflowExecutor,
                         executionDAOFacade,
                         queueDAO,
+                        metadataDAO,
                         conductorProperties,
                         externalPayloadStorage,
                         systemTaskRegistry,
@@ -268,4 +279,49 @@ public class ExecutionServiceTest {
         assertEquals(1, searchResult.getTotalHits());
         assertEquals(Collections.singletonList(taskWorkflow1), searchResult.getResults());
     }
+
+    @Test
+    public void pollDequeuesOnlyAvailablePermits() {
+        TaskDef taskDef = new TaskDef("limitedTask");
+        taskDef.setConcurrentExecLimit(2);
+        when(metadataDAO.getTaskDef("limitedTask")).thenReturn(taskDef);
+        when(executionDAOFacade.getAvailablePermits(taskDef, 5)).thenReturn(2);
+        when(queueDAO.pop("limitedTask", 2, 100)).thenReturn(Collections.emptyList());
+
+        executionService.poll("limitedTask", "worker", null, 5, 100);
+
+        verify(queueDAO).pop("limitedTask", 2, 100);
+    }
+
+    @Test
+    public void pollSkipsDequeueWithoutPermits() {
+        TaskDef taskDef = new TaskDef("limitedTask");
+        taskDef.setConcurrentExecLimit(2);
+        when(metadataDAO.getTaskDef("limitedTask")).thenReturn(taskDef);
+        when(executionDAOFacade.getAvailablePermits(taskDef, 5)).thenReturn(0);
+
+        List<Task> tasks = executionService.poll("limitedTask", "worker", null, 5, 100);
+
+        assertTrue(tasks.isEmpty());
+        verify(queueDAO, never()).pop(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void pollReadsEachTaskOnce() {
+        TaskModel taskModel = new TaskModel();
+        taskModel.setTaskId("task1");
+        taskModel.setTaskType("simpleTask");
+        taskModel.setTaskDefName("simpleTask");
+        taskModel.setStatus(TaskModel.Status.SCHEDULED);
+        when(executionDAOFacade.getAvailablePermits(null, 1)).thenReturn(1);
+        when(queueDAO.pop("simpleTask", 1, 100)).thenReturn(List.of("task1"));
+        when(executionDAOFacade.getTaskModel("task1")).thenReturn(taskModel);
+
+        List<Task> tasks = executionService.poll("simpleTask", "worker", null, 1, 100);
+
+        assertEquals(1, tasks.size());
+        assertEquals(Task.Status.IN_PROGRESS, tasks.get(0).getStatus());
+        verify(executionDAOFacade, times(1)).getTaskModel("task1");
+        verify(taskStatusListener).onTaskInProgress(taskModel);
+    }
 }
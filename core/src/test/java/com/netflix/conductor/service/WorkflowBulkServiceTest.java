@@ -12,10 +12,13 @@
  */
 package com.netflix.conductor.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -25,16 +28,35 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJobStatus;
+import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.core.WorkflowContext;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
+import com.netflix.conductor.core.exception.NotFoundException;
+import com.netflix.conductor.core.exception.TooManyRequestsException;
+import com.netflix.conductor.core.exception.TransientException;
 import com.netflix.conductor.core.execution.WorkflowExecutor;
+import com.netflix.conductor.core.operation.StartWorkflowOperation;
 
 import jakarta.validation.ConstraintViolationException;
 
 import static com.netflix.conductor.TestUtils.getConstraintViolationMessages;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @SuppressWarnings("SpringJavaAutowiredMembersInspection")
 @RunWith(SpringRunner.class)
@@ -50,13 +72,32 @@ public class WorkflowBulkServiceTest {
         }
 
         @Bean
-        public WorkflowBulkService workflowBulkService(WorkflowExecutor workflowExecutor) {
-            return new WorkflowBulkServiceImpl(workflowExecutor);
+        StartWorkflowOperation startWorkflowOperation() {
+            return mock(StartWorkflowOperation.class);
+        }
+
+        @Bean
+        ExecutionDAOFacade executionDAOFacade() {
+            return mock(ExecutionDAOFacade.class);
+        }
+
+        @Bean
+        public WorkflowBulkService workflowBulkService(
+                WorkflowExecutor workflowExecutor,
+                StartWorkflowOperation startWorkflowOperation,
+                ExecutionDAOFacade executionDAOFacade) {
+            return new WorkflowBulkServiceImpl(
+                    workflowExecutor,
+                    startWorkflowOperation,
+                    executionDAOFacade,
+                    new ConductorProperties());
         }
     }
 
     @Autowired private WorkflowExecutor workflowExecutor;
 
+    @Autowired private StartWorkflowOperation startWorkflowOperation;
+
     @Autowired private WorkflowBulkService workflowBulkService;
 
     @Test(expected = ConstraintViolationException.class)
@@ -133,6 +174,170 @@ public class WorkflowBulkServiceTest {
         verify(workflowExecutor).retry("anyId", false);
     }
 
+    @Test
+    public void testPauseWorkflowPartialFailure() {
+        doThrow(new TransientException("not now")).when(workflowExecutor).pauseWorkflow("failing");
+        // When
+        BulkResponse response =
+                workflowBulkService.pauseWorkflow(List.of("first", "failing", "second"));
+        // Then
+        assertEquals(List.of("first", "second"), response.getBulkSuccessfulResults());
+        assertEquals("not now", response.getBulkErrorResults().get("failing"));
+        verify(workflowExecutor).pauseWorkflow("first");
+        verify(workflowExecutor).pauseWorkflow("second");
+    }
+
+    @Test
+    public void testSubmitJob() throws InterruptedException {
+        // When
+        BulkJobStatus submitted =
+                workflowBulkService.submitJob(
+                        BulkJobStatus.Operation.TERMINATE,
+                        List.of("first", "second"),
+                        "reason",
+                        false);
+        // Then
+        assertNotNull(submitted.getJobId());
+        assertEquals(2, submitted.getTotal());
+        BulkJobStatus status = workflowBulkService.getJobStatus(submitted.getJobId());
+        for (int i = 0; i < 50 && !status.isCompleted(); i++) {
+            Thread.sleep(100);
+            status = workflowBulkService.getJobStatus(submitted.getJobId());
+        }
+        assertTrue(status.isCompleted());
+        assertEquals(2, status.getProcessed());
+        assertEquals(List.of("first", "second"), status.getResult().getBulkSuccessfulResults());
+        verify(workflowExecutor).terminateWorkflow("first", "reason");
+        verify(workflowExecutor).terminateWorkflow("second", "reason");
+    }
+
+    @Test
+    public void testBulkOperationTimeout() {
+        WorkflowExecutor blockingExecutor = mock(WorkflowExecutor.class);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            release.await();
+                            return null;
+                        })
+                .when(blockingExecutor)
+                .terminateWorkflow(anyString(), anyString());
+        ConductorProperties properties = new ConductorProperties();
+        properties.setBulkOperationThreadCount(1);
+        properties.setBulkOperationTimeout(Duration.ofMillis(200));
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        blockingExecutor,
+                        mock(StartWorkflowOperation.class),
+                        mock(ExecutionDAOFacade.class),
+                        properties);
+        try {
+            // a job holding all its threads does not hold up synchronous requests
+            bulkService.submitJob(
+                    BulkJobStatus.Operation.TERMINATE, List.of("job"), "reason", false);
+            BulkResponse response = bulkService.pauseWorkflow(List.of("first"));
+            assertEquals(List.of("first"), response.getBulkSuccessfulResults());
+
+            // the workflows not processed in time are reported as failed
+            response = bulkService.terminate(List.of("slow", "pending"), "reason");
+            assertTrue(response.getBulkSuccessfulResults().isEmpty());
+            assertEquals(2, response.getBulkErrorResults().size());
+            assertTrue(response.getBulkErrorResults().get("pending").contains("timed out"));
+        } finally {
+            release.countDown();
+            bulkService.shutdownExecutorService();
+        }
+        verify(blockingExecutor, never()).terminateWorkflow("pending", "reason");
+    }
+
+    @Test
+    public void testSubmitJobStoresItsStatus() {
+        ExecutionDAOFacade executionDAOFacade = mock(ExecutionDAOFacade.class);
+        when(executionDAOFacade.supportsBulkJobs()).thenReturn(true);
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        mock(WorkflowExecutor.class),
+                        mock(StartWorkflowOperation.class),
+                        executionDAOFacade,
+                        new ConductorProperties());
+        try {
+            BulkJobStatus submitted =
+                    bulkService.submitJob(
+                            BulkJobStatus.Operation.PAUSE, List.of("first", "second"), null, false);
+
+            verify(executionDAOFacade).updateBulkJobStatus(argThat(submitted::equals), anyInt());
+            verify(executionDAOFacade, timeout(1000))
+                    .updateBulkJobStatus(
+                            argThat(
+                                    status ->
+                                            status.isCompleted()
+                                                    && status.getProcessed() == 2
+                                                    && status.getJobId()
+                                                            .equals(submitted.getJobId())),
+                            anyInt());
+
+            // any server reports the stored status
+            when(executionDAOFacade.getBulkJobStatus(submitted.getJobId())).thenReturn(submitted);
+            assertEquals(submitted, bulkService.getJobStatus(submitted.getJobId()));
+        } finally {
+            bulkService.shutdownExecutorService();
+        }
+    }
+
+    @Test(expected = TooManyRequestsException.class)
+    public void testBulkOperationQueueFull() {
+        ConductorProperties properties = new ConductorProperties();
+        properties.setBulkOperationQueueSize(1);
+        WorkflowBulkServiceImpl bulkService =
+                new WorkflowBulkServiceImpl(
+                        mock(WorkflowExecutor.class),
+                        mock(StartWorkflowOperation.class),
+                        mock(ExecutionDAOFacade.class),
+                        properties);
+        try {
+            bulkService.pauseWorkflow(List.of("first", "second"));
+        } finally {
+            bulkService.shutdownExecutorService();
+        }
+    }
+
+    @Test
+    public void testBulkOperationRunsWithTheWorkflowContextOfTheCaller() {
+        AtomicReference<String> clientApp = new AtomicReference<>();
+        doAnswer(
+                        invocation -> {
+                            clientApp.set(WorkflowContext.get().getClientApp());
+                            return null;
+                        })
+                .when(workflowExecutor)
+                .resumeWorkflow("context");
+        WorkflowContext.set(new WorkflowContext("caller"));
+        try {
+            workflowBulkService.resumeWorkflow(List.of("context"));
+        } finally {
+            WorkflowContext.unset();
+        }
+        assertEquals("caller", clientApp.get());
+    }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testSubmitJobNull() {
+        try {
+            workflowBulkService.submitJob(null, null, null, false);
+        } catch (ConstraintViolationException ex) {
+            assertEquals(2, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(messages.contains("Bulk operation cannot be null."));
+            assertTrue(messages.contains("WorkflowIds list cannot be null."));
+            throw ex;
+        }
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void testGetJobStatusUnknown() {
+        workflowBulkService.getJobStatus("unknown");
+    }
+
     @Test(expected = ConstraintViolationException.class)
     public void testTerminateNull() {
         try {
@@ -144,4 +349,34 @@ public class WorkflowBulkServiceTest {
             throw ex;
         }
     }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testStartWorkflowsNull() {
+        try {
+            workflowBulkService.startWorkflows(null);
+        } catch (ConstraintViolationException ex) {
+            assertEquals(1, ex.getConstraintViolations().size());
+            Set<String> messages = getConstraintViolationMessages(ex.getConstraintViolations());
+            assertTrue(messages.contains("StartWorkflowRequest list cannot be null."));
+            throw ex;
+        }
+    }
+
+    @Test
+    public void testStartWorkflowsSuccessful() {
+        // When
+        workflowBulkService.startWorkflows(
+                List.of(
+                        new StartWorkflowRequest().withName("first").withVersion(1),
+                        new StartWorkflowRequest().withName("second")));
+        // Then
+        verify(startWorkflowOperation)
+                .executeAll(
+                        argThat(
+                                inputs ->
+                                        inputs.size() == 2
+                                                && inputs.get(0).getName().equals("first")
+                                                && inputs.get(0).getVersion() == 1
+                                                && inputs.get(1).getName().equals("second")));
+    }
 }
@@ -30,7 +30,9 @@ import org.apache.http.nio.entity.NByteArrayEntity;
 import org.apache.http.nio.entity.NStringEntity;
 import org.apache.http.util.EntityUtils;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetRequest;
@@ -94,6 +96,8 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
     private static final String EVENT_DOC_TYPE = "event";
     private static final String MSG_DOC_TYPE = "message";
 
+    private static final String DOCUMENT_MISSING = "document_missing_exception";
+
     private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
     private static final SimpleDateFormat SIMPLE_DATE_FORMAT = new SimpleDateFormat("yyyyMMWW");
 
@@ -970,6 +974,80 @@ public class ElasticSearchRestDAOV7 extends ElasticSearchBaseDAO implements Inde
                 () -> updateWorkflow(workflowInstanceId, keys, values), executorService);
     }
 
+    @Override
+    public Map<String, Exception> updateWorkflows(Map<String, Map<String, Object>> updates) {
+        if (updates.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long startTime = Instant.now().toEpochMilli();
+        BulkRequest bulkRequest = new BulkRequest();
+        updates.forEach(
+                (workflowId, fields) ->
+                        bulkRequest.add(
+                                new UpdateRequest(workflowIndexName, workflowId).doc(fields)));
+        Map<String, Exception> failures = executeBulkUpdate(bulkRequest, "workflows");
+        long endTime = Instant.now().toEpochMilli();
+        logger.debug(
+                "Time taken {} for updating {} workflows", endTime - startTime, updates.size());
+        Monitors.recordESIndexTime("update_workflows", WORKFLOW_DOC_TYPE, endTime - startTime);
+        return failures;
+    }
+
+    @Override
+    public Map<String, Exception> updateTasks(
+            Map<String, String> taskWorkflowIds, String[] keys, Object[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Number of keys and values do not match");
+        }
+        if (taskWorkflowIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long startTime = Instant.now().toEpochMilli();
+        Map<String, Object> source =
+                IntStream.range(0, keys.length)
+                        .boxed()
+                        .collect(Collectors.toMap(i -> keys[i], i -> values[i]));
+        BulkRequest bulkRequest = new BulkRequest();
+        for (String taskId : taskWorkflowIds.keySet()) {
+            bulkRequest.add(new UpdateRequest(taskIndexName, taskId).doc(source));
+        }
+        Map<String, Exception> failures = executeBulkUpdate(bulkRequest, "tasks");
+        long endTime = Instant.now().toEpochMilli();
+        logger.debug(
+                "Time taken {} for updating {} tasks", endTime - startTime, taskWorkflowIds.size());
+        Monitors.recordESIndexTime("update_tasks", TASK_DOC_TYPE, endTime - startTime);
+        return failures;
+    }
+
+    /**
+     * Like the single document updates, documents that are not in the index are skipped. Unlike
+     * them, other failures are returned by document id, so that callers relying on the updates to
+     * archive the documents before removing them from the store can retry them.
+     */
+    private Map<String, Exception> executeBulkUpdate(BulkRequest bulkRequest, String docType) {
+        BulkResponse response;
+        try {
+            response = elasticSearchClient.bulk(bulkRequest, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            Monitors.error(className, "update");
+            throw new TransientException("Failed to update " + docType, e);
+        }
+        Map<String, Exception> failures = new HashMap<>();
+        for (BulkItemResponse item : response.getItems()) {
+            if (!item.isFailed()) {
+                continue;
+            }
+            if (item.getFailureMessage().contains(DOCUMENT_MISSING)) {
+                logger.warn("Cannot update missing {} document: {}", docType, item.getId());
+            } else {
+                logger.error("Failed to update {} document: {}", docType, item.getId());
+                Monitors.error(className, "update");
+                failures.put(item.getId(), item.getFailure().getCause());
+            }
+        }
+        return failures;
+    }
+
     @Override
     public String get(String workflowInstanceId, String fieldToGet) {
         GetRequest request = new GetRequest(workflowIndexName, workflowInstanceId);
@@ -240,6 +240,54 @@ public class TestElasticSearchRestDAOV7 extends ElasticSearchRestDaoBaseTest {
         assertTrue("Task was not removed.", tasks.isEmpty());
     }
 
+    @Test
+    public void shouldUpdateTasksWhenATaskIsMissing() {
+        TaskSummary taskSummary = TestUtils.loadTaskSnapshot(objectMapper, "task_summary");
+        indexDAO.indexTask(taskSummary);
+
+        // Wait for the task to be indexed
+        tryFindResults(() -> searchTasks(taskSummary), 1);
+
+        Map<String, String> taskWorkflowIds = new LinkedHashMap<>();
+        taskWorkflowIds.put("missingTaskId", taskSummary.getWorkflowId());
+        taskWorkflowIds.put(taskSummary.getTaskId(), taskSummary.getWorkflowId());
+        Map<String, Exception> failures =
+                indexDAO.updateTasks(
+                        taskWorkflowIds, new String[] {"status"}, new Object[] {"COMPLETED"});
+
+        assertTrue(failures.isEmpty());
+        List<String> tasks =
+                tryFindResults(
+                        () ->
+                                indexDAO.searchTasks(
+                                                "",
+                                                "taskId:\""
+                                                        + taskSummary.getTaskId()
+                                                        + "\" AND status:\"COMPLETED\"",
+                                                0,
+                                                100,
+                                                Collections.emptyList())
+                                        .getResults(),
+                        1);
+        assertEquals(List.of(taskSummary.getTaskId()), tasks);
+    }
+
+    @Test
+    public void shouldUpdateWorkflowsWhenAWorkflowIsMissing() {
+        WorkflowSummary workflowSummary =
+                TestUtils.loadWorkflowSnapshot(objectMapper, "workflow_summary");
+        indexDAO.indexWorkflow(workflowSummary);
+
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+        updates.put("missingWorkflowId", Map.of("status", WorkflowStatus.COMPLETED));
+        updates.put(workflowSummary.getWorkflowId(), Map.of("status", WorkflowStatus.COMPLETED));
+        Map<String, Exception> failures = indexDAO.updateWorkflows(updates);
+
+        assertTrue(failures.isEmpty());
+        workflowSummary.setStatus(WorkflowStatus.COMPLETED);
+        assertWorkflowSummary(workflowSummary.getWorkflowId(), workflowSummary);
+    }
+
     @Test
     public void shouldNotRemoveTaskWhenNotAssociatedWithWorkflow() {
         TaskSummary taskSummary = TestUtils.loadTaskSnapshot(objectMapper, "task_summary");
@@ -27,7 +27,7 @@ import jakarta.annotation.Nullable;
 abstract class ClientBase {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientBase.class);
-    protected static ProtoMapper protoMapper = ProtoMapper.INSTANCE;
+    protected ProtoMapper protoMapper = ProtoMapper.INSTANCE;
 
     protected final ManagedChannel channel;
 
@@ -39,6 +39,16 @@ abstract class ClientBase {
         channel = builder.build();
     }
 
+    /**
+     * Sends task payloads as pre-serialized JSON bytes rather than structured values, which saves
+     * converting large payloads on both ends. Only enable it against servers that support it.
+     *
+     * @param rawBytesPayloads whether to send payloads as JSON bytes
+     */
+    public void setRawBytesPayloads(boolean rawBytesPayloads) {
+        protoMapper = rawBytesPayloads ? ProtoMapper.RAW_BYTES_INSTANCE : ProtoMapper.INSTANCE;
+    }
+
     public void shutdown() throws InterruptedException {
         channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
     }
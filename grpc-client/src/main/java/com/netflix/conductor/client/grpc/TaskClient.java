@@ -37,15 +37,18 @@ import jakarta.annotation.Nullable;
 public class TaskClient extends ClientBase {
 
     private final TaskServiceGrpc.TaskServiceBlockingStub stub;
+    private final TaskServiceGrpc.TaskServiceStub asyncStub;
 
     public TaskClient(String address, int port) {
         super(address, port);
         this.stub = TaskServiceGrpc.newBlockingStub(this.channel);
+        this.asyncStub = TaskServiceGrpc.newStub(this.channel);
     }
 
     public TaskClient(ManagedChannelBuilder<?> builder) {
         super(builder);
         this.stub = TaskServiceGrpc.newBlockingStub(this.channel);
+        this.asyncStub = TaskServiceGrpc.newStub(this.channel);
     }
 
     /**
@@ -116,6 +119,28 @@ public class TaskClient extends ClientBase {
         return Iterators.transform(it, protoMapper::fromProto);
     }
 
+    /**
+     * Opens a stream on which the server pushes tasks of a specific task type as soon as they are
+     * dequeued, instead of the worker polling for them. No task is pushed until slots are granted
+     * with {@link TaskStream#requestTasks(int)}.
+     *
+     * @param taskType Type of task to stream
+     * @param workerId Name of the client worker. Used for logging.
+     * @param domain The domain of the task type, null for no domain
+     * @param listener Receives the tasks pushed by the server
+     * @return the stream, used to grant slots and send back task results
+     */
+    public TaskStream streamTasks(
+            String taskType,
+            String workerId,
+            @Nullable String domain,
+            TaskStream.Listener listener) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(taskType), "Task type cannot be blank");
+        Preconditions.checkArgument(StringUtils.isNotBlank(workerId), "Worker id cannot be blank");
+        Preconditions.checkNotNull(listener, "Listener cannot be null");
+        return new TaskStream(asyncStub, protoMapper, taskType, workerId, domain, listener);
+    }
+
     /**
      * Updates the result of a task execution.
      *
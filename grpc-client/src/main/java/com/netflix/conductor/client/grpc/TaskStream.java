@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.client.grpc;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServiceGrpc;
+import com.netflix.conductor.grpc.TaskServicePb;
+
+import com.google.common.base.Preconditions;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * A stream of tasks of a single task type, opened with {@link TaskClient#streamTasks(String,
+ * String, String, Listener)}.
+ *
+ * <p>The server pushes tasks to the stream as soon as they are dequeued, as long as the worker has
+ * free slots. Slots are granted with {@link #requestTasks(int)}, and each task pushed to the
+ * worker takes one of them. Task results are sent back with {@link #updateTask(TaskResult)}, and
+ * acknowledged through the {@link Listener}.
+ */
+public class TaskStream {
+
+    /** Receives the tasks and acknowledgements pushed by the server. */
+    public interface Listener {
+
+        /** Called for each task pushed to the worker. */
+        void onTask(Task task);
+
+        /** Called once the server has applied the result of a task. */
+        default void onTaskUpdated(String taskId) {}
+
+        /** Called when the server could not apply the result of a task. */
+        default void onTaskUpdateFailed(String taskId, String reason) {}
+
+        /** Called when the stream is closed with an error, no more tasks will be pushed. */
+        default void onError(Throwable t) {}
+
+        /** Called when the server closes the stream. */
+        default void onCompleted() {}
+    }
+
+    private final ProtoMapper protoMapper;
+    private final String taskType;
+    private final String workerId;
+    private final String domain;
+    private final StreamObserver<TaskServicePb.StreamTasksRequest> requests;
+
+    TaskStream(
+            TaskServiceGrpc.TaskServiceStub stub,
+            ProtoMapper protoMapper,
+            String taskType,
+            String workerId,
+            String domain,
+            Listener listener) {
+        this.protoMapper = protoMapper;
+        this.taskType = taskType;
+        this.workerId = workerId;
+        this.domain = domain;
+        this.requests =
+                stub.streamTasks(
+                        new StreamObserver<>() {
+                            @Override
+                            public void onNext(TaskServicePb.StreamTasksResponse response) {
+                                switch (response.getResponseCase()) {
+                                    case TASK:
+                                        listener.onTask(
+                                                protoMapper.fromProto(response.getTask()));
+                                        break;
+                                    case UPDATED:
+                                        listener.onTaskUpdated(response.getUpdated().getTaskId());
+                                        break;
+                                    case UPDATE_FAILURE:
+                                        listener.onTaskUpdateFailed(
+                                                response.getUpdateFailure().getTaskId(),
+                                                response.getUpdateFailure().getReason());
+                                        break;
+                                    default:
+                                        break;
+                                }
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                                listener.onError(t);
+                            }
+
+                            @Override
+                            public void onCompleted() {
+                                listener.onCompleted();
+                            }
+                        });
+    }
+
+    /**
+     * Grants the server slots to push more tasks to this worker.
+     *
+     * @param slots number of additional tasks the worker can take
+     */
+    public synchronized void requestTasks(int slots) {
+        Preconditions.checkArgument(slots > 0, "Slots must be greater than 0");
+        TaskServicePb.StreamTasksRequest.Capacity.Builder capacity =
+                TaskServicePb.StreamTasksRequest.Capacity.newBuilder()
+                        .setTaskType(taskType)
+                        .setWorkerId(workerId)
+                        .setSlots(slots);
+        if (domain != null) {
+            capacity.setDomain(domain);
+        }
+        requests.onNext(
+                TaskServicePb.StreamTasksRequest.newBuilder().setCapacity(capacity).build());
+    }
+
+    /**
+     * Sends the result of a task execution to the server.
+     *
+     * @param taskResult TaskResult to be updated.
+     */
+    public synchronized void updateTask(TaskResult taskResult) {
+        Preconditions.checkNotNull(taskResult, "Task result cannot be null");
+        requests.onNext(
+                TaskServicePb.StreamTasksRequest.newBuilder()
+                        .setResult(protoMapper.toProto(taskResult))
+                        .build());
+    }
+
+    /** Closes the stream, the server stops pushing tasks to this worker. */
+    public synchronized void close() {
+        requests.onCompleted();
+    }
+}
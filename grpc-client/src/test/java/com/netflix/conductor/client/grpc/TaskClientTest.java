@@ -12,9 +12,13 @@
  */
 package com.netflix.conductor.client.grpc;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -30,9 +34,11 @@ import com.netflix.conductor.proto.TaskPb;
 import com.netflix.conductor.proto.TaskSummaryPb;
 
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -42,12 +48,15 @@ public class TaskClientTest {
 
     @Mock TaskServiceGrpc.TaskServiceBlockingStub mockedStub;
 
+    @Mock TaskServiceGrpc.TaskServiceStub mockedAsyncStub;
+
     TaskClient taskClient;
 
     @Before
     public void init() {
         taskClient = new TaskClient("test", 0);
         ReflectionTestUtils.setField(taskClient, "stub", mockedStub);
+        ReflectionTestUtils.setField(taskClient, "asyncStub", mockedAsyncStub);
         ReflectionTestUtils.setField(taskClient, "protoMapper", mockedProtoMapper);
     }
 
@@ -157,7 +166,38 @@ public class TaskClientTest {
     private TaskClient createClientWithManagedChannel() {
         TaskClient taskClient = new TaskClient(ManagedChannelBuilder.forAddress("test", 0));
         ReflectionTestUtils.setField(taskClient, "stub", mockedStub);
+        ReflectionTestUtils.setField(taskClient, "asyncStub", mockedAsyncStub);
         ReflectionTestUtils.setField(taskClient, "protoMapper", mockedProtoMapper);
         return taskClient;
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamTasks() {
+        StreamObserver<TaskServicePb.StreamTasksRequest> requests = mock(StreamObserver.class);
+        ArgumentCaptor<StreamObserver<TaskServicePb.StreamTasksResponse>> responses =
+                ArgumentCaptor.forClass(StreamObserver.class);
+        when(mockedAsyncStub.streamTasks(responses.capture())).thenReturn(requests);
+
+        List<Task> tasks = new ArrayList<>();
+        TaskStream taskStream = taskClient.streamTasks("test", "worker", null, tasks::add);
+        taskStream.requestTasks(3);
+
+        verify(requests)
+                .onNext(
+                        TaskServicePb.StreamTasksRequest.newBuilder()
+                                .setCapacity(
+                                        TaskServicePb.StreamTasksRequest.Capacity.newBuilder()
+                                                .setTaskType("test")
+                                                .setWorkerId("worker")
+                                                .setSlots(3))
+                                .build());
+
+        TaskPb.Task taskPB = TaskPb.Task.newBuilder().setTaskId("task-id").build();
+        responses
+                .getValue()
+                .onNext(TaskServicePb.StreamTasksResponse.newBuilder().setTask(taskPB).build());
+        assertEquals(1, tasks.size());
+        assertEquals("task-id", tasks.get(0).getTaskId());
+    }
 }
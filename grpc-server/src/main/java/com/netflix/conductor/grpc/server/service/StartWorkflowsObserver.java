@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.grpc.server.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.WorkflowServicePb;
+import com.netflix.conductor.proto.StartWorkflowRequestPb;
+import com.netflix.conductor.service.WorkflowBulkService;
+
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Serves a bulk start stream opened with {@link
+ * WorkflowServiceImpl#startWorkflows(StreamObserver)}.
+ *
+ * <p>Requests are started in batches of {@link #BATCH_SIZE}, or when the client completes the
+ * stream, and one response is sent back per request, in the order of the requests.
+ */
+class StartWorkflowsObserver
+        implements StreamObserver<StartWorkflowRequestPb.StartWorkflowRequest> {
+
+    static final int BATCH_SIZE = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartWorkflowsObserver.class);
+    private static final GRPCHelper GRPC_HELPER = new GRPCHelper(LOGGER);
+
+    private final WorkflowBulkService workflowBulkService;
+    private final ProtoMapper protoMapper;
+    private final StreamObserver<WorkflowServicePb.StartWorkflowsResponse> response;
+    private final List<StartWorkflowRequest> requests = new ArrayList<>(BATCH_SIZE);
+
+    StartWorkflowsObserver(
+            WorkflowBulkService workflowBulkService,
+            ProtoMapper protoMapper,
+            StreamObserver<WorkflowServicePb.StartWorkflowsResponse> response) {
+        this.workflowBulkService = workflowBulkService;
+        this.protoMapper = protoMapper;
+        this.response = response;
+    }
+
+    @Override
+    public void onNext(StartWorkflowRequestPb.StartWorkflowRequest pbRequest) {
+        StartWorkflowRequest request = protoMapper.fromProto(pbRequest);
+        request.setVersion(GRPC_HELPER.optional(request.getVersion()));
+        requests.add(request);
+        if (requests.size() >= BATCH_SIZE) {
+            startWorkflows();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        LOGGER.debug("Bulk start stream failed, dropping {} requests", requests.size(), t);
+        requests.clear();
+    }
+
+    @Override
+    public void onCompleted() {
+        if (!requests.isEmpty()) {
+            startWorkflows();
+        }
+        response.onCompleted();
+    }
+
+    private void startWorkflows() {
+        try {
+            BulkStartWorkflowResponse started = workflowBulkService.startWorkflows(requests);
+            for (int i = 0; i < started.getWorkflowIds().size(); i++) {
+                WorkflowServicePb.StartWorkflowsResponse.Builder builder =
+                        WorkflowServicePb.StartWorkflowsResponse.newBuilder();
+                String workflowId = started.getWorkflowIds().get(i);
+                if (workflowId != null) {
+                    builder.setWorkflowId(workflowId);
+                } else {
+                    builder.setError(String.valueOf(started.getErrors().get(i)));
+                }
+                response.onNext(builder.build());
+            }
+        } catch (Exception e) {
+            LOGGER.error(
+                    "Failed to start {} workflows from a bulk start stream", requests.size(), e);
+            WorkflowServicePb.StartWorkflowsResponse failure =
+                    WorkflowServicePb.StartWorkflowsResponse.newBuilder()
+                            .setError(String.valueOf(e.getMessage()))
+                            .build();
+            requests.forEach(request -> response.onNext(failure));
+        } finally {
+            requests.clear();
+        }
+    }
+}
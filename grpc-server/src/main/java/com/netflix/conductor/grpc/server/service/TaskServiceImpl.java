@@ -14,7 +14,10 @@ package com.netflix.conductor.grpc.server.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,28 +38,50 @@ import com.netflix.conductor.service.TaskService;
 
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
 
 @Service("grpcTaskService")
 public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskServiceImpl.class);
-    private static final ProtoMapper PROTO_MAPPER = ProtoMapper.INSTANCE;
     private static final GRPCHelper GRPC_HELPER = new GRPCHelper(LOGGER);
 
     private static final int POLL_TIMEOUT_MS = 100;
     private static final int MAX_POLL_TIMEOUT_MS = 5000;
+    private static final int TASK_STREAM_POLL_INTERVAL_MS = 100;
+    private static final int TASK_STREAM_MAX_POLL_INTERVAL_MS = 2000;
 
     private final TaskService taskService;
     private final int maxSearchSize;
     private final ExecutionService executionService;
+    private final ScheduledExecutorService taskStreamExecutor;
+    private final ProtoMapper protoMapper;
 
     public TaskServiceImpl(
             ExecutionService executionService,
             TaskService taskService,
-            @Value("${workflow.max.search.size:5000}") int maxSearchSize) {
+            @Value("${workflow.max.search.size:5000}") int maxSearchSize,
+            @Value("${conductor.grpc-server.task-stream-thread-count:10}")
+                    int taskStreamThreadCount,
+            @Value("${conductor.grpc-server.raw-bytes-payloads:false}")
+                    boolean rawBytesPayloads) {
         this.executionService = executionService;
         this.taskService = taskService;
         this.maxSearchSize = maxSearchSize;
+        this.taskStreamExecutor =
+                Executors.newScheduledThreadPool(
+                        taskStreamThreadCount,
+                        new BasicThreadFactory.Builder()
+                                .namingPattern("grpc-task-stream-%d")
+                                .daemon(true)
+                                .build());
+        this.protoMapper =
+                rawBytesPayloads ? ProtoMapper.RAW_BYTES_INSTANCE : ProtoMapper.INSTANCE;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskStreamExecutor.shutdownNow();
     }
 
     @Override
@@ -71,7 +96,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                             1,
                             POLL_TIMEOUT_MS);
             if (!tasks.isEmpty()) {
-                TaskPb.Task t = PROTO_MAPPER.toProto(tasks.get(0));
+                TaskPb.Task t = protoMapper.toProto(tasks.get(0));
                 response.onNext(TaskServicePb.PollResponse.newBuilder().setTask(t).build());
             }
             response.onCompleted();
@@ -106,19 +131,31 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                             count,
                             timeout);
             LOGGER.info("polled tasks: " + polledTasks);
-            polledTasks.stream().map(PROTO_MAPPER::toProto).forEach(response::onNext);
+            polledTasks.stream().map(protoMapper::toProto).forEach(response::onNext);
             response.onCompleted();
         } catch (Exception e) {
             GRPC_HELPER.onError(response, e);
         }
     }
 
+    @Override
+    public StreamObserver<TaskServicePb.StreamTasksRequest> streamTasks(
+            StreamObserver<TaskServicePb.StreamTasksResponse> response) {
+        return new TaskStreamObserver(
+                taskService,
+                taskStreamExecutor,
+                protoMapper,
+                response,
+                TASK_STREAM_POLL_INTERVAL_MS,
+                TASK_STREAM_MAX_POLL_INTERVAL_MS);
+    }
+
     @Override
     public void updateTask(
             TaskServicePb.UpdateTaskRequest req,
             StreamObserver<TaskServicePb.UpdateTaskResponse> response) {
         try {
-            TaskResult task = PROTO_MAPPER.fromProto(req.getResult());
+            TaskResult task = protoMapper.fromProto(req.getResult());
             taskService.updateTask(task);
 
             response.onNext(
@@ -147,7 +184,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
         List<TaskExecLog> logs = taskService.getTaskLogs(req.getTaskId());
         response.onNext(
                 TaskServicePb.GetTaskLogsResponse.newBuilder()
-                        .addAllLogs(logs.stream().map(PROTO_MAPPER::toProto)::iterator)
+                        .addAllLogs(logs.stream().map(protoMapper::toProto)::iterator)
                         .build());
         response.onCompleted();
     }
@@ -166,7 +203,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
             } else {
                 response.onNext(
                         TaskServicePb.GetTaskResponse.newBuilder()
-                                .setTask(PROTO_MAPPER.toProto(task))
+                                .setTask(protoMapper.toProto(task))
                                 .build());
                 response.onCompleted();
             }
@@ -256,7 +293,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                 TaskServicePb.TaskSummarySearchResult.newBuilder()
                         .setTotalHits(searchResult.getTotalHits())
                         .addAllResults(
-                                searchResult.getResults().stream().map(PROTO_MAPPER::toProto)
+                                searchResult.getResults().stream().map(protoMapper::toProto)
                                         ::iterator)
                         .build());
         response.onCompleted();
@@ -285,7 +322,7 @@ public class TaskServiceImpl extends TaskServiceGrpc.TaskServiceImplBase {
                 TaskServicePb.TaskSearchResult.newBuilder()
                         .setTotalHits(searchResult.getTotalHits())
                         .addAllResults(
-                                searchResult.getResults().stream().map(PROTO_MAPPER::toProto)
+                                searchResult.getResults().stream().map(protoMapper::toProto)
                                         ::iterator)
                         .build());
         response.onCompleted();
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.grpc.server.service;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
+import com.netflix.conductor.grpc.ProtoMapper;
+import com.netflix.conductor.grpc.TaskServicePb;
+import com.netflix.conductor.service.TaskService;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Serves a single worker stream opened with {@link TaskServiceImpl#streamTasks(StreamObserver)}.
+ *
+ * <p>The worker grants slots with capacity requests. While it has free slots, tasks are polled on
+ * its behalf and pushed to it as soon as they are dequeued, each pushed task taking one slot. Task
+ * results sent by the worker are applied and acknowledged on the same stream.
+ *
+ * <p>Polls do not wait for tasks, since the poll executor is shared by all the streams: a poll that
+ * finds no task is retried after the poll interval instead, the interval doubling with every empty
+ * poll up to the maximum poll interval. New capacity polls again right away. Tasks are only polled
+ * while the transport is ready to send, a stream the worker does not read from is resumed by the
+ * call's ready handler.
+ */
+class TaskStreamObserver implements StreamObserver<TaskServicePb.StreamTasksRequest> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStreamObserver.class);
+    private static final GRPCHelper GRPC_HELPER = new GRPCHelper(LOGGER);
+
+    private final TaskService taskService;
+    private final ScheduledExecutorService pollExecutor;
+    private final ProtoMapper protoMapper;
+    private final StreamObserver<TaskServicePb.StreamTasksResponse> response;
+    private final ServerCallStreamObserver<TaskServicePb.StreamTasksResponse> serverCall;
+    private final int pollIntervalMs;
+    private final int maxPollIntervalMs;
+
+    private final AtomicInteger freeSlots = new AtomicInteger();
+    private final AtomicInteger emptyPolls = new AtomicInteger();
+    /** Set while a poll is scheduled or running, the owner of the flag schedules the next one. */
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile ScheduledFuture<?> nextPoll;
+    private volatile boolean closed;
+
+    private volatile String taskType;
+    private volatile String workerId;
+    private volatile String domain;
+
+    TaskStreamObserver(
+            TaskService taskService,
+            ScheduledExecutorService pollExecutor,
+            ProtoMapper protoMapper,
+            StreamObserver<TaskServicePb.StreamTasksResponse> response,
+            int pollIntervalMs,
+            int maxPollIntervalMs) {
+        this.taskService = taskService;
+        this.pollExecutor = pollExecutor;
+        this.protoMapper = protoMapper;
+        this.response = response;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxPollIntervalMs = maxPollIntervalMs;
+        if (response instanceof ServerCallStreamObserver) {
+            serverCall = (ServerCallStreamObserver<TaskServicePb.StreamTasksResponse>) response;
+            serverCall.setOnReadyHandler(this::pollNow);
+        } else {
+            serverCall = null;
+        }
+    }
+
+    @Override
+    public void onNext(TaskServicePb.StreamTasksRequest request) {
+        switch (request.getRequestCase()) {
+            case CAPACITY:
+                addCapacity(request.getCapacity());
+                break;
+            case RESULT:
+                updateTask(protoMapper.fromProto(request.getResult()));
+                break;
+            default:
+                LOGGER.warn("Ignoring empty request on the task stream of {}", taskType);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        LOGGER.debug("Task stream of {} for worker {} failed", taskType, workerId, t);
+        closed = true;
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (response) {
+            if (!closed) {
+                closed = true;
+                response.onCompleted();
+            }
+        }
+    }
+
+    private void addCapacity(TaskServicePb.StreamTasksRequest.Capacity capacity) {
+        if (taskType == null) {
+            if (capacity.getTaskType().isEmpty() || capacity.getWorkerId().isEmpty()) {
+                close(
+                        Status.INVALID_ARGUMENT.withDescription(
+                                "Task type and worker id are required to open a task stream"));
+                return;
+            }
+            workerId = capacity.getWorkerId();
+            domain = GRPC_HELPER.optional(capacity.getDomain());
+            taskType = capacity.getTaskType();
+        } else if (!capacity.getTaskType().isEmpty() && !taskType.equals(capacity.getTaskType())) {
+            close(
+                    Status.INVALID_ARGUMENT.withDescription(
+                            "A task stream serves a single task type, it was opened for "
+                                    + taskType));
+            return;
+        }
+        if (capacity.getSlots() > 0) {
+            freeSlots.addAndGet(capacity.getSlots());
+            pollNow();
+        }
+    }
+
+    private void updateTask(TaskResult taskResult) {
+        TaskServicePb.StreamTasksResponse.Builder builder =
+                TaskServicePb.StreamTasksResponse.newBuilder();
+        try {
+            taskService.updateTask(taskResult);
+            builder.setUpdated(
+                    TaskServicePb.UpdateTaskResponse.newBuilder()
+                            .setTaskId(taskResult.getTaskId())
+                            .build());
+        } catch (Exception e) {
+            LOGGER.error("Failed to update task {} from a task stream", taskResult.getTaskId(), e);
+            builder.setUpdateFailure(
+                    TaskServicePb.StreamTasksResponse.UpdateFailure.newBuilder()
+                            .setTaskId(taskResult.getTaskId())
+                            .setReason(String.valueOf(e.getMessage()))
+                            .build());
+        }
+        send(builder.build());
+    }
+
+    /** Polls without waiting for the backoff of empty polls, a poll already running is kept. */
+    private void pollNow() {
+        emptyPolls.set(0);
+        ScheduledFuture<?> scheduled = nextPoll;
+        if (scheduled != null
+                && scheduled.getDelay(TimeUnit.MILLISECONDS) > 0
+                && scheduled.cancel(false)) {
+            // the cancelled poll owned the polling flag, it is handed to the new one
+            submitPoll(0);
+        } else {
+            schedulePoll(0);
+        }
+    }
+
+    private void schedulePoll(long delayMs) {
+        if (closed || freeSlots.get() <= 0 || !isReady() || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        submitPoll(delayMs);
+    }
+
+    private void submitPoll(long delayMs) {
+        try {
+            nextPoll = pollExecutor.schedule(this::poll, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            polling.set(false);
+            close(Status.UNAVAILABLE.withDescription("The server is shutting down"));
+        }
+    }
+
+    /**
+     * A stream that is not ready is not rescheduled, the ready handler polls again once the worker
+     * has read the tasks already sent.
+     */
+    private boolean isReady() {
+        return serverCall == null || serverCall.isReady();
+    }
+
+    private long emptyPollDelayMs() {
+        int shift = Math.min(emptyPolls.getAndIncrement(), 16);
+        return Math.min((long) pollIntervalMs << shift, maxPollIntervalMs);
+    }
+
+    private void poll() {
+        long nextPollDelayMs = 0;
+        try {
+            int count = freeSlots.get();
+            if (closed || count <= 0 || !isReady()) {
+                return;
+            }
+            List<Task> tasks = taskService.batchPoll(taskType, workerId, domain, count, 0);
+            freeSlots.addAndGet(-tasks.size());
+            for (Task task : tasks) {
+                if (!send(
+                        TaskServicePb.StreamTasksResponse.newBuilder()
+                                .setTask(protoMapper.toProto(task))
+                                .build())) {
+                    requeue(task);
+                }
+            }
+            if (tasks.isEmpty()) {
+                nextPollDelayMs = emptyPollDelayMs();
+            } else {
+                emptyPolls.set(0);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to poll tasks of type {} for a task stream", taskType, e);
+            nextPollDelayMs = emptyPollDelayMs();
+        } finally {
+            polling.set(false);
+        }
+        schedulePoll(nextPollDelayMs);
+    }
+
+    /** @return false if the stream is closed and the message was not sent */
+    private boolean send(TaskServicePb.StreamTasksResponse message) {
+        synchronized (response) {
+            if (closed) {
+                LOGGER.warn(
+                        "Task stream of {} for worker {} is closed, dropping {}",
+                        taskType,
+                        workerId,
+                        message.getResponseCase());
+                return false;
+            }
+            response.onNext(message);
+            return true;
+        }
+    }
+
+    /**
+     * Puts a task that was polled for this stream but could not be sent back in its queue, rather
+     * than leaving it in progress until its response timeout.
+     */
+    private void requeue(Task task) {
+        try {
+            TaskResult taskResult = new TaskResult(task);
+            taskResult.setStatus(TaskResult.Status.IN_PROGRESS);
+            taskResult.setCallbackAfterSeconds(0);
+            taskResult.log(
+                    "Requeued, the task stream of worker " + workerId + " closed before delivery");
+            taskService.updateTask(taskResult);
+        } catch (Exception e) {
+            LOGGER.error(
+                    "Failed to requeue task {} polled for a closed task stream, it is requeued "
+                            + "once its response times out",
+                    task.getTaskId(),
+                    e);
+        }
+    }
+
+    private void close(Status status) {
+        synchronized (response) {
+            if (!closed) {
+                closed = true;
+                response.onError(status.asRuntimeException());
+            }
+        }
+    }
+}
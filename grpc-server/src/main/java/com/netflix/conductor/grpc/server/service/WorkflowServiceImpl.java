@@ -34,6 +34,7 @@ import com.netflix.conductor.grpc.WorkflowServicePb;
 import com.netflix.conductor.proto.RerunWorkflowRequestPb;
 import com.netflix.conductor.proto.StartWorkflowRequestPb;
 import com.netflix.conductor.proto.WorkflowPb;
+import com.netflix.conductor.service.WorkflowBulkService;
 import com.netflix.conductor.service.WorkflowService;
 
 import io.grpc.Status;
@@ -47,12 +48,15 @@ public class WorkflowServiceImpl extends WorkflowServiceGrpc.WorkflowServiceImpl
     private static final GRPCHelper GRPC_HELPER = new GRPCHelper(LOGGER);
 
     private final WorkflowService workflowService;
+    private final WorkflowBulkService workflowBulkService;
     private final int maxSearchSize;
 
     public WorkflowServiceImpl(
             WorkflowService workflowService,
+            WorkflowBulkService workflowBulkService,
             @Value("${workflow.max.search.size:5000}") int maxSearchSize) {
         this.workflowService = workflowService;
+        this.workflowBulkService = workflowBulkService;
         this.maxSearchSize = maxSearchSize;
     }
 
@@ -89,6 +93,12 @@ public class WorkflowServiceImpl extends WorkflowServiceGrpc.WorkflowServiceImpl
         }
     }
 
+    @Override
+    public StreamObserver<StartWorkflowRequestPb.StartWorkflowRequest> startWorkflows(
+            StreamObserver<WorkflowServicePb.StartWorkflowsResponse> response) {
+        return new StartWorkflowsObserver(workflowBulkService, PROTO_MAPPER, response);
+    }
+
     @Override
     public void getWorkflows(
             WorkflowServicePb.GetWorkflowsRequest req,
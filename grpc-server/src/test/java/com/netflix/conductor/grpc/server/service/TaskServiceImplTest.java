@@ -13,27 +13,34 @@
 package com.netflix.conductor.grpc.server.service;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.TaskSummary;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.TaskServicePb;
 import com.netflix.conductor.proto.TaskPb;
+import com.netflix.conductor.proto.TaskResultPb;
 import com.netflix.conductor.proto.TaskSummaryPb;
 import com.netflix.conductor.service.ExecutionService;
 import com.netflix.conductor.service.TaskService;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -48,7 +55,7 @@ public class TaskServiceImplTest {
     @Before
     public void init() {
         initMocks(this);
-        taskServiceImpl = new TaskServiceImpl(executionService, taskService, 5000);
+        taskServiceImpl = new TaskServiceImpl(executionService, taskService, 5000, 1, false);
     }
 
     @Test
@@ -234,4 +241,154 @@ public class TaskServiceImplTest {
                 TaskPb.Task.newBuilder().setCallbackFromWorker(true).build(),
                 taskSearchResult.getResultsList().get(0));
     }
+
+    @Test
+    public void streamTasksTest() throws InterruptedException {
+        CountDownLatch taskReceived = new CountDownLatch(1);
+        CountDownLatch taskUpdated = new CountDownLatch(1);
+        List<TaskServicePb.StreamTasksResponse> responses = new CopyOnWriteArrayList<>();
+
+        StreamObserver<TaskServicePb.StreamTasksResponse> streamObserver =
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(TaskServicePb.StreamTasksResponse value) {
+                        responses.add(value);
+                        if (value.hasTask()) {
+                            taskReceived.countDown();
+                        } else {
+                            taskUpdated.countDown();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {}
+
+                    @Override
+                    public void onCompleted() {}
+                };
+
+        Task task = new Task();
+        task.setTaskId("task-id");
+        when(taskService.batchPoll(eq("test"), eq("worker"), isNull(), eq(2), eq(0)))
+                .thenReturn(Collections.singletonList(task));
+
+        StreamObserver<TaskServicePb.StreamTasksRequest> requests =
+                taskServiceImpl.streamTasks(streamObserver);
+        requests.onNext(
+                TaskServicePb.StreamTasksRequest.newBuilder()
+                        .setCapacity(
+                                TaskServicePb.StreamTasksRequest.Capacity.newBuilder()
+                                        .setTaskType("test")
+                                        .setWorkerId("worker")
+                                        .setSlots(2))
+                        .build());
+        assertTrue(taskReceived.await(1, TimeUnit.SECONDS));
+        assertEquals("task-id", responses.get(0).getTask().getTaskId());
+
+        requests.onNext(
+                TaskServicePb.StreamTasksRequest.newBuilder()
+                        .setResult(
+                                TaskResultPb.TaskResult.newBuilder()
+                                        .setTaskId("task-id")
+                                        .setStatus(TaskResultPb.TaskResult.Status.COMPLETED))
+                        .build());
+        assertTrue(taskUpdated.await(1, TimeUnit.SECONDS));
+        assertEquals("task-id", responses.get(1).getUpdated().getTaskId());
+        verify(taskService).updateTask(any(TaskResult.class));
+        requests.onCompleted();
+    }
+
+    @Test
+    public void streamTasksClosedBeforeDeliveryTest() {
+        StreamObserver<TaskServicePb.StreamTasksResponse> streamObserver =
+                mock(StreamObserver.class);
+        AtomicReference<StreamObserver<TaskServicePb.StreamTasksRequest>> requests =
+                new AtomicReference<>();
+
+        Task task = new Task();
+        task.setTaskId("task-id");
+        task.setWorkflowInstanceId("workflow-id");
+        task.setStatus(Task.Status.IN_PROGRESS);
+        when(taskService.batchPoll(eq("test"), eq("worker"), isNull(), eq(1), eq(0)))
+                .thenAnswer(
+                        invocation -> {
+                            // the worker goes away while the task is being polled
+                            requests.get().onError(new RuntimeException("stream closed"));
+                            return Collections.singletonList(task);
+                        });
+
+        requests.set(taskServiceImpl.streamTasks(streamObserver));
+        requests.get()
+                .onNext(
+                        TaskServicePb.StreamTasksRequest.newBuilder()
+                                .setCapacity(
+                                        TaskServicePb.StreamTasksRequest.Capacity.newBuilder()
+                                                .setTaskType("test")
+                                                .setWorkerId("worker")
+                                                .setSlots(1))
+                                .build());
+
+        verify(taskService, timeout(1000))
+                .updateTask(
+                        argThat(
+                                result ->
+                                        "task-id".equals(result.getTaskId())
+                                                && result.getStatus()
+                                                        == TaskResult.Status.IN_PROGRESS
+                                                && result.getCallbackAfterSeconds() == 0));
+        verify(streamObserver, never()).onNext(any());
+    }
+
+    @Test
+    public void streamTasksBacksOffOnEmptyPollsTest() {
+        StreamObserver<TaskServicePb.StreamTasksResponse> streamObserver =
+                mock(StreamObserver.class);
+        when(taskService.batchPoll(eq("test"), eq("worker"), isNull(), eq(1), eq(0)))
+                .thenReturn(Collections.emptyList());
+
+        StreamObserver<TaskServicePb.StreamTasksRequest> requests =
+                taskServiceImpl.streamTasks(streamObserver);
+        requests.onNext(capacity(1));
+
+        // 0, 100, 300, 700 and 1500 ms rather than every 100 ms
+        verify(taskService, after(1000).atMost(5))
+                .batchPoll(eq("test"), eq("worker"), isNull(), eq(1), eq(0));
+        requests.onCompleted();
+    }
+
+    @Test
+    public void streamTasksWaitsForTheStreamToBeReadyTest() {
+        ServerCallStreamObserver<TaskServicePb.StreamTasksResponse> streamObserver =
+                mock(ServerCallStreamObserver.class);
+        when(streamObserver.isReady()).thenReturn(false);
+        Task task = new Task();
+        task.setTaskId("task-id");
+        when(taskService.batchPoll(eq("test"), eq("worker"), isNull(), eq(1), eq(0)))
+                .thenReturn(Collections.singletonList(task));
+
+        StreamObserver<TaskServicePb.StreamTasksRequest> requests =
+                taskServiceImpl.streamTasks(streamObserver);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(streamObserver).setOnReadyHandler(onReady.capture());
+        requests.onNext(capacity(1));
+
+        verify(taskService, after(200).never())
+                .batchPoll(anyString(), anyString(), any(), anyInt(), anyInt());
+
+        when(streamObserver.isReady()).thenReturn(true);
+        onReady.getValue().run();
+
+        verify(streamObserver, timeout(1000))
+                .onNext(argThat(response -> "task-id".equals(response.getTask().getTaskId())));
+    }
+
+    private TaskServicePb.StreamTasksRequest capacity(int slots) {
+        return TaskServicePb.StreamTasksRequest.newBuilder()
+                .setCapacity(
+                        TaskServicePb.StreamTasksRequest.Capacity.newBuilder()
+                                .setTaskType("test")
+                                .setWorkerId("worker")
+                                .setSlots(slots))
+                .build();
+    }
 }
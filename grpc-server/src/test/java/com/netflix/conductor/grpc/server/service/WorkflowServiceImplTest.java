@@ -19,20 +19,26 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.common.run.SearchResult;
 import com.netflix.conductor.common.run.Workflow;
 import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.grpc.SearchPb;
 import com.netflix.conductor.grpc.WorkflowServicePb;
+import com.netflix.conductor.proto.StartWorkflowRequestPb;
 import com.netflix.conductor.proto.WorkflowPb;
 import com.netflix.conductor.proto.WorkflowSummaryPb;
+import com.netflix.conductor.service.WorkflowBulkService;
 import com.netflix.conductor.service.WorkflowService;
 
 import io.grpc.stub.StreamObserver;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -43,12 +49,14 @@ public class WorkflowServiceImplTest {
 
     @Mock private WorkflowService workflowService;
 
+    @Mock private WorkflowBulkService workflowBulkService;
+
     private WorkflowServiceImpl workflowServiceImpl;
 
     @Before
     public void init() {
         initMocks(this);
-        workflowServiceImpl = new WorkflowServiceImpl(workflowService, 5000);
+        workflowServiceImpl = new WorkflowServiceImpl(workflowService, workflowBulkService, 5000);
     }
 
     @SuppressWarnings("unchecked")
@@ -362,4 +370,42 @@ public class WorkflowServiceImplTest {
                 WorkflowPb.Workflow.newBuilder().build(),
                 workflowSearchResult.getResultsList().get(0));
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void startWorkflowsRespondsPerRequestInOrder() {
+        BulkStartWorkflowResponse started = new BulkStartWorkflowResponse();
+        started.appendSuccessResponse("workflow1");
+        started.appendFailedResponse("No such workflow defined");
+        when(workflowBulkService.startWorkflows(anyList())).thenReturn(started);
+        StreamObserver<WorkflowServicePb.StartWorkflowsResponse> response =
+                mock(StreamObserver.class);
+
+        StreamObserver<StartWorkflowRequestPb.StartWorkflowRequest> requests =
+                workflowServiceImpl.startWorkflows(response);
+        requests.onNext(
+                StartWorkflowRequestPb.StartWorkflowRequest.newBuilder().setName("test").build());
+        requests.onNext(
+                StartWorkflowRequestPb.StartWorkflowRequest.newBuilder()
+                        .setName("missing")
+                        .build());
+        verify(workflowBulkService, never()).startWorkflows(anyList());
+        requests.onCompleted();
+
+        InOrder inOrder = inOrder(response);
+        inOrder.verify(response)
+                .onNext(
+                        WorkflowServicePb.StartWorkflowsResponse.newBuilder()
+                                .setWorkflowId("workflow1")
+                                .build());
+        inOrder.verify(response)
+                .onNext(
+                        WorkflowServicePb.StartWorkflowsResponse.newBuilder()
+                                .setError("No such workflow defined")
+                                .build());
+        inOrder.verify(response).onCompleted();
+        verify(workflowBulkService, times(1))
+                .startWorkflows(
+                        argThat(list -> list.size() == 2 && list.get(0).getVersion() == null));
+    }
 }
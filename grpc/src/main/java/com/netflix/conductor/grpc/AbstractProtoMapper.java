@@ -1,6 +1,7 @@
 package com.netflix.conductor.grpc;
 
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Value;
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.events.EventHandler;
@@ -495,8 +496,13 @@ public abstract class AbstractProtoMapper {
         if (from.getStatus() != null) {
             to.setStatus( toProto( from.getStatus() ) );
         }
-        for (Map.Entry<String, Object> pair : from.getInputData().entrySet()) {
-            to.putInputData( pair.getKey(), toProto( pair.getValue() ) );
+        ByteString inputDataRaw = toRawProto( from.getInputData() );
+        if (inputDataRaw != null) {
+            to.setInputDataRaw( inputDataRaw );
+        } else {
+            for (Map.Entry<String, Object> pair : from.getInputData().entrySet()) {
+                to.putInputData( pair.getKey(), toProto( pair.getValue() ) );
+            }
         }
         if (from.getReferenceTaskName() != null) {
             to.setReferenceTaskName( from.getReferenceTaskName() );
@@ -538,8 +544,13 @@ public abstract class AbstractProtoMapper {
         if (from.getWorkerId() != null) {
             to.setWorkerId( from.getWorkerId() );
         }
-        for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
-            to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+        ByteString outputDataRaw = toRawProto( from.getOutputData() );
+        if (outputDataRaw != null) {
+            to.setOutputDataRaw( outputDataRaw );
+        } else {
+            for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
+                to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+            }
         }
         if (from.getWorkflowTask() != null) {
             to.setWorkflowTask( toProto( from.getWorkflowTask() ) );
@@ -580,11 +591,15 @@ public abstract class AbstractProtoMapper {
         Task to = new Task();
         to.setTaskType( from.getTaskType() );
         to.setStatus( fromProto( from.getStatus() ) );
-        Map<String, Object> inputDataMap = new HashMap<String, Object>();
-        for (Map.Entry<String, Value> pair : from.getInputDataMap().entrySet()) {
-            inputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+        if (!from.getInputDataRaw().isEmpty()) {
+            to.setInputData( fromRawProto( from.getInputDataRaw() ) );
+        } else {
+            Map<String, Object> inputDataMap = new HashMap<String, Object>();
+            for (Map.Entry<String, Value> pair : from.getInputDataMap().entrySet()) {
+                inputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+            }
+            to.setInputData(inputDataMap);
         }
-        to.setInputData(inputDataMap);
         to.setReferenceTaskName( from.getReferenceTaskName() );
         to.setRetryCount( from.getRetryCount() );
         to.setSeq( from.getSeq() );
@@ -607,11 +622,15 @@ public abstract class AbstractProtoMapper {
         to.setReasonForIncompletion( from.getReasonForIncompletion() );
         to.setCallbackAfterSeconds( from.getCallbackAfterSeconds() );
         to.setWorkerId( from.getWorkerId() );
-        Map<String, Object> outputDataMap = new HashMap<String, Object>();
-        for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
-            outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+        if (!from.getOutputDataRaw().isEmpty()) {
+            to.setOutputData( fromRawProto( from.getOutputDataRaw() ) );
+        } else {
+            Map<String, Object> outputDataMap = new HashMap<String, Object>();
+            for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
+                outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+            }
+            to.setOutputData(outputDataMap);
         }
-        to.setOutputData(outputDataMap);
         if (from.hasWorkflowTask()) {
             to.setWorkflowTask( fromProto( from.getWorkflowTask() ) );
         }
@@ -829,8 +848,13 @@ public abstract class AbstractProtoMapper {
         if (from.getStatus() != null) {
             to.setStatus( toProto( from.getStatus() ) );
         }
-        for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
-            to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+        ByteString outputDataRaw = toRawProto( from.getOutputData() );
+        if (outputDataRaw != null) {
+            to.setOutputDataRaw( outputDataRaw );
+        } else {
+            for (Map.Entry<String, Object> pair : from.getOutputData().entrySet()) {
+                to.putOutputData( pair.getKey(), toProto( pair.getValue() ) );
+            }
         }
         if (from.getOutputMessage() != null) {
             to.setOutputMessage( toProto( from.getOutputMessage() ) );
@@ -846,11 +870,15 @@ public abstract class AbstractProtoMapper {
         to.setCallbackAfterSeconds( from.getCallbackAfterSeconds() );
         to.setWorkerId( from.getWorkerId() );
         to.setStatus( fromProto( from.getStatus() ) );
-        Map<String, Object> outputDataMap = new HashMap<String, Object>();
-        for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
-            outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+        if (!from.getOutputDataRaw().isEmpty()) {
+            to.setOutputData( fromRawProto( from.getOutputDataRaw() ) );
+        } else {
+            Map<String, Object> outputDataMap = new HashMap<String, Object>();
+            for (Map.Entry<String, Value> pair : from.getOutputDataMap().entrySet()) {
+                outputDataMap.put( pair.getKey(), fromProto( pair.getValue() ) );
+            }
+            to.setOutputData(outputDataMap);
         }
-        to.setOutputData(outputDataMap);
         if (from.hasOutputMessage()) {
             to.setOutputMessage( fromProto( from.getOutputMessage() ) );
         }
@@ -1412,4 +1440,8 @@ public abstract class AbstractProtoMapper {
     public abstract Any toProto(Any in);
 
     public abstract Any fromProto(Any in);
+
+    public abstract ByteString toRawProto(Map<String, Object> in);
+
+    public abstract Map<String, Object> fromRawProto(ByteString in);
 }
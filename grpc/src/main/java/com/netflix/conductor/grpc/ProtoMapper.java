@@ -12,11 +12,16 @@
  */
 package com.netflix.conductor.grpc;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.ListValue;
 import com.google.protobuf.NullValue;
 import com.google.protobuf.Struct;
+import com.google.protobuf.UnsafeByteOperations;
 import com.google.protobuf.Value;
+import com.netflix.conductor.common.config.ObjectMapperProvider;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
 import com.netflix.conductor.proto.WorkflowTaskPb;
 
@@ -34,12 +39,23 @@ import java.util.stream.Collectors;
  * The vast majority of the mapping logic is implemented in the autogenerated
  * {@link AbstractProtoMapper} class. This class only implements the custom
  * logic for objects that need to be special cased in the API.
+ *
+ * Both instances read task payloads sent either as structured values or as
+ * pre-serialized JSON bytes. {@link #RAW_BYTES_INSTANCE} also sends them as
+ * JSON bytes, which peers running an older version of the API ignore, so it
+ * must only be used when both ends support it.
  */
 public final class ProtoMapper extends AbstractProtoMapper {
-    public static final ProtoMapper INSTANCE = new ProtoMapper();
+    public static final ProtoMapper INSTANCE = new ProtoMapper(false);
+    public static final ProtoMapper RAW_BYTES_INSTANCE = new ProtoMapper(true);
     private static final int NO_RETRY_VALUE = -1;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapperProvider().getObjectMapper();
+
+    private final boolean rawBytes;
 
-    private ProtoMapper() {}
+    private ProtoMapper(boolean rawBytes) {
+        this.rawBytes = rawBytes;
+    }
 
     /**
      * Convert an {@link Object} instance into its equivalent {@link Value}
@@ -170,6 +186,43 @@ public final class ProtoMapper extends AbstractProtoMapper {
                 .build();
     }
 
+    /**
+     * Serialize a payload map into JSON bytes, to be sent in place of its
+     * structured {@link Value} equivalent.
+     *
+     * The serialized buffer is wrapped without being copied, and the map is
+     * never converted into {@link Value} messages.
+     *
+     * @param in a payload map
+     * @return the JSON bytes of the map, or null when it must be sent as
+     * structured values
+     */
+    @Override
+    public ByteString toRawProto(Map<String, Object> in) {
+        if (!rawBytes || in == null || in.isEmpty()) {
+            return null;
+        }
+        try {
+            return UnsafeByteOperations.unsafeWrap(OBJECT_MAPPER.writeValueAsBytes(in));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("cannot serialize payload to JSON", e);
+        }
+    }
+
+    /**
+     * Convert the JSON bytes of a payload map back into a {@link Map}.
+     *
+     * The bytes are only parsed the first time the map is accessed, so
+     * payloads that are passed through untouched are never decoded.
+     *
+     * @param in the JSON bytes of a payload map
+     * @return a map lazily decoded from the bytes
+     */
+    @Override
+    public Map<String, Object> fromRawProto(ByteString in) {
+        return new RawJsonMap(in, OBJECT_MAPPER);
+    }
+
     @Override
     public Any toProto(Any in) {
         return in;
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.grpc;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A payload map received as JSON bytes, decoded the first time it is
+ * accessed. Once decoded it behaves as a regular mutable {@link HashMap}.
+ */
+class RawJsonMap extends AbstractMap<String, Object> {
+    private static final TypeReference<HashMap<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private ByteString json;
+    private Map<String, Object> decoded;
+
+    RawJsonMap(ByteString json, ObjectMapper objectMapper) {
+        this.json = json;
+        this.objectMapper = objectMapper;
+    }
+
+    private Map<String, Object> decoded() {
+        if (decoded == null) {
+            try {
+                decoded = objectMapper.readValue(json.newInput(), MAP_TYPE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("cannot decode JSON payload", e);
+            }
+            json = null;
+        }
+        return decoded;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return decoded().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decoded().containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return decoded().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return decoded().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return decoded().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        decoded().clear();
+    }
+}
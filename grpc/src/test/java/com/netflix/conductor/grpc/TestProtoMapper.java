@@ -12,12 +12,21 @@
  */
 package com.netflix.conductor.grpc;
 
+import com.netflix.conductor.common.metadata.tasks.Task;
+import com.netflix.conductor.common.metadata.tasks.TaskResult;
 import com.netflix.conductor.common.metadata.workflow.WorkflowTask;
+import com.netflix.conductor.proto.TaskPb;
+import com.netflix.conductor.proto.TaskResultPb;
 import com.netflix.conductor.proto.WorkflowTaskPb;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class TestProtoMapper {
   private final ProtoMapper mapper = ProtoMapper.INSTANCE;
@@ -43,4 +52,32 @@ public class TestProtoMapper {
     assertEquals(1, mapper.fromProto(taskWith1RetryCount).getRetryCount().intValue());
     assertNull(mapper.fromProto(taskWithNoRetryCount).getRetryCount());
   }
+
+  @Test
+  public void taskPayloadsAsRawBytes() {
+    final Task task = new Task();
+    task.setInputData(Map.of("key", "value", "list", List.of(1, 2)));
+    task.setOutputData(Map.of("result", Map.of("nested", true)));
+
+    final TaskPb.Task proto = ProtoMapper.RAW_BYTES_INSTANCE.toProto(task);
+    assertFalse(proto.getInputDataRaw().isEmpty());
+    assertFalse(proto.getOutputDataRaw().isEmpty());
+    assertTrue(proto.getInputDataMap().isEmpty());
+    assertTrue(proto.getOutputDataMap().isEmpty());
+
+    final Task decoded = mapper.fromProto(proto);
+    assertEquals(task.getInputData(), decoded.getInputData());
+    assertEquals(task.getOutputData(), decoded.getOutputData());
+  }
+
+  @Test
+  public void taskResultPayloadAsStructuredValues() {
+    final TaskResult taskResult = new TaskResult();
+    taskResult.getOutputData().put("key", "value");
+
+    final TaskResultPb.TaskResult proto = mapper.toProto(taskResult);
+    assertTrue(proto.getOutputDataRaw().isEmpty());
+    assertEquals(1, proto.getOutputDataCount());
+    assertEquals(taskResult.getOutputData(), ProtoMapper.RAW_BYTES_INSTANCE.fromProto(proto).getOutputData());
+  }
 }
@@ -205,6 +205,12 @@ public class MySQLExecutionDAO extends MySQLBaseDAO
         return rateLimited;
     }
 
+    @Override
+    public int getAvailableSlots(TaskDef taskDef) {
+        long current = getInProgressTaskCount(taskDef.getName());
+        return (int) Math.max(taskDef.concurrencyLimit() - current, 0);
+    }
+
     @Override
     public boolean removeTask(String taskId) {
         TaskModel task = getTask(taskId);
@@ -51,6 +51,20 @@ public class PostgresProperties {
     /** The size of the queue used for holding async indexing tasks */
     private int asyncWorkerQueueSize = 100;
 
+    /**
+     * The maximum number of tasks written in one JDBC batch (and one transaction) when creating or
+     * updating tasks in bulk. It is capped at 21845, as scheduling a batch binds 3 parameters per
+     * task in one statement, and PostgreSQL accepts at most 65535.
+     */
+    private int taskBatchSize = 100;
+
+    /**
+     * The maximum number of workflows written or removed in one JDBC batch (and one transaction)
+     * when creating or removing workflows in bulk, capped at the 65535 bind parameters that
+     * PostgreSQL accepts in a statement
+     */
+    private int workflowBatchSize = 100;
+
     public boolean getExperimentalQueueNotify() {
         return experimentalQueueNotify;
     }
@@ -146,4 +160,20 @@ public class PostgresProperties {
     public void setPollDataCacheValidityPeriod(Duration period) {
         this.pollDataCacheValidityPeriod = period;
     }
+
+    public int getTaskBatchSize() {
+        return taskBatchSize;
+    }
+
+    public void setTaskBatchSize(int taskBatchSize) {
+        this.taskBatchSize = taskBatchSize;
+    }
+
+    public int getWorkflowBatchSize() {
+        return workflowBatchSize;
+    }
+
+    public void setWorkflowBatchSize(int workflowBatchSize) {
+        this.workflowBatchSize = workflowBatchSize;
+    }
 }
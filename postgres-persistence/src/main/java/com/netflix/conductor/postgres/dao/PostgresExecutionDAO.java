@@ -26,6 +26,7 @@ import javax.sql.DataSource;
 import org.springframework.retry.support.RetryTemplate;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
 import com.netflix.conductor.core.exception.NonTransientException;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
@@ -34,6 +35,7 @@ import com.netflix.conductor.dao.RateLimitingDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
+import com.netflix.conductor.postgres.config.PostgresProperties;
 import com.netflix.conductor.postgres.util.ExecutorsUtil;
 import com.netflix.conductor.postgres.util.Query;
 
@@ -46,16 +48,51 @@ import jakarta.annotation.*;
 public class PostgresExecutionDAO extends PostgresBaseDAO
         implements ExecutionDAO, RateLimitingDAO, ConcurrentExecutionLimitDAO {
 
+    // PostgreSQL accepts at most 65535 bind parameters in a statement
+    private static final int MAX_BIND_PARAMETERS = 65535;
+    // the multi-row insert of scheduled tasks binds this many parameters per task
+    private static final int SCHEDULED_TASK_PARAMETERS = 3;
+
     private final ScheduledExecutorService scheduledExecutorService;
 
+    private final int taskBatchSize;
+    private final int workflowBatchSize;
+
     public PostgresExecutionDAO(
-            RetryTemplate retryTemplate, ObjectMapper objectMapper, DataSource dataSource) {
+            RetryTemplate retryTemplate,
+            ObjectMapper objectMapper,
+            DataSource dataSource,
+            PostgresProperties properties) {
         super(retryTemplate, objectMapper, dataSource);
+        this.taskBatchSize =
+                batchSize(
+                        "taskBatchSize",
+                        properties.getTaskBatchSize(),
+                        MAX_BIND_PARAMETERS / SCHEDULED_TASK_PARAMETERS);
+        // workflow ids are bound once per workflow, in IN lists
+        this.workflowBatchSize =
+                batchSize(
+                        "workflowBatchSize",
+                        properties.getWorkflowBatchSize(),
+                        MAX_BIND_PARAMETERS);
         this.scheduledExecutorService =
                 Executors.newSingleThreadScheduledExecutor(
                         ExecutorsUtil.newNamedThreadFactory("postgres-execution-"));
     }
 
+    /** @return the configured batch size, capped so that a batch fits in one statement */
+    private int batchSize(String property, int configured, int max) {
+        if (configured > max) {
+            logger.warn(
+                    "conductor.postgres.{} of {} exceeds the bind parameter limit, using {}",
+                    property,
+                    configured,
+                    max);
+            return max;
+        }
+        return Math.max(1, configured);
+    }
+
     private static String dateStr(Long timeInMs) {
         Date date = new Date(timeInMs);
         return dateStr(date);
@@ -128,51 +165,66 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         return tasks;
     }
 
+    private static String statusName(Enum<?> status) {
+        return status == null ? null : status.name();
+    }
+
+    /** @return the updated time projection of the workflow, 0 if it was never updated */
+    private static long updatedTime(WorkflowModel workflow) {
+        return workflow.getUpdatedTime() == null ? 0 : workflow.getUpdatedTime();
+    }
+
     private static String taskKey(TaskModel task) {
         return task.getReferenceTaskName() + "_" + task.getRetryCount();
     }
 
+    /**
+     * Tasks are written in batches of {@link PostgresProperties#getTaskBatchSize()}, each batch in
+     * a single transaction using multi-row/JDBC batched statements, so that large forks do not
+     * need several round trips per task.
+     */
     @Override
     public List<TaskModel> createTasks(List<TaskModel> tasks) {
-        List<TaskModel> created = Lists.newArrayListWithCapacity(tasks.size());
-
-        for (TaskModel task : tasks) {
-            withTransaction(
-                    connection -> {
-                        validate(task);
-
-                        task.setScheduledTime(System.currentTimeMillis());
+        tasks.forEach(this::validate);
 
-                        final String taskKey = taskKey(task);
-
-                        boolean scheduledTaskAdded = addScheduledTask(connection, task, taskKey);
-
-                        if (!scheduledTaskAdded) {
-                            logger.trace(
-                                    "Task already scheduled, skipping the run "
-                                            + task.getTaskId()
-                                            + ", ref="
-                                            + task.getReferenceTaskName()
-                                            + ", key="
-                                            + taskKey);
-                            return;
-                        }
-
-                        insertOrUpdateTaskData(connection, task);
-                        addWorkflowToTaskMapping(connection, task);
-                        addTaskInProgress(connection, task);
-                        updateTask(connection, task);
-
-                        created.add(task);
-                    });
+        List<TaskModel> created = Lists.newArrayListWithCapacity(tasks.size());
+        Set<String> workflowIds = workflowIds(tasks);
+        for (List<TaskModel> batch : Lists.partition(tasks, taskBatchSize)) {
+            // the versions are incremented once per call, along with the first batch
+            Set<String> versioned = workflowIds;
+            created.addAll(
+                    getWithRetriedTransactions(
+                            tx -> {
+                                incrementVersions(tx, versioned);
+                                return createTasks(tx, batch);
+                            }));
+            workflowIds = Collections.emptySet();
         }
-
         return created;
     }
 
     @Override
     public void updateTask(TaskModel task) {
-        withTransaction(connection -> updateTask(connection, task));
+        withTransaction(
+                connection -> {
+                    incrementVersions(connection, workflowIds(List.of(task)));
+                    updateTask(connection, task);
+                });
+    }
+
+    @Override
+    public void updateTasks(List<TaskModel> tasks) {
+        Set<String> workflowIds = workflowIds(tasks);
+        for (List<TaskModel> batch : Lists.partition(tasks, taskBatchSize)) {
+            // the versions are incremented once per call, along with the first batch
+            Set<String> versioned = workflowIds;
+            withTransaction(
+                    connection -> {
+                        incrementVersions(connection, versioned);
+                        updateTasks(connection, batch);
+                    });
+            workflowIds = Collections.emptySet();
+        }
     }
 
     /**
@@ -232,6 +284,12 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         return rateLimited;
     }
 
+    @Override
+    public int getAvailableSlots(TaskDef taskDef) {
+        long current = getInProgressTaskCount(taskDef.getName());
+        return (int) Math.max(taskDef.concurrencyLimit() - current, 0);
+    }
+
     @Override
     public boolean removeTask(String taskId) {
         TaskModel task = getTask(taskId);
@@ -245,6 +303,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
 
         withTransaction(
                 connection -> {
+                    incrementVersions(connection, workflowIds(List.of(task)));
                     removeScheduledTask(connection, task, taskKey);
                     removeWorkflowToTaskMapping(connection, task);
                     removeTaskInProgress(connection, task);
@@ -300,16 +359,106 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 }));
     }
 
+    @Override
+    public Map<String, TaskModel.Status> getTaskStatuses(String workflowId) {
+        // Rows written before the status column existed fall back to the status in json_data
+        // @formatter:off
+        String GET_TASK_STATUSES_FOR_WORKFLOW =
+                "SELECT t.task_id, COALESCE(t.status, t.json_data::jsonb ->> 'status') AS status "
+                        + "FROM workflow_to_task wt INNER JOIN task t ON t.task_id = wt.task_id "
+                        + "WHERE wt.workflow_id = ?";
+        // @formatter:on
+
+        return queryWithTransaction(
+                GET_TASK_STATUSES_FOR_WORKFLOW,
+                q ->
+                        q.addParameter(workflowId)
+                                .executeAndFetch(
+                                        rs -> {
+                                            Map<String, TaskModel.Status> statuses =
+                                                    new LinkedHashMap<>();
+                                            while (rs.next()) {
+                                                String status = rs.getString("status");
+                                                statuses.put(
+                                                        rs.getString("task_id"),
+                                                        status == null
+                                                                ? null
+                                                                : TaskModel.Status.valueOf(status));
+                                            }
+                                            return statuses;
+                                        }));
+    }
+
+    @Override
+    public WorkflowModel.Status getWorkflowStatus(String workflowId) {
+        String GET_WORKFLOW_STATUS =
+                "SELECT COALESCE(status, json_data::jsonb ->> 'status') FROM workflow WHERE workflow_id = ?";
+
+        String status =
+                queryWithTransaction(
+                        GET_WORKFLOW_STATUS,
+                        q -> q.addParameter(workflowId).executeScalar(String.class));
+        return status == null ? null : WorkflowModel.Status.valueOf(status);
+    }
+
+    @Override
+    public boolean supportsWorkflowVersions() {
+        return true;
+    }
+
+    @Override
+    public Long getWorkflowVersion(String workflowId) {
+        String GET_WORKFLOW_VERSION = "SELECT version FROM workflow WHERE workflow_id = ?";
+
+        return queryWithTransaction(
+                GET_WORKFLOW_VERSION,
+                q ->
+                        q.addParameter(workflowId)
+                                .executeAndFetch(rs -> rs.next() ? rs.getLong("version") : null));
+    }
+
     @Override
     public String createWorkflow(WorkflowModel workflow) {
         return insertOrUpdateWorkflow(workflow, false);
     }
 
+    /**
+     * Creates the workflows in batches, one transaction per batch. When a batch fails, it is rolled
+     * back and its workflows are created one by one, so that only the failing ones are not created.
+     */
+    @Override
+    public Map<String, Exception> createWorkflows(List<WorkflowModel> workflows) {
+        workflows.forEach(
+                workflow -> Preconditions.checkNotNull(workflow, "workflow object cannot be null"));
+        Map<String, Exception> failures = new HashMap<>();
+        for (List<WorkflowModel> batch : Lists.partition(workflows, workflowBatchSize)) {
+            try {
+                withTransaction(connection -> addWorkflows(connection, batch));
+            } catch (Exception e) {
+                logger.warn(
+                        "Unable to create a batch of {} workflows, creating them one by one",
+                        batch.size(),
+                        e);
+                failures.putAll(ExecutionDAO.super.createWorkflows(batch));
+            }
+        }
+        return failures;
+    }
+
     @Override
     public String updateWorkflow(WorkflowModel workflow) {
         return insertOrUpdateWorkflow(workflow, true);
     }
 
+    /**
+     * Updates the workflow and the tasks in a single transaction, so that the outcome of a decision
+     * is persisted atomically and increments the versions once.
+     */
+    @Override
+    public void persistDecision(WorkflowModel workflow, List<TaskModel> tasks) {
+        insertOrUpdateWorkflow(workflow, true, tasks);
+    }
+
     @Override
     public boolean removeWorkflow(String workflowId) {
         boolean removed = false;
@@ -332,6 +481,13 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         return removed;
     }
 
+    @Override
+    public void removeWorkflows(List<String> workflowIds) {
+        for (List<String> batch : Lists.partition(workflowIds, workflowBatchSize)) {
+            withTransaction(connection -> removeWorkflows(connection, batch));
+        }
+    }
+
     /** Scheduled executor based implementation. */
     @Override
     public boolean removeWorkflowWithExpiry(String workflowId, int ttlSeconds) {
@@ -520,6 +676,45 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         }
     }
 
+    @Override
+    public boolean supportsBulkJobs() {
+        return true;
+    }
+
+    @Override
+    public void updateBulkJobStatus(BulkJobStatus status, int ttlSeconds) {
+        String REMOVE_EXPIRED_BULK_JOBS =
+                "DELETE FROM bulk_job WHERE expires_at < CURRENT_TIMESTAMP";
+        String UPSERT_BULK_JOB =
+                "INSERT INTO bulk_job (job_id, json_data, expires_at) "
+                        + "VALUES (?, ?, CURRENT_TIMESTAMP + ? * INTERVAL '1 second') "
+                        + "ON CONFLICT (job_id) DO UPDATE SET json_data = excluded.json_data, "
+                        + "expires_at = excluded.expires_at, modified_on = CURRENT_TIMESTAMP";
+
+        withTransaction(
+                connection -> {
+                    execute(connection, REMOVE_EXPIRED_BULK_JOBS, q -> q.executeDelete());
+                    execute(
+                            connection,
+                            UPSERT_BULK_JOB,
+                            q ->
+                                    q.addParameter(status.getJobId())
+                                            .addJsonParameter(status)
+                                            .addParameter(ttlSeconds)
+                                            .executeUpdate());
+                });
+    }
+
+    @Override
+    public BulkJobStatus getBulkJobStatus(String jobId) {
+        String GET_BULK_JOB =
+                "SELECT json_data FROM bulk_job WHERE job_id = ? AND expires_at >= CURRENT_TIMESTAMP";
+
+        return queryWithTransaction(
+                GET_BULK_JOB,
+                q -> q.addParameter(jobId).executeAndFetchFirst(BulkJobStatus.class));
+    }
+
     public List<EventExecution> getEventExecutions(
             String eventHandlerName, String eventName, String messageId, int max) {
         try {
@@ -574,8 +769,17 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
     }
 
     private String insertOrUpdateWorkflow(WorkflowModel workflow, boolean update) {
+        return insertOrUpdateWorkflow(workflow, update, Collections.emptyList());
+    }
+
+    private String insertOrUpdateWorkflow(
+            WorkflowModel workflow, boolean update, List<TaskModel> tasksToUpdate) {
         Preconditions.checkNotNull(workflow, "workflow object cannot be null");
 
+        // the version of the workflow itself is incremented by its update
+        Set<String> workflowIds = workflowIds(tasksToUpdate);
+        workflowIds.remove(workflow.getWorkflowId());
+
         boolean terminal = workflow.getStatus().isTerminal();
 
         List<TaskModel> tasks = workflow.getTasks();
@@ -597,29 +801,69 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                         addPendingWorkflow(
                                 tx, workflow.getWorkflowName(), workflow.getWorkflowId());
                     }
+
+                    if (!tasksToUpdate.isEmpty()) {
+                        incrementVersions(tx, workflowIds);
+                        updateTasks(tx, tasksToUpdate);
+                    }
                 });
 
         workflow.setTasks(tasks);
         return workflow.getWorkflowId();
     }
 
-    private void updateTask(Connection connection, TaskModel task) {
-        Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+    private List<TaskModel> createTasks(Connection connection, List<TaskModel> tasks) {
+        tasks.forEach(task -> task.setScheduledTime(System.currentTimeMillis()));
 
-        if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
-            boolean inProgress =
-                    task.getStatus() != null
-                            && task.getStatus().equals(TaskModel.Status.IN_PROGRESS);
-            updateInProgressStatus(connection, task, inProgress);
+        Set<String> scheduledTaskIds = addScheduledTasks(connection, tasks);
+
+        List<TaskModel> created = new ArrayList<>(tasks.size());
+        for (TaskModel task : tasks) {
+            if (scheduledTaskIds.contains(task.getTaskId())) {
+                created.add(task);
+            } else {
+                logger.trace(
+                        "Task already scheduled, skipping the run "
+                                + task.getTaskId()
+                                + ", ref="
+                                + task.getReferenceTaskName()
+                                + ", key="
+                                + taskKey(task));
+            }
         }
 
-        insertOrUpdateTaskData(connection, task);
+        if (!created.isEmpty()) {
+            addTasksInProgress(connection, created);
+            updateTasks(connection, created);
+        }
+        return created;
+    }
 
-        if (task.getStatus() != null && task.getStatus().isTerminal()) {
-            removeTaskInProgress(connection, task);
+    private void updateTask(Connection connection, TaskModel task) {
+        updateTasks(connection, Collections.singletonList(task));
+    }
+
+    private void updateTasks(Connection connection, List<TaskModel> tasks) {
+        for (TaskModel task : tasks) {
+            Optional<TaskDef> taskDefinition = task.getTaskDefinition();
+
+            if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
+                boolean inProgress =
+                        task.getStatus() != null
+                                && task.getStatus().equals(TaskModel.Status.IN_PROGRESS);
+                updateInProgressStatus(connection, task, inProgress);
+            }
         }
 
-        addWorkflowToTaskMapping(connection, task);
+        insertOrUpdateTaskData(connection, tasks);
+
+        List<TaskModel> terminalTasks =
+                tasks.stream()
+                        .filter(task -> task.getStatus() != null && task.getStatus().isTerminal())
+                        .collect(Collectors.toList());
+        removeTasksInProgress(connection, terminalTasks);
+
+        addWorkflowToTaskMappings(connection, tasks);
     }
 
     private WorkflowModel readWorkflow(Connection connection, String workflowId) {
@@ -633,7 +877,7 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
 
     private void addWorkflow(Connection connection, WorkflowModel workflow) {
         String INSERT_WORKFLOW =
-                "INSERT INTO workflow (workflow_id, correlation_id, json_data) VALUES (?, ?, ?)";
+                "INSERT INTO workflow (workflow_id, correlation_id, status, updated_time, json_data) VALUES (?, ?, ?, ?, ?)";
 
         execute(
                 connection,
@@ -641,28 +885,234 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                 q ->
                         q.addParameter(workflow.getWorkflowId())
                                 .addParameter(workflow.getCorrelationId())
+                                .addParameter(statusName(workflow.getStatus()))
+                                .addParameter(updatedTime(workflow))
                                 .addJsonParameter(workflow)
                                 .executeUpdate());
     }
 
+    /**
+     * Inserts the given new workflows with one batched statement per table. The tasks of the
+     * workflows are not stored along with them, as in {@link #createWorkflow(WorkflowModel)}.
+     */
+    private void addWorkflows(Connection connection, List<WorkflowModel> workflows) {
+        String INSERT_WORKFLOW =
+                "INSERT INTO workflow (workflow_id, correlation_id, status, updated_time, json_data) VALUES (?, ?, ?, ?, ?)";
+        String INSERT_WORKFLOW_DEF_TO_WORKFLOW =
+                "INSERT INTO workflow_def_to_workflow (workflow_def, date_str, workflow_id) VALUES (?, ?, ?)";
+        String INSERT_PENDING_WORKFLOW =
+                "INSERT INTO workflow_pending (workflow_type, workflow_id) VALUES (?, ?) ON CONFLICT (workflow_type,workflow_id) DO NOTHING";
+
+        query(
+                connection,
+                INSERT_WORKFLOW,
+                q -> {
+                    for (WorkflowModel workflow : workflows) {
+                        List<TaskModel> tasks = workflow.getTasks();
+                        workflow.setTasks(Lists.newLinkedList());
+                        q.addParameter(workflow.getWorkflowId())
+                                .addParameter(workflow.getCorrelationId())
+                                .addParameter(statusName(workflow.getStatus()))
+                                .addParameter(updatedTime(workflow))
+                                .addJsonParameter(workflow)
+                                .addBatch();
+                        workflow.setTasks(tasks);
+                    }
+                    return q.executeBatch();
+                });
+        query(
+                connection,
+                INSERT_WORKFLOW_DEF_TO_WORKFLOW,
+                q -> {
+                    for (WorkflowModel workflow : workflows) {
+                        q.addParameter(workflow.getWorkflowName())
+                                .addParameter(dateStr(workflow.getCreateTime()))
+                                .addParameter(workflow.getWorkflowId())
+                                .addBatch();
+                    }
+                    return q.executeBatch();
+                });
+        query(
+                connection,
+                INSERT_PENDING_WORKFLOW,
+                q -> {
+                    for (WorkflowModel workflow : workflows) {
+                        if (!workflow.getStatus().isTerminal()) {
+                            q.addParameter(workflow.getWorkflowName())
+                                    .addParameter(workflow.getWorkflowId())
+                                    .addBatch();
+                        }
+                    }
+                    return q.executeBatch();
+                });
+    }
+
     private void updateWorkflow(Connection connection, WorkflowModel workflow) {
         String UPDATE_WORKFLOW =
-                "UPDATE workflow SET json_data = ?, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
+                "UPDATE workflow SET json_data = ?, status = ?, updated_time = ?, version = version + 1, modified_on = CURRENT_TIMESTAMP WHERE workflow_id = ?";
 
         execute(
                 connection,
                 UPDATE_WORKFLOW,
                 q ->
                         q.addJsonParameter(workflow)
+                                .addParameter(statusName(workflow.getStatus()))
+                                .addParameter(updatedTime(workflow))
                                 .addParameter(workflow.getWorkflowId())
                                 .executeUpdate());
     }
 
+    /** @return the sorted ids of the workflows of the given tasks */
+    private static Set<String> workflowIds(List<TaskModel> tasks) {
+        return tasks.stream()
+                .map(TaskModel::getWorkflowInstanceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Increments the versions of the given workflows. Called before the tasks are written, so that
+     * concurrent writes of the tasks of a workflow queue up on the workflow row first.
+     */
+    private void incrementVersions(Connection connection, Set<String> workflowIds) {
+        if (workflowIds.isEmpty()) {
+            return;
+        }
+        String INCREMENT_VERSION =
+                "UPDATE workflow SET version = version + 1 WHERE workflow_id = ?";
+
+        query(
+                connection,
+                INCREMENT_VERSION,
+                q -> {
+                    for (String workflowId : workflowIds) {
+                        q.addParameter(workflowId).addBatch();
+                    }
+                    return q.executeBatch();
+                });
+    }
+
     private void removeWorkflow(Connection connection, String workflowId) {
         String REMOVE_WORKFLOW = "DELETE FROM workflow WHERE workflow_id = ?";
         execute(connection, REMOVE_WORKFLOW, q -> q.addParameter(workflowId).executeDelete());
     }
 
+    /**
+     * Removes the given workflows and their tasks with one batched statement per table, instead of
+     * one transaction per workflow and per task.
+     */
+    private void removeWorkflows(Connection connection, List<String> workflowIds) {
+        String GET_WORKFLOWS =
+                String.format(
+                        "SELECT json_data FROM workflow WHERE workflow_id IN (%s)",
+                        Query.generateInBindings(workflowIds.size()));
+        List<WorkflowModel> workflows =
+                query(
+                        connection,
+                        GET_WORKFLOWS,
+                        q -> q.addParameters(workflowIds).executeAndFetch(WorkflowModel.class));
+        if (workflows.isEmpty()) {
+            return;
+        }
+
+        String GET_TASK_IDS =
+                String.format(
+                        "SELECT task_id FROM workflow_to_task WHERE workflow_id IN (%s)",
+                        Query.generateInBindings(workflows.size()));
+        List<String> taskIds =
+                query(
+                        connection,
+                        GET_TASK_IDS,
+                        q ->
+                                q.addParameters(
+                                                workflows.stream()
+                                                        .map(WorkflowModel::getWorkflowId)
+                                                        .collect(Collectors.toList()))
+                                        .executeScalarList(String.class));
+        List<TaskModel> tasks = new ArrayList<>(taskIds.size());
+        for (List<String> taskIdBatch : Lists.partition(taskIds, taskBatchSize)) {
+            tasks.addAll(getTasks(connection, taskIdBatch));
+        }
+
+        if (!tasks.isEmpty()) {
+            String REMOVE_SCHEDULED_TASK =
+                    "DELETE FROM task_scheduled WHERE workflow_id = ? AND task_key = ?";
+            query(
+                    connection,
+                    REMOVE_SCHEDULED_TASK,
+                    q -> {
+                        for (TaskModel task : tasks) {
+                            q.addParameter(task.getWorkflowInstanceId())
+                                    .addParameter(taskKey(task))
+                                    .addBatch();
+                        }
+                        return q.executeBatch();
+                    });
+            removeTasksInProgress(connection, tasks);
+            String REMOVE_WORKFLOW_TO_TASK =
+                    "DELETE FROM workflow_to_task WHERE workflow_id = ? AND task_id = ?";
+            query(
+                    connection,
+                    REMOVE_WORKFLOW_TO_TASK,
+                    q -> {
+                        for (TaskModel task : tasks) {
+                            q.addParameter(task.getWorkflowInstanceId())
+                                    .addParameter(task.getTaskId())
+                                    .addBatch();
+                        }
+                        return q.executeBatch();
+                    });
+            String REMOVE_TASK = "DELETE FROM task WHERE task_id = ?";
+            query(
+                    connection,
+                    REMOVE_TASK,
+                    q -> {
+                        for (TaskModel task : tasks) {
+                            q.addParameter(task.getTaskId()).addBatch();
+                        }
+                        return q.executeBatch();
+                    });
+        }
+
+        String REMOVE_WORKFLOW_DEF_TO_WORKFLOW =
+                "DELETE FROM workflow_def_to_workflow WHERE workflow_def = ? AND date_str = ? AND workflow_id = ?";
+        query(
+                connection,
+                REMOVE_WORKFLOW_DEF_TO_WORKFLOW,
+                q -> {
+                    for (WorkflowModel workflow : workflows) {
+                        q.addParameter(workflow.getWorkflowName())
+                                .addParameter(dateStr(workflow.getCreateTime()))
+                                .addParameter(workflow.getWorkflowId())
+                                .addBatch();
+                    }
+                    return q.executeBatch();
+                });
+        String REMOVE_PENDING_WORKFLOW =
+                "DELETE FROM workflow_pending WHERE workflow_type = ? AND workflow_id = ?";
+        query(
+                connection,
+                REMOVE_PENDING_WORKFLOW,
+                q -> {
+                    for (WorkflowModel workflow : workflows) {
+                        q.addParameter(workflow.getWorkflowName())
+                                .addParameter(workflow.getWorkflowId())
+                                .addBatch();
+                    }
+                    return q.executeBatch();
+                });
+        String REMOVE_WORKFLOW = "DELETE FROM workflow WHERE workflow_id = ?";
+        query(
+                connection,
+                REMOVE_WORKFLOW,
+                q -> {
+                    for (WorkflowModel workflow : workflows) {
+                        q.addParameter(workflow.getWorkflowId()).addBatch();
+                    }
+                    return q.executeBatch();
+                });
+    }
+
     private void addPendingWorkflow(Connection connection, String workflowType, String workflowId) {
 
         String EXISTS_PENDING_WORKFLOW =
@@ -696,29 +1146,58 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                 q -> q.addParameter(workflowType).addParameter(workflowId).executeDelete());
     }
 
-    private void insertOrUpdateTaskData(Connection connection, TaskModel task) {
+    private void insertOrUpdateTaskData(Connection connection, List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
         /*
          * Most times the row will be updated so let's try the update first. This used to be an 'INSERT/ON CONFLICT do update' sql statement. The problem with that
          * is that if we try the INSERT first, the sequence will be increased even if the ON CONFLICT happens.
          */
         String UPDATE_TASK =
-                "UPDATE task SET json_data=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
-        int rowsUpdated =
+                "UPDATE task SET json_data=?, status=?, task_type=?, update_time=?, modified_on=CURRENT_TIMESTAMP WHERE task_id=?";
+        int[] rowsUpdated =
                 query(
                         connection,
                         UPDATE_TASK,
-                        q ->
+                        q -> {
+                            for (TaskModel task : tasks) {
                                 q.addJsonParameter(task)
+                                        .addParameter(statusName(task.getStatus()))
+                                        .addParameter(task.getTaskType())
+                                        .addParameter(task.getUpdateTime())
                                         .addParameter(task.getTaskId())
-                                        .executeUpdate());
+                                        .addBatch();
+                            }
+                            return q.executeBatch();
+                        });
+
+        List<TaskModel> tasksToInsert = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (rowsUpdated[i] == 0) {
+                tasksToInsert.add(tasks.get(i));
+            }
+        }
 
-        if (rowsUpdated == 0) {
+        if (!tasksToInsert.isEmpty()) {
             String INSERT_TASK =
-                    "INSERT INTO task (task_id, json_data, modified_on) VALUES (?, ?, CURRENT_TIMESTAMP) ON CONFLICT (task_id) DO UPDATE SET json_data=excluded.json_data, modified_on=excluded.modified_on";
-            execute(
+                    "INSERT INTO task (task_id, json_data, status, task_type, update_time, modified_on) VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) "
+                            + "ON CONFLICT (task_id) DO UPDATE SET json_data=excluded.json_data, status=excluded.status, "
+                            + "task_type=excluded.task_type, update_time=excluded.update_time, modified_on=excluded.modified_on";
+            query(
                     connection,
                     INSERT_TASK,
-                    q -> q.addParameter(task.getTaskId()).addJsonParameter(task).executeUpdate());
+                    q -> {
+                        for (TaskModel task : tasksToInsert) {
+                            q.addParameter(task.getTaskId())
+                                    .addJsonParameter(task)
+                                    .addParameter(statusName(task.getStatus()))
+                                    .addParameter(task.getTaskType())
+                                    .addParameter(task.getUpdateTime())
+                                    .addBatch();
+                        }
+                        return q.executeBatch();
+                    });
         }
     }
 
@@ -727,32 +1206,24 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
         execute(connection, REMOVE_TASK, q -> q.addParameter(task.getTaskId()).executeDelete());
     }
 
-    private void addWorkflowToTaskMapping(Connection connection, TaskModel task) {
-
-        String EXISTS_WORKFLOW_TO_TASK =
-                "SELECT EXISTS(SELECT 1 FROM workflow_to_task WHERE workflow_id = ? AND task_id = ?)";
-
-        boolean exists =
-                query(
-                        connection,
-                        EXISTS_WORKFLOW_TO_TASK,
-                        q ->
-                                q.addParameter(task.getWorkflowInstanceId())
-                                        .addParameter(task.getTaskId())
-                                        .exists());
-
-        if (!exists) {
-            String INSERT_WORKFLOW_TO_TASK =
-                    "INSERT INTO workflow_to_task (workflow_id, task_id) VALUES (?, ?) ON CONFLICT (workflow_id,task_id) DO NOTHING";
-
-            execute(
-                    connection,
-                    INSERT_WORKFLOW_TO_TASK,
-                    q ->
-                            q.addParameter(task.getWorkflowInstanceId())
-                                    .addParameter(task.getTaskId())
-                                    .executeUpdate());
+    private void addWorkflowToTaskMappings(Connection connection, List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
         }
+        String INSERT_WORKFLOW_TO_TASK =
+                "INSERT INTO workflow_to_task (workflow_id, task_id) VALUES (?, ?) ON CONFLICT (workflow_id,task_id) DO NOTHING";
+
+        query(
+                connection,
+                INSERT_WORKFLOW_TO_TASK,
+                q -> {
+                    for (TaskModel task : tasks) {
+                        q.addParameter(task.getWorkflowInstanceId())
+                                .addParameter(task.getTaskId())
+                                .addBatch();
+                    }
+                    return q.executeBatch();
+                });
     }
 
     private void removeWorkflowToTaskMapping(Connection connection, TaskModel task) {
@@ -796,38 +1267,30 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeUpdate());
     }
 
+    /**
+     * Inserts the scheduled task keys for the given tasks in a single multi-row statement.
+     *
+     * @return the ids of the tasks whose key was not already scheduled
+     */
     @VisibleForTesting
-    boolean addScheduledTask(Connection connection, TaskModel task, String taskKey) {
-
-        final String EXISTS_SCHEDULED_TASK =
-                "SELECT EXISTS(SELECT 1 FROM task_scheduled where workflow_id = ? AND task_key = ?)";
-
-        boolean exists =
-                query(
-                        connection,
-                        EXISTS_SCHEDULED_TASK,
-                        q ->
-                                q.addParameter(task.getWorkflowInstanceId())
-                                        .addParameter(taskKey)
-                                        .exists());
-
-        if (!exists) {
-            final String INSERT_IGNORE_SCHEDULED_TASK =
-                    "INSERT INTO task_scheduled (workflow_id, task_key, task_id) VALUES (?, ?, ?) ON CONFLICT (workflow_id,task_key) DO NOTHING";
+    Set<String> addScheduledTasks(Connection connection, List<TaskModel> tasks) {
+        final String INSERT_IGNORE_SCHEDULED_TASKS =
+                String.format(
+                        "INSERT INTO task_scheduled (workflow_id, task_key, task_id) VALUES %s "
+                                + "ON CONFLICT (workflow_id,task_key) DO NOTHING RETURNING task_id",
+                        Query.generateValuesBindings(tasks.size(), SCHEDULED_TASK_PARAMETERS));
 
-            int count =
-                    query(
-                            connection,
-                            INSERT_IGNORE_SCHEDULED_TASK,
-                            q ->
-                                    q.addParameter(task.getWorkflowInstanceId())
-                                            .addParameter(taskKey)
-                                            .addParameter(task.getTaskId())
-                                            .executeUpdate());
-            return count > 0;
-        } else {
-            return false;
-        }
+        return query(
+                connection,
+                INSERT_IGNORE_SCHEDULED_TASKS,
+                q -> {
+                    for (TaskModel task : tasks) {
+                        q.addParameter(task.getWorkflowInstanceId())
+                                .addParameter(taskKey(task))
+                                .addParameter(task.getTaskId());
+                    }
+                    return new HashSet<>(q.executeScalarList(String.class));
+                });
     }
 
     private void removeScheduledTask(Connection connection, TaskModel task, String taskKey) {
@@ -842,32 +1305,23 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeDelete());
     }
 
-    private void addTaskInProgress(Connection connection, TaskModel task) {
-        String EXISTS_IN_PROGRESS_TASK =
-                "SELECT EXISTS(SELECT 1 FROM task_in_progress WHERE task_def_name = ? AND task_id = ?)";
-
-        boolean exists =
-                query(
-                        connection,
-                        EXISTS_IN_PROGRESS_TASK,
-                        q ->
-                                q.addParameter(task.getTaskDefName())
-                                        .addParameter(task.getTaskId())
-                                        .exists());
-
-        if (!exists) {
-            String INSERT_IN_PROGRESS_TASK =
-                    "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES (?, ?, ?)";
+    private void addTasksInProgress(Connection connection, List<TaskModel> tasks) {
+        String INSERT_IN_PROGRESS_TASK =
+                "INSERT INTO task_in_progress (task_def_name, task_id, workflow_id) VALUES (?, ?, ?) "
+                        + "ON CONFLICT (task_def_name,task_id) DO NOTHING";
 
-            execute(
-                    connection,
-                    INSERT_IN_PROGRESS_TASK,
-                    q ->
-                            q.addParameter(task.getTaskDefName())
-                                    .addParameter(task.getTaskId())
-                                    .addParameter(task.getWorkflowInstanceId())
-                                    .executeUpdate());
-        }
+        query(
+                connection,
+                INSERT_IN_PROGRESS_TASK,
+                q -> {
+                    for (TaskModel task : tasks) {
+                        q.addParameter(task.getTaskDefName())
+                                .addParameter(task.getTaskId())
+                                .addParameter(task.getWorkflowInstanceId())
+                                .addBatch();
+                    }
+                    return q.executeBatch();
+                });
     }
 
     private void removeTaskInProgress(Connection connection, TaskModel task) {
@@ -883,6 +1337,26 @@ public class PostgresExecutionDAO extends PostgresBaseDAO
                                 .executeUpdate());
     }
 
+    private void removeTasksInProgress(Connection connection, List<TaskModel> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        String REMOVE_IN_PROGRESS_TASK =
+                "DELETE FROM task_in_progress WHERE task_def_name = ? AND task_id = ?";
+
+        query(
+                connection,
+                REMOVE_IN_PROGRESS_TASK,
+                q -> {
+                    for (TaskModel task : tasks) {
+                        q.addParameter(task.getTaskDefName())
+                                .addParameter(task.getTaskId())
+                                .addBatch();
+                    }
+                    return q.executeBatch();
+                });
+    }
+
     private void updateInProgressStatus(Connection connection, TaskModel task, boolean inProgress) {
         String UPDATE_IN_PROGRESS_TASK_STATUS =
                 "UPDATE task_in_progress SET in_progress_status = ?, modified_on = CURRENT_TIMESTAMP "
@@ -273,6 +273,12 @@ public class PostgresIndexDAO extends PostgresBaseDAO implements IndexDAO {
         return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    public Map<String, Exception> updateWorkflows(Map<String, Map<String, Object>> updates) {
+        logger.info("updateWorkflows is not supported for postgres indexing");
+        return Collections.emptyMap();
+    }
+
     @Override
     public void removeTask(String workflowId, String taskId) {
         String REMOVE_TASK_SQL =
@@ -300,6 +306,13 @@ public class PostgresIndexDAO extends PostgresBaseDAO implements IndexDAO {
         return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    public Map<String, Exception> updateTasks(
+            Map<String, String> taskWorkflowIds, String[] keys, Object[] values) {
+        logger.info("updateTasks is not supported for postgres indexing");
+        return Collections.emptyMap();
+    }
+
     @Override
     public String get(String workflowInstanceId, String key) {
         logger.info("get is not supported for postgres indexing");
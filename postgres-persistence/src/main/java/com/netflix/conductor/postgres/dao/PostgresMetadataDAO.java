@@ -239,6 +239,33 @@ public class PostgresMetadataDAO extends PostgresBaseDAO implements MetadataDAO,
                 q -> q.addParameter(name).executeAndFetch(WorkflowDef.class));
     }
 
+    @Override
+    public boolean supportsWorkflowDefSnapshots() {
+        return true;
+    }
+
+    @Override
+    public void storeWorkflowDefSnapshot(String hash, WorkflowDef def) {
+        final String INSERT_WORKFLOW_DEF_SNAPSHOT_QUERY =
+                "INSERT INTO meta_workflow_def_snapshot (hash, json_data) VALUES (?, ?) "
+                        + "ON CONFLICT (hash) DO NOTHING";
+
+        executeWithTransaction(
+                INSERT_WORKFLOW_DEF_SNAPSHOT_QUERY,
+                q -> q.addParameter(hash).addJsonParameter(def).executeUpdate());
+    }
+
+    @Override
+    public Optional<WorkflowDef> getWorkflowDefSnapshot(String hash) {
+        final String GET_WORKFLOW_DEF_SNAPSHOT_QUERY =
+                "SELECT json_data FROM meta_workflow_def_snapshot WHERE hash = ?";
+
+        return Optional.ofNullable(
+                queryWithTransaction(
+                        GET_WORKFLOW_DEF_SNAPSHOT_QUERY,
+                        q -> q.addParameter(hash).executeAndFetchFirst(WorkflowDef.class)));
+    }
+
     @Override
     public void addEventHandler(EventHandler eventHandler) {
         Preconditions.checkNotNull(eventHandler.getName(), "EventHandler name cannot be null");
@@ -85,6 +85,19 @@ public class Query implements AutoCloseable {
         return String.join(", ", questions);
     }
 
+    /**
+     * Generate a String with {@literal rows} groups of {@literal columns} number of '?'
+     * placeholders, for multi-row {@code VALUES} clauses.
+     *
+     * @param rows The number of rows to generate bindings for.
+     * @param columns The number of placeholders in each row.
+     * @return A comma separated string of {@code (?, ?)} groups.
+     */
+    public static String generateValuesBindings(int rows, int columns) {
+        String row = "(" + generateInBindings(columns) + ")";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+
     public Query addParameter(final String value) {
         return addParameterInternal((ps, idx) -> ps.setString(idx, value));
     }
@@ -289,6 +302,50 @@ public class Query implements AutoCloseable {
         }
     }
 
+    /**
+     * Add the parameters bound so far as one command of the {@link PreparedStatement} batch and
+     * reset the parameter index, so the next set of parameters can be bound.
+     *
+     * @return {@literal this}
+     * @throws NonTransientException If any SQL errors occur.
+     */
+    public Query addBatch() {
+        try {
+            this.statement.addBatch();
+            this.index.set(1);
+            return this;
+        } catch (SQLException ex) {
+            throw new NonTransientException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Execute all commands added via {@link #addBatch()} in a single round trip.
+     *
+     * @return The result of {@link PreparedStatement#executeBatch()}, one update count per command.
+     * @throws NonTransientException If any SQL errors occur.
+     */
+    public int[] executeBatch() {
+        try {
+
+            Long start = null;
+            if (logger.isTraceEnabled()) {
+                start = System.currentTimeMillis();
+            }
+
+            final int[] val = this.statement.executeBatch();
+
+            if (null != start && logger.isTraceEnabled()) {
+                long end = System.currentTimeMillis();
+                logger.trace("[{}ms] batch of {}: {}", (end - start), val.length, rawQuery);
+            }
+
+            return val;
+        } catch (SQLException ex) {
+            throw new NonTransientException(ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Execute a query from the PreparedStatement and return the ResultSet.
      *
@@ -0,0 +1,7 @@
+-- Status/type projections extracted from json_data so that status-only reads can skip deserializing the full document.
+-- Rows written before this migration keep NULL in these columns; readers fall back to json_data for them.
+ALTER TABLE task ADD COLUMN IF NOT EXISTS status VARCHAR(32);
+ALTER TABLE task ADD COLUMN IF NOT EXISTS task_type VARCHAR(255);
+ALTER TABLE task ADD COLUMN IF NOT EXISTS update_time BIGINT;
+
+ALTER TABLE workflow ADD COLUMN IF NOT EXISTS status VARCHAR(32);
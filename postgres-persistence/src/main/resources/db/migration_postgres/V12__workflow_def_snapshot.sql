@@ -0,0 +1,7 @@
+-- Immutable workflow definition snapshots, keyed by the content hash stored on workflows that persist their definition by reference.
+CREATE TABLE IF NOT EXISTS meta_workflow_def_snapshot (
+  hash varchar(64) NOT NULL,
+  created_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  json_data TEXT NOT NULL,
+  PRIMARY KEY (hash)
+);
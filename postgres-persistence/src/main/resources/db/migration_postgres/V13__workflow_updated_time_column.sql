@@ -0,0 +1,3 @@
+-- Projection of the workflow updatedTime, so that the version check of a decide can skip parsing json_data.
+-- 0 stands for a workflow without updatedTime. Rows written before this migration keep NULL; readers fall back to json_data for them.
+ALTER TABLE workflow ADD COLUMN IF NOT EXISTS updated_time BIGINT;
@@ -0,0 +1,3 @@
+-- Counter incremented in the same transaction as every write of the workflow or of its tasks, so that a decide can check
+-- whether its cached snapshot of the workflow is still current without reading the workflow or its tasks.
+ALTER TABLE workflow ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
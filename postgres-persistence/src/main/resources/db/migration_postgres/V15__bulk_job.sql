@@ -0,0 +1,11 @@
+-- Status of the asynchronous bulk jobs, so that any server can report the progress of a job run by another one.
+-- Rows are kept until expires_at, expired rows are deleted when a job status is written.
+CREATE TABLE IF NOT EXISTS bulk_job (
+  job_id varchar(255) NOT NULL,
+  created_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  modified_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  expires_at TIMESTAMP NOT NULL,
+  json_data TEXT NOT NULL,
+  PRIMARY KEY (job_id)
+);
+CREATE INDEX IF NOT EXISTS bulk_job_expires_at ON bulk_job (expires_at);
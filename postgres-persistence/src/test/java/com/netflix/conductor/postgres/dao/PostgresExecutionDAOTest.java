@@ -12,7 +12,11 @@
  */
 package com.netflix.conductor.postgres.dao;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import org.flywaydb.core.Flyway;
 import org.junit.Before;
@@ -29,6 +33,7 @@ import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
 import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
 import com.netflix.conductor.dao.ExecutionDAO;
 import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.model.TaskModel;
 import com.netflix.conductor.model.WorkflowModel;
 import com.netflix.conductor.postgres.config.PostgresConfiguration;
 
@@ -36,6 +41,7 @@ import com.google.common.collect.Iterables;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 @ContextConfiguration(
         classes = {
@@ -91,6 +97,27 @@ public class PostgresExecutionDAOTest extends ExecutionDAOTest {
         assertEquals(0, getExecutionDAO().getPendingWorkflowCount("workflow"));
     }
 
+    @Test
+    public void testCreateWorkflowsWithAFailure() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("create_workflows_test");
+        WorkflowModel existing = createTestWorkflow();
+        existing.setWorkflowDefinition(def);
+        getExecutionDAO().createWorkflow(existing);
+
+        WorkflowModel first = createTestWorkflow();
+        first.setWorkflowDefinition(def);
+        WorkflowModel second = createTestWorkflow();
+        second.setWorkflowDefinition(def);
+        Map<String, Exception> failures =
+                getExecutionDAO().createWorkflows(List.of(first, existing, second));
+
+        // the batch fails on the existing workflow, but the other workflows are still created
+        assertEquals(Set.of(existing.getWorkflowId()), failures.keySet());
+        assertNotNull(getExecutionDAO().getWorkflow(first.getWorkflowId(), false));
+        assertNotNull(getExecutionDAO().getWorkflow(second.getWorkflowId(), false));
+    }
+
     @Test
     public void testRemoveWorkflowWithExpiry() {
         WorkflowDef def = new WorkflowDef();
@@ -107,6 +134,95 @@ public class PostgresExecutionDAOTest extends ExecutionDAOTest {
         Mockito.verify(execDao, Mockito.timeout(10 * 1000)).removeWorkflow(Iterables.getLast(ids));
     }
 
+    @Test
+    public void testTaskAndWorkflowStatusProjections() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("status_projection_test");
+
+        WorkflowModel workflow = createTestWorkflow();
+        workflow.setWorkflowDefinition(def);
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.setTasks(List.of());
+        String workflowId = getExecutionDAO().createWorkflow(workflow);
+
+        List<TaskModel> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskModel task = new TaskModel();
+            task.setScheduledTime(1L);
+            task.setSeq(i + 1);
+            task.setTaskId(UUID.randomUUID().toString());
+            task.setReferenceTaskName("t" + i);
+            task.setWorkflowInstanceId(workflowId);
+            task.setTaskDefName("task" + i);
+            task.setTaskType("task" + i);
+            task.setStatus(TaskModel.Status.SCHEDULED);
+            tasks.add(task);
+        }
+        getExecutionDAO().createTasks(tasks);
+
+        tasks.get(1).setStatus(TaskModel.Status.COMPLETED);
+        getExecutionDAO().updateTask(tasks.get(1));
+
+        Map<String, TaskModel.Status> statuses = getExecutionDAO().getTaskStatuses(workflowId);
+        assertEquals(3, statuses.size());
+        assertEquals(TaskModel.Status.SCHEDULED, statuses.get(tasks.get(0).getTaskId()));
+        assertEquals(TaskModel.Status.COMPLETED, statuses.get(tasks.get(1).getTaskId()));
+        assertEquals(TaskModel.Status.SCHEDULED, statuses.get(tasks.get(2).getTaskId()));
+
+        assertEquals(
+                WorkflowModel.Status.RUNNING, getExecutionDAO().getWorkflowStatus(workflowId));
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+        getExecutionDAO().updateWorkflow(workflow);
+        assertEquals(
+                WorkflowModel.Status.COMPLETED, getExecutionDAO().getWorkflowStatus(workflowId));
+    }
+
+    @Test
+    public void testWorkflowVersion() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("workflow_version_test");
+
+        WorkflowModel workflow = createTestWorkflow();
+        workflow.setWorkflowDefinition(def);
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.setUpdatedTime(System.currentTimeMillis());
+        workflow.setTasks(new ArrayList<>());
+        String workflowId = getExecutionDAO().createWorkflow(workflow);
+
+        TaskModel task = new TaskModel();
+        task.setScheduledTime(1L);
+        task.setSeq(1);
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setReferenceTaskName("t0");
+        task.setWorkflowInstanceId(workflowId);
+        task.setTaskDefName("task0");
+        task.setTaskType("task0");
+        task.setStatus(TaskModel.Status.SCHEDULED);
+        assertEquals(Long.valueOf(0), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        // every write of the workflow or its tasks increments the version exactly once
+        workflow.getTasks().addAll(getExecutionDAO().createTasks(List.of(task)));
+        assertEquals(Long.valueOf(1), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        task.setStatus(TaskModel.Status.COMPLETED);
+        getExecutionDAO().updateTask(task);
+        assertEquals(Long.valueOf(2), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        getExecutionDAO().updateTasks(List.of(task));
+        assertEquals(Long.valueOf(3), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        getExecutionDAO().updateWorkflow(workflow);
+        assertEquals(Long.valueOf(4), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        getExecutionDAO().persistDecision(workflow, List.of(task));
+        assertEquals(Long.valueOf(5), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        getExecutionDAO().removeTask(task.getTaskId());
+        assertEquals(Long.valueOf(6), getExecutionDAO().getWorkflowVersion(workflowId));
+
+        assertNull(getExecutionDAO().getWorkflowVersion(UUID.randomUUID().toString()));
+    }
+
     @Override
     public ExecutionDAO getExecutionDAO() {
         return executionDAO;
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.postgres.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.postgres.config.PostgresConfiguration;
+import com.netflix.conductor.postgres.config.PostgresProperties;
+import com.netflix.conductor.postgres.dao.PostgresExecutionDAO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares task creation/update with one task per batch (the previous per-task behaviour) against
+ * the default batch size, for a fork-sized number of tasks within one workflow.
+ */
+@ContextConfiguration(
+        classes = {
+            TestObjectMapperConfiguration.class,
+            PostgresConfiguration.class,
+            FlywayAutoConfiguration.class
+        })
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.flyway.clean-disabled=false")
+public class PostgresExecutionDAOBatchPerformanceTest {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PostgresExecutionDAOBatchPerformanceTest.class);
+
+    private static final int TASK_COUNT = 2000;
+
+    @Autowired private DataSource dataSource;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("postgresRetryTemplate")
+    private RetryTemplate retryTemplate;
+
+    @Autowired Flyway flyway;
+
+    @Before
+    public void before() {
+        flyway.migrate();
+    }
+
+    @Test
+    public void testBatchedTaskWrites() {
+        long unbatched = createAndUpdateTasks(1);
+        long batched = createAndUpdateTasks(new PostgresProperties().getTaskBatchSize());
+
+        LOGGER.info(
+                "Created and updated {} tasks: batch size 1 took {}ms, default batch size took {}ms",
+                TASK_COUNT,
+                unbatched,
+                batched);
+    }
+
+    private long createAndUpdateTasks(int batchSize) {
+        PostgresProperties properties = new PostgresProperties();
+        properties.setTaskBatchSize(batchSize);
+        PostgresExecutionDAO executionDAO =
+                new PostgresExecutionDAO(retryTemplate, objectMapper, dataSource, properties);
+
+        String workflowId = UUID.randomUUID().toString();
+        List<TaskModel> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            TaskModel task = new TaskModel();
+            task.setTaskId(UUID.randomUUID().toString());
+            task.setWorkflowInstanceId(workflowId);
+            task.setReferenceTaskName("fork_branch_" + i);
+            task.setTaskDefName("fork_branch_task");
+            task.setTaskType("fork_branch_task");
+            task.setSeq(i + 1);
+            task.setStatus(TaskModel.Status.SCHEDULED);
+            tasks.add(task);
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            List<TaskModel> created = executionDAO.createTasks(tasks);
+            created.forEach(task -> task.setStatus(TaskModel.Status.COMPLETED));
+            executionDAO.updateTasks(created);
+            long elapsed = System.currentTimeMillis() - start;
+
+            assertEquals(TASK_COUNT, created.size());
+            assertEquals(TASK_COUNT, executionDAO.getTasksForWorkflow(workflowId).size());
+            assertEquals(0, executionDAO.getPendingTasksForTaskType("fork_branch_task").size());
+            return elapsed;
+        } finally {
+            executionDAO.destroy();
+        }
+    }
+}
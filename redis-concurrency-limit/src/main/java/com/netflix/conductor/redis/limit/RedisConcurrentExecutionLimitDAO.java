@@ -12,6 +12,7 @@
  */
 package com.netflix.conductor.redis.limit;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.commons.lang3.ObjectUtils;
@@ -20,6 +21,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.annotations.Trace;
@@ -41,6 +44,18 @@ public class RedisConcurrentExecutionLimitDAO implements ConcurrentExecutionLimi
             LoggerFactory.getLogger(RedisConcurrentExecutionLimitDAO.class);
     private static final String CLASS_NAME = RedisConcurrentExecutionLimitDAO.class.getSimpleName();
 
+    /**
+     * Returns 1 when the task id ARGV[1] is not in the set KEYS[1] and the set holds ARGV[2] or
+     * more task ids, 0 otherwise.
+     */
+    private static final RedisScript<Long> EXCEEDS_LIMIT_SCRIPT =
+            new DefaultRedisScript<>(
+                    "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 0 end\n"
+                            + "if redis.call('SCARD', KEYS[1]) >= tonumber(ARGV[2]) then return 1"
+                            + " end\n"
+                            + "return 0",
+                    Long.class);
+
     private final StringRedisTemplate stringRedisTemplate;
     private final RedisConcurrentExecutionLimitProperties properties;
 
@@ -110,7 +125,7 @@ public class RedisConcurrentExecutionLimitDAO implements ConcurrentExecutionLimi
 
     /**
      * Checks if the {@link TaskModel} identifier is in the Redis Set and size of the set is more
-     * than the {@link TaskDef#concurrencyLimit()}.
+     * than the {@link TaskDef#concurrencyLimit()}. Both are read atomically by a single Lua script.
      *
      * @param task The {@link TaskModel} object.
      * @return true if the task id is not in the set and size of the set is more than the {@link
@@ -134,21 +149,23 @@ public class RedisConcurrentExecutionLimitDAO implements ConcurrentExecutionLimi
             String taskDefName = task.getTaskDefName();
             String keyName = createKeyName(taskDefName);
 
-            boolean isMember =
+            long exceedsLimit =
                     ObjectUtils.defaultIfNull(
-                            stringRedisTemplate.opsForSet().isMember(keyName, taskId), false);
-            long size =
-                    ObjectUtils.defaultIfNull(stringRedisTemplate.opsForSet().size(keyName), -1L);
+                            stringRedisTemplate.execute(
+                                    EXCEEDS_LIMIT_SCRIPT,
+                                    List.of(keyName),
+                                    taskId,
+                                    String.valueOf(limit)),
+                            0L);
 
             LOGGER.debug(
-                    "Task: {} is {} of {}, size: {} and limit: {}",
+                    "Task: {} {} the limit: {} of {}",
                     taskId,
-                    isMember ? "a member" : "not a member",
-                    keyName,
-                    size,
-                    limit);
+                    exceedsLimit == 1 ? "exceeds" : "is within",
+                    limit,
+                    keyName);
 
-            return !isMember && size >= limit;
+            return exceedsLimit == 1;
         } catch (Exception e) {
             Monitors.error(CLASS_NAME, "exceedsLimit");
             String errorMsg =
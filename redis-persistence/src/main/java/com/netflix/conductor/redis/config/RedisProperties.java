@@ -112,6 +112,27 @@ public class RedisProperties {
 
     private String username = null;
 
+    /**
+     * The number of rate limit permits a node reserves from redis at a time and hands out locally.
+     * Values of 1 or less reserve a permit on every rate limit check.
+     */
+    private int rateLimitPermitLeaseSize = 1;
+
+    /**
+     * How long the rate limit permits reserved at a time can be handed out for. They are counted
+     * in the rate limit window from the end of that period, so a shorter period uses the limit
+     * more fully. It is capped by the rate limit frequency of the task definition.
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration rateLimitPermitLeaseDuration = Duration.ofSeconds(1);
+
+    /**
+     * Whether the keys of a workflow and of its tasks are hash tagged with the workflow id, so that
+     * they are stored on the same node of a cluster and can be read and written together. Only
+     * enable it on an empty keyspace, workflows stored with the other layout are not found.
+     */
+    private boolean workflowKeyHashTagsEnabled = false;
+
     public int getNumTestsPerEvictionRun() {
         return numTestsPerEvictionRun;
     }
@@ -303,4 +324,28 @@ public class RedisProperties {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    public int getRateLimitPermitLeaseSize() {
+        return rateLimitPermitLeaseSize;
+    }
+
+    public void setRateLimitPermitLeaseSize(int rateLimitPermitLeaseSize) {
+        this.rateLimitPermitLeaseSize = rateLimitPermitLeaseSize;
+    }
+
+    public Duration getRateLimitPermitLeaseDuration() {
+        return rateLimitPermitLeaseDuration;
+    }
+
+    public void setRateLimitPermitLeaseDuration(Duration rateLimitPermitLeaseDuration) {
+        this.rateLimitPermitLeaseDuration = rateLimitPermitLeaseDuration;
+    }
+
+    public boolean isWorkflowKeyHashTagsEnabled() {
+        return workflowKeyHashTagsEnabled;
+    }
+
+    public void setWorkflowKeyHashTagsEnabled(boolean workflowKeyHashTagsEnabled) {
+        this.workflowKeyHashTagsEnabled = workflowKeyHashTagsEnabled;
+    }
 }
@@ -26,7 +26,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class BaseDynoDAO {
 
-    private static final String NAMESPACE_SEP = ".";
+    static final String NAMESPACE_SEP = ".";
     private static final String DAO_NAME = "redis";
     private final String domain;
     private final RedisProperties properties;
@@ -13,6 +13,7 @@
 package com.netflix.conductor.redis.dao;
 
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,6 +24,7 @@ import org.springframework.stereotype.Component;
 
 import com.netflix.conductor.common.metadata.events.EventExecution;
 import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.core.config.ConductorProperties;
 import com.netflix.conductor.core.exception.TransientException;
 import com.netflix.conductor.dao.ConcurrentExecutionLimitDAO;
@@ -37,6 +39,9 @@ import com.netflix.conductor.redis.jedis.JedisProxy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import redis.clients.jedis.Transaction;
 
 @Component
 @Conditional(AnyRedisCondition.class)
@@ -58,7 +63,74 @@ public class RedisExecutionDAO extends BaseDynoDAO
     private static final String WORKFLOW_DEF_TO_WORKFLOWS = "WORKFLOW_DEF_TO_WORKFLOWS";
     private static final String CORR_ID_TO_WORKFLOWS = "CORR_ID_TO_WORKFLOWS";
     private static final String EVENT_EXECUTION = "EVENT_EXECUTION";
+    private static final String TASK_TO_WORKFLOW = "TASK_TO_WORKFLOW";
+    private static final String BULK_JOB = "BULK_JOB";
+
+    /**
+     * Adds the tasks to the scheduled tasks hash KEYS[1] and, if they were not already scheduled,
+     * to the set of tasks of the workflow KEYS[2] and writes their payload to their key, ARGV[1]
+     * followed by the task id. The following ARGV hold the scheduled task key, the id and the
+     * payload of each task, and the script returns 1 for each task that was added, 0 otherwise.
+     *
+     * <p>The task keys are built by the script rather than declared in KEYS, so a cluster proxy
+     * cannot route the script by them. They have the hash tag of the workflow, so they are in the
+     * slot of KEYS[1].
+     */
+    private static final String SCHEDULE_TASKS_SCRIPT =
+            "local added = {}\n"
+                    + "for i = 2, #ARGV, 3 do\n"
+                    + "  local new = redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])\n"
+                    + "  if new == 1 then\n"
+                    + "    redis.call('SADD', KEYS[2], ARGV[i + 1])\n"
+                    + "    redis.call('SET', ARGV[1] .. ARGV[i + 1], ARGV[i + 2])\n"
+                    + "  end\n"
+                    + "  table.insert(added, new)\n"
+                    + "end\n"
+                    + "return added";
+
+    /**
+     * Returns the workflow KEYS[1], followed by the tasks of the set KEYS[2]. The key of a task is
+     * ARGV[1] followed by the task id, it is built by the script rather than declared in KEYS, but
+     * it has the hash tag of the workflow so it is on the same node.
+     */
+    private static final String READ_WORKFLOW_SCRIPT =
+            "local result = {redis.call('GET', KEYS[1])}\n"
+                    + "for _, taskId in ipairs(redis.call('SMEMBERS', KEYS[2])) do\n"
+                    + "  local task = redis.call('GET', ARGV[1] .. taskId)\n"
+                    + "  if task then table.insert(result, task) end\n"
+                    + "end\n"
+                    + "return result";
+
+    /**
+     * Writes the workflow ARGV[1] to KEYS[1], and each task to its key, ARGV[2] followed by the
+     * task id, adding the task to the set of tasks of the workflow KEYS[2]. The following ARGV hold
+     * the id and the payload of each task, and the script returns the ids of the tasks that were
+     * added to the set. As with {@link #SCHEDULE_TASKS_SCRIPT}, the task keys are not declared in
+     * KEYS.
+     */
+    private static final String PERSIST_DECISION_SCRIPT =
+            "local added = {}\n"
+                    + "for i = 3, #ARGV, 2 do\n"
+                    + "  redis.call('SET', ARGV[2] .. ARGV[i], ARGV[i + 1])\n"
+                    + "  if redis.call('SADD', KEYS[2], ARGV[i]) == 1 then\n"
+                    + "    table.insert(added, ARGV[i])\n"
+                    + "  end\n"
+                    + "end\n"
+                    + "redis.call('SET', KEYS[1], ARGV[1])\n"
+                    + "return added";
+
     private final int ttlEventExecutionSeconds;
+    private final boolean workflowKeyHashTagsEnabled;
+
+    /**
+     * The workflows of the tasks recently created or read by this server, which saves looking up
+     * TASK_TO_WORKFLOW when a task is read by its id. The workflow of a task never changes.
+     */
+    private final Cache<String, String> taskWorkflowIds =
+            CacheBuilder.newBuilder()
+                    .maximumSize(10_000)
+                    .expireAfterAccess(Duration.ofMinutes(10))
+                    .build();
 
     public RedisExecutionDAO(
             JedisProxy jedisProxy,
@@ -68,6 +140,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
         super(jedisProxy, objectMapper, conductorProperties, properties);
 
         ttlEventExecutionSeconds = (int) properties.getEventExecutionPersistenceTTL().getSeconds();
+        workflowKeyHashTagsEnabled = properties.isWorkflowKeyHashTagsEnabled();
     }
 
     private static String dateStr(Long timeInMs) {
@@ -140,33 +213,19 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
         for (TaskModel task : tasks) {
             validate(task);
-
             recordRedisDaoRequests("createTask", task.getTaskType(), task.getWorkflowType());
+        }
+        if (isWorkflowScriptingEnabled()) {
+            return createWorkflowTasks(tasks);
+        }
 
-            String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
-            Long added =
-                    jedisProxy.hset(
-                            nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()),
-                            taskKey,
-                            task.getTaskId());
-            if (added < 1) {
-                LOGGER.debug(
-                        "Task already scheduled, skipping the run "
-                                + task.getTaskId()
-                                + ", ref="
-                                + task.getReferenceTaskName()
-                                + ", key="
-                                + taskKey);
-                continue;
-            }
-
+        for (TaskModel task : scheduleTasks(tasks)) {
             if (task.getStatus() != null
                     && !task.getStatus().isTerminal()
                     && task.getScheduledTime() == 0) {
                 task.setScheduledTime(System.currentTimeMillis());
             }
 
-            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
             LOGGER.debug(
                     "Scheduled task added to WORKFLOW_TO_TASKS workflowId: {}, taskId: {}, taskType: {} during createTasks",
                     task.getWorkflowInstanceId(),
@@ -189,14 +248,271 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return tasksCreated;
     }
 
+    /**
+     * Adds the tasks to the scheduled tasks of their workflow, and correlates them to their
+     * workflow.
+     *
+     * @return the tasks that were not already scheduled
+     */
+    private List<TaskModel> scheduleTasks(List<TaskModel> tasks) {
+        List<TaskModel> scheduledTasks = new ArrayList<>();
+        for (TaskModel task : tasks) {
+            Long added =
+                    jedisProxy.hset(
+                            workflowKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()),
+                            scheduledTaskKey(task),
+                            task.getTaskId());
+            if (added < 1) {
+                logAlreadyScheduled(task);
+                continue;
+            }
+            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
+            scheduledTasks.add(task);
+        }
+        return scheduledTasks;
+    }
+
+    /**
+     * Creates the tasks with one script call per workflow, which schedules the tasks, adds them to
+     * their workflow and writes their payload. The TASK_TO_WORKFLOW key of each task and the sets
+     * shared across workflows are in other slots, so they are still written with one command each.
+     *
+     * @return the tasks that were not already scheduled
+     */
+    @SuppressWarnings("unchecked")
+    private List<TaskModel> createWorkflowTasks(List<TaskModel> tasks) {
+        Map<String, List<TaskModel>> tasksByWorkflow =
+                tasks.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        TaskModel::getWorkflowInstanceId,
+                                        LinkedHashMap::new,
+                                        Collectors.toList()));
+        Set<String> addedTaskIds = new HashSet<>();
+        for (Map.Entry<String, List<TaskModel>> entry : tasksByWorkflow.entrySet()) {
+            String workflowId = entry.getKey();
+            List<TaskModel> workflowTasks = entry.getValue();
+            Set<String> unscheduledTaskIds = new HashSet<>();
+            List<String> args = new ArrayList<>();
+            args.add(nsKey(TASK, hashTag(workflowId)) + NAMESPACE_SEP);
+            for (TaskModel task : workflowTasks) {
+                if (task.getStatus() != null
+                        && !task.getStatus().isTerminal()
+                        && task.getScheduledTime() == 0) {
+                    task.setScheduledTime(System.currentTimeMillis());
+                    unscheduledTaskIds.add(task.getTaskId());
+                }
+                args.add(scheduledTaskKey(task));
+                args.add(task.getTaskId());
+                args.add(taskPayload(task));
+            }
+            List<Object> added =
+                    (List<Object>)
+                            jedisProxy.eval(
+                                    SCHEDULE_TASKS_SCRIPT,
+                                    List.of(
+                                            workflowKey(SCHEDULED_TASKS, workflowId),
+                                            workflowKey(WORKFLOW_TO_TASKS, workflowId)),
+                                    args);
+            for (int i = 0; i < workflowTasks.size(); i++) {
+                TaskModel task = workflowTasks.get(i);
+                if ((Long) added.get(i) == 1L) {
+                    jedisProxy.set(nsKey(TASK_TO_WORKFLOW, task.getTaskId()), workflowId);
+                    taskWorkflowIds.put(task.getTaskId(), workflowId);
+                    addedTaskIds.add(task.getTaskId());
+                } else if (unscheduledTaskIds.contains(task.getTaskId())) {
+                    // the task was not written, leave it as it was passed in
+                    task.setScheduledTime(0);
+                }
+            }
+        }
+
+        List<TaskModel> tasksCreated = new LinkedList<>();
+        for (TaskModel task : tasks) {
+            if (!addedTaskIds.contains(task.getTaskId())) {
+                logAlreadyScheduled(task);
+                continue;
+            }
+            jedisProxy.sadd(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
+            updateTaskDefinitionSets(task);
+            tasksCreated.add(task);
+        }
+        return tasksCreated;
+    }
+
+    private void logAlreadyScheduled(TaskModel task) {
+        LOGGER.debug(
+                "Task already scheduled, skipping the run "
+                        + task.getTaskId()
+                        + ", ref="
+                        + task.getReferenceTaskName()
+                        + ", key="
+                        + scheduledTaskKey(task));
+    }
+
+    private String scheduledTaskKey(TaskModel task) {
+        return task.getReferenceTaskName() + "" + task.getRetryCount();
+    }
+
     @Override
     public void updateTask(TaskModel task) {
+        updateTaskDefinitionSets(task);
+
+        String payload = taskPayload(task);
+        String taskKey = taskKey(task.getWorkflowInstanceId(), task.getTaskId());
+        jedisProxy.set(taskKey, payload);
+        LOGGER.debug(
+                "Workflow task payload saved to TASK with taskKey: {}, workflowId: {}, taskId: {}, taskType: {} during updateTask",
+                taskKey,
+                task.getWorkflowInstanceId(),
+                task.getTaskId(),
+                task.getTaskType());
+
+        Set<String> taskIds =
+                jedisProxy.smembers(workflowKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
+        if (!taskIds.contains(task.getTaskId())) {
+            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
+        }
+    }
+
+    /**
+     * Writes the tasks and the workflow of a decision in one MULTI/EXEC transaction, along with the
+     * sets shared across workflows, when the client is connected to a single server. Otherwise,
+     * when the keys of the workflow are hash tagged, the tasks and the workflow are written in one
+     * script call, and the sets shared across workflows, which are in other slots, are still
+     * updated with separate commands after the script, so a failure can leave them behind the
+     * payloads, but not ahead of them. Without either, the tasks and the workflow are written one
+     * by one.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void persistDecision(WorkflowModel workflow, List<TaskModel> tasks) {
+        if (jedisProxy.supportsTransactions()) {
+            persistDecisionInTransaction(workflow, tasks);
+            return;
+        }
+        String workflowId = workflow.getWorkflowId();
+        if (!isWorkflowScriptingEnabled()
+                || tasks.stream()
+                        .anyMatch(task -> !workflowId.equals(task.getWorkflowInstanceId()))) {
+            ExecutionDAO.super.persistDecision(workflow, tasks);
+            return;
+        }
+        recordRedisDaoRequests("persistDecision", "n/a", workflow.getWorkflowName());
+
+        List<String> args = new ArrayList<>();
+        args.add(workflowPayload(workflow));
+        args.add(nsKey(TASK, hashTag(workflowId)) + NAMESPACE_SEP);
+        for (TaskModel task : tasks) {
+            args.add(task.getTaskId());
+            args.add(taskPayload(task));
+        }
+        List<Object> correlatedTaskIds =
+                (List<Object>)
+                        jedisProxy.eval(
+                                PERSIST_DECISION_SCRIPT,
+                                List.of(
+                                        workflowKey(WORKFLOW, workflowId),
+                                        workflowKey(WORKFLOW_TO_TASKS, workflowId)),
+                                args);
+        // the shared sets are only updated once the payloads are written
+        tasks.forEach(this::updateTaskDefinitionSets);
+        for (Object taskId : correlatedTaskIds) {
+            jedisProxy.set(nsKey(TASK_TO_WORKFLOW, (String) taskId), workflowId);
+        }
+        updatePendingWorkflows(workflow);
+    }
+
+    private void persistDecisionInTransaction(WorkflowModel workflow, List<TaskModel> tasks) {
+        recordRedisDaoRequests("persistDecision", "n/a", workflow.getWorkflowName());
+
+        // the payloads are serialized before the transaction is started
+        List<String> taskPayloads =
+                tasks.stream().map(this::taskPayload).collect(Collectors.toList());
+        String workflowPayload = workflowPayload(workflow);
+        jedisProxy.multi(
+                transaction -> {
+                    SetCommands commands = queuedIn(transaction);
+                    for (int i = 0; i < tasks.size(); i++) {
+                        TaskModel task = tasks.get(i);
+                        String workflowId = task.getWorkflowInstanceId();
+                        String taskId = task.getTaskId();
+                        updateTaskDefinitionSets(task, commands);
+                        transaction.set(taskKey(workflowId, taskId), taskPayloads.get(i));
+                        transaction.sadd(workflowKey(WORKFLOW_TO_TASKS, workflowId), taskId);
+                        if (workflowKeyHashTagsEnabled) {
+                            transaction.set(nsKey(TASK_TO_WORKFLOW, taskId), workflowId);
+                        }
+                    }
+                    transaction.set(
+                            workflowKey(WORKFLOW, workflow.getWorkflowId()), workflowPayload);
+                    updatePendingWorkflows(workflow, commands);
+                });
+    }
+
+    /** The set commands of a write, which are either sent one by one or queued in a transaction. */
+    private interface SetCommands {
+
+        void sadd(String key, String member);
+
+        void srem(String key, String member);
+
+        void zrem(String key, String member);
+    }
+
+    private SetCommands sentOneByOne() {
+        return new SetCommands() {
+            @Override
+            public void sadd(String key, String member) {
+                jedisProxy.sadd(key, member);
+            }
+
+            @Override
+            public void srem(String key, String member) {
+                jedisProxy.srem(key, member);
+            }
+
+            @Override
+            public void zrem(String key, String member) {
+                jedisProxy.zrem(key, member);
+            }
+        };
+    }
+
+    private static SetCommands queuedIn(Transaction transaction) {
+        return new SetCommands() {
+            @Override
+            public void sadd(String key, String member) {
+                transaction.sadd(key, member);
+            }
+
+            @Override
+            public void srem(String key, String member) {
+                transaction.srem(key, member);
+            }
+
+            @Override
+            public void zrem(String key, String member) {
+                transaction.zrem(key, member);
+            }
+        };
+    }
+
+    private void updateTaskDefinitionSets(TaskModel task) {
+        updateTaskDefinitionSets(task, sentOneByOne());
+    }
+
+    /**
+     * Updates the sets of the task definition of the task, which are shared by the tasks of all
+     * the workflows.
+     */
+    private void updateTaskDefinitionSets(TaskModel task, SetCommands commands) {
         Optional<TaskDef> taskDefinition = task.getTaskDefinition();
 
         if (taskDefinition.isPresent() && taskDefinition.get().concurrencyLimit() > 0) {
 
             if (task.getStatus() != null && task.getStatus().equals(TaskModel.Status.IN_PROGRESS)) {
-                jedisProxy.sadd(
+                commands.sadd(
                         nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
                 LOGGER.debug(
                         "Workflow Task added to TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
@@ -206,7 +522,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
                         task.getTaskType(),
                         task.getStatus().name());
             } else {
-                jedisProxy.srem(
+                commands.srem(
                         nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
                 LOGGER.debug(
                         "Workflow Task removed from TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
@@ -216,7 +532,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
                         task.getTaskType(),
                         task.getStatus().name());
                 String key = nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName());
-                jedisProxy.zrem(key, task.getTaskId());
+                commands.zrem(key, task.getTaskId());
                 LOGGER.debug(
                         "Workflow Task removed from TASK_LIMIT_BUCKET with taskLimitBucketKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                         key,
@@ -227,23 +543,8 @@ public class RedisExecutionDAO extends BaseDynoDAO
             }
         }
 
-        String payload = toJson(task);
-        recordRedisDaoPayloadSize(
-                "updateTask",
-                payload.length(),
-                taskDefinition.map(TaskDef::getName).orElse("n/a"),
-                task.getWorkflowType());
-
-        recordRedisDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
-        jedisProxy.set(nsKey(TASK, task.getTaskId()), payload);
-        LOGGER.debug(
-                "Workflow task payload saved to TASK with taskKey: {}, workflowId: {}, taskId: {}, taskType: {} during updateTask",
-                nsKey(TASK, task.getTaskId()),
-                task.getWorkflowInstanceId(),
-                task.getTaskId(),
-                task.getTaskType());
         if (task.getStatus() != null && task.getStatus().isTerminal()) {
-            jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
+            commands.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
             LOGGER.debug(
                     "Workflow Task removed from TASKS_IN_PROGRESS_STATUS with tasksInProgressKey: {}, workflowId: {}, taskId: {}, taskType: {}, taskStatus: {} during updateTask",
                     nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()),
@@ -252,12 +553,17 @@ public class RedisExecutionDAO extends BaseDynoDAO
                     task.getTaskType(),
                     task.getStatus().name());
         }
+    }
 
-        Set<String> taskIds =
-                jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()));
-        if (!taskIds.contains(task.getTaskId())) {
-            correlateTaskToWorkflowInDS(task.getTaskId(), task.getWorkflowInstanceId());
-        }
+    private String taskPayload(TaskModel task) {
+        String payload = toJson(task);
+        recordRedisDaoPayloadSize(
+                "updateTask",
+                payload.length(),
+                task.getTaskDefinition().map(TaskDef::getName).orElse("n/a"),
+                task.getWorkflowType());
+        recordRedisDaoRequests("updateTask", task.getTaskType(), task.getWorkflowType());
+        return payload;
     }
 
     @Override
@@ -309,20 +615,25 @@ public class RedisExecutionDAO extends BaseDynoDAO
         return rateLimited;
     }
 
-    private void removeTaskMappings(TaskModel task) {
-        String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
+    @Override
+    public int getAvailableSlots(TaskDef taskDef) {
+        long current = getInProgressTaskCount(taskDef.getName());
+        return (int) Math.max(taskDef.concurrencyLimit() - current, 0);
+    }
 
-        jedisProxy.hdel(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
+    private void removeTaskMappings(TaskModel task) {
+        jedisProxy.hdel(
+                workflowKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), scheduledTaskKey(task));
         jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
-        jedisProxy.srem(nsKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId());
+        jedisProxy.srem(
+                workflowKey(WORKFLOW_TO_TASKS, task.getWorkflowInstanceId()), task.getTaskId());
         jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
         jedisProxy.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
     }
 
     private void removeTaskMappingsWithExpiry(TaskModel task) {
-        String taskKey = task.getReferenceTaskName() + "" + task.getRetryCount();
-
-        jedisProxy.hdel(nsKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), taskKey);
+        jedisProxy.hdel(
+                workflowKey(SCHEDULED_TASKS, task.getWorkflowInstanceId()), scheduledTaskKey(task));
         jedisProxy.srem(nsKey(IN_PROGRESS_TASKS, task.getTaskDefName()), task.getTaskId());
         jedisProxy.srem(nsKey(TASKS_IN_PROGRESS_STATUS, task.getTaskDefName()), task.getTaskId());
         jedisProxy.zrem(nsKey(TASK_LIMIT_BUCKET, task.getTaskDefName()), task.getTaskId());
@@ -337,7 +648,11 @@ public class RedisExecutionDAO extends BaseDynoDAO
         }
         removeTaskMappings(task);
 
-        jedisProxy.del(nsKey(TASK, task.getTaskId()));
+        jedisProxy.del(taskKey(task.getWorkflowInstanceId(), task.getTaskId()));
+        if (workflowKeyHashTagsEnabled) {
+            jedisProxy.del(nsKey(TASK_TO_WORKFLOW, task.getTaskId()));
+            taskWorkflowIds.invalidate(task.getTaskId());
+        }
         recordRedisDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
         return true;
     }
@@ -350,7 +665,10 @@ public class RedisExecutionDAO extends BaseDynoDAO
         }
         removeTaskMappingsWithExpiry(task);
 
-        jedisProxy.expire(nsKey(TASK, task.getTaskId()), ttlSeconds);
+        jedisProxy.expire(taskKey(task.getWorkflowInstanceId(), task.getTaskId()), ttlSeconds);
+        if (workflowKeyHashTagsEnabled) {
+            jedisProxy.expire(nsKey(TASK_TO_WORKFLOW, task.getTaskId()), ttlSeconds);
+        }
         recordRedisDaoRequests("removeTask", task.getTaskType(), task.getWorkflowType());
         return true;
     }
@@ -358,7 +676,8 @@ public class RedisExecutionDAO extends BaseDynoDAO
     @Override
     public TaskModel getTask(String taskId) {
         Preconditions.checkNotNull(taskId, "taskId cannot be null");
-        return Optional.ofNullable(jedisProxy.get(nsKey(TASK, taskId)))
+        return Optional.ofNullable(taskKey(taskId))
+                .map(jedisProxy::get)
                 .map(
                         json -> {
                             TaskModel task = readValue(json, TaskModel.class);
@@ -377,32 +696,40 @@ public class RedisExecutionDAO extends BaseDynoDAO
     @Override
     public List<TaskModel> getTasks(List<String> taskIds) {
         return taskIds.stream()
-                .map(taskId -> nsKey(TASK, taskId))
+                .map(this::taskKey)
+                .filter(Objects::nonNull)
                 .map(jedisProxy::get)
                 .filter(Objects::nonNull)
-                .map(
-                        jsonString -> {
-                            TaskModel task = readValue(jsonString, TaskModel.class);
-                            recordRedisDaoRequests(
-                                    "getTask", task.getTaskType(), task.getWorkflowType());
-                            recordRedisDaoPayloadSize(
-                                    "getTask",
-                                    jsonString.length(),
-                                    task.getTaskType(),
-                                    task.getWorkflowType());
-                            return task;
-                        })
+                .map(this::readTask)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<TaskModel> getTasksForWorkflow(String workflowId) {
         Preconditions.checkNotNull(workflowId, "workflowId cannot be null");
-        Set<String> taskIds = jedisProxy.smembers(nsKey(WORKFLOW_TO_TASKS, workflowId));
         recordRedisDaoRequests("getTasksForWorkflow");
+        if (isWorkflowScriptingEnabled()) {
+            List<Object> values = readWorkflowWithTasks(workflowId);
+            return readTasks(values.subList(1, values.size()));
+        }
+        Set<String> taskIds = jedisProxy.smembers(workflowKey(WORKFLOW_TO_TASKS, workflowId));
         return getTasks(new ArrayList<>(taskIds));
     }
 
+    private TaskModel readTask(String json) {
+        TaskModel task = readValue(json, TaskModel.class);
+        recordRedisDaoRequests("getTask", task.getTaskType(), task.getWorkflowType());
+        recordRedisDaoPayloadSize(
+                "getTask", json.length(), task.getTaskType(), task.getWorkflowType());
+        return task;
+    }
+
+    private List<TaskModel> readTasks(List<Object> values) {
+        return values.stream()
+                .map(value -> readTask((String) value))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<TaskModel> getPendingTasksForTaskType(String taskName) {
         Preconditions.checkNotNull(taskName, "task name cannot be null");
@@ -438,7 +765,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
             jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
 
             // Remove the object
-            jedisProxy.del(nsKey(WORKFLOW, workflowId));
+            jedisProxy.del(workflowKey(WORKFLOW, workflowId));
             for (TaskModel task : workflow.getTasks()) {
                 removeTask(task.getTaskId());
             }
@@ -463,11 +790,11 @@ public class RedisExecutionDAO extends BaseDynoDAO
             jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflowId);
 
             // Remove the object
-            jedisProxy.expire(nsKey(WORKFLOW, workflowId), ttlSeconds);
+            jedisProxy.expire(workflowKey(WORKFLOW, workflowId), ttlSeconds);
             for (TaskModel task : workflow.getTasks()) {
                 removeTaskWithExpiry(task.getTaskId(), ttlSeconds);
             }
-            jedisProxy.expire(nsKey(WORKFLOW_TO_TASKS, workflowId), ttlSeconds);
+            jedisProxy.expire(workflowKey(WORKFLOW_TO_TASKS, workflowId), ttlSeconds);
 
             return true;
         }
@@ -477,7 +804,7 @@ public class RedisExecutionDAO extends BaseDynoDAO
     @Override
     public void removeFromPendingWorkflow(String workflowType, String workflowId) {
         recordRedisDaoRequests("removePendingWorkflow");
-        jedisProxy.del(nsKey(SCHEDULED_TASKS, workflowId));
+        jedisProxy.del(workflowKey(SCHEDULED_TASKS, workflowId));
         jedisProxy.srem(nsKey(PENDING_WORKFLOWS, workflowType), workflowId);
     }
 
@@ -488,7 +815,16 @@ public class RedisExecutionDAO extends BaseDynoDAO
 
     @Override
     public WorkflowModel getWorkflow(String workflowId, boolean includeTasks) {
-        String json = jedisProxy.get(nsKey(WORKFLOW, workflowId));
+        String json;
+        List<TaskModel> tasks = null;
+        if (includeTasks && isWorkflowScriptingEnabled()) {
+            // the workflow and its tasks are read in one script call
+            List<Object> values = readWorkflowWithTasks(workflowId);
+            json = (String) values.get(0);
+            tasks = readTasks(values.subList(1, values.size()));
+        } else {
+            json = jedisProxy.get(workflowKey(WORKFLOW, workflowId));
+        }
         WorkflowModel workflow = null;
 
         if (json != null) {
@@ -497,7 +833,9 @@ public class RedisExecutionDAO extends BaseDynoDAO
             recordRedisDaoPayloadSize(
                     "getWorkflow", json.length(), "n/a", workflow.getWorkflowName());
             if (includeTasks) {
-                List<TaskModel> tasks = getTasksForWorkflow(workflowId);
+                if (tasks == null) {
+                    tasks = getTasksForWorkflow(workflowId);
+                }
                 tasks.sort(Comparator.comparingInt(TaskModel::getSeq));
                 workflow.setTasks(tasks);
             }
@@ -593,15 +931,8 @@ public class RedisExecutionDAO extends BaseDynoDAO
     private String insertOrUpdateWorkflow(WorkflowModel workflow, boolean update) {
         Preconditions.checkNotNull(workflow, "workflow object cannot be null");
 
-        List<TaskModel> tasks = workflow.getTasks();
-        workflow.setTasks(new LinkedList<>());
-
-        String payload = toJson(workflow);
         // Store the workflow object
-        jedisProxy.set(nsKey(WORKFLOW, workflow.getWorkflowId()), payload);
-        recordRedisDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
-        recordRedisDaoPayloadSize(
-                "storeWorkflow", payload.length(), "n/a", workflow.getWorkflowName());
+        jedisProxy.set(workflowKey(WORKFLOW, workflow.getWorkflowId()), workflowPayload(workflow));
         if (!update) {
             // Add to list of workflows for a workflowdef
             String key =
@@ -617,17 +948,35 @@ public class RedisExecutionDAO extends BaseDynoDAO
                         workflow.getWorkflowId());
             }
         }
-        // Add or remove from the pending workflows
+        updatePendingWorkflows(workflow);
+        return workflow.getWorkflowId();
+    }
+
+    /** @return the payload of the workflow, stored without its tasks */
+    private String workflowPayload(WorkflowModel workflow) {
+        List<TaskModel> tasks = workflow.getTasks();
+        workflow.setTasks(new LinkedList<>());
+        String payload = toJson(workflow);
+        workflow.setTasks(tasks);
+        recordRedisDaoRequests("storeWorkflow", "n/a", workflow.getWorkflowName());
+        recordRedisDaoPayloadSize(
+                "storeWorkflow", payload.length(), "n/a", workflow.getWorkflowName());
+        return payload;
+    }
+
+    /** Adds the workflow to, or removes it from, the pending workflows of its definition */
+    private void updatePendingWorkflows(WorkflowModel workflow) {
+        updatePendingWorkflows(workflow, sentOneByOne());
+    }
+
+    private void updatePendingWorkflows(WorkflowModel workflow, SetCommands commands) {
         if (workflow.getStatus().isTerminal()) {
-            jedisProxy.srem(
+            commands.srem(
                     nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflow.getWorkflowId());
         } else {
-            jedisProxy.sadd(
+            commands.sadd(
                     nsKey(PENDING_WORKFLOWS, workflow.getWorkflowName()), workflow.getWorkflowId());
         }
-
-        workflow.setTasks(tasks);
-        return workflow.getWorkflowId();
     }
 
     /**
@@ -638,8 +987,11 @@ public class RedisExecutionDAO extends BaseDynoDAO
      */
     @VisibleForTesting
     void correlateTaskToWorkflowInDS(String taskId, String workflowInstanceId) {
-        String workflowToTaskKey = nsKey(WORKFLOW_TO_TASKS, workflowInstanceId);
+        String workflowToTaskKey = workflowKey(WORKFLOW_TO_TASKS, workflowInstanceId);
         jedisProxy.sadd(workflowToTaskKey, taskId);
+        if (workflowKeyHashTagsEnabled) {
+            jedisProxy.set(nsKey(TASK_TO_WORKFLOW, taskId), workflowInstanceId);
+        }
         LOGGER.debug(
                 "Task mapped in WORKFLOW_TO_TASKS with workflowToTaskKey: {}, workflowId: {}, taskId: {}",
                 workflowToTaskKey,
@@ -647,6 +999,67 @@ public class RedisExecutionDAO extends BaseDynoDAO
                 taskId);
     }
 
+    /**
+     * @return the key of the given family for the workflow, hash tagged with the workflow id when
+     *     enabled so that all the keys of the workflow are on the same node
+     */
+    private String workflowKey(String keyFamily, String workflowId) {
+        return nsKey(keyFamily, hashTag(workflowId));
+    }
+
+    private String taskKey(String workflowId, String taskId) {
+        if (workflowKeyHashTagsEnabled) {
+            return nsKey(TASK, hashTag(workflowId), taskId);
+        }
+        return nsKey(TASK, taskId);
+    }
+
+    /**
+     * @return the key of the task, null if the task is not found when the keys are hash tagged, as
+     *     the workflow of the task is looked up first, unless this server has already seen the task
+     */
+    private String taskKey(String taskId) {
+        if (!workflowKeyHashTagsEnabled) {
+            return nsKey(TASK, taskId);
+        }
+        String workflowId = taskWorkflowIds.getIfPresent(taskId);
+        if (workflowId == null) {
+            workflowId = jedisProxy.get(nsKey(TASK_TO_WORKFLOW, taskId));
+            if (workflowId == null) {
+                return null;
+            }
+            taskWorkflowIds.put(taskId, workflowId);
+        }
+        return taskKey(workflowId, taskId);
+    }
+
+    private String hashTag(String workflowId) {
+        return workflowKeyHashTagsEnabled ? "{" + workflowId + "}" : workflowId;
+    }
+
+    /**
+     * @return whether the keys of a workflow are on the same node and can be accessed together by
+     *     a Lua script
+     */
+    private boolean isWorkflowScriptingEnabled() {
+        return workflowKeyHashTagsEnabled && jedisProxy.supportsScripting();
+    }
+
+    /**
+     * @return the workflow payload, null if the workflow does not exist, followed by the payloads
+     *     of its tasks
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> readWorkflowWithTasks(String workflowId) {
+        return (List<Object>)
+                jedisProxy.eval(
+                        READ_WORKFLOW_SCRIPT,
+                        List.of(
+                                workflowKey(WORKFLOW, workflowId),
+                                workflowKey(WORKFLOW_TO_TASKS, workflowId)),
+                        List.of(nsKey(TASK, hashTag(workflowId)) + NAMESPACE_SEP));
+    }
+
     public long getPendingWorkflowCount(String workflowName) {
         String key = nsKey(PENDING_WORKFLOWS, workflowName);
         recordRedisDaoRequests("getPendingWorkflowCount");
@@ -726,6 +1139,24 @@ public class RedisExecutionDAO extends BaseDynoDAO
         }
     }
 
+    @Override
+    public boolean supportsBulkJobs() {
+        return true;
+    }
+
+    @Override
+    public void updateBulkJobStatus(BulkJobStatus status, int ttlSeconds) {
+        recordRedisDaoRequests("updateBulkJobStatus");
+        jedisProxy.setex(nsKey(BULK_JOB, status.getJobId()), ttlSeconds, toJson(status));
+    }
+
+    @Override
+    public BulkJobStatus getBulkJobStatus(String jobId) {
+        recordRedisDaoRequests("getBulkJobStatus");
+        String json = jedisProxy.get(nsKey(BULK_JOB, jobId));
+        return json == null ? null : readValue(json, BulkJobStatus.class);
+    }
+
     public List<EventExecution> getEventExecutions(
             String eventHandlerName, String eventName, String messageId, int max) {
         try {
@@ -55,6 +55,7 @@ public class RedisMetadataDAO extends BaseDynoDAO implements MetadataDAO {
     private static final String ALL_TASK_DEFS = "TASK_DEFS";
     private static final String WORKFLOW_DEF_NAMES = "WORKFLOW_DEF_NAMES";
     private static final String WORKFLOW_DEF = "WORKFLOW_DEF";
+    private static final String WORKFLOW_DEF_SNAPSHOTS = "WORKFLOW_DEF_SNAPSHOTS";
     private static final String LATEST = "latest";
     private static final String className = RedisMetadataDAO.class.getSimpleName();
     private Map<String, TaskDef> taskDefCache = new HashMap<>();
@@ -320,6 +321,33 @@ public class RedisMetadataDAO extends BaseDynoDAO implements MetadataDAO {
         return workflows;
     }
 
+    @Override
+    public boolean supportsWorkflowDefSnapshots() {
+        return true;
+    }
+
+    @Override
+    public void storeWorkflowDefSnapshot(String hash, WorkflowDef def) {
+        Preconditions.checkNotNull(hash, "WorkflowDef hash cannot be null");
+        jedisProxy.hsetnx(nsKey(WORKFLOW_DEF_SNAPSHOTS), hash, toJson(def));
+        recordRedisDaoRequests("storeWorkflowDefSnapshot", "n/a", def.getName());
+    }
+
+    @Override
+    public Optional<WorkflowDef> getWorkflowDefSnapshot(String hash) {
+        Preconditions.checkNotNull(hash, "WorkflowDef hash cannot be null");
+        WorkflowDef def = null;
+
+        recordRedisDaoRequests("getWorkflowDefSnapshot");
+        String workflowDefJsonString = jedisProxy.hget(nsKey(WORKFLOW_DEF_SNAPSHOTS), hash);
+        if (workflowDefJsonString != null) {
+            def = readValue(workflowDefJsonString, WorkflowDef.class);
+            recordRedisDaoPayloadSize(
+                    "getWorkflowDefSnapshot", workflowDefJsonString.length(), "n/a", def.getName());
+        }
+        return Optional.ofNullable(def);
+    }
+
     private void _createOrUpdate(WorkflowDef workflowDef) {
         // First set the workflow def
         jedisProxy.hset(
@@ -12,7 +12,13 @@
  */
 package com.netflix.conductor.redis.dao;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
@@ -39,12 +45,39 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
 
     private static final String TASK_RATE_LIMIT_BUCKET = "TASK_RATE_LIMIT_BUCKET";
 
+    /**
+     * Reserves up to ARGV[5] permits in the sliding window bucket KEYS[1], and returns the number
+     * of permits reserved. ARGV holds the score of the reserved permits, the start of the window,
+     * the rate limit, the TTL of the bucket, the number of permits and a prefix unique to this
+     * reservation. Permits that are handed out later than their reservation are scored at the end
+     * of their lease, so that they stay in the window for a full frequency after being handed out.
+     */
+    private static final String RESERVE_PERMITS_SCRIPT =
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2])\n"
+                    + "local permits = math.min(tonumber(ARGV[3]) - redis.call('ZCARD', KEYS[1]),"
+                    + " tonumber(ARGV[5]))\n"
+                    + "if permits <= 0 then return 0 end\n"
+                    + "for i = 1, permits do\n"
+                    + "  redis.call('ZADD', KEYS[1], ARGV[1], ARGV[6] .. ':' .. i)\n"
+                    + "end\n"
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[4])\n"
+                    + "return permits";
+
+    private final int permitLeaseSize;
+    private final long permitLeaseMillis;
+    private final String reservationPrefix = UUID.randomUUID().toString();
+    private final AtomicLong reservationCount = new AtomicLong();
+    private final Map<String, PermitLease> permitLeases = new ConcurrentHashMap<>();
+
     public RedisRateLimitingDAO(
             JedisProxy jedisProxy,
             ObjectMapper objectMapper,
             ConductorProperties conductorProperties,
             RedisProperties properties) {
         super(jedisProxy, objectMapper, conductorProperties, properties);
+        this.permitLeaseSize = properties.getRateLimitPermitLeaseSize();
+        this.permitLeaseMillis =
+                permitLeaseSize > 1 ? properties.getRateLimitPermitLeaseDuration().toMillis() : 0;
     }
 
     /**
@@ -57,18 +90,21 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
      * element in the rate limited bucket.
      *
      * <ul>
-     *   <li>All the entries that are in the not in the frequency bucket are cleaned up by
-     *       leveraging {@link JedisProxy#zremrangeByScore(String, String, String)}, this is done to
-     *       make the next step of evaluation efficient
-     *   <li>A current count(tasks executed within the frequency) is calculated based on the current
-     *       time and the beginning of the rate limit frequency time(which is current time - {@link
-     *       TaskModel#getRateLimitFrequencyInSeconds()} in millis), this is achieved by using
-     *       {@link JedisProxy#zcount(String, double, double)}
+     *   <li>All the entries that are in the not in the frequency bucket are cleaned up, this is
+     *       done to make the next step of evaluation efficient
+     *   <li>A current count(tasks executed within the frequency) is calculated based on the
+     *       entries left in the bucket
      *   <li>Once the count is calculated then a evaluation is made to determine if it is within the
      *       bounds of {@link TaskModel#getRateLimitPerFrequency()}, if so the count is increased
      *       and an expiry TTL is added to the entry
      * </ul>
      *
+     * <p>When the redis client supports Lua scripts, these steps run as a single atomic script.
+     * With {@link RedisProperties#getRateLimitPermitLeaseSize()} greater than 1, the script
+     * reserves several permits at once, which are then handed out locally until they run out or
+     * {@link RedisProperties#getRateLimitPermitLeaseDuration()} elapses. The reserved permits are
+     * scored at the end of that period, so the limit holds over any sliding window.
+     *
      * @param task: which needs to be evaluated whether it is rateLimited or not
      * @return true: If the {@link TaskModel} is rateLimited false: If the {@link TaskModel} is not
      *     rateLimited
@@ -105,41 +141,182 @@ public class RedisRateLimitingDAO extends BaseDynoDAO implements RateLimitingDAO
                     task.getTaskDefName(),
                     rateLimitPerFrequency,
                     rateLimitFrequencyInSeconds);
-            long currentTimeEpochMillis = System.currentTimeMillis();
-            long currentTimeEpochMinusRateLimitBucket =
-                    currentTimeEpochMillis - (rateLimitFrequencyInSeconds * 1000L);
-            String key = nsKey(TASK_RATE_LIMIT_BUCKET, task.getTaskDefName());
-            jedisProxy.zremrangeByScore(
-                    key, "-inf", String.valueOf(currentTimeEpochMinusRateLimitBucket));
-            int currentBucketCount =
-                    Math.toIntExact(
-                            jedisProxy.zcount(
-                                    key,
-                                    currentTimeEpochMinusRateLimitBucket,
-                                    currentTimeEpochMillis));
-            if (currentBucketCount < rateLimitPerFrequency) {
-                jedisProxy.zadd(
-                        key, currentTimeEpochMillis, String.valueOf(currentTimeEpochMillis));
-                jedisProxy.expire(key, rateLimitFrequencyInSeconds);
+            boolean acquired;
+            if (!jedisProxy.supportsScripting()) {
+                acquired =
+                        acquirePermitWithCommands(
+                                task.getTaskDefName(),
+                                rateLimitPerFrequency,
+                                rateLimitFrequencyInSeconds);
+            } else if (permitLeaseSize > 1) {
+                acquired =
+                        acquireLeasedPermit(
+                                task.getTaskDefName(),
+                                rateLimitPerFrequency,
+                                rateLimitFrequencyInSeconds);
+            } else {
+                acquired =
+                        reservePermits(
+                                        task.getTaskDefName(),
+                                        rateLimitPerFrequency,
+                                        rateLimitFrequencyInSeconds,
+                                        1,
+                                        System.currentTimeMillis(),
+                                        0)
+                                > 0;
+            }
+            if (acquired) {
                 LOGGER.info(
-                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} within the rate limit with current count {}",
+                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} within the rate limit",
                         task.getTaskId(),
                         task.getTaskDefName(),
                         rateLimitPerFrequency,
-                        rateLimitFrequencyInSeconds,
-                        ++currentBucketCount);
+                        rateLimitFrequencyInSeconds);
                 Monitors.recordTaskRateLimited(task.getTaskDefName(), rateLimitPerFrequency);
                 return false;
             } else {
                 LOGGER.info(
-                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit with current count {}",
+                        "TaskId: {} with TaskDefinition of: {} has rateLimitPerFrequency: {} and rateLimitFrequencyInSeconds: {} is out of bounds of rate limit",
                         task.getTaskId(),
                         task.getTaskDefName(),
                         rateLimitPerFrequency,
-                        rateLimitFrequencyInSeconds,
-                        currentBucketCount);
+                        rateLimitFrequencyInSeconds);
                 return true;
             }
         }
     }
+
+    /**
+     * Counts the permits left in the current frequency window of the task definition, without
+     * reserving any, plus those left in the local lease.
+     */
+    @Override
+    public int getAvailablePermits(TaskDef taskDef) {
+        long currentTimeEpochMillis = System.currentTimeMillis();
+        long currentTimeEpochMinusRateLimitBucket =
+                currentTimeEpochMillis - (taskDef.getRateLimitFrequencyInSeconds() * 1000L);
+        String key = nsKey(TASK_RATE_LIMIT_BUCKET, taskDef.getName());
+        // leased permits are scored up to the end of their lease
+        long currentBucketCount =
+                jedisProxy.zcount(
+                        key,
+                        currentTimeEpochMinusRateLimitBucket,
+                        currentTimeEpochMillis + permitLeaseMillis);
+        int permits = (int) Math.max(taskDef.getRateLimitPerFrequency() - currentBucketCount, 0);
+        PermitLease lease = permitLeases.get(taskDef.getName());
+        if (lease != null && lease.isAvailable(currentTimeEpochMillis)) {
+            permits += lease.permits.get();
+        }
+        return permits;
+    }
+
+    /**
+     * Hands out a permit from the local lease of the task definition, reserving a new lease from
+     * redis when the current one is exhausted or expired.
+     */
+    private boolean acquireLeasedPermit(
+            String taskDefName, int rateLimitPerFrequency, int rateLimitFrequencyInSeconds) {
+        long currentTimeEpochMillis = System.currentTimeMillis();
+        PermitLease lease = permitLeases.get(taskDefName);
+        if (lease != null && lease.tryAcquire(currentTimeEpochMillis)) {
+            return true;
+        }
+        long leaseMillis = Math.min(permitLeaseMillis, rateLimitFrequencyInSeconds * 1000L);
+        int permits =
+                reservePermits(
+                        taskDefName,
+                        rateLimitPerFrequency,
+                        rateLimitFrequencyInSeconds,
+                        Math.min(permitLeaseSize, rateLimitPerFrequency),
+                        currentTimeEpochMillis,
+                        leaseMillis);
+        if (permits <= 0) {
+            return false;
+        }
+        // one permit is used right away, the others are left for the next checks unless another
+        // thread stored a lease in the meantime
+        PermitLease reserved = new PermitLease(permits - 1, currentTimeEpochMillis + leaseMillis);
+        permitLeases.merge(
+                taskDefName,
+                reserved,
+                (current, next) -> current.isAvailable(currentTimeEpochMillis) ? current : next);
+        return true;
+    }
+
+    private int reservePermits(
+            String taskDefName,
+            int rateLimitPerFrequency,
+            int rateLimitFrequencyInSeconds,
+            int permits,
+            long currentTimeEpochMillis,
+            long leaseMillis) {
+        long currentTimeEpochMinusRateLimitBucket =
+                currentTimeEpochMillis - (rateLimitFrequencyInSeconds * 1000L);
+        // the bucket is kept until the leased permits leave the window
+        long bucketTTLSeconds = rateLimitFrequencyInSeconds + (leaseMillis + 999) / 1000;
+        Object reserved =
+                jedisProxy.eval(
+                        RESERVE_PERMITS_SCRIPT,
+                        List.of(nsKey(TASK_RATE_LIMIT_BUCKET, taskDefName)),
+                        List.of(
+                                String.valueOf(currentTimeEpochMillis + leaseMillis),
+                                String.valueOf(currentTimeEpochMinusRateLimitBucket),
+                                String.valueOf(rateLimitPerFrequency),
+                                String.valueOf(bucketTTLSeconds),
+                                String.valueOf(permits),
+                                reservationPrefix + ":" + reservationCount.incrementAndGet()));
+        return Math.toIntExact((Long) reserved);
+    }
+
+    /** Used with the clients that cannot run Lua scripts. */
+    private boolean acquirePermitWithCommands(
+            String taskDefName, int rateLimitPerFrequency, int rateLimitFrequencyInSeconds) {
+        long currentTimeEpochMillis = System.currentTimeMillis();
+        long currentTimeEpochMinusRateLimitBucket =
+                currentTimeEpochMillis - (rateLimitFrequencyInSeconds * 1000L);
+        String key = nsKey(TASK_RATE_LIMIT_BUCKET, taskDefName);
+        jedisProxy.zremrangeByScore(
+                key, "-inf", String.valueOf(currentTimeEpochMinusRateLimitBucket));
+        int currentBucketCount =
+                Math.toIntExact(
+                        jedisProxy.zcount(
+                                key, currentTimeEpochMinusRateLimitBucket, currentTimeEpochMillis));
+        LOGGER.debug("Current rate limit count of {} is {}", taskDefName, currentBucketCount);
+        if (currentBucketCount < rateLimitPerFrequency) {
+            jedisProxy.zadd(key, currentTimeEpochMillis, String.valueOf(currentTimeEpochMillis));
+            jedisProxy.expire(key, rateLimitFrequencyInSeconds);
+            return true;
+        }
+        return false;
+    }
+
+    /** Permits reserved in redis, valid until the end of their lease, where they are scored. */
+    private static class PermitLease {
+
+        private final AtomicInteger permits;
+        private final long expiresAtEpochMillis;
+
+        PermitLease(int permits, long expiresAtEpochMillis) {
+            this.permits = new AtomicInteger(permits);
+            this.expiresAtEpochMillis = expiresAtEpochMillis;
+        }
+
+        boolean isAvailable(long currentTimeEpochMillis) {
+            return permits.get() > 0 && currentTimeEpochMillis < expiresAtEpochMillis;
+        }
+
+        boolean tryAcquire(long currentTimeEpochMillis) {
+            if (currentTimeEpochMillis >= expiresAtEpochMillis) {
+                return false;
+            }
+            int available;
+            do {
+                available = permits.get();
+                if (available <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(available, available - 1));
+            return true;
+        }
+    }
 }
@@ -40,7 +40,7 @@ import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
 import redis.clients.jedis.params.ZIncrByParams;
 
-public class JedisCluster implements JedisCommands {
+public class JedisCluster implements JedisCommands, JedisScripting {
 
     private final redis.clients.jedis.JedisCluster jedisCluster;
 
@@ -950,4 +950,14 @@ public class JedisCluster implements JedisCommands {
     public List<StreamConsumersInfo> xinfoConsumers(String key, String group) {
         return null;
     }
+
+    @Override
+    public Object eval(String script, List<String> keys, List<String> args) {
+        return jedisCluster.eval(script, keys, args);
+    }
+
+    @Override
+    public Object evalsha(String sha1, List<String> keys, List<String> args) {
+        return jedisCluster.evalsha(sha1, keys, args);
+    }
 }
@@ -12,13 +12,19 @@
  */
 package com.netflix.conductor.redis.jedis;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,8 +36,10 @@ import com.netflix.conductor.redis.config.AnyRedisCondition;
 
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Transaction;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.params.ZAddParams;
 
 import static com.netflix.conductor.redis.config.RedisCommonConfiguration.DEFAULT_CLIENT_INJECTION_NAME;
@@ -45,6 +53,9 @@ public class JedisProxy {
 
     protected JedisCommands jedisCommands;
 
+    /** The SHA1 digests of the Lua scripts run with {@link #eval(String, List, List)}. */
+    private final Map<String, String> scriptDigests = new ConcurrentHashMap<>();
+
     public JedisProxy(@Qualifier(DEFAULT_CLIENT_INJECTION_NAME) JedisCommands jedisCommands) {
         this.jedisCommands = jedisCommands;
     }
@@ -97,6 +108,10 @@ public class JedisProxy {
         return jedisCommands.set(key, value);
     }
 
+    public String setex(String key, int seconds, String value) {
+        return jedisCommands.setex(key, seconds, value);
+    }
+
     public Long setnx(String key, String value) {
         return jedisCommands.setnx(key, value);
     }
@@ -228,4 +243,59 @@ public class JedisProxy {
     public Long scard(String key) {
         return jedisCommands.scard(key);
     }
+
+    /**
+     * @return whether Lua scripts can be run with {@link #eval(String, List, List)}, which is not
+     *     the case of the in-memory and dynomite clients
+     */
+    public boolean supportsScripting() {
+        return jedisCommands instanceof JedisScripting;
+    }
+
+    /**
+     * Runs the script with EVALSHA, so that only its digest is sent once the server has cached it.
+     * The script itself is only sent with EVAL when the server answers NOSCRIPT, which caches it.
+     */
+    public Object eval(String script, List<String> keys, List<String> args) {
+        if (!supportsScripting()) {
+            throw new UnsupportedOperationException(
+                    jedisCommands.getClass().getSimpleName() + " does not support Lua scripts");
+        }
+        JedisScripting scripting = (JedisScripting) jedisCommands;
+        String sha1 = scriptDigests.computeIfAbsent(script, JedisProxy::sha1);
+        try {
+            return scripting.evalsha(sha1, keys, args);
+        } catch (JedisDataException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+                throw e;
+            }
+            LOGGER.debug("Script {} is not cached by the server, sending it", sha1);
+            return scripting.eval(script, keys, args);
+        }
+    }
+
+    private static String sha1(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return whether commands on any keys can be run in one transaction with {@link
+     *     #multi(Consumer)}, which is only the case of the standalone and sentinel clients
+     */
+    public boolean supportsTransactions() {
+        return jedisCommands instanceof JedisTransactions;
+    }
+
+    public void multi(Consumer<Transaction> commands) {
+        if (!supportsTransactions()) {
+            throw new UnsupportedOperationException(
+                    jedisCommands.getClass().getSimpleName() + " does not support transactions");
+        }
+        ((JedisTransactions) jedisCommands).multi(commands);
+    }
 }
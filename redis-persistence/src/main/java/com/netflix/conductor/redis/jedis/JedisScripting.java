@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import java.util.List;
+
+/** Implemented by the {@link redis.clients.jedis.commands.JedisCommands} able to run Lua scripts. */
+public interface JedisScripting {
+
+    /**
+     * Runs a Lua script atomically on the server holding the keys.
+     *
+     * @param script the Lua script
+     * @param keys the keys accessed by the script, all hashing to the same slot on a cluster
+     * @param args the arguments of the script
+     * @return the value returned by the script
+     */
+    Object eval(String script, List<String> keys, List<String> args);
+
+    /**
+     * Runs a Lua script already cached by the server holding the keys.
+     *
+     * @param sha1 the SHA1 digest of the Lua script
+     * @param keys the keys accessed by the script, all hashing to the same slot on a cluster
+     * @param args the arguments of the script
+     * @return the value returned by the script
+     * @throws redis.clients.jedis.exceptions.JedisDataException with a NOSCRIPT error if the
+     *     server does not have the script
+     */
+    Object evalsha(String sha1, List<String> keys, List<String> args);
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import redis.clients.jedis.BitPosParams;
 import redis.clients.jedis.GeoCoordinate;
@@ -33,6 +34,7 @@ import redis.clients.jedis.StreamEntryID;
 import redis.clients.jedis.StreamGroupInfo;
 import redis.clients.jedis.StreamInfo;
 import redis.clients.jedis.StreamPendingEntry;
+import redis.clients.jedis.Transaction;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.params.GeoRadiusParam;
@@ -40,7 +42,7 @@ import redis.clients.jedis.params.SetParams;
 import redis.clients.jedis.params.ZAddParams;
 import redis.clients.jedis.params.ZIncrByParams;
 
-public class JedisSentinel implements JedisCommands {
+public class JedisSentinel implements JedisCommands, JedisScripting, JedisTransactions {
 
     private final JedisPoolAbstract jedisPool;
 
@@ -1273,4 +1275,27 @@ public class JedisSentinel implements JedisCommands {
             return jedis.xinfoConsumers(key, group);
         }
     }
+
+    @Override
+    public Object eval(String script, List<String> keys, List<String> args) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.eval(script, keys, args);
+        }
+    }
+
+    @Override
+    public Object evalsha(String sha1, List<String> keys, List<String> args) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.evalsha(sha1, keys, args);
+        }
+    }
+
+    @Override
+    public void multi(Consumer<Transaction> commands) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Transaction transaction = jedis.multi();
+            commands.accept(transaction);
+            transaction.exec();
+        }
+    }
 }
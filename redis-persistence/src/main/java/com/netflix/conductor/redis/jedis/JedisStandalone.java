@@ -15,6 +15,7 @@ package com.netflix.conductor.redis.jedis;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import redis.clients.jedis.BitPosParams;
@@ -33,6 +34,7 @@ import redis.clients.jedis.StreamEntryID;
 import redis.clients.jedis.StreamGroupInfo;
 import redis.clients.jedis.StreamInfo;
 import redis.clients.jedis.StreamPendingEntry;
+import redis.clients.jedis.Transaction;
 import redis.clients.jedis.Tuple;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.params.GeoRadiusParam;
@@ -41,7 +43,7 @@ import redis.clients.jedis.params.ZAddParams;
 import redis.clients.jedis.params.ZIncrByParams;
 
 /** A {@link JedisCommands} implementation that delegates to {@link JedisPool}. */
-public class JedisStandalone implements JedisCommands {
+public class JedisStandalone implements JedisCommands, JedisScripting, JedisTransactions {
 
     private final JedisPool jedisPool;
 
@@ -959,4 +961,24 @@ public class JedisStandalone implements JedisCommands {
     public List<StreamConsumersInfo> xinfoConsumers(String key, String group) {
         return executeInJedis(jedis -> jedis.xinfoConsumers(key, group));
     }
+
+    @Override
+    public Object eval(String script, List<String> keys, List<String> args) {
+        return executeInJedis(jedis -> jedis.eval(script, keys, args));
+    }
+
+    @Override
+    public Object evalsha(String sha1, List<String> keys, List<String> args) {
+        return executeInJedis(jedis -> jedis.evalsha(sha1, keys, args));
+    }
+
+    @Override
+    public void multi(Consumer<Transaction> commands) {
+        executeInJedis(
+                jedis -> {
+                    Transaction transaction = jedis.multi();
+                    commands.accept(transaction);
+                    return transaction.exec();
+                });
+    }
 }
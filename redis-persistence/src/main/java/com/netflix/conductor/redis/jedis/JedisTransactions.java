@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.jedis;
+
+import java.util.function.Consumer;
+
+import redis.clients.jedis.Transaction;
+
+/**
+ * Implemented by the {@link redis.clients.jedis.commands.JedisCommands} connected to a single Redis
+ * server, which can run commands on any keys in one MULTI/EXEC transaction.
+ */
+public interface JedisTransactions {
+
+    /**
+     * Runs the commands queued by the given consumer in one transaction, sent in one round trip.
+     * The queued commands must not read their replies.
+     *
+     * @param commands queues the commands of the transaction
+     */
+    void multi(Consumer<Transaction> commands);
+}
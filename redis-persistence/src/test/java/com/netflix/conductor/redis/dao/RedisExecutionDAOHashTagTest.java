@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.netflix.conductor.common.config.TestObjectMapperConfiguration;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.dao.ExecutionDAO;
+import com.netflix.conductor.dao.ExecutionDAOTest;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisMock;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Runs the execution DAO tests with the keys of a workflow hash tagged with the workflow id. */
+@ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
+@RunWith(SpringRunner.class)
+public class RedisExecutionDAOHashTagTest extends ExecutionDAOTest {
+
+    private RedisExecutionDAO executionDAO;
+    private JedisCommands jedisMock;
+    private ConductorProperties conductorProperties;
+    private RedisProperties properties;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Before
+    public void init() {
+        conductorProperties = mock(ConductorProperties.class);
+        properties = mock(RedisProperties.class);
+        when(properties.getEventExecutionPersistenceTTL()).thenReturn(Duration.ofSeconds(5));
+        when(properties.isWorkflowKeyHashTagsEnabled()).thenReturn(true);
+        jedisMock = new JedisMock();
+        JedisProxy jedisProxy = new JedisProxy(jedisMock);
+
+        executionDAO =
+                new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+    }
+
+    @Test
+    public void testWorkflowKeysAreHashTagged() {
+        WorkflowModel workflow = createTestWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        executionDAO.createWorkflow(workflow);
+        List<TaskModel> tasks = executionDAO.createTasks(workflow.getTasks());
+        String taskId = tasks.get(0).getTaskId();
+
+        assertNotNull(jedisMock.get("WORKFLOW.{" + workflowId + "}"));
+        assertEquals(3, jedisMock.scard("WORKFLOW_TO_TASKS.{" + workflowId + "}").longValue());
+        assertNotNull(jedisMock.get("TASK.{" + workflowId + "}." + taskId));
+        assertEquals(workflowId, jedisMock.get("TASK_TO_WORKFLOW." + taskId));
+        assertEquals(taskId, executionDAO.getTask(taskId).getTaskId());
+
+        executionDAO.removeTask(taskId);
+        assertNull(executionDAO.getTask(taskId));
+        assertNull(jedisMock.get("TASK_TO_WORKFLOW." + taskId));
+    }
+
+    @Test
+    public void testWorkflowIsReadWithItsTasksInOneScript() throws Exception {
+        WorkflowModel workflow = createTestWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        List<Object> values = new ArrayList<>();
+        values.add(objectMapper.writeValueAsString(workflow));
+        for (TaskModel task : workflow.getTasks()) {
+            values.add(objectMapper.writeValueAsString(task));
+        }
+        JedisProxy jedisProxy = mock(JedisProxy.class);
+        when(jedisProxy.supportsScripting()).thenReturn(true);
+        when(jedisProxy.eval(anyString(), anyList(), anyList())).thenReturn(values);
+        RedisExecutionDAO scriptingDAO =
+                new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        WorkflowModel found = scriptingDAO.getWorkflow(workflowId, true);
+
+        assertEquals(workflowId, found.getWorkflowId());
+        assertEquals(3, found.getTasks().size());
+        verify(jedisProxy, times(1))
+                .eval(
+                        anyString(),
+                        eq(
+                                List.of(
+                                        "WORKFLOW.{" + workflowId + "}",
+                                        "WORKFLOW_TO_TASKS.{" + workflowId + "}")),
+                        eq(List.of("TASK.{" + workflowId + "}.")));
+        verify(jedisProxy, never()).get(anyString());
+    }
+
+    @Test
+    public void testTasksAreScheduledInOneScript() {
+        WorkflowModel workflow = createTestWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        JedisProxy jedisProxy = mock(JedisProxy.class);
+        when(jedisProxy.supportsScripting()).thenReturn(true);
+        when(jedisProxy.eval(anyString(), anyList(), anyList())).thenReturn(List.of(1L, 0L, 1L));
+        RedisExecutionDAO scriptingDAO =
+                new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        List<TaskModel> created = scriptingDAO.createTasks(workflow.getTasks());
+
+        assertEquals(2, created.size());
+        assertEquals(workflow.getTasks().get(0), created.get(0));
+        assertEquals(workflow.getTasks().get(2), created.get(1));
+        verify(jedisProxy, times(1)).eval(anyString(), anyList(), anyList());
+        // the task payloads are written by the script, only the task to workflow keys are not
+        verify(jedisProxy, times(2)).set(startsWith("TASK_TO_WORKFLOW."), eq(workflowId));
+        verify(jedisProxy, never()).smembers(anyString());
+    }
+
+    @Test
+    public void testDecisionIsPersistedInOneScript() {
+        WorkflowModel workflow = createTestWorkflow();
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        String workflowId = workflow.getWorkflowId();
+        List<TaskModel> tasks = workflow.getTasks();
+        String addedTaskId = tasks.get(2).getTaskId();
+        JedisProxy jedisProxy = mock(JedisProxy.class);
+        when(jedisProxy.supportsScripting()).thenReturn(true);
+        when(jedisProxy.eval(anyString(), anyList(), anyList()))
+                .thenReturn(List.of(addedTaskId));
+        RedisExecutionDAO scriptingDAO =
+                new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        scriptingDAO.persistDecision(workflow, tasks);
+
+        verify(jedisProxy, times(1))
+                .eval(
+                        anyString(),
+                        eq(
+                                List.of(
+                                        "WORKFLOW.{" + workflowId + "}",
+                                        "WORKFLOW_TO_TASKS.{" + workflowId + "}")),
+                        anyList());
+        verify(jedisProxy, times(1)).set(anyString(), anyString());
+        verify(jedisProxy).set("TASK_TO_WORKFLOW." + addedTaskId, workflowId);
+        verify(jedisProxy).sadd("PENDING_WORKFLOWS.Junit Workflow", workflowId);
+        assertEquals(3, workflow.getTasks().size());
+    }
+
+    @Test
+    public void testSharedSetsAreNotUpdatedWhenTheDecisionFails() {
+        WorkflowModel workflow = createTestWorkflow();
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.getTasks().forEach(task -> task.setStatus(TaskModel.Status.COMPLETED));
+        JedisProxy jedisProxy = mock(JedisProxy.class);
+        when(jedisProxy.supportsScripting()).thenReturn(true);
+        when(jedisProxy.eval(anyString(), anyList(), anyList()))
+                .thenThrow(new JedisConnectionException("connection reset"));
+        RedisExecutionDAO scriptingDAO =
+                new RedisExecutionDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        try {
+            scriptingDAO.persistDecision(workflow, workflow.getTasks());
+            fail("the script failure is not propagated");
+        } catch (JedisConnectionException e) {
+            verify(jedisProxy, never()).srem(anyString(), anyString());
+            verify(jedisProxy, never()).sadd(anyString(), anyString());
+        }
+    }
+
+    @Test
+    public void testPersistDecisionWithoutScripting() {
+        WorkflowModel workflow = createTestWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        executionDAO.createWorkflow(workflow);
+        executionDAO.createTasks(workflow.getTasks());
+
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+        workflow.getTasks().forEach(task -> task.setStatus(TaskModel.Status.COMPLETED));
+        executionDAO.persistDecision(workflow, workflow.getTasks());
+
+        WorkflowModel found = executionDAO.getWorkflow(workflowId, true);
+        assertEquals(WorkflowModel.Status.COMPLETED, found.getStatus());
+        assertEquals(3, found.getTasks().size());
+        found.getTasks()
+                .forEach(task -> assertEquals(TaskModel.Status.COMPLETED, task.getStatus()));
+    }
+
+    @Override
+    protected ExecutionDAO getExecutionDAO() {
+        return executionDAO;
+    }
+}
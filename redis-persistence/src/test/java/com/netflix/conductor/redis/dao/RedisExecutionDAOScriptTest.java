@@ -0,0 +1,239 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testcontainers.containers.GenericContainer;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.model.WorkflowModel;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import com.netflix.conductor.redis.jedis.JedisStandalone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the workflow scripts and transactions of {@link RedisExecutionDAO} against a Redis server.
+ */
+public class RedisExecutionDAOScriptTest {
+
+    static GenericContainer redis =
+            new GenericContainer("redis:5.0.3-alpine").withExposedPorts(6379);
+
+    private static JedisPool jedisPool;
+
+    private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+
+    private RedisExecutionDAO executionDAO;
+
+    @BeforeClass
+    public static void setUp() {
+        redis.start();
+        jedisPool = new JedisPool(redis.getHost(), redis.getFirstMappedPort());
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        jedisPool.close();
+        redis.stop();
+    }
+
+    @Before
+    public void init() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.flushAll();
+        }
+        executionDAO = createExecutionDAO();
+    }
+
+    @Test
+    public void testCreateTasks() {
+        WorkflowModel workflow = createWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        executionDAO.createWorkflow(workflow);
+
+        List<TaskModel> created =
+                executionDAO.createTasks(
+                        List.of(createTask(workflow, "t1"), createTask(workflow, "t2")));
+        assertEquals(2, created.size());
+        assertNotEquals(0, created.get(0).getScheduledTime());
+
+        // a task with the reference name and retry count of a scheduled task is skipped
+        TaskModel duplicate = createTask(workflow, "t1");
+        TaskModel task = createTask(workflow, "t3");
+        created = executionDAO.createTasks(List.of(duplicate, task));
+        assertEquals(List.of(task), created);
+        assertEquals(0, duplicate.getScheduledTime());
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertEquals(3, jedis.scard("WORKFLOW_TO_TASKS.{" + workflowId + "}").longValue());
+            assertEquals(3, jedis.hlen("SCHEDULED_TASKS.{" + workflowId + "}").longValue());
+            assertNotNull(jedis.get("TASK.{" + workflowId + "}." + task.getTaskId()));
+            assertNull(jedis.get("TASK.{" + workflowId + "}." + duplicate.getTaskId()));
+            assertEquals(workflowId, jedis.get("TASK_TO_WORKFLOW." + task.getTaskId()));
+            assertEquals(
+                    Boolean.TRUE, jedis.sismember("IN_PROGRESS_TASKS.task", task.getTaskId()));
+        }
+
+        // another server has to look up the workflow of the task
+        RedisExecutionDAO otherExecutionDAO = createExecutionDAO();
+        assertEquals(task.getTaskId(), otherExecutionDAO.getTask(task.getTaskId()).getTaskId());
+        assertNull(otherExecutionDAO.getTask(duplicate.getTaskId()));
+    }
+
+    @Test
+    public void testReadWorkflowWithTasks() {
+        WorkflowModel workflow = createWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        executionDAO.createWorkflow(workflow);
+        executionDAO.createTasks(List.of(createTask(workflow, "t1"), createTask(workflow, "t2")));
+
+        WorkflowModel found = executionDAO.getWorkflow(workflowId, true);
+        assertEquals(workflowId, found.getWorkflowId());
+        assertEquals(2, found.getTasks().size());
+        assertEquals(2, executionDAO.getTasksForWorkflow(workflowId).size());
+        assertNull(executionDAO.getWorkflow(UUID.randomUUID().toString(), true));
+    }
+
+    @Test
+    public void testPersistDecision() {
+        // a cluster client runs the decision script
+        executionDAO = createExecutionDAO(true, false);
+        WorkflowModel workflow = createWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        executionDAO.createWorkflow(workflow);
+        TaskModel completed = createTask(workflow, "t1");
+        executionDAO.createTasks(List.of(completed));
+
+        completed.setStatus(TaskModel.Status.COMPLETED);
+        TaskModel added = createTask(workflow, "t2");
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+        executionDAO.persistDecision(workflow, List.of(completed, added));
+
+        WorkflowModel found = createExecutionDAO().getWorkflow(workflowId, true);
+        assertEquals(WorkflowModel.Status.COMPLETED, found.getStatus());
+        assertEquals(2, found.getTasks().size());
+        assertEquals(TaskModel.Status.COMPLETED, found.getTasks().get(0).getStatus());
+        assertEquals(added.getTaskId(), found.getTasks().get(1).getTaskId());
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertEquals(workflowId, jedis.get("TASK_TO_WORKFLOW." + added.getTaskId()));
+            assertEquals(
+                    Boolean.FALSE,
+                    jedis.sismember("IN_PROGRESS_TASKS.task", completed.getTaskId()));
+            assertEquals(
+                    Boolean.FALSE,
+                    jedis.sismember("PENDING_WORKFLOWS.script_workflow", workflowId));
+        }
+    }
+
+    @Test
+    public void testPersistDecisionInTransaction() {
+        // the default key layout, on a single server
+        executionDAO = createExecutionDAO(false, true);
+        WorkflowModel workflow = createWorkflow();
+        String workflowId = workflow.getWorkflowId();
+        executionDAO.createWorkflow(workflow);
+        TaskModel completed = createTask(workflow, "t1");
+        executionDAO.createTasks(List.of(completed));
+
+        completed.setStatus(TaskModel.Status.COMPLETED);
+        TaskModel added = createTask(workflow, "t2");
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+        executionDAO.persistDecision(workflow, List.of(completed, added));
+
+        WorkflowModel found = executionDAO.getWorkflow(workflowId, true);
+        assertEquals(WorkflowModel.Status.COMPLETED, found.getStatus());
+        assertEquals(2, found.getTasks().size());
+        assertEquals(TaskModel.Status.COMPLETED, found.getTasks().get(0).getStatus());
+        assertEquals(added.getTaskId(), found.getTasks().get(1).getTaskId());
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertNotNull(jedis.get("TASK." + added.getTaskId()));
+            assertEquals(
+                    Boolean.TRUE,
+                    jedis.sismember("WORKFLOW_TO_TASKS." + workflowId, added.getTaskId()));
+            assertEquals(
+                    Boolean.FALSE,
+                    jedis.sismember("IN_PROGRESS_TASKS.task", completed.getTaskId()));
+            assertEquals(
+                    Boolean.FALSE,
+                    jedis.sismember("PENDING_WORKFLOWS.script_workflow", workflowId));
+        }
+    }
+
+    private RedisExecutionDAO createExecutionDAO() {
+        return createExecutionDAO(true, true);
+    }
+
+    private RedisExecutionDAO createExecutionDAO(
+            boolean hashTagsEnabled, boolean transactionsEnabled) {
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getEventExecutionPersistenceTTL()).thenReturn(Duration.ofSeconds(5));
+        when(properties.isWorkflowKeyHashTagsEnabled()).thenReturn(hashTagsEnabled);
+        JedisProxy jedisProxy =
+                new JedisProxy(new JedisStandalone(jedisPool)) {
+                    @Override
+                    public boolean supportsTransactions() {
+                        return transactionsEnabled;
+                    }
+                };
+        return new RedisExecutionDAO(
+                jedisProxy,
+                objectMapper,
+                mock(ConductorProperties.class),
+                properties);
+    }
+
+    private WorkflowModel createWorkflow() {
+        WorkflowDef workflowDef = new WorkflowDef();
+        workflowDef.setName("script_workflow");
+        workflowDef.setVersion(1);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(workflowDef);
+        workflow.setWorkflowId(UUID.randomUUID().toString());
+        workflow.setStatus(WorkflowModel.Status.RUNNING);
+        workflow.setCreateTime(System.currentTimeMillis());
+        return workflow;
+    }
+
+    private TaskModel createTask(WorkflowModel workflow, String referenceTaskName) {
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setWorkflowInstanceId(workflow.getWorkflowId());
+        task.setReferenceTaskName(referenceTaskName);
+        task.setTaskDefName("task");
+        task.setTaskType("task");
+        task.setStatus(TaskModel.Status.SCHEDULED);
+        task.setSeq(Integer.parseInt(referenceTaskName.substring(1)));
+        return task;
+    }
+}
@@ -47,6 +47,7 @@ import redis.clients.jedis.commands.JedisCommands;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -201,6 +202,28 @@ public class RedisMetadataDAOTest {
         assertEquals(3, allMap.get("test3").getVersion());
     }
 
+    @Test
+    public void testWorkflowDefSnapshots() {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("snapshot");
+        def.setVersion(1);
+        def.setDescription("first");
+
+        assertTrue(redisMetadataDAO.supportsWorkflowDefSnapshots());
+        assertFalse(redisMetadataDAO.getWorkflowDefSnapshot("hash").isPresent());
+        redisMetadataDAO.storeWorkflowDefSnapshot("hash", def);
+
+        WorkflowDef other = new WorkflowDef();
+        other.setName("snapshot");
+        other.setVersion(1);
+        other.setDescription("second");
+        redisMetadataDAO.storeWorkflowDefSnapshot("hash", other);
+
+        Optional<WorkflowDef> snapshot = redisMetadataDAO.getWorkflowDefSnapshot("hash");
+        assertTrue(snapshot.isPresent());
+        assertEquals(def, snapshot.get());
+    }
+
     @Test(expected = NotFoundException.class)
     public void removeInvalidWorkflowDef() {
         redisMetadataDAO.removeWorkflowDef("hello", 1);
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.redis.dao;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testcontainers.containers.GenericContainer;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.tasks.TaskDef;
+import com.netflix.conductor.core.config.ConductorProperties;
+import com.netflix.conductor.model.TaskModel;
+import com.netflix.conductor.redis.config.RedisProperties;
+import com.netflix.conductor.redis.jedis.JedisProxy;
+import com.netflix.conductor.redis.jedis.JedisStandalone;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Tuple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Runs the rate limit scripts of {@link RedisRateLimitingDAO} against a Redis server. */
+public class RedisRateLimitDAOScriptTest {
+
+    private static final String BUCKET = "TASK_RATE_LIMIT_BUCKET.";
+
+    static GenericContainer redis =
+            new GenericContainer("redis:5.0.3-alpine").withExposedPorts(6379);
+
+    private static JedisPool jedisPool;
+
+    private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+
+    @BeforeClass
+    public static void setUp() {
+        redis.start();
+        jedisPool = new JedisPool(redis.getHost(), redis.getFirstMappedPort());
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        jedisPool.close();
+        redis.stop();
+    }
+
+    @Before
+    public void flush() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.flushAll();
+        }
+    }
+
+    @Test
+    public void testReservePermit() {
+        RedisRateLimitingDAO rateLimitingDao = createRateLimitingDAO(1, Duration.ZERO);
+        TaskDef taskDef = createTaskDef("testReservePermit", 2);
+        TaskModel task = createTask(taskDef);
+
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertTrue(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            // each permit is a distinct member, even when reserved in the same millisecond
+            assertEquals(2, jedis.zcard(BUCKET + taskDef.getName()).longValue());
+            long ttl = jedis.ttl(BUCKET + taskDef.getName());
+            assertTrue(ttl > 0 && ttl <= 60);
+        }
+        assertEquals(0, rateLimitingDao.getAvailablePermits(taskDef));
+    }
+
+    @Test
+    public void testLeasedPermitsAreScoredAtTheEndOfTheLease() {
+        RedisRateLimitingDAO rateLimitingDao = createRateLimitingDAO(3, Duration.ofSeconds(5));
+        TaskDef taskDef = createTaskDef("testLeasedPermits", 5);
+        TaskModel task = createTask(taskDef);
+
+        long reservedAt = System.currentTimeMillis();
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Set<Tuple> permits = jedis.zrangeWithScores(BUCKET + taskDef.getName(), 0, -1);
+            assertEquals(3, permits.size());
+            for (Tuple permit : permits) {
+                assertTrue(permit.getScore() >= reservedAt + 5000);
+            }
+            assertTrue(jedis.ttl(BUCKET + taskDef.getName()) > 60);
+        }
+        // 2 permits left in redis, 2 left in the lease
+        assertEquals(4, rateLimitingDao.getAvailablePermits(taskDef));
+    }
+
+    @Test
+    public void testLeasedPermitsDoNotExceedTheLimitAcrossServers() {
+        RedisRateLimitingDAO server1 = createRateLimitingDAO(3, Duration.ofSeconds(5));
+        RedisRateLimitingDAO server2 = createRateLimitingDAO(3, Duration.ofSeconds(5));
+        TaskDef taskDef = createTaskDef("testLeasedPermitsAcrossServers", 4);
+        TaskModel task = createTask(taskDef);
+
+        int acquired = 0;
+        for (int i = 0; i < 5; i++) {
+            acquired += server1.exceedsRateLimitPerFrequency(task, taskDef) ? 0 : 1;
+            acquired += server2.exceedsRateLimitPerFrequency(task, taskDef) ? 0 : 1;
+        }
+        assertEquals(4, acquired);
+    }
+
+    @Test
+    public void testScriptIsSentOnlyWhenTheServerDoesNotHaveIt() {
+        RedisRateLimitingDAO rateLimitingDao = createRateLimitingDAO(1, Duration.ZERO);
+        TaskDef taskDef = createTaskDef("testScriptIsSentOnce", 5);
+        TaskModel task = createTask(taskDef);
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.scriptFlush();
+            jedis.configResetStat();
+        }
+
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            // EVAL only after the NOSCRIPT answer to the first EVALSHA
+            assertTrue(jedis.info("commandstats").contains("cmdstat_eval:calls=1,"));
+
+            // a server that lost its scripts, after a restart or a failover, gets it again
+            jedis.scriptFlush();
+        }
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertTrue(jedis.info("commandstats").contains("cmdstat_eval:calls=2,"));
+            assertEquals(4, jedis.zcard(BUCKET + taskDef.getName()).longValue());
+        }
+    }
+
+    private RedisRateLimitingDAO createRateLimitingDAO(int leaseSize, Duration leaseDuration) {
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getRateLimitPermitLeaseSize()).thenReturn(leaseSize);
+        when(properties.getRateLimitPermitLeaseDuration()).thenReturn(leaseDuration);
+        return new RedisRateLimitingDAO(
+                new JedisProxy(new JedisStandalone(jedisPool)),
+                objectMapper,
+                mock(ConductorProperties.class),
+                properties);
+    }
+
+    private TaskDef createTaskDef(String name, int rateLimitPerFrequency) {
+        TaskDef taskDef = new TaskDef(name);
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(rateLimitPerFrequency);
+        return taskDef;
+    }
+
+    private TaskModel createTask(TaskDef taskDef) {
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName(taskDef.getName());
+        return task;
+    }
+}
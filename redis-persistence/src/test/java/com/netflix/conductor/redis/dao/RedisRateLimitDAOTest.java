@@ -12,6 +12,8 @@
  */
 package com.netflix.conductor.redis.dao;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.Before;
@@ -32,9 +34,16 @@ import com.netflix.conductor.redis.jedis.JedisProxy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import redis.clients.jedis.commands.JedisCommands;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {TestObjectMapperConfiguration.class})
 @RunWith(SpringRunner.class)
@@ -86,4 +95,49 @@ public class RedisRateLimitDAOTest {
         assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
         assertTrue(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
     }
+
+    @Test
+    public void testAvailablePermits() {
+        TaskDef taskDef = new TaskDef("TestAvailablePermits");
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(2);
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName(taskDef.getName());
+        assertEquals(2, rateLimitingDao.getAvailablePermits(taskDef));
+        assertFalse(rateLimitingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertEquals(1, rateLimitingDao.getAvailablePermits(taskDef));
+    }
+
+    @Test
+    public void testExceedsRateLimitWithPermitLease() {
+        ConductorProperties conductorProperties = mock(ConductorProperties.class);
+        RedisProperties properties = mock(RedisProperties.class);
+        when(properties.getRateLimitPermitLeaseSize()).thenReturn(3);
+        when(properties.getRateLimitPermitLeaseDuration()).thenReturn(Duration.ofSeconds(10));
+        JedisProxy jedisProxy = mock(JedisProxy.class);
+        when(jedisProxy.supportsScripting()).thenReturn(true);
+        when(jedisProxy.eval(anyString(), anyList(), anyList())).thenReturn(3L, 0L);
+        RedisRateLimitingDAO leasingDao =
+                new RedisRateLimitingDAO(jedisProxy, objectMapper, conductorProperties, properties);
+
+        TaskDef taskDef = new TaskDef("TestTaskDefinition");
+        taskDef.setRateLimitFrequencyInSeconds(60);
+        taskDef.setRateLimitPerFrequency(5);
+        TaskModel task = new TaskModel();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setTaskDefName(taskDef.getName());
+
+        assertFalse(leasingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertFalse(leasingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        assertFalse(leasingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        verify(jedisProxy, times(1)).eval(anyString(), anyList(), anyList());
+
+        assertTrue(leasingDao.exceedsRateLimitPerFrequency(task, taskDef));
+        verify(jedisProxy, times(2))
+                .eval(
+                        anyString(),
+                        eq(List.of("TASK_RATE_LIMIT_BUCKET.TestTaskDefinition")),
+                        anyList());
+    }
 }
@@ -14,6 +14,8 @@ package com.netflix.conductor.rest.controllers;
 
 import java.util.List;
 
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -21,14 +23,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest;
+import com.netflix.conductor.common.model.BulkJobStatus;
 import com.netflix.conductor.common.model.BulkResponse;
+import com.netflix.conductor.common.model.BulkStartWorkflowResponse;
 import com.netflix.conductor.service.WorkflowBulkService;
 
 import io.swagger.v3.oas.annotations.Operation;
 
 import static com.netflix.conductor.rest.config.RequestMappingConstants.WORKFLOW_BULK;
 
-/** Synchronous Bulk APIs to process the workflows in batches */
+/** Bulk APIs to process the workflows in batches, synchronously or as asynchronous jobs */
 @RestController
 @RequestMapping(WORKFLOW_BULK)
 public class WorkflowBulkResource {
@@ -111,4 +116,51 @@ public class WorkflowBulkResource {
             @RequestParam(value = "reason", required = false) String reason) {
         return workflowBulkService.terminate(workflowIds, reason);
     }
+
+    /**
+     * Start the list of workflows. The workflows are evaluated for the first time asynchronously.
+     *
+     * @param startWorkflowRequests - list of workflows to be started
+     * @return bulk response object containing the id of each started workflow, or the error
+     *     starting it, in the order of the requests
+     */
+    @PostMapping("/start")
+    @Operation(summary = "Start the list of workflows")
+    public BulkStartWorkflowResponse startWorkflows(
+            @RequestBody List<StartWorkflowRequest> startWorkflowRequests) {
+        return workflowBulkService.startWorkflows(startWorkflowRequests);
+    }
+
+    /**
+     * Submit a bulk operation to be processed asynchronously.
+     *
+     * @param operation - the operation to perform on the workflows
+     * @param workflowIds - list of workflow Ids to perform the operation on
+     * @param reason - description to be specified for the terminated workflows
+     * @param useLatestDefinitions if true, use latest workflow and task definitions upon restart
+     * @return the status of the submitted job, including the id to poll its progress with
+     */
+    @PostMapping("/jobs/{operation}")
+    @Operation(summary = "Submit a bulk operation to be processed asynchronously")
+    public BulkJobStatus submitJob(
+            @PathVariable("operation") BulkJobStatus.Operation operation,
+            @RequestBody List<String> workflowIds,
+            @RequestParam(value = "reason", required = false) String reason,
+            @RequestParam(value = "useLatestDefinitions", defaultValue = "false", required = false)
+                    boolean useLatestDefinitions) {
+        return workflowBulkService.submitJob(
+                operation, workflowIds, reason, useLatestDefinitions);
+    }
+
+    /**
+     * Get the progress of a bulk job.
+     *
+     * @param jobId - the id of the job
+     * @return the status of the job, including the outcome for each workflow once it is completed
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get the progress of a bulk job")
+    public BulkJobStatus getJobStatus(@PathVariable("jobId") String jobId) {
+        return workflowBulkService.getJobStatus(jobId);
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.test.integration
+
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+
+import com.netflix.conductor.common.metadata.tasks.Task
+import com.netflix.conductor.common.metadata.workflow.StartWorkflowRequest
+import com.netflix.conductor.common.run.Workflow
+import com.netflix.conductor.core.utils.Utils
+import com.netflix.conductor.dao.QueueDAO
+import com.netflix.conductor.service.WorkflowBulkService
+import com.netflix.conductor.test.base.AbstractSpecification
+
+import spock.lang.Shared
+
+class BulkStartWorkflowSpec extends AbstractSpecification {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkStartWorkflowSpec.class)
+
+    @Autowired
+    WorkflowBulkService workflowBulkService
+
+    @Autowired
+    QueueDAO queueDAO
+
+    @Shared
+    def LINEAR_WORKFLOW_T1_T2 = 'integration_test_wf'
+
+    def setup() {
+        workflowTestUtil.registerWorkflows('simple_workflow_1_integration_test.json')
+    }
+
+    def "bulk start creates the workflows and leaves their first decide to the sweeper"() {
+        given: "a bulk request with one request for an unknown workflow"
+        def requests = (0..<10).collect {
+            new StartWorkflowRequest(name: LINEAR_WORKFLOW_T1_T2, version: 1, correlationId: "bulk_$it",
+                    input: ['param1': 'p1 value', 'param2': 'p2 value'])
+        }
+        requests.add(5, new StartWorkflowRequest(name: 'unknown_workflow', version: 1, input: [:]))
+
+        when: "the workflows are started in bulk"
+        def response = workflowBulkService.startWorkflows(requests)
+
+        then: "every request gets a workflow id or an error, in order"
+        response.workflowIds.size() == 11
+        response.workflowIds[5] == null
+        response.errors.keySet() == [5] as Set
+        response.workflowIds.findAll { it != null }.size() == 10
+
+        and: "the workflows are running, queued for their first decide, and have no task yet"
+        response.workflowIds.findAll { it != null }.every { workflowId ->
+            queueDAO.containsMessage(Utils.DECIDER_QUEUE, workflowId) &&
+                    workflowExecutionService.getExecutionStatus(workflowId, true).with {
+                        status == Workflow.WorkflowStatus.RUNNING && tasks.isEmpty()
+                    }
+        }
+
+        when: "the sweeper decides the first workflow"
+        sweep(response.workflowIds[0])
+
+        then: "its first task is scheduled"
+        with(workflowExecutionService.getExecutionStatus(response.workflowIds[0], true)) {
+            status == Workflow.WorkflowStatus.RUNNING
+            tasks.size() == 1
+            tasks[0].taskType == 'integration_task_1'
+            tasks[0].status == Task.Status.SCHEDULED
+        }
+    }
+
+    def "measure the throughput of bulk starts against single starts"() {
+        given:
+        def count = WorkflowBulkService.MAX_REQUEST_ITEMS
+        def input = ['param1': 'p1 value', 'param2': 'p2 value']
+
+        when: "the workflows are started one by one"
+        long singleStart = System.nanoTime()
+        count.times {
+            startWorkflow(LINEAR_WORKFLOW_T1_T2, 1, "single_$it", input, null)
+        }
+        long singleElapsedMs = (System.nanoTime() - singleStart).intdiv(1_000_000)
+
+        and: "the same number of workflows is started in bulk"
+        def requests = (0..<count).collect {
+            new StartWorkflowRequest(name: LINEAR_WORKFLOW_T1_T2, version: 1, correlationId: "bulk_$it", input: input)
+        }
+        long bulkStart = System.nanoTime()
+        def response = workflowBulkService.startWorkflows(requests)
+        long bulkElapsedMs = (System.nanoTime() - bulkStart).intdiv(1_000_000)
+
+        LOGGER.info("Started {} workflows: one by one in {}ms ({} workflows/s), in bulk in {}ms ({} workflows/s)",
+                count, singleElapsedMs, (count * 1000).intdiv(Math.max(singleElapsedMs, 1)),
+                bulkElapsedMs, (count * 1000).intdiv(Math.max(bulkElapsedMs, 1)))
+
+        then: "all the bulk starts succeeded"
+        response.errors.isEmpty()
+        response.workflowIds.size() == count
+    }
+}
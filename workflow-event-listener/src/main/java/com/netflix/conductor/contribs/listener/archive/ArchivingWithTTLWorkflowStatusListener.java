@@ -12,7 +12,9 @@
  */
 package com.netflix.conductor.contribs.listener.archive;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -20,38 +22,57 @@ import org.slf4j.LoggerFactory;
 
 import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.listener.WorkflowStatusListener;
+import com.netflix.conductor.dao.QueueDAO;
 import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.model.WorkflowModel;
 
 import jakarta.annotation.*;
 
+/**
+ * Archives workflows once they have been completed or terminated for a delay.
+ *
+ * <p>The ids of the workflows to archive are pushed to the {@link #ARCHIVAL_QUEUE} queue with the
+ * archival delay, so that pending archivals survive a restart and do not grow the heap. Workers
+ * drain the queue in batches and archive each batch with bulk calls. Messages are only acked once
+ * their workflow is archived, and only the workflows that could not be archived are postponed by
+ * the archival delay.
+ */
 public class ArchivingWithTTLWorkflowStatusListener implements WorkflowStatusListener {
 
+    public static final String ARCHIVAL_QUEUE = "_workflowArchivalQueue";
+
     private static final Logger LOGGER =
             LoggerFactory.getLogger(ArchivingWithTTLWorkflowStatusListener.class);
 
     private final ExecutionDAOFacade executionDAOFacade;
+    private final QueueDAO queueDAO;
     private final int archiveTTLSeconds;
     private final int delayArchiveSeconds;
-    private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+    private final int archivalBatchSize;
+    private final ScheduledExecutorService scheduledExecutorService;
 
     public ArchivingWithTTLWorkflowStatusListener(
-            ExecutionDAOFacade executionDAOFacade, ArchivingWorkflowListenerProperties properties) {
+            ExecutionDAOFacade executionDAOFacade,
+            QueueDAO queueDAO,
+            ArchivingWorkflowListenerProperties properties) {
         this.executionDAOFacade = executionDAOFacade;
+        this.queueDAO = queueDAO;
         this.archiveTTLSeconds = (int) properties.getTtlDuration().getSeconds();
         this.delayArchiveSeconds = properties.getWorkflowArchivalDelay();
+        this.archivalBatchSize = properties.getArchivalBatchSize();
 
-        this.scheduledThreadPoolExecutor =
-                new ScheduledThreadPoolExecutor(
-                        properties.getDelayQueueWorkerThreadCount(),
-                        (runnable, executor) -> {
-                            LOGGER.warn(
-                                    "Request {} to delay archiving index dropped in executor {}",
-                                    runnable,
-                                    executor);
-                            Monitors.recordDiscardedArchivalCount();
-                        });
-        this.scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+        int workerCount = properties.getDelayQueueWorkerThreadCount();
+        long pollIntervalMillis = properties.getArchivalPollInterval().toMillis();
+        this.scheduledExecutorService = Executors.newScheduledThreadPool(workerCount);
+        if (delayArchiveSeconds > 0) {
+            for (int i = 0; i < workerCount; i++) {
+                scheduledExecutorService.scheduleWithFixedDelay(
+                        this::archiveWorkflows,
+                        pollIntervalMillis,
+                        pollIntervalMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
         LOGGER.warn(
                 "Workflow removal with TTL is no longer supported, "
                         + "when using this class, workflows will be removed immediately");
@@ -61,18 +82,17 @@ public class ArchivingWithTTLWorkflowStatusListener implements WorkflowStatusLis
     public void shutdownExecutorService() {
         try {
             LOGGER.info("Gracefully shutdown executor service");
-            scheduledThreadPoolExecutor.shutdown();
-            if (scheduledThreadPoolExecutor.awaitTermination(
-                    delayArchiveSeconds, TimeUnit.SECONDS)) {
+            scheduledExecutorService.shutdown();
+            if (scheduledExecutorService.awaitTermination(30, TimeUnit.SECONDS)) {
                 LOGGER.debug("tasks completed, shutting down");
             } else {
-                LOGGER.warn("Forcing shutdown after waiting for {} seconds", delayArchiveSeconds);
-                scheduledThreadPoolExecutor.shutdownNow();
+                LOGGER.warn("Forcing shutdown after waiting for 30 seconds");
+                scheduledExecutorService.shutdownNow();
             }
         } catch (InterruptedException ie) {
             LOGGER.warn(
-                    "Shutdown interrupted, invoking shutdownNow on scheduledThreadPoolExecutor for delay queue");
-            scheduledThreadPoolExecutor.shutdownNow();
+                    "Shutdown interrupted, invoking shutdownNow on scheduledExecutorService for delay queue");
+            scheduledExecutorService.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
@@ -80,56 +100,67 @@ public class ArchivingWithTTLWorkflowStatusListener implements WorkflowStatusLis
     @Override
     public void onWorkflowCompleted(WorkflowModel workflow) {
         LOGGER.info("Archiving workflow {} on completion ", workflow.getWorkflowId());
-        if (delayArchiveSeconds > 0) {
-            scheduledThreadPoolExecutor.schedule(
-                    new DelayArchiveWorkflow(workflow, executionDAOFacade),
-                    delayArchiveSeconds,
-                    TimeUnit.SECONDS);
-        } else {
-            this.executionDAOFacade.removeWorkflow(workflow.getWorkflowId(), true);
-            Monitors.recordWorkflowArchived(workflow.getWorkflowName(), workflow.getStatus());
-        }
+        archive(workflow);
     }
 
     @Override
     public void onWorkflowTerminated(WorkflowModel workflow) {
         LOGGER.info("Archiving workflow {} on termination", workflow.getWorkflowId());
+        archive(workflow);
+    }
+
+    private void archive(WorkflowModel workflow) {
         if (delayArchiveSeconds > 0) {
-            scheduledThreadPoolExecutor.schedule(
-                    new DelayArchiveWorkflow(workflow, executionDAOFacade),
-                    delayArchiveSeconds,
-                    TimeUnit.SECONDS);
+            queueDAO.push(ARCHIVAL_QUEUE, workflow.getWorkflowId(), delayArchiveSeconds);
         } else {
             this.executionDAOFacade.removeWorkflow(workflow.getWorkflowId(), true);
             Monitors.recordWorkflowArchived(workflow.getWorkflowName(), workflow.getStatus());
         }
     }
 
-    private class DelayArchiveWorkflow implements Runnable {
-
-        private final String workflowId;
-        private final String workflowName;
-        private final WorkflowModel.Status status;
-        private final ExecutionDAOFacade executionDAOFacade;
+    /** Archives the next batch of workflows whose archival delay has elapsed. */
+    void archiveWorkflows() {
+        List<String> workflowIds = List.of();
+        try {
+            workflowIds = queueDAO.pop(ARCHIVAL_QUEUE, archivalBatchSize, 100);
+            Monitors.recordArchivalDelayQueueSize(queueDAO.getSize(ARCHIVAL_QUEUE));
+            if (workflowIds.isEmpty()) {
+                return;
+            }
 
-        DelayArchiveWorkflow(WorkflowModel workflow, ExecutionDAOFacade executionDAOFacade) {
-            this.workflowId = workflow.getWorkflowId();
-            this.workflowName = workflow.getWorkflowName();
-            this.status = workflow.getStatus();
-            this.executionDAOFacade = executionDAOFacade;
+            ExecutionDAOFacade.RemovedWorkflows removed =
+                    executionDAOFacade.removeWorkflows(workflowIds, true);
+            long now = System.currentTimeMillis();
+            for (WorkflowModel workflow : removed.getRemoved()) {
+                Monitors.recordWorkflowArchived(workflow.getWorkflowName(), workflow.getStatus());
+                if (workflow.getEndTime() > 0) {
+                    Monitors.recordArchivalLag(
+                            now - workflow.getEndTime() - delayArchiveSeconds * 1000L);
+                }
+            }
+            // skipped workflows are no longer terminal, they are queued again when they complete
+            for (String workflowId : workflowIds) {
+                if (removed.getFailures().containsKey(workflowId)) {
+                    postpone(workflowId);
+                } else {
+                    queueDAO.ack(ARCHIVAL_QUEUE, workflowId);
+                }
+            }
+            LOGGER.debug(
+                    "Archived {} workflows, {} failed",
+                    removed.getRemoved().size(),
+                    removed.getFailures().size());
+        } catch (Exception e) {
+            LOGGER.error("Unable to archive workflows: {}", workflowIds, e);
+            workflowIds.forEach(this::postpone);
         }
+    }
 
-        @Override
-        public void run() {
-            try {
-                this.executionDAOFacade.removeWorkflow(workflowId, true);
-                LOGGER.info("Archived workflow {}", workflowId);
-                Monitors.recordWorkflowArchived(workflowName, status);
-                Monitors.recordArchivalDelayQueueSize(
-                        scheduledThreadPoolExecutor.getQueue().size());
-            } catch (Exception e) {
-                LOGGER.error("Unable to archive workflow: {}", workflowId, e);
-            }
+    private void postpone(String workflowId) {
+        try {
+            queueDAO.postpone(ARCHIVAL_QUEUE, workflowId, 0, delayArchiveSeconds);
+        } catch (Exception e) {
+            LOGGER.error("Unable to postpone the archival of workflow: {}", workflowId, e);
         }
     }
 }
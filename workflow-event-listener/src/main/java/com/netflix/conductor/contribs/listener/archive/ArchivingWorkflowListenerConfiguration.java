@@ -19,6 +19,7 @@ import org.springframework.context.annotation.Configuration;
 
 import com.netflix.conductor.core.dal.ExecutionDAOFacade;
 import com.netflix.conductor.core.listener.WorkflowStatusListener;
+import com.netflix.conductor.dao.QueueDAO;
 
 @Configuration
 @EnableConfigurationProperties(ArchivingWorkflowListenerProperties.class)
@@ -27,9 +28,12 @@ public class ArchivingWorkflowListenerConfiguration {
 
     @Bean
     public WorkflowStatusListener getWorkflowStatusListener(
-            ExecutionDAOFacade executionDAOFacade, ArchivingWorkflowListenerProperties properties) {
+            ExecutionDAOFacade executionDAOFacade,
+            QueueDAO queueDAO,
+            ArchivingWorkflowListenerProperties properties) {
         if (properties.getTtlDuration().getSeconds() > 0) {
-            return new ArchivingWithTTLWorkflowStatusListener(executionDAOFacade, properties);
+            return new ArchivingWithTTLWorkflowStatusListener(
+                    executionDAOFacade, queueDAO, properties);
         } else {
             return new ArchivingWorkflowStatusListener(executionDAOFacade);
         }
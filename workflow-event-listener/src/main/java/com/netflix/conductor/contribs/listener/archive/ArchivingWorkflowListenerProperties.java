@@ -40,6 +40,13 @@ public class ArchivingWorkflowListenerProperties {
     /** The number of threads to process the delay queue in workflow archival */
     private int delayQueueWorkerThreadCount = 5;
 
+    /** The maximum number of workflows archived together by a delay queue worker */
+    private int archivalBatchSize = 100;
+
+    /** The time a delay queue worker waits between two polls of the delay queue */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration archivalPollInterval = Duration.ofSeconds(1);
+
     public Duration getTtlDuration() {
         return ttlDuration;
     }
@@ -56,6 +63,22 @@ public class ArchivingWorkflowListenerProperties {
         this.delayQueueWorkerThreadCount = delayQueueWorkerThreadCount;
     }
 
+    public int getArchivalBatchSize() {
+        return archivalBatchSize;
+    }
+
+    public void setArchivalBatchSize(int archivalBatchSize) {
+        this.archivalBatchSize = archivalBatchSize;
+    }
+
+    public Duration getArchivalPollInterval() {
+        return archivalPollInterval;
+    }
+
+    public void setArchivalPollInterval(Duration archivalPollInterval) {
+        this.archivalPollInterval = archivalPollInterval;
+    }
+
     /** The time to delay the archival of workflow */
     public int getWorkflowArchivalDelay() {
         return environment.getProperty(
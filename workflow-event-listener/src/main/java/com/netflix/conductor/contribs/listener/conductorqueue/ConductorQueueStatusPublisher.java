@@ -12,7 +12,15 @@
  */
 package com.netflix.conductor.contribs.listener.conductorqueue;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,14 +29,24 @@ import com.netflix.conductor.common.run.WorkflowSummary;
 import com.netflix.conductor.core.events.queue.Message;
 import com.netflix.conductor.core.listener.WorkflowStatusListener;
 import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.metrics.Monitors;
 import com.netflix.conductor.model.WorkflowModel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Publishes a {@link Message} containing a {@link WorkflowSummary} to the undlerying {@link
  * QueueDAO} implementation on a workflow completion or termination event.
+ *
+ * <p>The summaries are buffered and published asynchronously, in batches of up to {@link
+ * ConductorQueueStatusPublisherProperties#getBatchSize()} messages per queue, so the workflow
+ * evaluation does not wait for the queue. Summaries are dropped when the buffer is full.
+ *
+ * <p>When a queue fails, the messages of the failed batch are put back in the buffer and the next
+ * publications are delayed, doubling the delay after each failure. A message is dropped after
+ * {@link ConductorQueueStatusPublisherProperties#getMaxPublishAttempts()} failed attempts.
  */
 public class ConductorQueueStatusPublisher implements WorkflowStatusListener {
 
@@ -41,6 +59,16 @@ public class ConductorQueueStatusPublisher implements WorkflowStatusListener {
     private final String failureStatusQueue;
     private final String finalizeStatusQueue;
 
+    private final int batchSize;
+    private final int maxPublishAttempts;
+    private final long publishIntervalMillis;
+    private final BlockingQueue<StatusMessage> buffer;
+    private final ScheduledExecutorService publisherExecutor;
+
+    // only accessed by the publications, which do not run concurrently
+    private int consecutiveFailures;
+    private long nextPublishTime;
+
     public ConductorQueueStatusPublisher(
             QueueDAO queueDAO,
             ObjectMapper objectMapper,
@@ -50,36 +78,155 @@ public class ConductorQueueStatusPublisher implements WorkflowStatusListener {
         this.successStatusQueue = properties.getSuccessQueue();
         this.failureStatusQueue = properties.getFailureQueue();
         this.finalizeStatusQueue = properties.getFinalizeQueue();
+        this.batchSize = properties.getBatchSize();
+        this.maxPublishAttempts = properties.getMaxPublishAttempts();
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+
+        this.publishIntervalMillis = properties.getPublishInterval().toMillis();
+        this.publisherExecutor = Executors.newSingleThreadScheduledExecutor();
+        this.publisherExecutor.scheduleWithFixedDelay(
+                this::scheduledPublish,
+                publishIntervalMillis,
+                publishIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdownExecutorService() {
+        try {
+            publisherExecutor.shutdown();
+            if (!publisherExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("Forcing shutdown after waiting for 30 seconds");
+                publisherExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            publisherExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // flush what was buffered after the last publish
+        publish();
     }
 
     @Override
     public void onWorkflowCompleted(WorkflowModel workflow) {
         LOGGER.info("Publishing callback of workflow {} on completion ", workflow.getWorkflowId());
-        queueDAO.push(successStatusQueue, Collections.singletonList(workflowToMessage(workflow)));
+        enqueue(successStatusQueue, workflow);
     }
 
     @Override
     public void onWorkflowTerminated(WorkflowModel workflow) {
         LOGGER.info("Publishing callback of workflow {} on termination", workflow.getWorkflowId());
-        queueDAO.push(failureStatusQueue, Collections.singletonList(workflowToMessage(workflow)));
+        enqueue(failureStatusQueue, workflow);
     }
 
     @Override
     public void onWorkflowFinalized(WorkflowModel workflow) {
         LOGGER.info("Publishing callback of workflow {} on finalization", workflow.getWorkflowId());
-        queueDAO.push(finalizeStatusQueue, Collections.singletonList(workflowToMessage(workflow)));
+        enqueue(finalizeStatusQueue, workflow);
     }
 
-    private Message workflowToMessage(WorkflowModel workflowModel) {
-        String jsonWfSummary;
-        WorkflowSummary summary = new WorkflowSummary(workflowModel.toWorkflow());
+    private void enqueue(String queueName, WorkflowModel workflow) {
+        if (!buffer.offer(new StatusMessage(queueName, workflow.toWorkflowSummary()))) {
+            LOGGER.warn(
+                    "Status publisher buffer is full, dropping callback of workflow {} to {}",
+                    workflow.getWorkflowId(),
+                    queueName);
+            Monitors.recordDiscardedWorkflowStatusCount(queueName, 1);
+        }
+    }
+
+    private void scheduledPublish() {
+        if (System.currentTimeMillis() >= nextPublishTime) {
+            publish();
+        }
+    }
+
+    /**
+     * Publishes the buffered summaries, in batches, until the buffer is empty or a queue fails.
+     */
+    void publish() {
+        List<StatusMessage> batch = new ArrayList<>(batchSize);
+        boolean failed = false;
+        while (!failed && buffer.drainTo(batch, batchSize) > 0) {
+            Map<String, List<StatusMessage>> messagesByQueue = new LinkedHashMap<>();
+            for (StatusMessage statusMessage : batch) {
+                if (statusMessage.message == null) {
+                    statusMessage.message = summaryToMessage(statusMessage);
+                }
+                if (statusMessage.message != null) {
+                    messagesByQueue
+                            .computeIfAbsent(statusMessage.queueName, q -> new ArrayList<>())
+                            .add(statusMessage);
+                }
+            }
+            for (Map.Entry<String, List<StatusMessage>> entry : messagesByQueue.entrySet()) {
+                failed |= !push(entry.getKey(), entry.getValue());
+            }
+            batch.clear();
+        }
+        if (failed) {
+            consecutiveFailures++;
+            nextPublishTime =
+                    System.currentTimeMillis()
+                            + (publishIntervalMillis << Math.min(consecutiveFailures, 6));
+        } else {
+            consecutiveFailures = 0;
+        }
+        Monitors.recordWorkflowStatusPublisherBufferSize(buffer.size());
+    }
+
+    /** @return false if the queue failed, the messages are then put back in the buffer */
+    private boolean push(String queueName, List<StatusMessage> statusMessages) {
+        List<Message> messages = new ArrayList<>(statusMessages.size());
+        statusMessages.forEach(statusMessage -> messages.add(statusMessage.message));
         try {
-            jsonWfSummary = objectMapper.writeValueAsString(summary);
+            queueDAO.push(queueName, messages);
+            Monitors.recordWorkflowStatusPublished(queueName, messages.size());
+            return true;
+        } catch (Exception e) {
+            int dropped = 0;
+            for (StatusMessage statusMessage : statusMessages) {
+                if (++statusMessage.attempts >= maxPublishAttempts
+                        || !buffer.offer(statusMessage)) {
+                    dropped++;
+                }
+            }
+            LOGGER.error(
+                    "Failed to publish {} workflow status messages to {}, {} of them dropped",
+                    messages.size(),
+                    queueName,
+                    dropped,
+                    e);
+            if (dropped > 0) {
+                Monitors.recordDiscardedWorkflowStatusCount(queueName, dropped);
+            }
+            return false;
+        }
+    }
+
+    private Message summaryToMessage(StatusMessage statusMessage) {
+        WorkflowSummary summary = statusMessage.summary;
+        try {
+            return new Message(
+                    summary.getWorkflowId(), objectMapper.writeValueAsString(summary), null);
         } catch (JsonProcessingException e) {
             LOGGER.error(
                     "Failed to convert WorkflowSummary: {} to String. Exception: {}", summary, e);
-            throw new RuntimeException(e);
+            Monitors.recordDiscardedWorkflowStatusCount(statusMessage.queueName, 1);
+            return null;
+        }
+    }
+
+    private static class StatusMessage {
+
+        private final String queueName;
+        private final WorkflowSummary summary;
+        private Message message;
+        private int attempts;
+
+        StatusMessage(String queueName, WorkflowSummary summary) {
+            this.queueName = queueName;
+            this.summary = summary;
         }
-        return new Message(workflowModel.getWorkflowId(), jsonWfSummary, null);
     }
 }
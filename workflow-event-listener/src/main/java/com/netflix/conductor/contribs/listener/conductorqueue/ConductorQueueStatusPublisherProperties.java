@@ -12,7 +12,11 @@
  */
 package com.netflix.conductor.contribs.listener.conductorqueue;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
 
 @ConfigurationProperties("conductor.workflow-status-listener.queue-publisher")
 public class ConductorQueueStatusPublisherProperties {
@@ -23,6 +27,22 @@ public class ConductorQueueStatusPublisherProperties {
 
     private String finalizeQueue = "_callbackFinalizeQueue";
 
+    /** The maximum number of messages pushed to a queue at once */
+    private int batchSize = 100;
+
+    /** The maximum number of messages waiting to be published, further messages are dropped */
+    private int bufferSize = 10000;
+
+    /** The time between two publications of the buffered messages */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration publishInterval = Duration.ofMillis(100);
+
+    /**
+     * The maximum number of times a message is pushed to a failing queue before it is dropped. The
+     * publications following a failure are delayed, by up to 64 publish intervals
+     */
+    private int maxPublishAttempts = 5;
+
     public String getSuccessQueue() {
         return successQueue;
     }
@@ -46,4 +66,36 @@ public class ConductorQueueStatusPublisherProperties {
     public void setFinalizeQueue(String finalizeQueue) {
         this.finalizeQueue = finalizeQueue;
     }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    public void setPublishInterval(Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+
+    public int getMaxPublishAttempts() {
+        return maxPublishAttempts;
+    }
+
+    public void setMaxPublishAttempts(int maxPublishAttempts) {
+        this.maxPublishAttempts = maxPublishAttempts;
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.listener.archive;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade;
+import com.netflix.conductor.core.dal.ExecutionDAOFacade.RemovedWorkflows;
+import com.netflix.conductor.core.exception.TransientException;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.model.WorkflowModel;
+
+import static com.netflix.conductor.contribs.listener.archive.ArchivingWithTTLWorkflowStatusListener.ARCHIVAL_QUEUE;
+
+import static org.mockito.Mockito.*;
+
+public class ArchivingWithTTLWorkflowStatusListenerTest {
+
+    WorkflowModel workflow;
+    ExecutionDAOFacade executionDAOFacade;
+    QueueDAO queueDAO;
+    ArchivingWithTTLWorkflowStatusListener listener;
+
+    @Before
+    public void before() {
+        workflow = new WorkflowModel();
+        WorkflowDef def = new WorkflowDef();
+        def.setName("name1");
+        def.setVersion(1);
+        workflow.setWorkflowDefinition(def);
+        workflow.setWorkflowId(UUID.randomUUID().toString());
+        workflow.setStatus(WorkflowModel.Status.COMPLETED);
+
+        executionDAOFacade = mock(ExecutionDAOFacade.class);
+        queueDAO = mock(QueueDAO.class);
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty("conductor.workflow-status-listener.archival.delaySeconds", "60");
+        ArchivingWorkflowListenerProperties properties =
+                new ArchivingWorkflowListenerProperties(environment);
+        properties.setTtlDuration(Duration.ofSeconds(60));
+        properties.setDelayQueueWorkerThreadCount(1);
+        properties.setArchivalBatchSize(10);
+        // keep the workers idle, batches are archived by the tests
+        properties.setArchivalPollInterval(Duration.ofHours(1));
+        listener =
+                new ArchivingWithTTLWorkflowStatusListener(
+                        executionDAOFacade, queueDAO, properties);
+    }
+
+    @After
+    public void after() {
+        listener.shutdownExecutorService();
+    }
+
+    @Test
+    public void testQueueOnWorkflowCompleted() {
+        listener.onWorkflowCompleted(workflow);
+        verify(queueDAO).push(ARCHIVAL_QUEUE, workflow.getWorkflowId(), 60);
+        verifyNoInteractions(executionDAOFacade);
+    }
+
+    @Test
+    public void testArchiveBatch() {
+        List<String> workflowIds = List.of(workflow.getWorkflowId(), "removedWorkflowId");
+        when(queueDAO.pop(ARCHIVAL_QUEUE, 10, 100)).thenReturn(workflowIds);
+        when(executionDAOFacade.removeWorkflows(workflowIds, true))
+                .thenReturn(new RemovedWorkflows(List.of(workflow), Map.of()));
+
+        listener.archiveWorkflows();
+
+        verify(executionDAOFacade).removeWorkflows(workflowIds, true);
+        verify(queueDAO).ack(ARCHIVAL_QUEUE, workflow.getWorkflowId());
+        verify(queueDAO).ack(ARCHIVAL_QUEUE, "removedWorkflowId");
+        verify(queueDAO, never()).postpone(anyString(), anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    public void testPostponeFailedWorkflows() {
+        List<String> workflowIds = List.of(workflow.getWorkflowId(), "failedWorkflowId");
+        when(queueDAO.pop(ARCHIVAL_QUEUE, 10, 100)).thenReturn(workflowIds);
+        when(executionDAOFacade.removeWorkflows(workflowIds, true))
+                .thenReturn(
+                        new RemovedWorkflows(
+                                List.of(workflow),
+                                Map.of("failedWorkflowId", new TransientException("failed"))));
+
+        listener.archiveWorkflows();
+
+        verify(queueDAO).ack(ARCHIVAL_QUEUE, workflow.getWorkflowId());
+        verify(queueDAO, never()).ack(ARCHIVAL_QUEUE, "failedWorkflowId");
+        verify(queueDAO).postpone(ARCHIVAL_QUEUE, "failedWorkflowId", 0, 60);
+        verify(queueDAO, never())
+                .postpone(anyString(), eq(workflow.getWorkflowId()), anyInt(), anyLong());
+    }
+
+    @Test
+    public void testPostponeFailedBatch() {
+        List<String> workflowIds = List.of(workflow.getWorkflowId());
+        when(queueDAO.pop(ARCHIVAL_QUEUE, 10, 100)).thenReturn(workflowIds);
+        when(executionDAOFacade.removeWorkflows(workflowIds, true))
+                .thenThrow(new TransientException("index unavailable"));
+
+        listener.archiveWorkflows();
+
+        verify(queueDAO, never()).ack(anyString(), anyString());
+        verify(queueDAO).postpone(ARCHIVAL_QUEUE, workflow.getWorkflowId(), 0, 60);
+    }
+}
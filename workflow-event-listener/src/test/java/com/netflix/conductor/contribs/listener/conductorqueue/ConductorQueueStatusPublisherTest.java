@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023 Conductor Authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.netflix.conductor.contribs.listener.conductorqueue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.netflix.conductor.common.config.ObjectMapperProvider;
+import com.netflix.conductor.common.metadata.workflow.WorkflowDef;
+import com.netflix.conductor.common.run.WorkflowSummary;
+import com.netflix.conductor.core.events.queue.Message;
+import com.netflix.conductor.dao.QueueDAO;
+import com.netflix.conductor.model.WorkflowModel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ConductorQueueStatusPublisherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapperProvider().getObjectMapper();
+    private QueueDAO queueDAO;
+    private ConductorQueueStatusPublisher publisher;
+
+    @Before
+    public void before() {
+        queueDAO = mock(QueueDAO.class);
+        ConductorQueueStatusPublisherProperties properties =
+                new ConductorQueueStatusPublisherProperties();
+        properties.setBatchSize(2);
+        properties.setBufferSize(3);
+        properties.setMaxPublishAttempts(2);
+        // keep the publisher idle, messages are published by the tests
+        properties.setPublishInterval(Duration.ofHours(1));
+        publisher = new ConductorQueueStatusPublisher(queueDAO, objectMapper, properties);
+    }
+
+    @After
+    public void after() {
+        publisher.shutdownExecutorService();
+    }
+
+    @Test
+    public void testPublishInBatches() {
+        publisher.onWorkflowCompleted(workflow("first", WorkflowModel.Status.COMPLETED));
+        publisher.onWorkflowCompleted(workflow("second", WorkflowModel.Status.COMPLETED));
+        publisher.onWorkflowTerminated(workflow("third", WorkflowModel.Status.TERMINATED));
+        verifyNoInteractions(queueDAO);
+
+        publisher.publish();
+
+        verify(queueDAO)
+                .push(
+                        eq("_callbackSuccessQueue"),
+                        argThat(
+                                (List<Message> messages) ->
+                                        messages.size() == 2
+                                                && messages.get(0).getId().equals("first")
+                                                && messages.get(1).getId().equals("second")));
+        verify(queueDAO)
+                .push(
+                        eq("_callbackFailureQueue"),
+                        argThat(
+                                (List<Message> messages) ->
+                                        messages.size() == 1
+                                                && messages.get(0).getId().equals("third")));
+    }
+
+    @Test
+    public void testDropWhenBufferIsFull() {
+        for (int i = 0; i < 5; i++) {
+            publisher.onWorkflowCompleted(workflow("workflow" + i, WorkflowModel.Status.COMPLETED));
+        }
+
+        publisher.publish();
+
+        verify(queueDAO, times(2)).push(eq("_callbackSuccessQueue"), anyList());
+        verify(queueDAO)
+                .push(
+                        eq("_callbackSuccessQueue"),
+                        argThat(
+                                (List<Message> messages) ->
+                                        messages.size() == 1
+                                                && messages.get(0).getId().equals("workflow2")));
+    }
+
+    @Test
+    public void testRetryFailedPublication() {
+        doThrow(new RuntimeException("queue unavailable"))
+                .doNothing()
+                .when(queueDAO)
+                .push(eq("_callbackSuccessQueue"), anyList());
+        publisher.onWorkflowCompleted(workflow("first", WorkflowModel.Status.COMPLETED));
+
+        publisher.publish();
+        publisher.publish();
+        publisher.publish();
+
+        verify(queueDAO, times(2))
+                .push(
+                        eq("_callbackSuccessQueue"),
+                        argThat(
+                                (List<Message> messages) ->
+                                        messages.size() == 1
+                                                && messages.get(0).getId().equals("first")));
+    }
+
+    @Test
+    public void testDropAfterMaxPublishAttempts() {
+        doThrow(new RuntimeException("queue unavailable"))
+                .when(queueDAO)
+                .push(eq("_callbackSuccessQueue"), anyList());
+        publisher.onWorkflowCompleted(workflow("first", WorkflowModel.Status.COMPLETED));
+
+        publisher.publish();
+        publisher.publish();
+        publisher.publish();
+
+        verify(queueDAO, times(2)).push(eq("_callbackSuccessQueue"), anyList());
+    }
+
+    @Test
+    public void testSummaryFromWorkflowModel() {
+        WorkflowModel workflow = workflow("workflowId", WorkflowModel.Status.FAILED);
+        workflow.setCorrelationId("correlationId");
+        workflow.setPriority(5);
+        workflow.setCreateTime(1_000L);
+        workflow.setUpdatedTime(2_000L);
+        workflow.setEndTime(3_000L);
+        workflow.setInput(Map.of("key", "value"));
+        workflow.setReasonForIncompletion("reason");
+        workflow.setFailedReferenceTaskNames(Set.of("t1"));
+        workflow.setFailedTaskNames(Set.of("task1"));
+        workflow.setExternalOutputPayloadStoragePath("output/path");
+
+        assertEquals(new WorkflowSummary(workflow.toWorkflow()), workflow.toWorkflowSummary());
+    }
+
+    private WorkflowModel workflow(String workflowId, WorkflowModel.Status status) {
+        WorkflowDef def = new WorkflowDef();
+        def.setName("name1");
+        def.setVersion(1);
+        WorkflowModel workflow = new WorkflowModel();
+        workflow.setWorkflowDefinition(def);
+        workflow.setWorkflowId(workflowId);
+        workflow.setStatus(status);
+        return workflow;
+    }
+}
@@ -58,7 +58,8 @@ import static org.junit.Assert.assertEquals;
             "conductor.workflow-status-listener.type=queue_publisher",
             "conductor.workflow-status-listener.queue-publisher.successQueue=dummy",
             "conductor.workflow-status-listener.queue-publisher.failureQueue=dummy",
-            "conductor.workflow-status-listener.queue-publisher.finalizeQueue=final"
+            "conductor.workflow-status-listener.queue-publisher.finalizeQueue=final",
+            "conductor.workflow-status-listener.queue-publisher.publishInterval=10ms"
         })
 @TestPropertySource(locations = "classpath:application-integrationtest.properties")
 public class WorkflowStatusPublisherIntegrationTest {
@@ -108,7 +109,7 @@ public class WorkflowStatusPublisherIntegrationTest {
     }
 
     @Test
-    public void testListenerOnTerminatedWorkflow() throws IOException {
+    public void testListenerOnTerminatedWorkflow() throws IOException, InterruptedException {
         String id =
                 startOrLoadWorkflowExecution(
                         LINEAR_WORKFLOW_T1_T2,
@@ -117,7 +118,7 @@ public class WorkflowStatusPublisherIntegrationTest {
                         new HashMap<>());
         workflowExecutor.terminateWorkflow(id, INCOMPLETION_REASON);
 
-        List<Message> callbackMessages = queueDAO.pollMessages(CALLBACK_QUEUE, 1, 200);
+        List<Message> callbackMessages = pollMessages(CALLBACK_QUEUE);
         queueDAO.ack(CALLBACK_QUEUE, callbackMessages.get(0).getId());
 
         WorkflowSummary payload =
@@ -129,7 +130,7 @@ public class WorkflowStatusPublisherIntegrationTest {
         assertEquals(INCOMPLETION_REASON, payload.getReasonForIncompletion());
 
         // check finalized queue
-        callbackMessages = queueDAO.pollMessages(FINALIZED_QUEUE, 1, 200);
+        callbackMessages = pollMessages(FINALIZED_QUEUE);
         queueDAO.ack(CALLBACK_QUEUE, callbackMessages.get(0).getId());
 
         payload =
@@ -171,7 +172,7 @@ public class WorkflowStatusPublisherIntegrationTest {
 
         checkIfWorkflowIsCompleted(id);
 
-        List<Message> callbackMessages = queueDAO.pollMessages(CALLBACK_QUEUE, 1, 200);
+        List<Message> callbackMessages = pollMessages(CALLBACK_QUEUE);
         queueDAO.ack(CALLBACK_QUEUE, callbackMessages.get(0).getId());
 
         WorkflowSummary payload =
@@ -182,7 +183,7 @@ public class WorkflowStatusPublisherIntegrationTest {
         assertEquals(Workflow.WorkflowStatus.COMPLETED, payload.getStatus());
 
         // check finalized queue
-        callbackMessages = queueDAO.pollMessages(FINALIZED_QUEUE, 1, 200);
+        callbackMessages = pollMessages(FINALIZED_QUEUE);
         queueDAO.ack(CALLBACK_QUEUE, callbackMessages.get(0).getId());
 
         payload =
@@ -193,6 +194,17 @@ public class WorkflowStatusPublisherIntegrationTest {
         assertEquals(Workflow.WorkflowStatus.COMPLETED, payload.getStatus());
     }
 
+    /** Status messages are published asynchronously, wait for them to be published. */
+    @SuppressWarnings("BusyWait")
+    private List<Message> pollMessages(String queueName) throws InterruptedException {
+        List<Message> messages = queueDAO.pollMessages(queueName, 1, 200);
+        for (int attempts = 0; messages.isEmpty() && attempts < 20; attempts++) {
+            Thread.sleep(100);
+            messages = queueDAO.pollMessages(queueName, 1, 200);
+        }
+        return messages;
+    }
+
     @SuppressWarnings("BusyWait")
     private void checkIfWorkflowIsCompleted(String id) throws InterruptedException {
         int statusRetrieveAttempts = 0;